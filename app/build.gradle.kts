@@ -36,4 +36,6 @@ dependencies {
     implementation(libs.firebase)
     implementation(project(":androidplot-core-1.5.7"))
     implementation(project(":figlib-1.0.7"))
+
+    testImplementation(libs.junit)
 }
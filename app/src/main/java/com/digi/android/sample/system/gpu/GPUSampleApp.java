@@ -17,36 +17,77 @@
 package com.digi.android.sample.system.gpu;
 
 import android.app.Activity;
-import android.content.BroadcastReceiver;
-import android.content.Context;
 import android.content.Intent;
-import android.content.IntentFilter;
+import android.graphics.DashPathEffect;
 import android.graphics.LinearGradient;
 import android.graphics.Paint;
 import android.graphics.Shader;
-import android.opengl.GLSurfaceView;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
+import android.view.View;
+import android.widget.CheckBox;
+import android.widget.CompoundButton;
 import android.widget.RelativeLayout;
 import android.widget.SeekBar;
 import android.widget.TextView;
+import android.widget.Toast;
 
 import androidx.core.content.ContextCompat;
 
+import com.androidplot.ui.TextOrientation;
 import com.androidplot.xy.BoundaryMode;
 import com.androidplot.xy.LineAndPointFormatter;
-import com.androidplot.xy.SimpleXYSeries;
+import com.androidplot.xy.XValueMarker;
 import com.androidplot.xy.XYGraphWidget;
 import com.androidplot.xy.XYPlot;
 import com.androidplot.xy.YValueMarker;
+import com.digi.android.sample.system.gpu.control.GpuControl;
+import com.digi.android.sample.system.gpu.control.ManagerGpuControl;
+import com.digi.android.sample.system.gpu.control.MultiplierCommandQueue;
+import com.digi.android.sample.system.gpu.control.RecordingGpuControl;
+import com.digi.android.sample.system.gpu.events.EventBus;
+import com.digi.android.sample.system.gpu.events.StepResponse;
+import com.digi.android.sample.system.gpu.events.StepResponseAnalyzer;
+import com.digi.android.sample.system.gpu.events.StepResponseTracker;
+import com.digi.android.sample.system.gpu.export.MetricsExportServer;
+import com.digi.android.sample.system.gpu.export.MetricsExporter;
+import com.digi.android.sample.system.gpu.metrics.MetricsSnapshot;
+import com.digi.android.sample.system.gpu.plot.ArrayXYSeries;
+import com.digi.android.sample.system.gpu.plot.RingXYSeries;
+import com.digi.android.sample.system.gpu.plot.TemperatureHistory;
+import com.digi.android.sample.system.gpu.sampling.SampleRing;
+import com.digi.android.sample.system.gpu.sampling.SystemSampler;
+import com.digi.android.sample.system.gpu.sampling.SystemSnapshot;
+import com.digi.android.sample.system.gpu.text.LabelFormat;
+import com.digi.android.sample.system.gpu.text.TextLabel;
+import com.digi.android.sample.system.gpu.sweep.MultiplierSweep;
+import com.digi.android.sample.system.gpu.sweep.SweepStep;
+import com.digi.android.sample.system.gpu.telemetry.TelemetryLogReader;
+import com.digi.android.sample.system.gpu.telemetry.TelemetryLogger;
+import com.digi.android.sample.system.gpu.telemetry.TelemetryRecord;
+import com.digi.android.sample.system.gpu.thermal.ThermalGovernor;
+import com.digi.android.sample.system.gpu.thermal.ThermalModel;
 import com.digi.android.system.cpu.CPUManager;
 import com.digi.android.system.cpu.ICPUTemperatureListener;
 import com.digi.android.system.cpu.exception.CPUTemperatureException;
 import com.digi.android.system.gpu.GPUManager;
 
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
 import java.text.DecimalFormat;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import fi.harism.effects.ViewPentagons;
 
@@ -64,12 +105,79 @@ public class GPUSampleApp extends Activity {
 	// Constants.
 	private static final String TAG = "GPUSampleApp";
 
-	public static final String INTENT_FPS = "fps";
+	// Launch extras selecting the OpenGL workload.
+	public static final String EXTRA_SCENE = "scene";
+	public static final String EXTRA_LOAD_LEVEL = "load_level";
+	public static final String EXTRA_PENTAGONS = "pentagons";
+	public static final String EXTRA_PENTAGON_SIZE = "pentagon_size";
+	public static final String EXTRA_OVERDRAW_LAYERS = "overdraw_layers";
+	public static final String EXTRA_SEED = "seed";
+	public static final String EXTRA_BATCHED = "batched";
+	public static final String EXTRA_TARGET_FPS = "target_fps";
+	public static final String EXTRA_GPU_TIMING = "gpu_timing";
+	public static final String EXTRA_ASYNC_UPDATE = "async_update";
+	public static final String EXTRA_PARALLEL_TRANSFORMS = "parallel_transforms";
+
+	// Launch extras enabling the thermal governor.
+	public static final String EXTRA_GOVERNOR = "governor";
+	public static final String EXTRA_GOVERNOR_TARGET = "governor_target";
+
+	// Launch extras running the multiplier sweep benchmark.
+	public static final String EXTRA_SWEEP = "sweep";
+	public static final String EXTRA_SWEEP_MULTIPLIERS = "sweep_multipliers";
+	public static final String EXTRA_SWEEP_SETTLE = "sweep_settle";
+	public static final String EXTRA_SWEEP_WINDOW = "sweep_window";
+
+	// Launch extras serving the metrics over HTTP.
+	public static final String EXTRA_EXPORT = "export";
+	public static final String EXTRA_EXPORT_PORT = "export_port";
 
 	private static final int TEMPERATURE_INTERVAL = 1000;
+	private static final int METRICS_POLL_INTERVAL = 250;
 	private static final int MAX_TIME = 60;
+	private static final int SAMPLE_CAPACITY = 256;
 	private static final int MAX_MULTIPLIER = 64;
 
+	private static final float NANOS_PER_MILLI = 1000000f;
+	private static final float NANOS_PER_SECOND = 1000000000f;
+
+	// Degrees below the hot trip point the thermal governor holds by default.
+	private static final float GOVERNOR_TARGET_MARGIN = 5f;
+
+	// Temperature predicted ahead of the latest sample, in the shortest plot window.
+	private static final int PREDICTION_SECONDS = 30;
+	private static final int PREDICTION_STEP_SECONDS = 3;
+	private static final int PREDICTION_POINTS = PREDICTION_SECONDS / PREDICTION_STEP_SECONDS + 1;
+
+	// Multiplier transitions annotated in the shortest plot window with the
+	// frame rate and temperature responses measured after them.
+	private static final int EVENT_CAPACITY = 1024;
+	private static final int TRANSITION_CAPACITY = 16;
+	private static final long FPS_BASELINE_NANOS = TimeUnit.SECONDS.toNanos(3);
+	private static final long FPS_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(10);
+	private static final long TEMPERATURE_BASELINE_NANOS = TimeUnit.SECONDS.toNanos(5);
+	private static final long TEMPERATURE_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(MAX_TIME);
+	private static final float SETTLING_BAND = 0.1f;
+	private static final float MIN_FPS_BAND = 1f;
+	private static final float MIN_TEMPERATURE_BAND = 0.5f;
+
+	// Temperature plot windows as {length in samples, samples per domain unit, domain steps}.
+	private static final int[][] PLOT_WINDOWS = {
+			{ MAX_TIME, 1, 10 },
+			{ 10 * 60, 60, 11 },
+			{ 60 * 60, 60, 7 },
+			{ 6 * 60 * 60, 60 * 60, 7 },
+			{ 24 * 60 * 60, 60 * 60, 7 } };
+	private static final int MAX_PLOT_POINTS = 240;
+
+	// Telemetry log: one record per sample, one hour per segment, one week kept.
+	private static final String TELEMETRY_DIR = "telemetry";
+	private static final String TELEMETRY_CSV = "telemetry.csv";
+	private static final int TELEMETRY_SEGMENT_RECORDS = 3600;
+	private static final int TELEMETRY_MAX_SEGMENTS = 168;
+
+	private static final String SWEEP_CSV = "sweep-%1$s.csv";
+
 	// Variables.
 	private CPUManager cpuManager;
 	private GPUManager gpuManager;
@@ -78,44 +186,195 @@ public class GPUSampleApp extends Activity {
 	private TextView tvCurrentTemperature;
 	private TextView tvGpuMultiplier;
 	private SeekBar sbMultiplier;
+	private CheckBox cbThermalGovernor;
 
 	private XYPlot tempPlot;
-	private SimpleXYSeries tempSeries;
+	private RingXYSeries tempSeries;
+	private ArrayXYSeries historySeries;
+	private ArrayXYSeries predictionSeries;
+	private LineAndPointFormatter tempFormatter;
+	private LineAndPointFormatter predictionFormatter;
+	private TemperatureHistory temperatureHistory = new TemperatureHistory();
+	private XValueMarker[] annotations;
+	private long newestSampleNanos;
+	private int plotWindow = 0;
+	private int sceneLevel = 0;
 
-	private GLSurfaceView mGLSurfaceView;
+	private ViewPentagons mGLSurfaceView;
 
 	private boolean gpuMultError = false;
+	private GpuControl gpuControl;
+
+	private final Handler uiHandler = new Handler(Looper.getMainLooper());
+	private final MetricsSnapshot metricsSnapshot = new MetricsSnapshot();
+	private long metricsSequence;
+
+	private ScheduledExecutorService samplerExecutor;
+	private ExecutorService updateExecutor;
+	private ForkJoinPool transformPool;
+	private SystemSampler systemSampler;
+	private TelemetryLogger telemetryLogger;
+	private ThermalGovernor thermalGovernor;
+	private ThermalModel thermalModel;
+	private MultiplierSweep multiplierSweep;
+	private MultiplierCommandQueue multiplierQueue;
+	private MetricsExportServer exportServer;
+	private final EventBus eventBus = new EventBus(EVENT_CAPACITY);
+	private StepResponseTracker responseTracker;
+
+	// Labels are formatted into reused buffers and only set when they change.
+	private TextLabel temperatureLabel;
+	private TextLabel multiplierLabel;
+	private TextLabel fpsLabel;
+	private TextLabel predictionLabel;
+	private LabelFormat multiplierFormat;
+	private LabelFormat sceneLevelFormat;
+	private LabelFormat sceneCustomFormat;
+	private LabelFormat frameStatsFormat;
+	private LabelFormat frameCostFormat;
+	private LabelFormat frameCostCpuFormat;
+	private LabelFormat pacingFormat;
+	private LabelFormat fpsFormat;
+	private LabelFormat fpsPacedFormat;
+	private LabelFormat predictionFormat;
+	private LabelFormat predictionSafeFormat;
+	private String predictionLearningText;
+	private LabelFormat stepFormat;
+	private LabelFormat stepFpsFormat;
+	private LabelFormat stepFpsUnsettledFormat;
+	private LabelFormat stepTemperatureFormat;
+	private LabelFormat stepTemperatureUnsettledFormat;
+
+	private final Executor uiExecutor = new Executor() {
+		@Override
+		public void execute(Runnable command) {
+			uiHandler.post(command);
+		}
+	};
 
 	private final ICPUTemperatureListener temperatureListener = new ICPUTemperatureListener() {
 		@Override
 		public void onTemperatureUpdate(float temperature) {
+			// Hand the reading to the sampler, which formats it off this thread.
+			systemSampler.offerTemperature(temperature);
+		}
+	};
+
+	private final SystemSampler.Listener samplerListener = new SystemSampler.Listener() {
+		@Override
+		public void onSnapshot(SystemSnapshot snapshot) {
 			// Update graph.
-			if (tempSeries.size() > MAX_TIME)
-				tempSeries.removeFirst();
-			tempSeries.addLast(null, temperature);
-			tempPlot.redraw();
+			SampleRing ring = snapshot.getRing();
+			for (long i = snapshot.getFirstSequence(); i < snapshot.getEndSequence(); i++) {
+				tempSeries.append(ring.getTemperature(i));
+				temperatureHistory.append(ring.getTemperature(i));
+				responseTracker.addTemperature(ring.getTime(i), ring.getTemperature(i));
+				newestSampleNanos = ring.getTime(i);
+			}
+			if (snapshot.getFirstSequence() < snapshot.getEndSequence()) {
+				updateHistorySeries();
+				updatePrediction();
+				updateAnnotations();
+				tempPlot.redraw();
+			}
 
 			// Update temperature label.
-			tvCurrentTemperature.setText(String.format(getResources().getString(R.string.current_temperature), temperature));
+			temperatureLabel.show(snapshot.getTemperatureText());
 
 			// Update multiplier label and seek bar.
-			if (!gpuMultError) {
-				try {
-					int multiplier = gpuManager.getMultiplier();
-					tvGpuMultiplier.setText(String.format(getResources().getString(R.string.gpu_multiplier), multiplier));
-					if (multiplier != (sbMultiplier.getProgress() + 1))
-						sbMultiplier.setProgress(multiplier - 1);
-				} catch (IOException | UnsupportedOperationException e) {
-					e.printStackTrace();
-				}
+			int multiplier = snapshot.getMultiplier();
+			if (multiplier > 0) {
+				mGLSurfaceView.setGpuMultiplier(multiplier);
+				multiplierLabel.show(snapshot.getMultiplierText());
+				// Do not move the seek bar back while a new value is on its way.
+				if (multiplier != (sbMultiplier.getProgress() + 1)
+						&& (multiplierQueue == null || !multiplierQueue.isPending()))
+					sbMultiplier.setProgress(multiplier - 1);
+			}
+		}
+	};
+
+	private final MultiplierCommandQueue.Listener multiplierListener = new MultiplierCommandQueue.Listener() {
+		@Override
+		public void onMultiplierApplied(int requested, int applied) {
+			mGLSurfaceView.setGpuMultiplier(applied);
+			multiplierLabel.show(multiplierFormat.setInt(1, applied));
+			// The GPU may have fallen back to the minimum multiplier.
+			if (applied != (sbMultiplier.getProgress() + 1) && !multiplierQueue.isPending())
+				sbMultiplier.setProgress(applied - 1);
+		}
+
+		@Override
+		public void onMultiplierError(int requested) {
+			Log.e(TAG, "Could not set the GPU multiplier to " + requested);
+		}
+	};
+
+	private final MultiplierSweep.Listener sweepListener = new MultiplierSweep.Listener() {
+		@Override
+		public void onStep(SweepStep step, int index, int total) {
+			Log.i(TAG, String.format(Locale.US, "Sweep %d/%d: multiplier %d (requested %d), %.1f FPS, p99 %.2f ms, %.1f°C, %.3f°C/min",
+					index + 1, total, step.getMultiplier(), step.getRequestedMultiplier(), step.getFps(),
+					step.getP99() / NANOS_PER_MILLI, step.getTemperature(), step.getTemperatureSlope()));
+		}
+
+		@Override
+		public void onFinished(List<SweepStep> steps) {
+			File csv = new File(getExternalFilesDir(null), String.format(SWEEP_CSV,
+					ViewPentagons.getSceneName(mGLSurfaceView.getScene())));
+			String message;
+			try (Writer writer = new BufferedWriter(new FileWriter(csv))) {
+				MultiplierSweep.writeCsv(steps, writer);
+				message = String.format(getResources().getString(R.string.sweep_finished), csv.getAbsolutePath());
+			} catch (IOException e) {
+				Log.e(TAG, "Could not write the sweep results", e);
+				message = getResources().getString(R.string.sweep_error);
 			}
+			showToast(message);
+		}
+
+		@Override
+		public void onError(Exception e) {
+			Log.e(TAG, "Multiplier sweep aborted", e);
+			showToast(getResources().getString(R.string.sweep_error));
 		}
 	};
 
-	private final BroadcastReceiver fpsReceiver = new BroadcastReceiver() {
+	private final Runnable metricsPoller = new Runnable() {
 		@Override
-		public void onReceive(Context context, Intent intent) {
-			tvFps.setText(String.format(Locale.getDefault(), "%d FPS", intent.getIntExtra(INTENT_FPS, 0)));
+		public void run() {
+			long sequence = mGLSurfaceView.getMetricsChannel().read(metricsSnapshot);
+			if (sequence != metricsSequence) {
+				metricsSequence = sequence;
+				responseTracker.addFps(metricsSnapshot.getTimestampNanos(), metricsSnapshot.getFps());
+				String sceneName = ViewPentagons.getSceneName(metricsSnapshot.getScene());
+				LabelFormat scene = metricsSnapshot.getSceneLevel() < 0
+						? sceneCustomFormat.setText(1, sceneName)
+						: sceneLevelFormat.setText(1, sceneName).setInt(2, metricsSnapshot.getSceneLevel());
+				scene.render();
+				frameStatsFormat.setInt(1, metricsSnapshot.getFps())
+						.setFloat(2, metricsSnapshot.getP50() / NANOS_PER_MILLI)
+						.setFloat(3, metricsSnapshot.getP90() / NANOS_PER_MILLI)
+						.setFloat(4, metricsSnapshot.getP99() / NANOS_PER_MILLI)
+						.setFloat(5, metricsSnapshot.getMax() / NANOS_PER_MILLI)
+						.setInt(6, metricsSnapshot.getJankFrames())
+						.setText(7, scene)
+						.render();
+				LabelFormat cost = metricsSnapshot.getGpuNanos() > 0
+						? frameCostFormat.setFloat(1, metricsSnapshot.getCpuNanos() / NANOS_PER_MILLI)
+								.setFloat(2, metricsSnapshot.getGpuNanos() / NANOS_PER_MILLI)
+						: frameCostCpuFormat.setFloat(1, metricsSnapshot.getCpuNanos() / NANOS_PER_MILLI);
+				cost.render();
+				LabelFormat stats = fpsFormat;
+				if (metricsSnapshot.getTargetFps() > 0) {
+					pacingFormat.setInt(1, metricsSnapshot.getTargetFps())
+							.setInt(2, metricsSnapshot.getMissedDeadlines())
+							.render();
+					stats = fpsPacedFormat.setText(3, pacingFormat);
+				}
+				fpsLabel.show(stats.setText(1, frameStatsFormat).setText(2, cost));
+			}
+			uiHandler.postDelayed(this, METRICS_POLL_INTERVAL);
 		}
 	};
 
@@ -138,7 +397,8 @@ public class GPUSampleApp extends Activity {
 		if (mGLSurfaceView != null)
 			mGLSurfaceView.onResume();
 		cpuManager.registerListener(temperatureListener, TEMPERATURE_INTERVAL);
-		registerReceiver(fpsReceiver, new IntentFilter(INTENT_FPS), Context.RECEIVER_EXPORTED);
+		systemSampler.start();
+		uiHandler.post(metricsPoller);
 	}
 
 	@Override
@@ -147,7 +407,26 @@ public class GPUSampleApp extends Activity {
 		if (mGLSurfaceView != null)
 			mGLSurfaceView.onPause();
 		cpuManager.unregisterListener(temperatureListener);
-		unregisterReceiver(fpsReceiver);
+		systemSampler.stop();
+		uiHandler.removeCallbacks(metricsPoller);
+	}
+
+	@Override
+	protected void onDestroy() {
+		super.onDestroy();
+		samplerExecutor.execute(new Runnable() {
+			@Override
+			public void run() {
+				telemetryLogger.close();
+				if (exportServer != null)
+					exportServer.stop();
+			}
+		});
+		samplerExecutor.shutdown();
+		if (updateExecutor != null)
+			updateExecutor.shutdown();
+		if (transformPool != null)
+			transformPool.shutdown();
 	}
 
 	/**
@@ -156,8 +435,16 @@ public class GPUSampleApp extends Activity {
 	private void initializeControls() {
 		// OpenGL example.
 		mGLSurfaceView = new ViewPentagons(this);
+		mGLSurfaceView.setEventBus(eventBus);
 		RelativeLayout layoutBackground = findViewById(R.id.layout_background);
 		layoutBackground.addView(mGLSurfaceView);
+		configureWorkload(mGLSurfaceView);
+
+		// Responses to the multiplier transitions posted to the event bus.
+		responseTracker = new StepResponseTracker(eventBus, SAMPLE_CAPACITY, TRANSITION_CAPACITY,
+				new StepResponseAnalyzer(FPS_BASELINE_NANOS, FPS_WINDOW_NANOS, SETTLING_BAND, MIN_FPS_BAND),
+				new StepResponseAnalyzer(TEMPERATURE_BASELINE_NANOS, TEMPERATURE_WINDOW_NANOS, SETTLING_BAND,
+						MIN_TEMPERATURE_BAND));
 
 		// Temperature graphic.
 		initializeTempPlot();
@@ -165,16 +452,31 @@ public class GPUSampleApp extends Activity {
 		// Other UI elements.
 		TextView tvTemperatureWarning = findViewById(R.id.tv_temperature_warning);
 		try {
-			tvTemperatureWarning.setText(String.format(getResources().getString(R.string.temperature_warning),
-					(int) cpuManager.getHotTemperature(), gpuManager.getMinMultiplier(), ((int) cpuManager.getHotTemperature() - 10)));
+			new TextLabel(tvTemperatureWarning).show(new LabelFormat(getResources().getString(R.string.temperature_warning),
+					Locale.getDefault()).setInt(1, (int) cpuManager.getHotTemperature())
+					.setInt(2, gpuManager.getMinMultiplier())
+					.setInt(3, (int) cpuManager.getHotTemperature() - 10));
 		} catch (Exception e) {
 			e.printStackTrace();
 		}
 
 		tvFps = findViewById(R.id.tv_fps);
+		// Tapping the frame statistics cycles through the scenes.
+		tvFps.setOnClickListener(new View.OnClickListener() {
+			@Override
+			public void onClick(View v) {
+				int scene = (mGLSurfaceView.getScene() + 1) % ViewPentagons.getSceneCount();
+				mGLSurfaceView.setScene(scene,
+						Math.max(0, Math.min(ViewPentagons.getLoadLevelCount() - 1, sceneLevel)));
+				Toast.makeText(GPUSampleApp.this, String.format(getResources().getString(R.string.scene_selected),
+						ViewPentagons.getSceneName(scene)), Toast.LENGTH_SHORT).show();
+			}
+		});
 		tvCurrentTemperature = findViewById(R.id.tv_current_temperature);
 		tvGpuMultiplier = findViewById(R.id.tv_gpu_multiplier);
 		sbMultiplier = findViewById(R.id.sb_multiplier);
+		cbThermalGovernor = findViewById(R.id.cb_thermal_governor);
+		initializeLabels();
 
 		int multiplier = MAX_MULTIPLIER;
 		try {
@@ -185,25 +487,64 @@ public class GPUSampleApp extends Activity {
 			e.printStackTrace();
 		}
 
-		tvGpuMultiplier.setText(String.format(Locale.getDefault(), getResources().getString(R.string.gpu_multiplier), multiplier));
+		multiplierLabel.show(multiplierFormat.setInt(1, multiplier));
+		if (!gpuMultError) {
+			mGLSurfaceView.setGpuMultiplier(multiplier);
+			// Every multiplier change is recorded on the event bus.
+			gpuControl = new RecordingGpuControl(new ManagerGpuControl(gpuManager), eventBus);
+		}
+		// Temperature and multiplier are sampled off the UI thread.
+		samplerExecutor = Executors.newSingleThreadScheduledExecutor();
+		systemSampler = new SystemSampler(gpuControl,
+				samplerExecutor, uiExecutor, samplerListener, TEMPERATURE_INTERVAL, TEMPERATURE_INTERVAL, SAMPLE_CAPACITY,
+				getResources().getString(R.string.current_temperature),
+				getResources().getString(R.string.gpu_multiplier));
+
+		// Persist every sample and replay previous sessions into the plot history.
+		telemetryLogger = new TelemetryLogger(new File(getFilesDir(), TELEMETRY_DIR),
+				TELEMETRY_SEGMENT_RECORDS, TELEMETRY_MAX_SEGMENTS, mGLSurfaceView.getMetricsChannel());
+		systemSampler.addSampleSink(telemetryLogger);
+		samplerExecutor.execute(new Runnable() {
+			@Override
+			public void run() {
+				replayTelemetry();
+			}
+		});
+
+		// Learn how the module heats up to predict the temperature.
+		float hotTemperature = Float.NaN;
+		try {
+			hotTemperature = cpuManager.getHotTemperature();
+		} catch (CPUTemperatureException e) {
+			Log.e(TAG, "Could not read the hot trip point", e);
+		}
+		thermalModel = new ThermalModel(mGLSurfaceView.getMetricsChannel(), hotTemperature);
+		systemSampler.addSampleSink(thermalModel);
+
+		// Seek bar changes are coalesced and written on the sampler thread.
+		if (gpuControl != null)
+			multiplierQueue = new MultiplierCommandQueue(gpuControl, samplerExecutor, uiExecutor,
+					multiplierListener, MultiplierCommandQueue.DEFAULT_DWELL_MILLIS);
+
+		initializeThermalGovernor();
+		initializeSweep();
+		initializeExport();
+
 		sbMultiplier.setMax(MAX_MULTIPLIER - 1);
 		sbMultiplier.setProgress(multiplier - 1);
 		sbMultiplier.setOnSeekBarChangeListener(new SeekBar.OnSeekBarChangeListener() {
 			@Override
 			public void onProgressChanged(SeekBar seekBar, int i, boolean b) {
+				// Programmatic changes only mirror the sampled multiplier.
+				if (!b)
+					return;
+				// Moving the seek bar takes over from the thermal governor and the sweep.
+				cbThermalGovernor.setChecked(false);
+				if (multiplierSweep != null)
+					multiplierSweep.cancel();
 				// Seek bar goes from 0 to 63, so add 1 to the given value.
-				int newValue = i + 1;
-				try {
-					// Check if the multiplier was set correctly.
-					if (gpuManager.setMultiplier(newValue) != newValue)
-						// If not, set the minimum multiplier.
-						seekBar.setProgress(gpuManager.getMinMultiplier() - 1);
-					else
-						tvGpuMultiplier.setText(String.format(getResources().getString(R.string.gpu_multiplier), newValue));
-				} catch (IOException | UnsupportedOperationException e) {
-					Log.e(TAG, "Could not set the GPU multiplier");
-					e.printStackTrace();
-				}
+				if (multiplierQueue != null)
+					multiplierQueue.submit(i + 1);
 			}
 
 			@Override
@@ -216,6 +557,192 @@ public class GPUSampleApp extends Activity {
 		});
 	}
 
+	/**
+	 * Parses the label templates once and binds the labels updated while
+	 * running to their views.
+	 */
+	private void initializeLabels() {
+		Locale locale = Locale.getDefault();
+		temperatureLabel = new TextLabel(tvCurrentTemperature);
+		multiplierLabel = new TextLabel(tvGpuMultiplier);
+		fpsLabel = new TextLabel(tvFps);
+		predictionLabel = new TextLabel(findViewById(R.id.tv_thermal_prediction));
+		multiplierFormat = new LabelFormat(getResources().getString(R.string.gpu_multiplier), locale);
+		sceneLevelFormat = new LabelFormat(getResources().getString(R.string.scene_level), locale);
+		sceneCustomFormat = new LabelFormat(getResources().getString(R.string.scene_custom), locale);
+		frameStatsFormat = new LabelFormat(getResources().getString(R.string.frame_stats), locale);
+		frameCostFormat = new LabelFormat(getResources().getString(R.string.frame_cost), locale);
+		frameCostCpuFormat = new LabelFormat(getResources().getString(R.string.frame_cost_cpu), locale);
+		pacingFormat = new LabelFormat(getResources().getString(R.string.pacing_stats), locale);
+		fpsFormat = new LabelFormat("%1$s\n%2$s", locale);
+		fpsPacedFormat = new LabelFormat("%1$s\n%2$s\n%3$s", locale);
+		predictionFormat = new LabelFormat(getResources().getString(R.string.thermal_prediction), locale)
+				.setInt(2, PREDICTION_SECONDS);
+		predictionSafeFormat = new LabelFormat(getResources().getString(R.string.thermal_prediction_safe), locale)
+				.setInt(2, PREDICTION_SECONDS);
+		predictionLearningText = getResources().getString(R.string.thermal_prediction_learning);
+		predictionLabel.show(predictionLearningText);
+		stepFormat = new LabelFormat(getResources().getString(R.string.step_response), locale);
+		stepFpsFormat = new LabelFormat(getResources().getString(R.string.step_response_fps), locale);
+		stepFpsUnsettledFormat = new LabelFormat(getResources().getString(R.string.step_response_fps_unsettled),
+				locale);
+		stepTemperatureFormat = new LabelFormat(getResources().getString(R.string.step_response_temperature),
+				locale);
+		stepTemperatureUnsettledFormat = new LabelFormat(
+				getResources().getString(R.string.step_response_temperature_unsettled), locale);
+	}
+
+	/**
+	 * Creates the thermal governor and binds it to its check box. The
+	 * governor holds a target below the hot trip point, which can be
+	 * overridden with a launch extra, and is fed from the sampler thread.
+	 */
+	private void initializeThermalGovernor() {
+		if (gpuMultError) {
+			cbThermalGovernor.setEnabled(false);
+			return;
+		}
+
+		Intent intent = getIntent();
+		float target;
+		int minMultiplier;
+		try {
+			target = intent.getFloatExtra(EXTRA_GOVERNOR_TARGET,
+					cpuManager.getHotTemperature() - GOVERNOR_TARGET_MARGIN);
+			minMultiplier = gpuControl.getMinMultiplier();
+		} catch (CPUTemperatureException | IOException | UnsupportedOperationException e) {
+			Log.e(TAG, "Thermal governor not available", e);
+			cbThermalGovernor.setEnabled(false);
+			return;
+		}
+		thermalGovernor = new ThermalGovernor(gpuControl, target, minMultiplier, MAX_MULTIPLIER);
+		systemSampler.addSampleSink(thermalGovernor);
+		new TextLabel(cbThermalGovernor).show(new LabelFormat(
+				getResources().getString(R.string.thermal_governor_target), Locale.getDefault()).setFloat(1, target));
+		cbThermalGovernor.setOnCheckedChangeListener(new CompoundButton.OnCheckedChangeListener() {
+			@Override
+			public void onCheckedChanged(CompoundButton buttonView, boolean isChecked) {
+				// The governor and the sweep must not fight over the multiplier.
+				if (isChecked && multiplierSweep != null)
+					multiplierSweep.cancel();
+				// Nor with a seek bar change not applied yet.
+				if (isChecked && multiplierQueue != null)
+					multiplierQueue.cancel();
+				thermalGovernor.setEnabled(isChecked);
+			}
+		});
+		cbThermalGovernor.setChecked(intent.getBooleanExtra(EXTRA_GOVERNOR, false));
+	}
+
+	/**
+	 * Starts the multiplier sweep benchmark if requested by the launch
+	 * extras. The sweep takes over the multiplier from the thermal governor
+	 * and writes its results as CSV to the application's external files
+	 * directory.
+	 */
+	private void initializeSweep() {
+		Intent intent = getIntent();
+		if (gpuControl == null || !intent.getBooleanExtra(EXTRA_SWEEP, false))
+			return;
+
+		int[] multipliers = intent.getIntArrayExtra(EXTRA_SWEEP_MULTIPLIERS);
+		try {
+			multiplierSweep = new MultiplierSweep(gpuControl, mGLSurfaceView.getMetricsChannel(),
+					multipliers != null ? multipliers : MultiplierSweep.DEFAULT_MULTIPLIERS,
+					intent.getIntExtra(EXTRA_SWEEP_SETTLE, MultiplierSweep.DEFAULT_SETTLE_SECONDS),
+					intent.getIntExtra(EXTRA_SWEEP_WINDOW, MultiplierSweep.DEFAULT_WINDOW_SECONDS),
+					sweepListener);
+		} catch (IllegalArgumentException e) {
+			Log.e(TAG, "Invalid sweep: " + e.getMessage());
+			return;
+		}
+		cbThermalGovernor.setChecked(false);
+		systemSampler.addSampleSink(multiplierSweep);
+		multiplierSweep.start();
+	}
+
+	/**
+	 * Starts serving the samples and frame metrics over HTTP if requested by
+	 * the launch extras. Snapshots are encoded on the sampler thread, where
+	 * the server is also started and stopped.
+	 */
+	private void initializeExport() {
+		Intent intent = getIntent();
+		if (!intent.getBooleanExtra(EXTRA_EXPORT, false))
+			return;
+
+		MetricsExporter exporter = new MetricsExporter(mGLSurfaceView.getMetricsChannel());
+		try {
+			exportServer = new MetricsExportServer(exporter,
+					intent.getIntExtra(EXTRA_EXPORT_PORT, MetricsExportServer.DEFAULT_PORT));
+		} catch (IllegalArgumentException e) {
+			Log.e(TAG, "Invalid export port: " + e.getMessage());
+			return;
+		}
+		systemSampler.addSampleSink(exporter);
+		samplerExecutor.execute(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					exportServer.start();
+					Log.i(TAG, "Serving metrics on port " + exportServer.getPort());
+				} catch (IOException e) {
+					Log.e(TAG, "Could not start the metrics server", e);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Configures the OpenGL workload from the extras of the launching intent,
+	 * so stress runs can be repeated from the command line.
+	 *
+	 * @param view The OpenGL view to configure.
+	 */
+	private void configureWorkload(ViewPentagons view) {
+		Intent intent = getIntent();
+		view.setBatchedRendering(intent.getBooleanExtra(EXTRA_BATCHED, false));
+		view.setGpuTiming(intent.getBooleanExtra(EXTRA_GPU_TIMING, true));
+		// Scene updates may overlap with rendering on their own thread.
+		if (intent.getBooleanExtra(EXTRA_ASYNC_UPDATE, false)) {
+			updateExecutor = Executors.newSingleThreadExecutor();
+			view.setUpdateExecutor(updateExecutor);
+		}
+		// Pentagons may be transformed on the CPU, one thread per core.
+		if (intent.getBooleanExtra(EXTRA_PARALLEL_TRANSFORMS, false)) {
+			transformPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+			view.setTransformPool(transformPool);
+		}
+		long seed = intent.getLongExtra(EXTRA_SEED, ViewPentagons.DEFAULT_SEED);
+		sceneLevel = intent.getIntExtra(EXTRA_LOAD_LEVEL, 0);
+		int scene = ViewPentagons.SCENE_PENTAGONS;
+		if (intent.hasExtra(EXTRA_SCENE)) {
+			scene = ViewPentagons.findScene(intent.getStringExtra(EXTRA_SCENE));
+			if (scene < 0) {
+				Log.e(TAG, "Unknown scene: " + intent.getStringExtra(EXTRA_SCENE));
+				scene = ViewPentagons.SCENE_PENTAGONS;
+			}
+		}
+		try {
+			if (scene != ViewPentagons.SCENE_PENTAGONS)
+				view.setScene(scene, sceneLevel);
+			else if (intent.hasExtra(EXTRA_PENTAGONS) || intent.hasExtra(EXTRA_PENTAGON_SIZE)
+					|| intent.hasExtra(EXTRA_OVERDRAW_LAYERS))
+				view.setWorkload(intent.getIntExtra(EXTRA_PENTAGONS, ViewPentagons.DEFAULT_PENTAGON_COUNT),
+						intent.getFloatExtra(EXTRA_PENTAGON_SIZE, ViewPentagons.DEFAULT_PENTAGON_SIZE),
+						intent.getIntExtra(EXTRA_OVERDRAW_LAYERS, ViewPentagons.DEFAULT_OVERDRAW_LAYERS), seed);
+			else
+				view.setLoadLevel(sceneLevel, seed);
+		} catch (IllegalArgumentException e) {
+			Log.e(TAG, "Invalid workload: " + e.getMessage());
+		}
+		try {
+			view.setTargetFps(intent.getIntExtra(EXTRA_TARGET_FPS, 0));
+		} catch (IllegalArgumentException e) {
+			Log.e(TAG, "Invalid target FPS: " + e.getMessage());
+		}
+	}
+
 	/**
 	 * Initializes and configures the temperature plot.
 	 */
@@ -223,8 +750,8 @@ public class GPUSampleApp extends Activity {
 		tempPlot = findViewById(R.id.temp_plot);
 
 		tempPlot.setRangeBoundaries(40, 90, BoundaryMode.FIXED);
-		tempPlot.setDomainBoundaries(0, 60, BoundaryMode.FIXED);
-		tempPlot.setDomainStepValue(7);
+		tempPlot.setDomainBoundaries(0, MAX_TIME + PREDICTION_SECONDS, BoundaryMode.FIXED);
+		tempPlot.setDomainStepValue(PLOT_WINDOWS[0][2]);
 		tempPlot.setRangeStepValue(6);
 
 		try {
@@ -244,8 +771,9 @@ public class GPUSampleApp extends Activity {
 		tempPlot.getLayoutManager().remove(tempPlot.getDomainTitle());
 		tempPlot.getLayoutManager().remove(tempPlot.getRangeTitle());
 
-		tempSeries = new SimpleXYSeries("Temperature (°C");
-		tempSeries.useImplicitXVals();
+		tempSeries = new RingXYSeries("Temperature (°C)", MAX_TIME + 1);
+
+		historySeries = new ArrayXYSeries("Temperature (°C)", MAX_PLOT_POINTS);
 
 		LineAndPointFormatter formatter = new LineAndPointFormatter(
 				ContextCompat.getColor(getApplicationContext(), R.color.orange), null,
@@ -259,5 +787,242 @@ public class GPUSampleApp extends Activity {
 		formatter.setFillPaint(paint);
 
 		tempPlot.addSeries(tempSeries, formatter);
+		tempFormatter = formatter;
+
+		// The predicted temperature continues the live samples as a dashed line.
+		predictionSeries = new ArrayXYSeries("Predicted temperature (°C)", PREDICTION_POINTS);
+		predictionFormatter = new LineAndPointFormatter(
+				ContextCompat.getColor(getApplicationContext(), R.color.red), null, null, null);
+		predictionFormatter.getLinePaint().setPathEffect(new DashPathEffect(new float[] { 10, 10 }, 0));
+		tempPlot.addSeries(predictionSeries, predictionFormatter);
+
+		// Multiplier transitions are annotated with vertical markers.
+		annotations = new XValueMarker[TRANSITION_CAPACITY];
+		for (int i = 0; i < annotations.length; i++) {
+			annotations[i] = new XValueMarker(0, "");
+			annotations[i].getLinePaint().setColor(ContextCompat.getColor(getApplicationContext(), R.color.blue));
+			annotations[i].getTextPaint().setColor(ContextCompat.getColor(getApplicationContext(), R.color.blue));
+			annotations[i].setTextOrientation(TextOrientation.VERTICAL_ASCENDING);
+		}
+
+		// Long-pressing the plot exports the telemetry log.
+		tempPlot.setOnLongClickListener(new View.OnLongClickListener() {
+			@Override
+			public boolean onLongClick(View v) {
+				samplerExecutor.execute(new Runnable() {
+					@Override
+					public void run() {
+						exportTelemetry();
+					}
+				});
+				return true;
+			}
+		});
+
+		// Tapping the plot cycles through the temperature windows.
+		tempPlot.setOnClickListener(new View.OnClickListener() {
+			@Override
+			public void onClick(View v) {
+				setPlotWindow((plotWindow + 1) % PLOT_WINDOWS.length);
+			}
+		});
+	}
+
+	/**
+	 * Shows the given temperature window in the plot. The shortest window
+	 * shows every sample; longer ones are decimated from the history.
+	 *
+	 * @param window Index of the window in {@code PLOT_WINDOWS}.
+	 */
+	private void setPlotWindow(int window) {
+		if (window == 0 && plotWindow != 0) {
+			tempPlot.removeSeries(historySeries);
+			tempPlot.addSeries(tempSeries, tempFormatter);
+			tempPlot.addSeries(predictionSeries, predictionFormatter);
+		} else if (window != 0 && plotWindow == 0) {
+			tempPlot.removeSeries(tempSeries);
+			tempPlot.removeSeries(predictionSeries);
+			tempPlot.addSeries(historySeries, tempFormatter);
+		}
+		plotWindow = window;
+
+		// Only the shortest window leaves room for the prediction.
+		int[] config = PLOT_WINDOWS[window];
+		tempPlot.setDomainBoundaries(0, config[0] / config[1] + (window == 0 ? PREDICTION_SECONDS : 0),
+				BoundaryMode.FIXED);
+		tempPlot.setDomainStepValue(config[2]);
+		updateHistorySeries();
+		updateAnnotations();
+		tempPlot.redraw();
+
+		Toast.makeText(this, String.format(getResources().getString(R.string.plot_window),
+				getResources().getStringArray(R.array.plot_windows)[window]), Toast.LENGTH_SHORT).show();
+	}
+
+	/**
+	 * Replays the telemetry log of previous sessions into a new temperature
+	 * history and opens the log for appending. Runs on the sampler thread
+	 * before the first sample is taken.
+	 */
+	private void replayTelemetry() {
+		final TemperatureHistory history = new TemperatureHistory();
+		try {
+			TelemetryLogReader.read(new File(getFilesDir(), TELEMETRY_DIR), new TelemetryLogReader.Visitor() {
+				@Override
+				public void onRecord(TelemetryRecord record) {
+					history.append(record.getTemperature());
+				}
+			});
+		} catch (IOException e) {
+			Log.e(TAG, "Could not replay the telemetry log", e);
+		}
+		telemetryLogger.open();
+		if (telemetryLogger.getError() != null)
+			Log.e(TAG, "Could not open the telemetry log", telemetryLogger.getError());
+
+		uiHandler.post(new Runnable() {
+			@Override
+			public void run() {
+				temperatureHistory = history;
+				updateHistorySeries();
+				tempPlot.redraw();
+			}
+		});
+	}
+
+	/**
+	 * Exports the telemetry log as CSV to the application's external files
+	 * directory. Runs on the sampler thread.
+	 */
+	private void exportTelemetry() {
+		File csv = new File(getExternalFilesDir(null), TELEMETRY_CSV);
+		String message;
+		try (Writer writer = new BufferedWriter(new FileWriter(csv))) {
+			TelemetryLogReader.exportCsv(new File(getFilesDir(), TELEMETRY_DIR), writer);
+			message = String.format(getResources().getString(R.string.telemetry_exported), csv.getAbsolutePath());
+		} catch (IOException e) {
+			Log.e(TAG, "Could not export the telemetry log", e);
+			message = getResources().getString(R.string.telemetry_export_error);
+		}
+		showToast(message);
+	}
+
+	/**
+	 * Shows a long toast from any thread.
+	 *
+	 * @param message The message to show.
+	 */
+	private void showToast(final String message) {
+		uiHandler.post(new Runnable() {
+			@Override
+			public void run() {
+				Toast.makeText(GPUSampleApp.this, message, Toast.LENGTH_LONG).show();
+			}
+		});
+	}
+
+	/**
+	 * Renders the current temperature window from the history into the
+	 * history series, with the newest sample at the right edge.
+	 */
+	private void updateHistorySeries() {
+		if (plotWindow == 0)
+			return;
+		int[] config = PLOT_WINDOWS[plotWindow];
+		long to = temperatureHistory.getCount();
+		long from = to - config[0];
+		float[] xs = historySeries.getXArray();
+		int points = temperatureHistory.query(from, to, MAX_PLOT_POINTS, xs, historySeries.getYArray());
+		for (int i = 0; i < points; i++)
+			xs[i] = (xs[i] - from) / config[1];
+		historySeries.setSize(points);
+	}
+
+	/**
+	 * Updates the predicted temperature series and label from the thermal
+	 * model. The series continues the live samples from the newest one.
+	 */
+	private void updatePrediction() {
+		float[] ys = predictionSeries.getYArray();
+		if (tempSeries.size() == 0 || !thermalModel.predict(ys, PREDICTION_POINTS, PREDICTION_STEP_SECONDS)) {
+			predictionSeries.setSize(0);
+			predictionLabel.show(predictionLearningText);
+			return;
+		}
+		float[] xs = predictionSeries.getXArray();
+		int last = tempSeries.size() - 1;
+		for (int i = 0; i < PREDICTION_POINTS; i++)
+			xs[i] = last + i * PREDICTION_STEP_SECONDS;
+		predictionSeries.setSize(PREDICTION_POINTS);
+
+		float secondsToHot = thermalModel.getSecondsToHot();
+		LabelFormat prediction = secondsToHot == ThermalModel.NEVER
+				? predictionSafeFormat
+				: predictionFormat.setInt(3, Math.round(secondsToHot));
+		predictionLabel.show(prediction.setFloat(1, ys[PREDICTION_POINTS - 1]));
+	}
+
+	/**
+	 * Measures the responses to the multiplier transitions and shows them
+	 * in the shortest plot window, as markers at the time of each
+	 * transition. Transitions older than the window are not shown.
+	 */
+	private void updateAnnotations() {
+		boolean changed = responseTracker.update();
+		tempPlot.removeXMarkers();
+		int last = tempSeries.size() - 1;
+		float nanosPerSample = TEMPERATURE_INTERVAL * NANOS_PER_MILLI;
+		for (long i = responseTracker.getOldest(); i < responseTracker.getTransitions(); i++) {
+			XValueMarker marker = annotations[(int) (i % annotations.length)];
+			// Keep the texts current while other windows are shown.
+			if (changed)
+				marker.setText(formatResponse(i));
+			// Transitions that could not be measured, such as the steps of a
+			// seek bar drag, are left out.
+			if (responseTracker.isFpsMeasured(i) && !responseTracker.getFpsResponse(i).isValid())
+				continue;
+			float x = last - (newestSampleNanos - responseTracker.getStepNanos(i)) / nanosPerSample;
+			if (plotWindow == 0 && x >= 0) {
+				marker.setValue(x);
+				tempPlot.addMarker(marker);
+			}
+		}
+	}
+
+	/**
+	 * Formats the annotation of a multiplier transition: the new
+	 * multiplier, followed by the frame rate and temperature responses once
+	 * measured.
+	 *
+	 * @param transition Sequence number of the transition.
+	 *
+	 * @return The annotation text.
+	 */
+	private String formatResponse(long transition) {
+		int multiplier = responseTracker.getToMultiplier(transition);
+		StepResponse fps = responseTracker.getFpsResponse(transition);
+		LabelFormat format = stepFormat.setInt(1, multiplier);
+		if (fps.isValid() && fps.getSettlingNanos() == StepResponse.NOT_SETTLED)
+			format = stepFpsUnsettledFormat.setInt(1, multiplier)
+					.setInt(2, Math.round(fps.getBefore()))
+					.setInt(3, Math.round(fps.getAfter()));
+		else if (fps.isValid())
+			format = stepFpsFormat.setInt(1, multiplier)
+					.setInt(2, Math.round(fps.getBefore()))
+					.setInt(3, Math.round(fps.getAfter()))
+					.setFloat(4, fps.getSettlingNanos() / NANOS_PER_SECOND)
+					.setInt(5, Math.round(fps.getOvershoot() * 100));
+		format.render();
+
+		StepResponse temperature = responseTracker.getTemperatureResponse(transition);
+		if (temperature.isValid() && temperature.getSettlingNanos() == StepResponse.NOT_SETTLED)
+			format = stepTemperatureUnsettledFormat.setText(1, format)
+					.setFloat(2, temperature.getDelta());
+		else if (temperature.isValid())
+			format = stepTemperatureFormat.setText(1, format)
+					.setFloat(2, temperature.getDelta())
+					.setInt(3, Math.round(temperature.getSettlingNanos() / NANOS_PER_SECOND));
+		format.render();
+		return format.toString();
 	}
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.control;
+
+import java.io.IOException;
+
+/**
+ * Access to the GPU multiplier.
+ *
+ * <p>The multiplier goes from 1 (minimum GPU frequency) to 64 (maximum GPU
+ * frequency). Implementations may block, so callers should avoid invoking
+ * them from the UI or GL threads.</p>
+ */
+public interface GpuControl {
+
+	/**
+	 * Returns the current GPU multiplier.
+	 *
+	 * @return The current GPU multiplier.
+	 *
+	 * @throws IOException If the multiplier could not be read.
+	 */
+	int getMultiplier() throws IOException;
+
+	/**
+	 * Sets the GPU multiplier.
+	 *
+	 * @param multiplier The new GPU multiplier.
+	 *
+	 * @return The multiplier actually applied.
+	 *
+	 * @throws IOException If the multiplier could not be written.
+	 */
+	int setMultiplier(int multiplier) throws IOException;
+
+	/**
+	 * Returns the multiplier the GPU is limited to when the hot trip point
+	 * is reached.
+	 *
+	 * @return The minimum GPU multiplier.
+	 *
+	 * @throws IOException If the multiplier could not be read.
+	 */
+	int getMinMultiplier() throws IOException;
+}
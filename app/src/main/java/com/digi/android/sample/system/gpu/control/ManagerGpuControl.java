@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.control;
+
+import com.digi.android.system.gpu.GPUManager;
+
+import java.io.IOException;
+
+/**
+ * {@link GpuControl} backed by the System Management - GPU API.
+ */
+public class ManagerGpuControl implements GpuControl {
+
+	// Variables.
+	private final GPUManager gpuManager;
+
+	/**
+	 * Creates a GPU control using the given manager.
+	 *
+	 * @param gpuManager The GPU manager.
+	 */
+	public ManagerGpuControl(GPUManager gpuManager) {
+		this.gpuManager = gpuManager;
+	}
+
+	@Override
+	public int getMultiplier() throws IOException {
+		return gpuManager.getMultiplier();
+	}
+
+	@Override
+	public int setMultiplier(int multiplier) throws IOException {
+		return gpuManager.setMultiplier(multiplier);
+	}
+
+	@Override
+	public int getMinMultiplier() throws IOException {
+		return gpuManager.getMinMultiplier();
+	}
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.control;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Applies GPU multiplier changes requested from the UI on a background
+ * executor.
+ *
+ * <p>Requests are coalesced: only the latest multiplier submitted before
+ * the executor gets to it is written, so dragging the seek bar across many
+ * values results in a handful of writes. Each applied multiplier is kept for
+ * at least a minimum dwell time before the next one is written, so the GPU
+ * does not go through a burst of frequency transitions that would disturb
+ * the frame timings being observed.</p>
+ *
+ * <p>If the GPU rejects a multiplier, for example because the hot trip
+ * point was reached, the minimum multiplier is applied instead. The
+ * multiplier in effect is then read back and delivered to the listener on
+ * the UI executor.</p>
+ */
+public class MultiplierCommandQueue {
+
+	/**
+	 * Receives the outcome of applied requests on the UI executor.
+	 */
+	public interface Listener {
+
+		/**
+		 * Called after a multiplier was written.
+		 *
+		 * @param requested Multiplier requested.
+		 * @param applied Multiplier read back from the GPU afterwards.
+		 */
+		void onMultiplierApplied(int requested, int applied);
+
+		/**
+		 * Called when a multiplier could not be written or read back.
+		 *
+		 * @param requested Multiplier requested.
+		 */
+		void onMultiplierError(int requested);
+	}
+
+	// Constants.
+	/** Default minimum time an applied multiplier is kept, in milliseconds. */
+	public static final long DEFAULT_DWELL_MILLIS = 250;
+
+	private static final int NONE = 0;
+
+	// Variables.
+	private final GpuControl gpuControl;
+	private final ScheduledExecutorService executor;
+	private final Executor uiExecutor;
+	private final Listener listener;
+	private final long dwellNanos;
+
+	private final AtomicInteger pending = new AtomicInteger(NONE);
+	private final AtomicBoolean scheduled = new AtomicBoolean();
+	// Requests taken from pending whose outcome did not reach the listener.
+	private final AtomicInteger unpublished = new AtomicInteger();
+
+	// Only accessed while holding the lock of this queue.
+	private boolean applied;
+	private long lastApplyNanos;
+
+	private final Runnable drainTask = new Runnable() {
+		@Override
+		public void run() {
+			drain(System.nanoTime());
+		}
+	};
+
+	/**
+	 * Creates a multiplier command queue.
+	 *
+	 * @param gpuControl GPU control to apply the multipliers with.
+	 * @param executor Executor to apply the multipliers on.
+	 * @param uiExecutor Executor the listener is called on.
+	 * @param listener Listener receiving the applied multipliers.
+	 * @param dwellMillis Minimum time an applied multiplier is kept, in
+	 *                    milliseconds.
+	 */
+	public MultiplierCommandQueue(GpuControl gpuControl, ScheduledExecutorService executor,
+			Executor uiExecutor, Listener listener, long dwellMillis) {
+		if (dwellMillis < 0)
+			throw new IllegalArgumentException("Dwell time cannot be negative");
+		this.gpuControl = gpuControl;
+		this.executor = executor;
+		this.uiExecutor = uiExecutor;
+		this.listener = listener;
+		this.dwellNanos = TimeUnit.MILLISECONDS.toNanos(dwellMillis);
+	}
+
+	/**
+	 * Requests a new multiplier, replacing any request not applied yet. Can
+	 * be called from any thread and never blocks.
+	 *
+	 * @param multiplier The new GPU multiplier, at least 1.
+	 */
+	public void submit(int multiplier) {
+		if (multiplier < 1)
+			throw new IllegalArgumentException("Multiplier must be positive");
+		pending.set(multiplier);
+		if (scheduled.compareAndSet(false, true))
+			executor.execute(drainTask);
+	}
+
+	/**
+	 * Drops the request not applied yet, if any, for example when something
+	 * else takes over the multiplier.
+	 */
+	public void cancel() {
+		pending.set(NONE);
+	}
+
+	/**
+	 * Returns whether a request is waiting to be applied, or was applied but
+	 * its outcome was not delivered to the listener yet.
+	 *
+	 * @return {@code true} if the listener has not seen the outcome of every
+	 *         submitted multiplier.
+	 */
+	public boolean isPending() {
+		// Read in the opposite order they are updated in drain(), so a
+		// request moving from one to the other is always seen.
+		return pending.get() != NONE || unpublished.get() > 0;
+	}
+
+	/**
+	 * Applies the latest request once the dwell time of the previous one has
+	 * elapsed. Called on the executor.
+	 *
+	 * @param nowNanos Monotonic current time.
+	 */
+	synchronized void drain(long nowNanos) {
+		if (applied) {
+			long waitNanos = lastApplyNanos + dwellNanos - nowNanos;
+			if (waitNanos > 0) {
+				executor.schedule(drainTask, waitNanos, TimeUnit.NANOSECONDS);
+				return;
+			}
+		}
+		// Requests from now on need another run.
+		scheduled.set(false);
+		unpublished.incrementAndGet();
+		final int requested = pending.getAndSet(NONE);
+		if (requested == NONE) {
+			unpublished.decrementAndGet();
+			return;
+		}
+
+		applied = true;
+		lastApplyNanos = nowNanos;
+		int result;
+		try {
+			if (gpuControl.setMultiplier(requested) != requested)
+				gpuControl.setMultiplier(gpuControl.getMinMultiplier());
+			result = gpuControl.getMultiplier();
+		} catch (IOException | UnsupportedOperationException e) {
+			result = NONE;
+		}
+
+		final int multiplier = result;
+		uiExecutor.execute(new Runnable() {
+			@Override
+			public void run() {
+				// The listener sees the outcome as no longer pending.
+				unpublished.decrementAndGet();
+				if (multiplier == NONE)
+					listener.onMultiplierError(requested);
+				else
+					listener.onMultiplierApplied(requested, multiplier);
+			}
+		});
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.digi.android.sample.system.gpu.control;
+
+import com.digi.android.sample.system.gpu.events.EventBus;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link GpuControl} posting the multiplier changes going through it to an
+ * {@link EventBus}.
+ *
+ * <p>Every multiplier written is posted as
+ * {@link EventBus#MULTIPLIER_SET}. A multiplier applied by a write, or read
+ * back, that differs from the previous one is posted as
+ * {@link EventBus#MULTIPLIER_CONFIRMED}. Writes are thus confirmed as soon
+ * as they return, and reads also catch the changes made by the system,
+ * for example when the hot trip point is reached.</p>
+ */
+public class RecordingGpuControl implements GpuControl {
+
+	// Variables.
+	private final GpuControl gpuControl;
+	private final EventBus eventBus;
+
+	private final AtomicInteger confirmed = new AtomicInteger();
+
+	/**
+	 * Creates a GPU control recording the changes of the given one.
+	 *
+	 * @param gpuControl The GPU control to access the multiplier with.
+	 * @param eventBus Event bus to post the changes to.
+	 */
+	public RecordingGpuControl(GpuControl gpuControl, EventBus eventBus) {
+		this.gpuControl = gpuControl;
+		this.eventBus = eventBus;
+	}
+
+	@Override
+	public int getMultiplier() throws IOException {
+		return confirm(gpuControl.getMultiplier());
+	}
+
+	@Override
+	public int setMultiplier(int multiplier) throws IOException {
+		eventBus.post(EventBus.MULTIPLIER_SET, multiplier);
+		return confirm(gpuControl.setMultiplier(multiplier));
+	}
+
+	@Override
+	public int getMinMultiplier() throws IOException {
+		return gpuControl.getMinMultiplier();
+	}
+
+	/**
+	 * Posts the given multiplier as confirmed if it differs from the
+	 * previous one.
+	 *
+	 * @param multiplier The multiplier in effect.
+	 *
+	 * @return The given multiplier.
+	 */
+	private int confirm(int multiplier) {
+		if (confirmed.getAndSet(multiplier) != multiplier)
+			eventBus.post(EventBus.MULTIPLIER_CONFIRMED, multiplier);
+		return multiplier;
+	}
+}
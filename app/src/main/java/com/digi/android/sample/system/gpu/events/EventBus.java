@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.digi.android.sample.system.gpu.events;
+
+/**
+ * Timeline of the application events frame rate and temperature changes
+ * are correlated with, kept in a fixed-capacity ring of primitive arrays.
+ *
+ * <p>Every event has a type, an integer value and a monotonic timestamp in
+ * the {@link System#nanoTime()} time base, and gets a sequence number
+ * starting at 0. Once the ring is full, each new event overwrites the
+ * oldest one. Events can be posted from any thread and never allocate;
+ * they are rare enough for a lock to be cheaper than it is complex.</p>
+ */
+public final class EventBus {
+
+	/**
+	 * Receives the events read from the bus.
+	 */
+	public interface Visitor {
+
+		/**
+		 * Called for every event read, oldest first. Must not post events.
+		 *
+		 * @param sequence Sequence number of the event.
+		 * @param timeNanos Monotonic time of the event.
+		 * @param type Event type, one of the constants of {@link EventBus}.
+		 * @param value Value of the event, depending on its type.
+		 */
+		void onEvent(long sequence, long timeNanos, int type, int value);
+	}
+
+	// Constants.
+	/** A GPU multiplier was requested. The value is the multiplier. */
+	public static final int MULTIPLIER_SET = 1;
+	/** A new GPU multiplier was applied or read back. The value is the multiplier. */
+	public static final int MULTIPLIER_CONFIRMED = 2;
+	/** The GL surface was created. */
+	public static final int SURFACE_CREATED = 3;
+	/** The GL surface was destroyed. */
+	public static final int SURFACE_DESTROYED = 4;
+	/** Rendering was paused. */
+	public static final int PAUSED = 5;
+	/** Rendering was resumed. */
+	public static final int RESUMED = 6;
+	/** A shader program was compiled or restored. The value is the time it took in microseconds. */
+	public static final int SHADER_COMPILED = 7;
+
+	// Variables.
+	private final int mask;
+	private final long[] times;
+	private final int[] types;
+	private final int[] values;
+
+	// Only written while holding the lock of this bus.
+	private volatile long written;
+
+	/**
+	 * Creates an event bus.
+	 *
+	 * @param capacity Minimum amount of events to keep. Rounded up to the
+	 *                 next power of two.
+	 */
+	public EventBus(int capacity) {
+		if (capacity < 1 || capacity > (1 << 30))
+			throw new IllegalArgumentException("Capacity must be between 1 and " + (1 << 30));
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity)
+			size <<= 1;
+		mask = size - 1;
+		times = new long[size];
+		types = new int[size];
+		values = new int[size];
+	}
+
+	/**
+	 * Posts an event happening now.
+	 *
+	 * @param type Event type.
+	 * @param value Value of the event, depending on its type.
+	 */
+	public void post(int type, int value) {
+		post(System.nanoTime(), type, value);
+	}
+
+	/**
+	 * Posts an event that happened at the given time.
+	 *
+	 * @param timeNanos Monotonic time of the event.
+	 * @param type Event type.
+	 * @param value Value of the event, depending on its type.
+	 */
+	public synchronized void post(long timeNanos, int type, int value) {
+		if (type < MULTIPLIER_SET || type > SHADER_COMPILED)
+			throw new IllegalArgumentException("Unknown event type " + type);
+		long sequence = written;
+		int index = (int) sequence & mask;
+		times[index] = timeNanos;
+		types[index] = type;
+		values[index] = value;
+		written = sequence + 1;
+	}
+
+	/**
+	 * Reads the events from the given sequence number on. Events already
+	 * overwritten are skipped.
+	 *
+	 * @param from Sequence number of the first event to read.
+	 * @param visitor Visitor receiving the events.
+	 *
+	 * @return The sequence number to read from next time.
+	 */
+	public synchronized long read(long from, Visitor visitor) {
+		long end = written;
+		for (long i = Math.max(from, getOldest()); i < end; i++) {
+			int index = (int) i & mask;
+			visitor.onEvent(i, times[index], types[index], values[index]);
+		}
+		return Math.max(from, end);
+	}
+
+	/**
+	 * Returns the amount of events ever posted, which is also the sequence
+	 * number the next event will get.
+	 *
+	 * @return The amount of events ever posted.
+	 */
+	public long getWritten() {
+		return written;
+	}
+
+	/**
+	 * Returns the sequence number of the oldest event still held.
+	 *
+	 * @return The sequence number of the oldest event.
+	 */
+	public long getOldest() {
+		return Math.max(0, written - (mask + 1));
+	}
+
+	/**
+	 * Returns the maximum amount of events held.
+	 *
+	 * @return The capacity of the ring.
+	 */
+	public int getCapacity() {
+		return mask + 1;
+	}
+}
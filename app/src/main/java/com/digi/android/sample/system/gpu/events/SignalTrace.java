@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.digi.android.sample.system.gpu.events;
+
+/**
+ * Fixed-capacity ring of timestamped values of a signal, such as the frame
+ * rate or the temperature, kept in primitive arrays.
+ *
+ * <p>Samples must be added in time order. Every sample gets a sequence
+ * number, starting at 0. Once the ring is full, each new sample overwrites
+ * the oldest one. Instances are not thread safe.</p>
+ */
+public final class SignalTrace {
+
+	// Variables.
+	private final int mask;
+	private final long[] times;
+	private final float[] values;
+
+	private long written;
+
+	/**
+	 * Creates a signal trace.
+	 *
+	 * @param capacity Minimum amount of samples to keep. Rounded up to the
+	 *                 next power of two.
+	 */
+	public SignalTrace(int capacity) {
+		if (capacity < 1 || capacity > (1 << 30))
+			throw new IllegalArgumentException("Capacity must be between 1 and " + (1 << 30));
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity)
+			size <<= 1;
+		mask = size - 1;
+		times = new long[size];
+		values = new float[size];
+	}
+
+	/**
+	 * Appends a sample. Samples not newer than the newest one are ignored.
+	 *
+	 * @param timeNanos Monotonic time of the sample.
+	 * @param value Value of the signal.
+	 */
+	public void add(long timeNanos, float value) {
+		if (written > 0 && timeNanos <= getTime(written - 1))
+			return;
+		int index = (int) written & mask;
+		times[index] = timeNanos;
+		values[index] = value;
+		written++;
+	}
+
+	/**
+	 * Removes all samples.
+	 */
+	public void clear() {
+		written = 0;
+	}
+
+	/**
+	 * Returns the amount of samples ever written, which is also the sequence
+	 * number the next sample will get.
+	 *
+	 * @return The amount of samples ever written.
+	 */
+	public long getWritten() {
+		return written;
+	}
+
+	/**
+	 * Returns the sequence number of the oldest sample still held.
+	 *
+	 * @return The sequence number of the oldest sample.
+	 */
+	public long getOldest() {
+		return Math.max(0, written - (mask + 1));
+	}
+
+	/**
+	 * Returns the sequence number of the first sample taken at or after the
+	 * given time.
+	 *
+	 * @param timeNanos Monotonic time.
+	 *
+	 * @return The sequence number of the first sample not older than the
+	 *         given time, {@link #getWritten()} if there is none.
+	 */
+	public long find(long timeNanos) {
+		long low = getOldest();
+		long high = written;
+		while (low < high) {
+			long middle = (low + high) >>> 1;
+			if (getTime(middle) < timeNanos)
+				low = middle + 1;
+			else
+				high = middle;
+		}
+		return low;
+	}
+
+	public long getTime(long sequence) {
+		return times[(int) sequence & mask];
+	}
+
+	public float getValue(long sequence) {
+		return values[(int) sequence & mask];
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.digi.android.sample.system.gpu.events;
+
+/**
+ * Response of a signal to a step, as measured by a
+ * {@link StepResponseAnalyzer}. Instances are reused between analyses.
+ */
+public final class StepResponse {
+
+	// Constants.
+	/** Settling time of a signal that did not settle within the window. */
+	public static final long NOT_SETTLED = -1;
+
+	// Variables.
+	private boolean valid;
+	private long stepNanos;
+	private float before;
+	private float after;
+	private long settlingNanos;
+	private float overshoot;
+
+	void set(long stepNanos, float before, float after, long settlingNanos, float overshoot) {
+		this.valid = true;
+		this.stepNanos = stepNanos;
+		this.before = before;
+		this.after = after;
+		this.settlingNanos = settlingNanos;
+		this.overshoot = overshoot;
+	}
+
+	/**
+	 * Marks the response as not measured.
+	 */
+	public void invalidate() {
+		valid = false;
+	}
+
+	/**
+	 * Returns whether the response was measured.
+	 *
+	 * @return {@code false} if there were not enough samples around the
+	 *         step, in which case the other values are meaningless.
+	 */
+	public boolean isValid() {
+		return valid;
+	}
+
+	/**
+	 * Returns the time of the step.
+	 *
+	 * @return Monotonic time of the step.
+	 */
+	public long getStepNanos() {
+		return stepNanos;
+	}
+
+	/**
+	 * Returns the mean value of the signal before the step.
+	 *
+	 * @return The value before the step.
+	 */
+	public float getBefore() {
+		return before;
+	}
+
+	/**
+	 * Returns the value the signal settled to after the step, the mean of
+	 * the end of the window.
+	 *
+	 * @return The final value.
+	 */
+	public float getAfter() {
+		return after;
+	}
+
+	/**
+	 * Returns how much the signal changed with the step.
+	 *
+	 * @return The final value minus the value before the step.
+	 */
+	public float getDelta() {
+		return after - before;
+	}
+
+	/**
+	 * Returns the time from the step until the signal stayed within the
+	 * settling band around its final value.
+	 *
+	 * @return Settling time in nanoseconds, or {@link #NOT_SETTLED}.
+	 */
+	public long getSettlingNanos() {
+		return settlingNanos;
+	}
+
+	/**
+	 * Returns how far the signal went past its final value, relative to the
+	 * size of the step.
+	 *
+	 * @return Overshoot as a fraction of the step, 0 if there was none.
+	 */
+	public float getOvershoot() {
+		return overshoot;
+	}
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.digi.android.sample.system.gpu.events;
+
+/**
+ * Measures how a signal responds to a step, for example the frame rate
+ * after the GPU multiplier changed.
+ *
+ * <p>The value before the step is the mean of the samples during a
+ * baseline period before it. The final value is the mean of the last
+ * quarter of the response window, so a signal still drifting at the end of
+ * the window does not settle. The signal has settled once it stays within
+ * a band around its final value: a fraction of the step size, but not less
+ * than an absolute width, so that quantized or noisy signals and steps
+ * that change nothing do not appear to oscillate. Times are resolved to
+ * the sampling interval of the signal. A window cut short before half its
+ * length, for example by the next step of a seek bar drag, measures
+ * nothing.</p>
+ *
+ * <p>Analyses never allocate. Instances are immutable and thread safe.</p>
+ */
+public final class StepResponseAnalyzer {
+
+	// Constants.
+	private static final int MIN_RESPONSE_SAMPLES = 2;
+	private static final int TAIL_FRACTION = 4;
+
+	// Variables.
+	private final long baselineNanos;
+	private final long windowNanos;
+	private final float bandFraction;
+	private final float minBand;
+
+	/**
+	 * Creates a step response analyzer.
+	 *
+	 * @param baselineNanos Time before the step averaged as the value
+	 *                      before it, in nanoseconds.
+	 * @param windowNanos Time after the step the response is measured
+	 *                    during, in nanoseconds.
+	 * @param bandFraction Half width of the settling band, as a fraction of
+	 *                     the step size.
+	 * @param minBand Minimum half width of the settling band, in units of
+	 *                the signal.
+	 */
+	public StepResponseAnalyzer(long baselineNanos, long windowNanos, float bandFraction, float minBand) {
+		if (baselineNanos <= 0 || windowNanos <= 0)
+			throw new IllegalArgumentException("Baseline and window must be positive");
+		if (!(bandFraction >= 0) || !(minBand >= 0))
+			throw new IllegalArgumentException("Settling band cannot be negative");
+		this.baselineNanos = baselineNanos;
+		this.windowNanos = windowNanos;
+		this.bandFraction = bandFraction;
+		this.minBand = minBand;
+	}
+
+	/**
+	 * Returns the time after the step the response is measured during.
+	 *
+	 * @return The response window in nanoseconds.
+	 */
+	public long getWindowNanos() {
+		return windowNanos;
+	}
+
+	/**
+	 * Measures the response of the signal to a step at the given time. The
+	 * response window is cut short at the given end, for example when the
+	 * next step or a pause comes first.
+	 *
+	 * @param trace Samples of the signal.
+	 * @param stepNanos Monotonic time of the step.
+	 * @param endNanos Monotonic time the response window is cut at, if
+	 *                 before the end of the window.
+	 * @param into Response to store the result in. Invalidated if there
+	 *             are not enough samples before or after the step, or the
+	 *             window was cut short.
+	 *
+	 * @return {@code true} if the trace covers the window, so the result
+	 *         is final; {@code false} if it must be analyzed again once
+	 *         more samples were added.
+	 */
+	public boolean analyze(SignalTrace trace, long stepNanos, long endNanos, StepResponse into) {
+		into.invalidate();
+		long end = Math.min(stepNanos + windowNanos, endNanos);
+		long written = trace.getWritten();
+		if (written == 0 || trace.getTime(written - 1) < end)
+			return false;
+		if (end - stepNanos < windowNanos / 2)
+			return true;
+
+		// Value before the step.
+		long first = trace.find(stepNanos - baselineNanos);
+		long start = trace.find(stepNanos);
+		if (first == start)
+			return true;
+		double sum = 0;
+		for (long i = first; i < start; i++)
+			sum += trace.getValue(i);
+		float before = (float) (sum / (start - first));
+
+		// Samples of the response, after the step up to the end of the window.
+		if (start < written && trace.getTime(start) == stepNanos)
+			start++;
+		long stop = trace.find(end + 1);
+		if (stop - start < MIN_RESPONSE_SAMPLES)
+			return true;
+
+		// Final value, from the end of the window.
+		long tail = Math.min(stop - 1, trace.find(end - (end - stepNanos) / TAIL_FRACTION));
+		sum = 0;
+		for (long i = tail; i < stop; i++)
+			sum += trace.getValue(i);
+		float after = (float) (sum / (stop - tail));
+
+		float delta = after - before;
+		float band = Math.max(bandFraction * Math.abs(delta), minBand);
+		long settled = start;
+		float peak = 0;
+		for (long i = start; i < stop; i++) {
+			float error = trace.getValue(i) - after;
+			if (Math.abs(error) > band)
+				settled = i + 1;
+			// Excursion past the final value, in the direction of the step.
+			float excursion = delta < 0 ? -error : error;
+			if (excursion > peak)
+				peak = excursion;
+		}
+		long settlingNanos = settled < stop ? trace.getTime(settled) - stepNanos : StepResponse.NOT_SETTLED;
+		float overshoot = Math.abs(delta) > minBand ? peak / Math.abs(delta) : 0;
+		into.set(stepNanos, before, after, settlingNanos, overshoot);
+		return true;
+	}
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.digi.android.sample.system.gpu.events;
+
+/**
+ * Follows the GPU multiplier transitions posted to an {@link EventBus} and
+ * measures how the frame rate and the temperature respond to each of them.
+ *
+ * <p>A transition is a confirmed multiplier different from the previous
+ * confirmed one. Its response window ends early at the next transition,
+ * or when rendering is paused or the surface destroyed, so the
+ * measurement is not disturbed by them. Responses are analyzed again on
+ * every {@link #update()} until their window is covered by the samples.</p>
+ *
+ * <p>The latest transitions are kept in a fixed-capacity ring, with their
+ * sequence numbers starting at 0. Instances are not thread safe and never
+ * allocate after construction.</p>
+ */
+public final class StepResponseTracker {
+
+	// Variables.
+	private final EventBus eventBus;
+	private final SignalTrace fpsTrace;
+	private final SignalTrace temperatureTrace;
+	private final StepResponseAnalyzer fpsAnalyzer;
+	private final StepResponseAnalyzer temperatureAnalyzer;
+
+	private final int mask;
+	private final long[] stepTimes;
+	private final long[] endTimes;
+	private final int[] fromMultipliers;
+	private final int[] toMultipliers;
+	private final boolean[] fpsDone;
+	private final boolean[] temperatureDone;
+	private final StepResponse[] fpsResponses;
+	private final StepResponse[] temperatureResponses;
+
+	private long transitions;
+	private long eventSequence;
+	private int confirmedMultiplier;
+	private boolean changed;
+
+	private final EventBus.Visitor eventVisitor = new EventBus.Visitor() {
+		@Override
+		public void onEvent(long sequence, long timeNanos, int type, int value) {
+			switch (type) {
+				case EventBus.MULTIPLIER_CONFIRMED:
+					if (confirmedMultiplier != 0 && value != confirmedMultiplier)
+						addTransition(timeNanos, confirmedMultiplier, value);
+					confirmedMultiplier = value;
+					break;
+				case EventBus.PAUSED:
+				case EventBus.SURFACE_DESTROYED:
+					endTransition(timeNanos);
+					break;
+				default:
+					break;
+			}
+		}
+	};
+
+	/**
+	 * Creates a step response tracker.
+	 *
+	 * @param eventBus Event bus the multiplier transitions are read from.
+	 * @param traceCapacity Minimum amount of samples kept per signal.
+	 * @param capacity Minimum amount of transitions to keep. Rounded up to
+	 *                 the next power of two.
+	 * @param fpsAnalyzer Analyzer of the frame rate responses.
+	 * @param temperatureAnalyzer Analyzer of the temperature responses.
+	 */
+	public StepResponseTracker(EventBus eventBus, int traceCapacity, int capacity,
+			StepResponseAnalyzer fpsAnalyzer, StepResponseAnalyzer temperatureAnalyzer) {
+		if (capacity < 1 || capacity > (1 << 16))
+			throw new IllegalArgumentException("Capacity must be between 1 and " + (1 << 16));
+		this.eventBus = eventBus;
+		this.fpsTrace = new SignalTrace(traceCapacity);
+		this.temperatureTrace = new SignalTrace(traceCapacity);
+		this.fpsAnalyzer = fpsAnalyzer;
+		this.temperatureAnalyzer = temperatureAnalyzer;
+		eventSequence = eventBus.getWritten();
+
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity)
+			size <<= 1;
+		mask = size - 1;
+		stepTimes = new long[size];
+		endTimes = new long[size];
+		fromMultipliers = new int[size];
+		toMultipliers = new int[size];
+		fpsDone = new boolean[size];
+		temperatureDone = new boolean[size];
+		fpsResponses = new StepResponse[size];
+		temperatureResponses = new StepResponse[size];
+		for (int i = 0; i < size; i++) {
+			fpsResponses[i] = new StepResponse();
+			temperatureResponses[i] = new StepResponse();
+		}
+	}
+
+	/**
+	 * Adds a frame rate sample.
+	 *
+	 * @param timeNanos Monotonic time the frame rate was measured at.
+	 * @param fps Frames per second.
+	 */
+	public void addFps(long timeNanos, float fps) {
+		fpsTrace.add(timeNanos, fps);
+	}
+
+	/**
+	 * Adds a temperature sample.
+	 *
+	 * @param timeNanos Monotonic time the temperature was read at.
+	 * @param temperature Temperature in degrees Celsius.
+	 */
+	public void addTemperature(long timeNanos, float temperature) {
+		temperatureTrace.add(timeNanos, temperature);
+	}
+
+	/**
+	 * Reads the new events and analyzes the responses not measured yet.
+	 *
+	 * @return {@code true} if a transition was added or a response was
+	 *         measured since the last update.
+	 */
+	public boolean update() {
+		changed = false;
+		eventSequence = eventBus.read(eventSequence, eventVisitor);
+		for (long i = getOldest(); i < transitions; i++) {
+			int index = (int) i & mask;
+			if (!fpsDone[index]) {
+				fpsDone[index] = fpsAnalyzer.analyze(fpsTrace, stepTimes[index], endTimes[index],
+						fpsResponses[index]);
+				changed |= fpsDone[index];
+			}
+			if (!temperatureDone[index]) {
+				temperatureDone[index] = temperatureAnalyzer.analyze(temperatureTrace, stepTimes[index],
+						endTimes[index], temperatureResponses[index]);
+				changed |= temperatureDone[index];
+			}
+		}
+		return changed;
+	}
+
+	/**
+	 * Returns the amount of transitions ever seen, which is also the
+	 * sequence number the next transition will get.
+	 *
+	 * @return The amount of transitions.
+	 */
+	public long getTransitions() {
+		return transitions;
+	}
+
+	/**
+	 * Returns the sequence number of the oldest transition still held.
+	 *
+	 * @return The sequence number of the oldest transition.
+	 */
+	public long getOldest() {
+		return Math.max(0, transitions - (mask + 1));
+	}
+
+	/**
+	 * Returns the time of the given transition.
+	 *
+	 * @param sequence Sequence number of the transition.
+	 *
+	 * @return The monotonic time the new multiplier was confirmed at.
+	 */
+	public long getStepNanos(long sequence) {
+		return stepTimes[(int) sequence & mask];
+	}
+
+	/**
+	 * Returns the multiplier in effect before the given transition.
+	 *
+	 * @param sequence Sequence number of the transition.
+	 *
+	 * @return The previous confirmed multiplier.
+	 */
+	public int getFromMultiplier(long sequence) {
+		return fromMultipliers[(int) sequence & mask];
+	}
+
+	/**
+	 * Returns the multiplier the given transition went to.
+	 *
+	 * @param sequence Sequence number of the transition.
+	 *
+	 * @return The new confirmed multiplier.
+	 */
+	public int getToMultiplier(long sequence) {
+		return toMultipliers[(int) sequence & mask];
+	}
+
+	/**
+	 * Returns whether the frame rate response to the given transition was
+	 * analyzed for good, successfully or not.
+	 *
+	 * @param sequence Sequence number of the transition.
+	 *
+	 * @return {@code true} if the response will not change anymore.
+	 */
+	public boolean isFpsMeasured(long sequence) {
+		return fpsDone[(int) sequence & mask];
+	}
+
+	/**
+	 * Returns the frame rate response to the given transition.
+	 *
+	 * @param sequence Sequence number of the transition.
+	 *
+	 * @return The response, only valid once measured.
+	 */
+	public StepResponse getFpsResponse(long sequence) {
+		return fpsResponses[(int) sequence & mask];
+	}
+
+	/**
+	 * Returns the temperature response to the given transition.
+	 *
+	 * @param sequence Sequence number of the transition.
+	 *
+	 * @return The response, only valid once measured.
+	 */
+	public StepResponse getTemperatureResponse(long sequence) {
+		return temperatureResponses[(int) sequence & mask];
+	}
+
+	/**
+	 * Starts a new transition, ending the window of the previous one.
+	 */
+	private void addTransition(long timeNanos, int from, int to) {
+		endTransition(timeNanos);
+		int index = (int) transitions & mask;
+		stepTimes[index] = timeNanos;
+		endTimes[index] = Long.MAX_VALUE;
+		fromMultipliers[index] = from;
+		toMultipliers[index] = to;
+		fpsDone[index] = false;
+		temperatureDone[index] = false;
+		fpsResponses[index].invalidate();
+		temperatureResponses[index].invalidate();
+		transitions++;
+		changed = true;
+	}
+
+	/**
+	 * Cuts the window of the latest transition at the given time.
+	 */
+	private void endTransition(long timeNanos) {
+		if (transitions == 0)
+			return;
+		int index = (int) (transitions - 1) & mask;
+		if (endTimes[index] > timeNanos)
+			endTimes[index] = timeNanos;
+	}
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.digi.android.sample.system.gpu.export;
+
+import com.digi.android.sample.system.gpu.metrics.MetricsSnapshot;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One system sample together with the latest frame metrics, encoded once
+ * in every format the {@link MetricsExportServer} serves.
+ *
+ * <p>Instances are immutable, so they can be published from the sampler
+ * thread and written to any amount of clients without locking or copying.
+ * The encoded arrays must not be modified.</p>
+ */
+public final class ExportSnapshot {
+
+	// Constants.
+	private static final String PREFIX = "gpu_sample_";
+	private static final double NANOS_PER_SECOND = 1e9;
+
+	// Variables.
+	private final long sequence;
+	private final byte[] prometheus;
+	private final byte[] json;
+	private final byte[] event;
+
+	private ExportSnapshot(long sequence, String prometheus, String json) {
+		this.sequence = sequence;
+		this.prometheus = prometheus.getBytes(StandardCharsets.UTF_8);
+		this.json = (json + "\n").getBytes(StandardCharsets.UTF_8);
+		event = ("id: " + sequence + "\ndata: " + json + "\n\n").getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Encodes a sample.
+	 *
+	 * @param sequence Number of the sample, increasing by one per sample.
+	 * @param timeMillis Wall clock time of the sample, in milliseconds since
+	 *                   the epoch.
+	 * @param temperature Temperature in degrees Celsius.
+	 * @param multiplier GPU multiplier, or 0 if unknown.
+	 * @param metrics Latest frame metrics, or {@code null} if none were
+	 *                published yet.
+	 *
+	 * @return The encoded snapshot.
+	 */
+	public static ExportSnapshot encode(long sequence, long timeMillis, float temperature,
+			int multiplier, MetricsSnapshot metrics) {
+		StringBuilder text = new StringBuilder(2048);
+		StringBuilder json = new StringBuilder(512);
+		json.append("{\"sequence\":").append(sequence)
+				.append(",\"time\":").append(timeMillis);
+
+		gauge(text, "temperature_celsius", "Module temperature.", temperature);
+		json.append(",\"temperature\":");
+		if (Float.isNaN(temperature) || Float.isInfinite(temperature))
+			json.append("null");
+		else
+			json.append(temperature);
+		if (multiplier > 0) {
+			gauge(text, "gpu_multiplier", "GPU multiplier, between 1 and 64.", multiplier);
+			json.append(",\"multiplier\":").append(multiplier);
+		}
+
+		if (metrics != null) {
+			gauge(text, "fps", "Frames rendered during the last second.", metrics.getFps());
+			help(text, "frame_time_seconds", "Frame time percentiles during the last second.", "gauge");
+			sample(text, "frame_time_seconds{quantile=\"0.5\"}", seconds(metrics.getP50()));
+			sample(text, "frame_time_seconds{quantile=\"0.9\"}", seconds(metrics.getP90()));
+			sample(text, "frame_time_seconds{quantile=\"0.99\"}", seconds(metrics.getP99()));
+			sample(text, "frame_time_seconds{quantile=\"1\"}", seconds(metrics.getMax()));
+			gauge(text, "jank_frames", "Janky frames during the last second.", metrics.getJankFrames());
+			gauge(text, "frame_cpu_seconds", "Mean CPU time issuing a frame.", seconds(metrics.getCpuNanos()));
+			if (metrics.getGpuNanos() > 0)
+				gauge(text, "frame_gpu_seconds", "Mean GPU time of a frame.", seconds(metrics.getGpuNanos()));
+			gauge(text, "target_fps", "Paced frame rate, or 0 if not paced.", metrics.getTargetFps());
+			gauge(text, "missed_deadlines", "Paced frames that missed their deadline during the last second.",
+					metrics.getMissedDeadlines());
+			gauge(text, "scene", "Index of the rendered scene.", metrics.getScene());
+			gauge(text, "scene_level", "Load level of the scene, or -1 if custom.", metrics.getSceneLevel());
+
+			json.append(",\"fps\":").append(metrics.getFps())
+					.append(",\"p50_ns\":").append(metrics.getP50())
+					.append(",\"p90_ns\":").append(metrics.getP90())
+					.append(",\"p99_ns\":").append(metrics.getP99())
+					.append(",\"max_ns\":").append(metrics.getMax())
+					.append(",\"jank_frames\":").append(metrics.getJankFrames())
+					.append(",\"cpu_ns\":").append(metrics.getCpuNanos())
+					.append(",\"gpu_ns\":").append(metrics.getGpuNanos())
+					.append(",\"target_fps\":").append(metrics.getTargetFps())
+					.append(",\"missed_deadlines\":").append(metrics.getMissedDeadlines())
+					.append(",\"scene\":").append(metrics.getScene())
+					.append(",\"scene_level\":").append(metrics.getSceneLevel());
+		}
+
+		help(text, "samples_total", "Samples taken since the application started.", "counter");
+		sample(text, "samples_total", sequence);
+		json.append('}');
+		return new ExportSnapshot(sequence, text.toString(), json.toString());
+	}
+
+	/**
+	 * Returns the number of the sample.
+	 *
+	 * @return The sequence number, increasing by one per sample.
+	 */
+	public long getSequence() {
+		return sequence;
+	}
+
+	/**
+	 * Returns the sample in the Prometheus text exposition format.
+	 *
+	 * @return The UTF-8 encoded metrics.
+	 */
+	public byte[] getPrometheus() {
+		return prometheus;
+	}
+
+	/**
+	 * Returns the sample as one line of newline-delimited JSON.
+	 *
+	 * @return The UTF-8 encoded line, including the trailing newline.
+	 */
+	public byte[] getJson() {
+		return json;
+	}
+
+	/**
+	 * Returns the sample as a server-sent event carrying the JSON object.
+	 *
+	 * @return The UTF-8 encoded event, including the terminating blank
+	 *         line.
+	 */
+	public byte[] getEvent() {
+		return event;
+	}
+
+	private static void gauge(StringBuilder text, String name, String help, float value) {
+		help(text, name, help, "gauge");
+		// Floats are printed with their own shortest representation.
+		if (Float.isNaN(value) || Float.isInfinite(value))
+			sample(text, name, (double) value);
+		else
+			text.append(PREFIX).append(name).append(' ').append(value).append('\n');
+	}
+
+	private static void gauge(StringBuilder text, String name, String help, double value) {
+		help(text, name, help, "gauge");
+		sample(text, name, value);
+	}
+
+	private static void gauge(StringBuilder text, String name, String help, long value) {
+		help(text, name, help, "gauge");
+		sample(text, name, value);
+	}
+
+	private static void help(StringBuilder text, String name, String help, String type) {
+		text.append("# HELP ").append(PREFIX).append(name).append(' ').append(help).append('\n');
+		text.append("# TYPE ").append(PREFIX).append(name).append(' ').append(type).append('\n');
+	}
+
+	private static void sample(StringBuilder text, String name, double value) {
+		text.append(PREFIX).append(name).append(' ');
+		if (Double.isNaN(value))
+			text.append("NaN");
+		else if (Double.isInfinite(value))
+			text.append(value > 0 ? "+Inf" : "-Inf");
+		else
+			text.append(value);
+		text.append('\n');
+	}
+
+	private static void sample(StringBuilder text, String name, long value) {
+		text.append(PREFIX).append(name).append(' ').append(value).append('\n');
+	}
+
+	private static double seconds(long nanos) {
+		return nanos / NANOS_PER_SECOND;
+	}
+}
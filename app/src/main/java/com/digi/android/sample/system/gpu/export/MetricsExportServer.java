@@ -0,0 +1,452 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.digi.android.sample.system.gpu.export;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Minimal HTTP server exporting the latest {@link ExportSnapshot} so the
+ * board can be monitored remotely.
+ *
+ * <p>The following resources are served:</p>
+ * <ul>
+ *     <li>{@code /metrics}: the latest snapshot in the Prometheus text
+ *     exposition format.</li>
+ *     <li>{@code /stream}: every new snapshot as a line of JSON
+ *     (newline-delimited JSON), until the client disconnects.</li>
+ *     <li>{@code /events}: every new snapshot as a server-sent event.</li>
+ * </ul>
+ *
+ * <p>All clients are served by a single thread with a non-blocking
+ * selector. Snapshots are taken from the {@link Source} as they are, so
+ * the responses are written without encoding or copying anything. Streaming
+ * clients that do not keep up skip snapshots instead of queuing them.
+ * Only {@code GET} requests are supported and every connection is closed
+ * after its response.</p>
+ */
+public class MetricsExportServer {
+
+	/**
+	 * Provides the snapshots to serve.
+	 */
+	public interface Source {
+
+		/**
+		 * Returns the latest snapshot. Called from the server thread, so
+		 * it must not block.
+		 *
+		 * @return The latest snapshot, or {@code null} if there is none yet.
+		 */
+		ExportSnapshot getSnapshot();
+	}
+
+	// Constants.
+	/** Port served by default. */
+	public static final int DEFAULT_PORT = 9180;
+
+	private static final int MAX_CLIENTS = 32;
+	private static final int MAX_REQUEST_BYTES = 2048;
+	// Snapshots waiting to be written to a streaming client.
+	private static final int MAX_QUEUED = 16;
+	// Interval new snapshots are looked for at.
+	private static final long POLL_MILLIS = 100;
+	private static final long REQUEST_TIMEOUT_NANOS = 10000000000L;
+
+	private static final int MODE_REQUEST = 0;
+	private static final int MODE_RESPONSE = 1;
+	private static final int MODE_STREAM = 2;
+	private static final int MODE_EVENTS = 3;
+
+	private static final String CONTENT_PROMETHEUS = "text/plain; version=0.0.4; charset=utf-8";
+	private static final String CONTENT_STREAM = "application/x-ndjson";
+	private static final String CONTENT_EVENTS = "text/event-stream";
+	private static final String CONTENT_TEXT = "text/plain; charset=utf-8";
+
+	// Variables.
+	private final Source source;
+	private final int port;
+
+	private Selector selector;
+	private ServerSocketChannel serverChannel;
+	private Thread thread;
+	private volatile boolean running;
+	private volatile IOException error;
+
+	// Only accessed from the server thread.
+	private final List<Client> streams = new ArrayList<>();
+	private ExportSnapshot streamed;
+	private int clients;
+
+	private final Runnable serveTask = new Runnable() {
+		@Override
+		public void run() {
+			serve();
+		}
+	};
+
+	/**
+	 * State of one connection.
+	 */
+	private static final class Client {
+		final SocketChannel channel;
+		final long acceptedNanos;
+		final ArrayDeque<ByteBuffer> queue = new ArrayDeque<>();
+		SelectionKey key;
+		ByteBuffer request = ByteBuffer.allocate(MAX_REQUEST_BYTES);
+		int mode = MODE_REQUEST;
+		long sequence = -1;
+
+		Client(SocketChannel channel, long acceptedNanos) {
+			this.channel = channel;
+			this.acceptedNanos = acceptedNanos;
+		}
+	}
+
+	/**
+	 * Creates a metrics export server. Nothing is served until
+	 * {@link #start()} is called.
+	 *
+	 * @param source Source of the snapshots to serve.
+	 * @param port TCP port to listen on, or 0 for any free port.
+	 */
+	public MetricsExportServer(Source source, int port) {
+		if (port < 0 || port > 65535)
+			throw new IllegalArgumentException("Port must be between 0 and 65535");
+		this.source = source;
+		this.port = port;
+	}
+
+	/**
+	 * Starts listening on all interfaces and serving clients from a new
+	 * thread.
+	 *
+	 * @throws IOException If the port could not be opened.
+	 */
+	public synchronized void start() throws IOException {
+		if (running)
+			return;
+		selector = Selector.open();
+		try {
+			serverChannel = ServerSocketChannel.open();
+			serverChannel.configureBlocking(false);
+			serverChannel.socket().setReuseAddress(true);
+			serverChannel.socket().bind(new InetSocketAddress(port));
+			serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+		} catch (IOException e) {
+			closeQuietly();
+			throw e;
+		}
+		error = null;
+		running = true;
+		thread = new Thread(serveTask, "MetricsExportServer");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Stops serving, closing all connections, and waits for the server
+	 * thread to finish.
+	 */
+	public synchronized void stop() {
+		if (!running)
+			return;
+		running = false;
+		selector.wakeup();
+		try {
+			thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		thread = null;
+	}
+
+	/**
+	 * Returns the port the server listens on.
+	 *
+	 * @return The local port, or -1 if the server is not started.
+	 */
+	public synchronized int getPort() {
+		return running ? serverChannel.socket().getLocalPort() : -1;
+	}
+
+	/**
+	 * Returns the I/O error that stopped the server.
+	 *
+	 * @return The error, or {@code null} if the server did not fail.
+	 */
+	public IOException getError() {
+		return error;
+	}
+
+	private void serve() {
+		try {
+			while (running) {
+				selector.select(POLL_MILLIS);
+				Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+				while (keys.hasNext()) {
+					SelectionKey key = keys.next();
+					keys.remove();
+					if (!key.isValid())
+						continue;
+					if (key.isAcceptable()) {
+						accept();
+						continue;
+					}
+					Client client = (Client) key.attachment();
+					try {
+						if (key.isReadable())
+							read(client);
+						if (key.isValid() && key.isWritable())
+							write(client);
+					} catch (IOException e) {
+						// The client went away.
+						close(client);
+					}
+				}
+				publish();
+				expireRequests(System.nanoTime());
+			}
+		} catch (IOException e) {
+			error = e;
+			running = false;
+		} finally {
+			for (SelectionKey key : selector.keys()) {
+				if (key.attachment() != null)
+					close((Client) key.attachment());
+			}
+			closeQuietly();
+		}
+	}
+
+	private void accept() throws IOException {
+		SocketChannel channel = serverChannel.accept();
+		if (channel == null)
+			return;
+		if (clients >= MAX_CLIENTS) {
+			channel.close();
+			return;
+		}
+		Client client = new Client(channel, System.nanoTime());
+		try {
+			channel.configureBlocking(false);
+			client.key = channel.register(selector, SelectionKey.OP_READ, client);
+		} catch (IOException e) {
+			channel.close();
+			return;
+		}
+		clients++;
+	}
+
+	private void read(Client client) throws IOException {
+		ByteBuffer request = client.request;
+		if (client.mode == MODE_RESPONSE)
+			return;
+		if (client.mode != MODE_REQUEST) {
+			// Anything after the request is discarded; only the end of the
+			// stream matters.
+			request.clear();
+			if (client.channel.read(request) < 0)
+				close(client);
+			return;
+		}
+		if (client.channel.read(request) < 0) {
+			close(client);
+			return;
+		}
+		int end = findHeaderEnd(request);
+		if (end >= 0)
+			handle(client, end);
+		else if (!request.hasRemaining())
+			respond(client, 431, "Request Header Fields Too Large", CONTENT_TEXT, null);
+	}
+
+	private void handle(Client client, int headerEnd) {
+		String request = new String(client.request.array(), 0, headerEnd, StandardCharsets.ISO_8859_1);
+		int lineEnd = request.indexOf('\n');
+		String[] parts = (lineEnd < 0 ? request : request.substring(0, lineEnd)).trim().split(" ");
+		if (parts.length != 3 || !parts[2].startsWith("HTTP/")) {
+			respond(client, 400, "Bad Request", CONTENT_TEXT, null);
+			return;
+		}
+		if (!parts[0].equals("GET")) {
+			respond(client, 405, "Method Not Allowed", CONTENT_TEXT, null);
+			return;
+		}
+		String path = parts[1];
+		int query = path.indexOf('?');
+		if (query >= 0)
+			path = path.substring(0, query);
+
+		ExportSnapshot snapshot = source.getSnapshot();
+		switch (path) {
+			case "/metrics":
+				if (snapshot == null)
+					respond(client, 503, "Service Unavailable", CONTENT_TEXT, null);
+				else
+					respond(client, 200, "OK", CONTENT_PROMETHEUS, snapshot.getPrometheus());
+				break;
+			case "/stream":
+				startStream(client, MODE_STREAM, CONTENT_STREAM, snapshot);
+				break;
+			case "/events":
+				startStream(client, MODE_EVENTS, CONTENT_EVENTS, snapshot);
+				break;
+			default:
+				respond(client, 404, "Not Found", CONTENT_TEXT, null);
+				break;
+		}
+	}
+
+	private void respond(Client client, int status, String reason, String contentType, byte[] body) {
+		if (body == null)
+			body = (status + " " + reason + "\n").getBytes(StandardCharsets.US_ASCII);
+		client.mode = MODE_RESPONSE;
+		client.request = null;
+		client.queue.add(header(status, reason, contentType, "Content-Length: " + body.length + "\r\n"));
+		client.queue.add(ByteBuffer.wrap(body));
+		client.key.interestOps(SelectionKey.OP_WRITE);
+	}
+
+	private void startStream(Client client, int mode, String contentType, ExportSnapshot snapshot) {
+		client.mode = mode;
+		// Only needed to detect the end of the stream from now on.
+		client.request = ByteBuffer.allocate(64);
+		client.queue.add(header(200, "OK", contentType, "Cache-Control: no-cache\r\n"));
+		client.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+		streams.add(client);
+		if (snapshot != null)
+			enqueue(client, snapshot);
+	}
+
+	private static ByteBuffer header(int status, String reason, String contentType, String extra) {
+		return ByteBuffer.wrap(("HTTP/1.1 " + status + " " + reason + "\r\n"
+				+ "Content-Type: " + contentType + "\r\n"
+				+ extra
+				+ "Connection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+	}
+
+	/**
+	 * Queues new snapshots to every streaming client.
+	 */
+	private void publish() {
+		ExportSnapshot snapshot = source.getSnapshot();
+		if (snapshot == null || snapshot == streamed)
+			return;
+		streamed = snapshot;
+		for (int i = 0; i < streams.size(); i++)
+			enqueue(streams.get(i), snapshot);
+	}
+
+	private void enqueue(Client client, ExportSnapshot snapshot) {
+		if (snapshot.getSequence() <= client.sequence)
+			return;
+		client.sequence = snapshot.getSequence();
+		// Snapshots are skipped rather than queued without bound.
+		if (client.queue.size() >= MAX_QUEUED)
+			return;
+		client.queue.add(ByteBuffer.wrap(client.mode == MODE_EVENTS ? snapshot.getEvent() : snapshot.getJson()));
+		if (client.key.isValid())
+			client.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+	}
+
+	private void write(Client client) throws IOException {
+		ArrayDeque<ByteBuffer> queue = client.queue;
+		while (!queue.isEmpty()) {
+			ByteBuffer buffer = queue.peek();
+			client.channel.write(buffer);
+			if (buffer.hasRemaining())
+				return;
+			queue.poll();
+		}
+		if (client.mode == MODE_RESPONSE)
+			close(client);
+		else
+			client.key.interestOps(SelectionKey.OP_READ);
+	}
+
+	/**
+	 * Closes connections that did not send a complete request in time.
+	 */
+	private void expireRequests(long nowNanos) {
+		for (SelectionKey key : selector.keys()) {
+			Client client = (Client) key.attachment();
+			if (client != null && key.isValid() && client.mode == MODE_REQUEST
+					&& nowNanos - client.acceptedNanos > REQUEST_TIMEOUT_NANOS)
+				close(client);
+		}
+	}
+
+	private void close(Client client) {
+		if (!client.channel.isOpen())
+			return;
+		if (client.key != null)
+			client.key.cancel();
+		try {
+			client.channel.close();
+		} catch (IOException e) {
+			// Nothing left to release.
+		}
+		client.queue.clear();
+		if (client.mode == MODE_STREAM || client.mode == MODE_EVENTS)
+			streams.remove(client);
+		clients--;
+	}
+
+	private void closeQuietly() {
+		try {
+			if (serverChannel != null)
+				serverChannel.close();
+		} catch (IOException e) {
+			// Nothing left to release.
+		}
+		try {
+			selector.close();
+		} catch (IOException e) {
+			// Nothing left to release.
+		}
+	}
+
+	/**
+	 * Returns the length of the request header, up to and including the
+	 * blank line ending it, or -1 if the header is not complete yet.
+	 */
+	private static int findHeaderEnd(ByteBuffer request) {
+		byte[] bytes = request.array();
+		int length = request.position();
+		for (int i = 0; i < length; i++) {
+			if (bytes[i] != '\n')
+				continue;
+			if (i + 1 < length && bytes[i + 1] == '\n')
+				return i + 2;
+			if (i + 2 < length && bytes[i + 1] == '\r' && bytes[i + 2] == '\n')
+				return i + 3;
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.digi.android.sample.system.gpu.export;
+
+import com.digi.android.sample.system.gpu.metrics.MetricsChannel;
+import com.digi.android.sample.system.gpu.metrics.MetricsSnapshot;
+import com.digi.android.sample.system.gpu.sampling.SystemSampler;
+
+/**
+ * Encodes every system sample, together with the latest frame metrics, as
+ * an {@link ExportSnapshot} for the {@link MetricsExportServer}.
+ *
+ * <p>Meant to be installed as the sample sink of a {@link SystemSampler}:
+ * encoding happens once per sample on the sampler thread, and the result is
+ * published through a volatile field, so serving clients never blocks
+ * sampling and sampling never waits for clients.</p>
+ */
+public class MetricsExporter implements SystemSampler.SampleSink, MetricsExportServer.Source {
+
+	// Variables.
+	private final MetricsChannel metricsChannel;
+	private final MetricsSnapshot metrics = new MetricsSnapshot();
+
+	private long sequence;
+	private volatile ExportSnapshot snapshot;
+
+	/**
+	 * Creates a metrics exporter.
+	 *
+	 * @param metricsChannel Channel to read frame metrics from, or
+	 *                       {@code null} to export the system samples only.
+	 */
+	public MetricsExporter(MetricsChannel metricsChannel) {
+		this.metricsChannel = metricsChannel;
+	}
+
+	@Override
+	public void onSample(long timeNanos, float temperature, int multiplier) {
+		boolean hasMetrics = metricsChannel != null && metricsChannel.read(metrics) != 0;
+		snapshot = ExportSnapshot.encode(++sequence, System.currentTimeMillis(), temperature, multiplier,
+				hasMetrics ? metrics : null);
+	}
+
+	@Override
+	public ExportSnapshot getSnapshot() {
+		return snapshot;
+	}
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.metrics;
+
+import java.util.Arrays;
+
+/**
+ * Log-bucketed histogram of frame times in nanoseconds.
+ *
+ * <p>Values are grouped by their power of two and each power of two is split
+ * into {@value #SUB_BUCKET_COUNT} linear sub-buckets, so every recorded value
+ * is kept with a relative error below 1/{@value #SUB_BUCKET_COUNT} over the
+ * whole range. All storage is allocated up front and recording a value never
+ * allocates.</p>
+ *
+ * <p>This class is not thread safe; it is meant to be fed from the GL
+ * thread only.</p>
+ */
+public final class FrameTimeHistogram {
+
+	// Constants.
+	private static final int SUB_BUCKET_BITS = 5;
+	static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	private static final int MAX_EXPONENT = 36;
+
+	/** Largest value that can be recorded, about 137 seconds. */
+	public static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+	static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) << SUB_BUCKET_BITS;
+
+	// Variables.
+	private final long[] counts = new long[BUCKET_COUNT];
+
+	private long totalCount;
+	private long totalValue;
+	private long min = Long.MAX_VALUE;
+	private long max;
+
+	/**
+	 * Records the given frame time.
+	 *
+	 * @param nanos Frame time in nanoseconds. Negative values are recorded as
+	 *              zero and values above {@link #MAX_VALUE} as
+	 *              {@link #MAX_VALUE}.
+	 */
+	public void record(long nanos) {
+		long value = nanos < 0 ? 0 : Math.min(nanos, MAX_VALUE);
+		counts[bucketIndex(value)]++;
+		totalCount++;
+		totalValue += value;
+		if (value < min)
+			min = value;
+		if (value > max)
+			max = value;
+	}
+
+	/**
+	 * Returns the amount of recorded values.
+	 *
+	 * @return The amount of recorded values.
+	 */
+	public long getTotalCount() {
+		return totalCount;
+	}
+
+	/**
+	 * Returns the smallest recorded value.
+	 *
+	 * @return The smallest recorded value, or 0 if nothing was recorded.
+	 */
+	public long getMin() {
+		return totalCount == 0 ? 0 : min;
+	}
+
+	/**
+	 * Returns the largest recorded value.
+	 *
+	 * @return The largest recorded value, or 0 if nothing was recorded.
+	 */
+	public long getMax() {
+		return max;
+	}
+
+	/**
+	 * Returns the mean of the recorded values.
+	 *
+	 * @return The mean of the recorded values, or 0 if nothing was recorded.
+	 */
+	public long getMean() {
+		return totalCount == 0 ? 0 : totalValue / totalCount;
+	}
+
+	/**
+	 * Returns the value below or equal to which the given percentage of
+	 * recorded values fall.
+	 *
+	 * @param percentile Percentile between 0 and 100.
+	 *
+	 * @return The highest value equivalent to the bucket holding the
+	 *         percentile, never above {@link #getMax()}. 0 if nothing was
+	 *         recorded.
+	 */
+	public long getValueAtPercentile(double percentile) {
+		if (totalCount == 0)
+			return 0;
+		double clamped = Math.max(0, Math.min(100, percentile));
+		long target = Math.max(1, (long) Math.ceil(clamped / 100 * totalCount));
+		long accumulated = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			accumulated += counts[i];
+			if (accumulated >= target)
+				return Math.min(highestEquivalentValue(i), max);
+		}
+		return max;
+	}
+
+	/**
+	 * Returns the amount of recorded values strictly above the given one.
+	 *
+	 * <p>Values sharing the bucket of the threshold are not counted, so the
+	 * result may be lower than the exact one by the size of that bucket.</p>
+	 *
+	 * @param nanos Threshold in nanoseconds.
+	 *
+	 * @return The amount of recorded values above the threshold.
+	 */
+	public long getCountAbove(long nanos) {
+		if (nanos >= max)
+			return 0;
+		long count = 0;
+		for (int i = bucketIndex(Math.max(0, nanos)) + 1; i < BUCKET_COUNT; i++)
+			count += counts[i];
+		return count;
+	}
+
+	/**
+	 * Clears all recorded values.
+	 */
+	public void reset() {
+		Arrays.fill(counts, 0);
+		totalCount = 0;
+		totalValue = 0;
+		min = Long.MAX_VALUE;
+		max = 0;
+	}
+
+	/**
+	 * Returns the bucket holding the given value.
+	 *
+	 * @param value Value between 0 and {@link #MAX_VALUE}.
+	 *
+	 * @return The bucket index.
+	 */
+	static int bucketIndex(long value) {
+		int exponent = 63 - Long.numberOfLeadingZeros(value | 1);
+		if (exponent < SUB_BUCKET_BITS)
+			return (int) value;
+		int shift = exponent - SUB_BUCKET_BITS;
+		return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) - SUB_BUCKET_COUNT);
+	}
+
+	/**
+	 * Returns the lowest value held by the given bucket.
+	 *
+	 * @param index Bucket index.
+	 *
+	 * @return The lowest value of the bucket.
+	 */
+	static long lowestEquivalentValue(int index) {
+		if (index < SUB_BUCKET_COUNT)
+			return index;
+		int shift = (index >> SUB_BUCKET_BITS) - 1;
+		return (long) ((index & (SUB_BUCKET_COUNT - 1)) + SUB_BUCKET_COUNT) << shift;
+	}
+
+	/**
+	 * Returns the highest value held by the given bucket.
+	 *
+	 * @param index Bucket index.
+	 *
+	 * @return The highest value of the bucket.
+	 */
+	static long highestEquivalentValue(int index) {
+		if (index < SUB_BUCKET_COUNT)
+			return index;
+		int shift = (index >> SUB_BUCKET_BITS) - 1;
+		return lowestEquivalentValue(index) + (1L << shift) - 1;
+	}
+}
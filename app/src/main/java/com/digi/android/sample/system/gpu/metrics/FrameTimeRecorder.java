@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.metrics;
+
+/**
+ * Records per-frame times into a {@link FrameTimeHistogram} and publishes
+ * frame statistics once per interval.
+ *
+ * <p>A frame is counted as janky when it takes more than twice the median
+ * frame time of its interval, which flags stutter independently of the
+ * frame rate the GPU multiplier allows.</p>
+ *
+ * <p>This class is not thread safe; {@link #onFrame(long)} is meant to be
+ * called from the GL thread once per drawn frame. It never allocates.</p>
+ */
+public final class FrameTimeRecorder {
+
+	// Constants.
+	/** Default publication interval, one second. */
+	public static final long DEFAULT_INTERVAL_NANOS = 1_000_000_000L;
+
+	// Variables.
+	private final FrameTimeHistogram histogram = new FrameTimeHistogram();
+	private final long intervalNanos;
+
+	private long lastFrameNanos;
+	private long intervalStartNanos;
+	private boolean started;
+
+	private int fps;
+	private long p50;
+	private long p90;
+	private long p99;
+	private long max;
+	private long jankFrames;
+
+	/**
+	 * Creates a recorder publishing statistics every second.
+	 */
+	public FrameTimeRecorder() {
+		this(DEFAULT_INTERVAL_NANOS);
+	}
+
+	/**
+	 * Creates a recorder publishing statistics with the given interval.
+	 *
+	 * @param intervalNanos Publication interval in nanoseconds.
+	 */
+	public FrameTimeRecorder(long intervalNanos) {
+		if (intervalNanos <= 0)
+			throw new IllegalArgumentException("Interval must be positive");
+		this.intervalNanos = intervalNanos;
+	}
+
+	/**
+	 * Records a frame that finished at the given time.
+	 *
+	 * @param nowNanos Monotonic time of the frame, in nanoseconds.
+	 *
+	 * @return {@code true} if a new interval was completed and its statistics
+	 *         are available through the getters, {@code false} otherwise.
+	 */
+	public boolean onFrame(long nowNanos) {
+		if (!started) {
+			started = true;
+			lastFrameNanos = nowNanos;
+			intervalStartNanos = nowNanos;
+			return false;
+		}
+
+		histogram.record(nowNanos - lastFrameNanos);
+		lastFrameNanos = nowNanos;
+
+		long elapsed = nowNanos - intervalStartNanos;
+		if (elapsed < intervalNanos)
+			return false;
+
+		long frames = histogram.getTotalCount();
+		fps = (int) ((frames * 1_000_000_000L + elapsed / 2) / elapsed);
+		p50 = histogram.getValueAtPercentile(50);
+		p90 = histogram.getValueAtPercentile(90);
+		p99 = histogram.getValueAtPercentile(99);
+		max = histogram.getMax();
+		jankFrames = histogram.getCountAbove(2 * p50);
+
+		histogram.reset();
+		intervalStartNanos = nowNanos;
+		return true;
+	}
+
+	/**
+	 * Discards the current interval. The next frame starts a new one, so
+	 * the pause between rendering sessions is not counted as a frame.
+	 */
+	public void reset() {
+		histogram.reset();
+		started = false;
+	}
+
+	/**
+	 * Returns the frames per second of the last completed interval.
+	 *
+	 * @return The frames per second.
+	 */
+	public int getFps() {
+		return fps;
+	}
+
+	/**
+	 * Returns the median frame time of the last completed interval.
+	 *
+	 * @return The median frame time in nanoseconds.
+	 */
+	public long getP50() {
+		return p50;
+	}
+
+	/**
+	 * Returns the 90th percentile frame time of the last completed interval.
+	 *
+	 * @return The 90th percentile frame time in nanoseconds.
+	 */
+	public long getP90() {
+		return p90;
+	}
+
+	/**
+	 * Returns the 99th percentile frame time of the last completed interval.
+	 *
+	 * @return The 99th percentile frame time in nanoseconds.
+	 */
+	public long getP99() {
+		return p99;
+	}
+
+	/**
+	 * Returns the longest frame time of the last completed interval.
+	 *
+	 * @return The longest frame time in nanoseconds.
+	 */
+	public long getMax() {
+		return max;
+	}
+
+	/**
+	 * Returns the amount of janky frames in the last completed interval.
+	 *
+	 * @return The amount of frames longer than twice the median.
+	 */
+	public long getJankFrames() {
+		return jankFrames;
+	}
+}
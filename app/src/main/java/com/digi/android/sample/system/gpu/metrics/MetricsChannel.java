@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Single-producer channel publishing the latest {@link MetricsSnapshot}
+ * from the renderer to its consumers.
+ *
+ * <p>The channel is a sequence lock: the producer makes the sequence odd,
+ * writes the values and makes it even again; the consumer retries whenever
+ * the sequence was odd or changed while it was reading. Neither side
+ * blocks or allocates, and no data leaves the process.</p>
+ *
+ * <p>Only one thread may call {@link #publish(MetricsSnapshot)}; any number
+ * of threads may read. Only the latest snapshot is kept; a slow consumer
+ * simply misses intermediate ones.</p>
+ */
+public final class MetricsChannel {
+
+	// Constants.
+	private static final int SLOT_TIMESTAMP = 0;
+	private static final int SLOT_FPS = 1;
+	private static final int SLOT_P50 = 2;
+	private static final int SLOT_P90 = 3;
+	private static final int SLOT_P99 = 4;
+	private static final int SLOT_MAX = 5;
+	private static final int SLOT_JANK = 6;
+	private static final int SLOT_MULTIPLIER = 7;
+	private static final int SLOT_SCENE = 8;
+	private static final int SLOT_SCENE_LEVEL = 9;
+	private static final int SLOT_TARGET_FPS = 10;
+	private static final int SLOT_MISSED_DEADLINES = 11;
+	private static final int SLOT_CPU_NANOS = 12;
+	private static final int SLOT_GPU_NANOS = 13;
+	private static final int SLOT_COUNT = 14;
+
+	// Variables.
+	private final AtomicLong sequence = new AtomicLong();
+	private final AtomicLongArray slots = new AtomicLongArray(SLOT_COUNT);
+
+	/**
+	 * Publishes the given snapshot, replacing the previous one. Must only be
+	 * called from the producer thread.
+	 *
+	 * @param snapshot Snapshot to publish.
+	 */
+	public void publish(MetricsSnapshot snapshot) {
+		long seq = sequence.get();
+		sequence.set(seq + 1);
+		slots.set(SLOT_TIMESTAMP, snapshot.getTimestampNanos());
+		slots.set(SLOT_FPS, snapshot.getFps());
+		slots.set(SLOT_P50, snapshot.getP50());
+		slots.set(SLOT_P90, snapshot.getP90());
+		slots.set(SLOT_P99, snapshot.getP99());
+		slots.set(SLOT_MAX, snapshot.getMax());
+		slots.set(SLOT_JANK, snapshot.getJankFrames());
+		slots.set(SLOT_MULTIPLIER, snapshot.getMultiplier());
+		slots.set(SLOT_SCENE, snapshot.getScene());
+		slots.set(SLOT_SCENE_LEVEL, snapshot.getSceneLevel());
+		slots.set(SLOT_TARGET_FPS, snapshot.getTargetFps());
+		slots.set(SLOT_MISSED_DEADLINES, snapshot.getMissedDeadlines());
+		slots.set(SLOT_CPU_NANOS, snapshot.getCpuNanos());
+		slots.set(SLOT_GPU_NANOS, snapshot.getGpuNanos());
+		sequence.set(seq + 2);
+	}
+
+	/**
+	 * Reads the latest published snapshot.
+	 *
+	 * @param into Snapshot to copy the published values into.
+	 *
+	 * @return The sequence number of the copied snapshot. It only changes
+	 *         when a new snapshot is published, and is 0 if nothing was
+	 *         published yet.
+	 */
+	public long read(MetricsSnapshot into) {
+		while (true) {
+			long before = sequence.get();
+			if ((before & 1) == 0) {
+				long timestamp = slots.get(SLOT_TIMESTAMP);
+				int fps = (int) slots.get(SLOT_FPS);
+				long p50 = slots.get(SLOT_P50);
+				long p90 = slots.get(SLOT_P90);
+				long p99 = slots.get(SLOT_P99);
+				long max = slots.get(SLOT_MAX);
+				long jank = slots.get(SLOT_JANK);
+				int multiplier = (int) slots.get(SLOT_MULTIPLIER);
+				int scene = (int) slots.get(SLOT_SCENE);
+				int sceneLevel = (int) slots.get(SLOT_SCENE_LEVEL);
+				int targetFps = (int) slots.get(SLOT_TARGET_FPS);
+				long missed = slots.get(SLOT_MISSED_DEADLINES);
+				long cpuNanos = slots.get(SLOT_CPU_NANOS);
+				long gpuNanos = slots.get(SLOT_GPU_NANOS);
+				if (sequence.get() == before) {
+					into.setFrameStats(timestamp, fps, p50, p90, p99, max, jank);
+					into.setMultiplier(multiplier);
+					into.setScene(scene, sceneLevel);
+					into.setPacing(targetFps, missed);
+					into.setFrameCost(cpuNanos, gpuNanos);
+					return before;
+				}
+			}
+			Thread.onSpinWait();
+		}
+	}
+
+	/**
+	 * Returns the sequence number of the latest published snapshot.
+	 *
+	 * @return The sequence number, odd while a snapshot is being published.
+	 */
+	public long getSequence() {
+		return sequence.get();
+	}
+}
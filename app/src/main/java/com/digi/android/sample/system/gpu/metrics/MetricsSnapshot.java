@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.metrics;
+
+/**
+ * Frame metrics published by the renderer: frame rate, frame time
+ * statistics, and the GPU multiplier and scene they were measured with.
+ *
+ * <p>Instances are meant to be allocated once and reused by both the
+ * producer and the consumer of a {@link MetricsChannel}.</p>
+ */
+public final class MetricsSnapshot {
+
+	// Variables.
+	private long timestampNanos;
+	private int fps;
+	private long p50;
+	private long p90;
+	private long p99;
+	private long max;
+	private long jankFrames;
+	private int multiplier;
+	private int scene;
+	private int sceneLevel;
+	private int targetFps;
+	private long missedDeadlines;
+	private long cpuNanos;
+	private long gpuNanos;
+
+	/**
+	 * Sets the frame statistics of this snapshot.
+	 *
+	 * @param timestampNanos Monotonic time the statistics were taken at.
+	 * @param fps Frames per second.
+	 * @param p50 Median frame time in nanoseconds.
+	 * @param p90 90th percentile frame time in nanoseconds.
+	 * @param p99 99th percentile frame time in nanoseconds.
+	 * @param max Longest frame time in nanoseconds.
+	 * @param jankFrames Amount of janky frames.
+	 */
+	public void setFrameStats(long timestampNanos, int fps, long p50, long p90, long p99,
+			long max, long jankFrames) {
+		this.timestampNanos = timestampNanos;
+		this.fps = fps;
+		this.p50 = p50;
+		this.p90 = p90;
+		this.p99 = p99;
+		this.max = max;
+		this.jankFrames = jankFrames;
+	}
+
+	/**
+	 * Sets the GPU multiplier the statistics were measured with.
+	 *
+	 * @param multiplier The GPU multiplier, or 0 if unknown.
+	 */
+	public void setMultiplier(int multiplier) {
+		this.multiplier = multiplier;
+	}
+
+	/**
+	 * Sets the scene the statistics were measured with.
+	 *
+	 * @param scene Scene id.
+	 * @param sceneLevel Load level of the scene, or -1 for custom parameters.
+	 */
+	public void setScene(int scene, int sceneLevel) {
+		this.scene = scene;
+		this.sceneLevel = sceneLevel;
+	}
+
+	/**
+	 * Sets the frame pacing the statistics were measured with.
+	 *
+	 * @param targetFps Target frame rate, or 0 if frames are not paced.
+	 * @param missedDeadlines Amount of frame deadlines missed.
+	 */
+	public void setPacing(int targetFps, long missedDeadlines) {
+		this.targetFps = targetFps;
+		this.missedDeadlines = missedDeadlines;
+	}
+
+	/**
+	 * Sets the average time spent on the draw calls of a frame.
+	 *
+	 * @param cpuNanos CPU time issuing the draw calls, in nanoseconds.
+	 * @param gpuNanos GPU time executing them, in nanoseconds, or 0 if not
+	 *                 measured.
+	 */
+	public void setFrameCost(long cpuNanos, long gpuNanos) {
+		this.cpuNanos = cpuNanos;
+		this.gpuNanos = gpuNanos;
+	}
+
+	/**
+	 * Copies all values of the given snapshot into this one.
+	 *
+	 * @param other Snapshot to copy.
+	 */
+	public void copyFrom(MetricsSnapshot other) {
+		setFrameStats(other.timestampNanos, other.fps, other.p50, other.p90, other.p99,
+				other.max, other.jankFrames);
+		multiplier = other.multiplier;
+		scene = other.scene;
+		sceneLevel = other.sceneLevel;
+		targetFps = other.targetFps;
+		missedDeadlines = other.missedDeadlines;
+		cpuNanos = other.cpuNanos;
+		gpuNanos = other.gpuNanos;
+	}
+
+	public long getTimestampNanos() {
+		return timestampNanos;
+	}
+
+	public int getFps() {
+		return fps;
+	}
+
+	public long getP50() {
+		return p50;
+	}
+
+	public long getP90() {
+		return p90;
+	}
+
+	public long getP99() {
+		return p99;
+	}
+
+	public long getMax() {
+		return max;
+	}
+
+	public long getJankFrames() {
+		return jankFrames;
+	}
+
+	public int getMultiplier() {
+		return multiplier;
+	}
+
+	public int getScene() {
+		return scene;
+	}
+
+	public int getSceneLevel() {
+		return sceneLevel;
+	}
+
+	public int getTargetFps() {
+		return targetFps;
+	}
+
+	public long getMissedDeadlines() {
+		return missedDeadlines;
+	}
+
+	public long getCpuNanos() {
+		return cpuNanos;
+	}
+
+	public long getGpuNanos() {
+		return gpuNanos;
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.plot;
+
+import com.androidplot.xy.OrderedXYSeries;
+
+/**
+ * XY series backed by preallocated {@code float} arrays, filled in place.
+ *
+ * <p>This class is not thread safe; it must be filled on the thread the plot
+ * is drawn on.</p>
+ */
+public class ArrayXYSeries implements OrderedXYSeries {
+
+	// Variables.
+	private final String title;
+	private final float[] xs;
+	private final float[] ys;
+
+	private int size;
+
+	/**
+	 * Creates an empty array series.
+	 *
+	 * @param title Title of the series.
+	 * @param capacity Maximum amount of points.
+	 */
+	public ArrayXYSeries(String title, int capacity) {
+		this.title = title;
+		xs = new float[capacity];
+		ys = new float[capacity];
+	}
+
+	/**
+	 * Returns the X values array to fill.
+	 *
+	 * @return The X values array.
+	 */
+	public float[] getXArray() {
+		return xs;
+	}
+
+	/**
+	 * Returns the Y values array to fill.
+	 *
+	 * @return The Y values array.
+	 */
+	public float[] getYArray() {
+		return ys;
+	}
+
+	/**
+	 * Sets the amount of points filled in the arrays.
+	 *
+	 * @param size Amount of points, in ascending X order.
+	 */
+	public void setSize(int size) {
+		if (size < 0 || size > xs.length)
+			throw new IllegalArgumentException("Size must be between 0 and " + xs.length);
+		this.size = size;
+	}
+
+	@Override
+	public String getTitle() {
+		return title;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public Number getX(int index) {
+		return xs[index];
+	}
+
+	@Override
+	public Number getY(int index) {
+		return ys[index];
+	}
+
+	@Override
+	public XOrder getXOrder() {
+		return XOrder.ASCENDING;
+	}
+}
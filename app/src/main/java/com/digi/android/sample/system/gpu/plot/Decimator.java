@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.plot;
+
+/**
+ * Largest-Triangle-Three-Buckets decimation.
+ *
+ * <p>Reduces a series to a given amount of points while keeping its visual
+ * shape: the first and last points are always kept and, for every bucket in
+ * between, the point forming the largest triangle with the previously kept
+ * point and the average of the next bucket is chosen. Runs in O(n) and
+ * never allocates.</p>
+ */
+public final class Decimator {
+
+	private Decimator() {
+	}
+
+	/**
+	 * Decimates the given points.
+	 *
+	 * @param xs X values, in ascending order.
+	 * @param ys Y values.
+	 * @param count Amount of input points.
+	 * @param threshold Maximum amount of output points, at least 3.
+	 * @param outX Output X values, with room for {@code threshold} values.
+	 * @param outY Output Y values, with room for {@code threshold} values.
+	 *
+	 * @return The amount of output points.
+	 */
+	public static int lttb(float[] xs, float[] ys, int count, int threshold, float[] outX, float[] outY) {
+		if (threshold < 3)
+			throw new IllegalArgumentException("Threshold must be at least 3");
+		if (count <= threshold) {
+			System.arraycopy(xs, 0, outX, 0, count);
+			System.arraycopy(ys, 0, outY, 0, count);
+			return count;
+		}
+
+		double bucketSize = (double) (count - 2) / (threshold - 2);
+		int selected = 0;
+		int out = 0;
+		outX[out] = xs[0];
+		outY[out++] = ys[0];
+
+		for (int bucket = 0; bucket < threshold - 2; bucket++) {
+			// Average of the next bucket, the last point for the last one.
+			int nextStart = (int) ((bucket + 1) * bucketSize) + 1;
+			int nextEnd = Math.min((int) ((bucket + 2) * bucketSize) + 1, count);
+			double avgX = 0;
+			double avgY = 0;
+			for (int i = nextStart; i < nextEnd; i++) {
+				avgX += xs[i];
+				avgY += ys[i];
+			}
+			int nextCount = nextEnd - nextStart;
+			if (nextCount > 0) {
+				avgX /= nextCount;
+				avgY /= nextCount;
+			} else {
+				avgX = xs[count - 1];
+				avgY = ys[count - 1];
+			}
+
+			// Point of this bucket forming the largest triangle.
+			int start = (int) (bucket * bucketSize) + 1;
+			int end = (int) ((bucket + 1) * bucketSize) + 1;
+			double ax = xs[selected];
+			double ay = ys[selected];
+			double maxArea = -1;
+			int maxIndex = start;
+			for (int i = start; i < end; i++) {
+				double area = Math.abs((ax - avgX) * (ys[i] - ay) - (ax - xs[i]) * (avgY - ay));
+				if (area > maxArea) {
+					maxArea = area;
+					maxIndex = i;
+				}
+			}
+			outX[out] = xs[maxIndex];
+			outY[out++] = ys[maxIndex];
+			selected = maxIndex;
+		}
+
+		outX[out] = xs[count - 1];
+		outY[out++] = ys[count - 1];
+		return out;
+	}
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.plot;
+
+import com.androidplot.xy.OrderedXYSeries;
+
+/**
+ * XY series backed by a fixed-capacity {@code float} ring.
+ *
+ * <p>X values are implicit: the oldest value held has index 0. Appending a
+ * value is O(1), evicts the oldest value once the ring is full and never
+ * allocates. Values are only boxed when the plot reads them to draw.</p>
+ *
+ * <p>This class is not thread safe; values must be appended on the thread
+ * the plot is drawn on.</p>
+ */
+public class RingXYSeries implements OrderedXYSeries {
+
+	// Variables.
+	private final String title;
+	private final float[] values;
+
+	private int start;
+	private int size;
+
+	/**
+	 * Creates a ring series.
+	 *
+	 * @param title Title of the series.
+	 * @param capacity Maximum amount of values shown.
+	 */
+	public RingXYSeries(String title, int capacity) {
+		if (capacity < 1)
+			throw new IllegalArgumentException("Capacity must be positive");
+		this.title = title;
+		this.values = new float[capacity];
+	}
+
+	/**
+	 * Appends a value, evicting the oldest one if the series is full.
+	 *
+	 * @param value Value to append.
+	 */
+	public void append(float value) {
+		int capacity = values.length;
+		if (size < capacity) {
+			int index = start + size;
+			values[index >= capacity ? index - capacity : index] = value;
+			size++;
+		} else {
+			values[start] = value;
+			start = start + 1 == capacity ? 0 : start + 1;
+		}
+	}
+
+	/**
+	 * Removes all values.
+	 */
+	public void clear() {
+		start = 0;
+		size = 0;
+	}
+
+	/**
+	 * Returns the value at the given index without boxing it.
+	 *
+	 * @param index Index between 0 (oldest) and {@link #size()} - 1.
+	 *
+	 * @return The value at the given index.
+	 */
+	public float getFloat(int index) {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+		int i = start + index;
+		return values[i >= values.length ? i - values.length : i];
+	}
+
+	/**
+	 * Returns the maximum amount of values shown.
+	 *
+	 * @return The capacity of the series.
+	 */
+	public int getCapacity() {
+		return values.length;
+	}
+
+	@Override
+	public String getTitle() {
+		return title;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public Number getX(int index) {
+		return index;
+	}
+
+	@Override
+	public Number getY(int index) {
+		return getFloat(index);
+	}
+
+	@Override
+	public XOrder getXOrder() {
+		return XOrder.ASCENDING;
+	}
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.plot;
+
+/**
+ * Fixed-size, multi-resolution history of evenly spaced samples.
+ *
+ * <p>Raw samples are kept for the most recent {@value #RAW_CAPACITY}
+ * samples. Older data survives in progressively coarser tiers holding the
+ * minimum and maximum of 10, 60 and 600 consecutive samples. With one
+ * sample per second this covers one hour at full resolution, 6 hours at
+ * 10 s, 24 hours at 1 min and a week at 10 min, in about 50 KB of sample storage.</p>
+ *
+ * <p>{@link #query(long, long, int, float[], float[])} renders any range
+ * into a bounded amount of points: it reads the finest tier still covering
+ * the range, expands aggregated buckets into their minimum and maximum so
+ * peaks are never averaged away, and decimates the result with
+ * {@link Decimator#lttb(float[], float[], int, int, float[], float[])}.</p>
+ *
+ * <p>Neither appending nor querying allocates. This class is not thread
+ * safe.</p>
+ */
+public class TemperatureHistory {
+
+	// Constants.
+	static final int RAW_CAPACITY = 3600;
+
+	// Samples per bucket and bucket capacity of the aggregated tiers.
+	private static final int[][] TIERS = {
+			{ 10, 2160 },
+			{ 60, 1440 },
+			{ 600, 1008 } };
+
+	private static final int MAX_POINTS;
+
+	static {
+		int max = RAW_CAPACITY;
+		for (int[] tier : TIERS)
+			max = Math.max(max, 2 * (tier[1] + 1));
+		MAX_POINTS = max;
+	}
+
+	// Variables.
+	private final float[] raw = new float[RAW_CAPACITY];
+	private final Tier[] tiers = new Tier[TIERS.length];
+
+	private final float[] scratchX = new float[MAX_POINTS];
+	private final float[] scratchY = new float[MAX_POINTS];
+
+	private long count;
+
+	/**
+	 * Creates an empty history.
+	 */
+	public TemperatureHistory() {
+		for (int i = 0; i < TIERS.length; i++)
+			tiers[i] = new Tier(TIERS[i][0], TIERS[i][1]);
+	}
+
+	/**
+	 * Appends a sample.
+	 *
+	 * @param value Sample value.
+	 */
+	public void append(float value) {
+		raw[(int) (count % RAW_CAPACITY)] = value;
+		count++;
+		for (Tier tier : tiers)
+			tier.add(value);
+	}
+
+	/**
+	 * Returns the amount of samples ever appended. The next sample gets this
+	 * index.
+	 *
+	 * @return The amount of samples ever appended.
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Returns the index of the oldest sample any tier still covers.
+	 *
+	 * @return The index of the oldest retained sample.
+	 */
+	public long getOldest() {
+		return tiers[tiers.length - 1].getOldestSample();
+	}
+
+	/**
+	 * Renders the samples of the given range into at most
+	 * {@code maxPoints} points. X values are sample indices.
+	 *
+	 * @param from Index of the first sample, inclusive.
+	 * @param to Index of the last sample, exclusive.
+	 * @param maxPoints Maximum amount of points, at least 3.
+	 * @param outX Output X values, with room for {@code maxPoints} values.
+	 * @param outY Output Y values, with room for {@code maxPoints} values.
+	 *
+	 * @return The amount of points rendered.
+	 */
+	public int query(long from, long to, int maxPoints, float[] outX, float[] outY) {
+		to = Math.min(to, count);
+		from = Math.max(from, 0);
+		if (from >= to)
+			return 0;
+
+		int points = 0;
+		long rawOldest = Math.max(0, count - RAW_CAPACITY);
+		if (from >= rawOldest) {
+			for (long i = from; i < to; i++) {
+				scratchX[points] = i;
+				scratchY[points++] = raw[(int) (i % RAW_CAPACITY)];
+			}
+		} else {
+			Tier tier = tiers[tiers.length - 1];
+			for (Tier candidate : tiers) {
+				if (candidate.getOldestSample() <= from) {
+					tier = candidate;
+					break;
+				}
+			}
+			points = tier.expand(Math.max(from, tier.getOldestSample()), to, scratchX, scratchY);
+		}
+		return Decimator.lttb(scratchX, scratchY, points, maxPoints, outX, outY);
+	}
+
+	/**
+	 * Aggregated tier keeping minimum and maximum per bucket.
+	 */
+	private static final class Tier {
+
+		private final int factor;
+		private final float[] min;
+		private final float[] max;
+
+		// Completed buckets.
+		private long buckets;
+
+		// Bucket being filled.
+		private int pendingCount;
+		private float pendingMin;
+		private float pendingMax;
+
+		Tier(int factor, int capacity) {
+			this.factor = factor;
+			min = new float[capacity];
+			max = new float[capacity];
+		}
+
+		void add(float value) {
+			if (pendingCount == 0) {
+				pendingMin = value;
+				pendingMax = value;
+			} else {
+				pendingMin = Math.min(pendingMin, value);
+				pendingMax = Math.max(pendingMax, value);
+			}
+			if (++pendingCount == factor) {
+				int index = (int) (buckets % min.length);
+				min[index] = pendingMin;
+				max[index] = pendingMax;
+				buckets++;
+				pendingCount = 0;
+			}
+		}
+
+		long getOldestSample() {
+			return Math.max(0, buckets - min.length) * factor;
+		}
+
+		/**
+		 * Writes the minimum and maximum of every bucket overlapping the
+		 * given sample range, including the bucket being filled, as pairs of
+		 * points centered on the bucket.
+		 */
+		int expand(long from, long to, float[] outX, float[] outY) {
+			int points = 0;
+			long first = from / factor;
+			long last = (to - 1) / factor;
+			for (long bucket = first; bucket <= last; bucket++) {
+				float x = bucket * factor + factor / 2f;
+				float low;
+				float high;
+				if (bucket < buckets) {
+					int index = (int) (bucket % min.length);
+					low = min[index];
+					high = max[index];
+				} else if (pendingCount > 0) {
+					low = pendingMin;
+					high = pendingMax;
+				} else {
+					break;
+				}
+				outX[points] = x;
+				outY[points++] = low;
+				outX[points] = x;
+				outY[points++] = high;
+			}
+			return points;
+		}
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.sampling;
+
+/**
+ * Fixed-capacity ring of system samples kept in primitive arrays.
+ *
+ * <p>Every sample gets a sequence number, starting at 0. Once the ring is
+ * full, each new sample overwrites the oldest one. There must be a single
+ * writer; readers on other threads may read any sequence number between
+ * {@link #getOldest()} and {@link #getWritten()} - 1.</p>
+ */
+public final class SampleRing {
+
+	// Variables.
+	private final int mask;
+	private final long[] times;
+	private final float[] temperatures;
+	private final int[] multipliers;
+
+	private volatile long written;
+
+	/**
+	 * Creates a sample ring.
+	 *
+	 * @param capacity Minimum amount of samples to keep. Rounded up to the
+	 *                 next power of two.
+	 */
+	public SampleRing(int capacity) {
+		if (capacity < 1 || capacity > (1 << 30))
+			throw new IllegalArgumentException("Capacity must be between 1 and " + (1 << 30));
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity)
+			size <<= 1;
+		mask = size - 1;
+		times = new long[size];
+		temperatures = new float[size];
+		multipliers = new int[size];
+	}
+
+	/**
+	 * Appends a sample. Must only be called from the writer thread.
+	 *
+	 * @param timeNanos Monotonic time of the sample.
+	 * @param temperature Temperature in degrees Celsius.
+	 * @param multiplier GPU multiplier, or 0 if unknown.
+	 */
+	public void add(long timeNanos, float temperature, int multiplier) {
+		long sequence = written;
+		int index = (int) sequence & mask;
+		times[index] = timeNanos;
+		temperatures[index] = temperature;
+		multipliers[index] = multiplier;
+		written = sequence + 1;
+	}
+
+	/**
+	 * Returns the amount of samples ever written, which is also the sequence
+	 * number the next sample will get.
+	 *
+	 * @return The amount of samples ever written.
+	 */
+	public long getWritten() {
+		return written;
+	}
+
+	/**
+	 * Returns the sequence number of the oldest sample still held.
+	 *
+	 * @return The sequence number of the oldest sample.
+	 */
+	public long getOldest() {
+		return Math.max(0, written - (mask + 1));
+	}
+
+	/**
+	 * Returns the maximum amount of samples held.
+	 *
+	 * @return The capacity of the ring.
+	 */
+	public int getCapacity() {
+		return mask + 1;
+	}
+
+	public long getTime(long sequence) {
+		return times[(int) sequence & mask];
+	}
+
+	public float getTemperature(long sequence) {
+		return temperatures[(int) sequence & mask];
+	}
+
+	public int getMultiplier(long sequence) {
+		return multipliers[(int) sequence & mask];
+	}
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.sampling;
+
+import com.digi.android.sample.system.gpu.control.GpuControl;
+import com.digi.android.sample.system.gpu.text.LabelFormat;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Samples the system state on a background scheduler and hands the UI
+ * ready-to-render snapshots at a bounded rate.
+ *
+ * <p>Temperatures are pushed with {@link #offerTemperature(float)} from any
+ * thread; readings arriving between two ticks are coalesced into the latest
+ * one. On every tick the GPU multiplier is polled, a sample is appended to a
+ * {@link SampleRing} and, if the UI has finished with the previous snapshot
+ * and the minimum publication interval has elapsed, a new snapshot is
+ * formatted and posted to the UI executor. While the UI is busy, samples
+ * keep accumulating in the ring and are delivered together in the next
+ * snapshot.</p>
+ */
+public class SystemSampler {
+
+	/**
+	 * Receives snapshots on the UI executor.
+	 */
+	public interface Listener {
+
+		/**
+		 * Called with a new snapshot. The snapshot is only valid during this
+		 * call.
+		 *
+		 * @param snapshot The new snapshot.
+		 */
+		void onSnapshot(SystemSnapshot snapshot);
+	}
+
+	/**
+	 * Receives every sample on the sampler thread, where blocking work such
+	 * as file access is allowed.
+	 */
+	public interface SampleSink {
+
+		/**
+		 * Called for every sample taken.
+		 *
+		 * @param timeNanos Monotonic time of the sample.
+		 * @param temperature Temperature in degrees Celsius.
+		 * @param multiplier GPU multiplier, or 0 if unknown.
+		 */
+		void onSample(long timeNanos, float temperature, int multiplier);
+	}
+
+	// Constants.
+	private static final long NO_TEMPERATURE = Long.MIN_VALUE;
+
+	// Variables.
+	private final GpuControl gpuControl;
+	private final ScheduledExecutorService scheduler;
+	private final Executor uiExecutor;
+	private final Listener listener;
+	private final long sampleIntervalMillis;
+	private final long minPublishIntervalNanos;
+
+	private final SampleRing ring;
+	private final SystemSnapshot snapshot;
+	private final AtomicLong pendingTemperature = new AtomicLong(NO_TEMPERATURE);
+	private final AtomicBoolean deliveryPending = new AtomicBoolean();
+
+	private ScheduledFuture<?> future;
+	private volatile SampleSink[] sampleSinks = new SampleSink[0];
+
+	// Only accessed from the scheduler thread.
+	private boolean hasTemperature;
+	private float lastTemperature;
+	private int lastMultiplier;
+	private long publishedEnd;
+	private long lastPublishNanos;
+	private boolean published;
+
+	private final Runnable tickTask = new Runnable() {
+		@Override
+		public void run() {
+			tick(System.nanoTime());
+		}
+	};
+
+	private final Runnable deliverTask = new Runnable() {
+		@Override
+		public void run() {
+			try {
+				listener.onSnapshot(snapshot);
+			} finally {
+				deliveryPending.set(false);
+			}
+		}
+	};
+
+	/**
+	 * Creates a system sampler.
+	 *
+	 * @param gpuControl GPU control to poll the multiplier from, or
+	 *                   {@code null} if the multiplier cannot be read.
+	 * @param scheduler Scheduler to sample on.
+	 * @param uiExecutor Executor snapshots are delivered on.
+	 * @param listener Listener receiving the snapshots.
+	 * @param sampleIntervalMillis Interval between samples in milliseconds.
+	 * @param minPublishIntervalMillis Minimum interval between two snapshots
+	 *                                 in milliseconds.
+	 * @param capacity Amount of samples kept in the ring.
+	 * @param temperatureFormat Format of the temperature label, taking a
+	 *                          float argument.
+	 * @param multiplierFormat Format of the multiplier label, taking an
+	 *                         integer argument.
+	 */
+	public SystemSampler(GpuControl gpuControl, ScheduledExecutorService scheduler,
+			Executor uiExecutor, Listener listener, long sampleIntervalMillis,
+			long minPublishIntervalMillis, int capacity, String temperatureFormat,
+			String multiplierFormat) {
+		if (sampleIntervalMillis <= 0)
+			throw new IllegalArgumentException("Sample interval must be positive");
+		this.gpuControl = gpuControl;
+		this.scheduler = scheduler;
+		this.uiExecutor = uiExecutor;
+		this.listener = listener;
+		this.sampleIntervalMillis = sampleIntervalMillis;
+		this.minPublishIntervalNanos = TimeUnit.MILLISECONDS.toNanos(minPublishIntervalMillis);
+		ring = new SampleRing(capacity);
+		snapshot = new SystemSnapshot(ring, new LabelFormat(temperatureFormat, Locale.getDefault()),
+				new LabelFormat(multiplierFormat, Locale.getDefault()));
+	}
+
+	/**
+	 * Starts sampling. Does nothing if already started.
+	 */
+	public synchronized void start() {
+		if (future == null)
+			future = scheduler.scheduleAtFixedRate(tickTask, 0, sampleIntervalMillis,
+					TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Stops sampling. Samples already taken are kept.
+	 */
+	public synchronized void stop() {
+		if (future != null) {
+			future.cancel(false);
+			future = null;
+		}
+	}
+
+	/**
+	 * Offers a new temperature reading. Can be called from any thread and
+	 * never blocks.
+	 *
+	 * @param temperature Temperature in degrees Celsius.
+	 */
+	public void offerTemperature(float temperature) {
+		pendingTemperature.set(Float.floatToRawIntBits(temperature));
+	}
+
+	/**
+	 * Adds a sink receiving every sample on the sampler thread. Sinks are
+	 * called in the order they were added. A sink throwing a runtime
+	 * exception does not prevent the others, nor later samples, from being
+	 * delivered.
+	 *
+	 * @param sink The sample sink to add.
+	 */
+	public synchronized void addSampleSink(SampleSink sink) {
+		SampleSink[] sinks = Arrays.copyOf(sampleSinks, sampleSinks.length + 1);
+		sinks[sinks.length - 1] = sink;
+		sampleSinks = sinks;
+	}
+
+	/**
+	 * Returns the ring holding all the samples taken.
+	 *
+	 * @return The sample ring.
+	 */
+	public SampleRing getRing() {
+		return ring;
+	}
+
+	/**
+	 * Takes one sample and publishes a snapshot if due. Called on the
+	 * scheduler thread.
+	 *
+	 * @param nowNanos Monotonic time of the sample.
+	 */
+	void tick(long nowNanos) {
+		int multiplier = lastMultiplier;
+		if (gpuControl != null) {
+			try {
+				multiplier = gpuControl.getMultiplier();
+			} catch (IOException | UnsupportedOperationException e) {
+				multiplier = 0;
+			}
+		}
+		boolean multiplierChanged = multiplier != lastMultiplier;
+		lastMultiplier = multiplier;
+
+		long bits = pendingTemperature.getAndSet(NO_TEMPERATURE);
+		if (bits != NO_TEMPERATURE) {
+			lastTemperature = Float.intBitsToFloat((int) bits);
+			hasTemperature = true;
+			ring.add(nowNanos, lastTemperature, multiplier);
+			for (SampleSink sink : sampleSinks) {
+				// An exception escaping the tick would cancel the schedule.
+				try {
+					sink.onSample(nowNanos, lastTemperature, multiplier);
+				} catch (RuntimeException e) {
+					e.printStackTrace();
+				}
+			}
+		}
+
+		if (!hasTemperature)
+			return;
+		if (ring.getWritten() == publishedEnd && !multiplierChanged)
+			return;
+		if (published && nowNanos - lastPublishNanos < minPublishIntervalNanos)
+			return;
+		// Coalesce while the UI is still busy with the previous snapshot.
+		if (!deliveryPending.compareAndSet(false, true))
+			return;
+
+		snapshot.temperature = lastTemperature;
+		snapshot.multiplier = multiplier;
+		// The UI is done with the snapshot, so its labels can be reused.
+		snapshot.temperatureText.setFloat(1, lastTemperature).render();
+		snapshot.hasMultiplierText = multiplier > 0;
+		if (multiplier > 0)
+			snapshot.multiplierText.setInt(1, multiplier).render();
+		snapshot.firstSequence = Math.max(publishedEnd, ring.getOldest());
+		snapshot.endSequence = ring.getWritten();
+		publishedEnd = snapshot.endSequence;
+		lastPublishNanos = nowNanos;
+		published = true;
+		uiExecutor.execute(deliverTask);
+	}
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.sampling;
+
+import com.digi.android.sample.system.gpu.text.LabelFormat;
+
+/**
+ * Ready-to-render view of the system state handed to the UI by
+ * {@link SystemSampler}.
+ *
+ * <p>Samples added since the previous snapshot are the ones with sequence
+ * numbers between {@link #getFirstSequence()} (inclusive) and
+ * {@link #getEndSequence()} (exclusive) in {@link #getRing()}. A snapshot
+ * is only valid while its listener callback runs.</p>
+ */
+public final class SystemSnapshot {
+
+	// Variables.
+	private final SampleRing ring;
+
+	float temperature;
+	int multiplier;
+	final LabelFormat temperatureText;
+	final LabelFormat multiplierText;
+	boolean hasMultiplierText;
+	long firstSequence;
+	long endSequence;
+
+	SystemSnapshot(SampleRing ring, LabelFormat temperatureText, LabelFormat multiplierText) {
+		this.ring = ring;
+		this.temperatureText = temperatureText;
+		this.multiplierText = multiplierText;
+	}
+
+	/**
+	 * Returns the latest temperature.
+	 *
+	 * @return The latest temperature in degrees Celsius.
+	 */
+	public float getTemperature() {
+		return temperature;
+	}
+
+	/**
+	 * Returns the latest GPU multiplier.
+	 *
+	 * @return The latest GPU multiplier, or 0 if it could not be read.
+	 */
+	public int getMultiplier() {
+		return multiplier;
+	}
+
+	/**
+	 * Returns the formatted temperature label.
+	 *
+	 * @return The formatted temperature label, reused by the next snapshot.
+	 */
+	public CharSequence getTemperatureText() {
+		return temperatureText;
+	}
+
+	/**
+	 * Returns the formatted multiplier label.
+	 *
+	 * @return The formatted multiplier label, reused by the next snapshot,
+	 *         or {@code null} if the multiplier could not be read.
+	 */
+	public CharSequence getMultiplierText() {
+		return hasMultiplierText ? multiplierText : null;
+	}
+
+	public long getFirstSequence() {
+		return firstSequence;
+	}
+
+	public long getEndSequence() {
+		return endSequence;
+	}
+
+	public SampleRing getRing() {
+		return ring;
+	}
+}
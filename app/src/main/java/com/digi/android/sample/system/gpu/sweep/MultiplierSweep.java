@@ -0,0 +1,293 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.sweep;
+
+import com.digi.android.sample.system.gpu.control.GpuControl;
+import com.digi.android.sample.system.gpu.metrics.MetricsChannel;
+import com.digi.android.sample.system.gpu.metrics.MetricsSnapshot;
+import com.digi.android.sample.system.gpu.sampling.SystemSampler;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Steps the GPU multiplier through a list of values and measures the frame
+ * rate and temperature at each one, producing a performance and thermal
+ * curve of the board.
+ *
+ * <p>For every multiplier the sweep waits a settle time so the temperature
+ * and frame rate adapt to it, and then measures during a fixed window. It
+ * is fed from the sampler thread as a {@link SystemSampler.SampleSink} and
+ * does nothing until {@link #start()} is called. The listener is called on
+ * the sampler thread.</p>
+ */
+public class MultiplierSweep implements SystemSampler.SampleSink {
+
+	/**
+	 * Receives the progress and results of a sweep.
+	 */
+	public interface Listener {
+
+		/**
+		 * Called when a step has been measured.
+		 *
+		 * @param step The measured step.
+		 * @param index Index of the step.
+		 * @param total Total amount of steps.
+		 */
+		void onStep(SweepStep step, int index, int total);
+
+		/**
+		 * Called when all the steps have been measured.
+		 *
+		 * @param steps The measured steps, in sweep order.
+		 */
+		void onFinished(List<SweepStep> steps);
+
+		/**
+		 * Called when the sweep is aborted because the multiplier could not
+		 * be set.
+		 *
+		 * @param e The error.
+		 */
+		void onError(Exception e);
+	}
+
+	// Constants.
+	/** Default multipliers swept. */
+	public static final int[] DEFAULT_MULTIPLIERS = { 1, 8, 16, 24, 32, 40, 48, 56, 64 };
+	/** Default settle time per step. */
+	public static final int DEFAULT_SETTLE_SECONDS = 30;
+	/** Default measurement window per step. */
+	public static final int DEFAULT_WINDOW_SECONDS = 30;
+
+	private static final float NANOS_PER_SECOND = 1e9f;
+	private static final float SECONDS_PER_MINUTE = 60f;
+
+	// Variables.
+	private final GpuControl gpuControl;
+	private final MetricsChannel metricsChannel;
+	private final int[] multipliers;
+	private final long settleNanos;
+	private final long windowNanos;
+	private final Listener listener;
+
+	private final MetricsSnapshot metrics = new MetricsSnapshot();
+	private final List<SweepStep> steps = new ArrayList<>();
+
+	private volatile boolean requested;
+	// Incremented by every start, so a restart requested between two
+	// samples is not missed.
+	private volatile int generation;
+
+	// Only accessed from the sampler thread.
+	private boolean running;
+	private int runningGeneration;
+	private int stepIndex;
+	private int stepMultiplier;
+	private long stepStartNanos;
+	private boolean measuring;
+	private long lastSequence;
+	private boolean throttled;
+
+	// Running sums of the current measurement window.
+	private int samples;
+	private double sumT;
+	private double sumY;
+	private double sumTT;
+	private double sumTY;
+	private int metricCount;
+	private long sumFps;
+	private long sumP99;
+
+	/**
+	 * Creates a multiplier sweep.
+	 *
+	 * @param gpuControl GPU control to set the multiplier with.
+	 * @param metricsChannel Channel to read frame metrics from.
+	 * @param multipliers Multipliers to sweep, in order.
+	 * @param settleSeconds Seconds to wait after setting each multiplier.
+	 * @param windowSeconds Seconds to measure each multiplier.
+	 * @param listener Listener notified on the sampler thread.
+	 */
+	public MultiplierSweep(GpuControl gpuControl, MetricsChannel metricsChannel, int[] multipliers,
+			int settleSeconds, int windowSeconds, Listener listener) {
+		if (multipliers.length == 0)
+			throw new IllegalArgumentException("No multipliers to sweep");
+		if (settleSeconds < 0 || windowSeconds < 1)
+			throw new IllegalArgumentException("Invalid sweep timing");
+		this.gpuControl = gpuControl;
+		this.metricsChannel = metricsChannel;
+		this.multipliers = multipliers.clone();
+		this.settleNanos = settleSeconds * 1000000000L;
+		this.windowNanos = windowSeconds * 1000000000L;
+		this.listener = listener;
+	}
+
+	/**
+	 * Starts the sweep with the next sample. A sweep already in progress
+	 * starts over from the first step. Must be called from a single thread.
+	 */
+	public void start() {
+		generation++;
+		requested = true;
+	}
+
+	/**
+	 * Stops the sweep with the next sample, leaving the last multiplier
+	 * set.
+	 */
+	public void cancel() {
+		requested = false;
+	}
+
+	/**
+	 * Returns whether the sweep has been started and not finished or
+	 * cancelled yet.
+	 *
+	 * @return {@code true} if the sweep is in progress.
+	 */
+	public boolean isRunning() {
+		return requested;
+	}
+
+	@Override
+	public void onSample(long timeNanos, float temperature, int multiplier) {
+		if (!requested) {
+			running = false;
+			return;
+		}
+		int startGeneration = generation;
+		if (!running || startGeneration != runningGeneration) {
+			running = true;
+			runningGeneration = startGeneration;
+			steps.clear();
+			if (!beginStep(0, timeNanos))
+				return;
+		}
+
+		long elapsed = timeNanos - stepStartNanos;
+		if (!measuring) {
+			if (elapsed < settleNanos)
+				return;
+			measuring = true;
+			stepStartNanos = timeNanos;
+			lastSequence = metricsChannel.read(metrics);
+			elapsed = 0;
+		}
+
+		if (multiplier > 0 && multiplier != stepMultiplier)
+			throttled = true;
+		addTemperature(elapsed / NANOS_PER_SECOND, temperature);
+		long sequence = metricsChannel.read(metrics);
+		if (sequence != lastSequence) {
+			lastSequence = sequence;
+			metricCount++;
+			sumFps += metrics.getFps();
+			sumP99 += metrics.getP99();
+		}
+
+		if (elapsed < windowNanos)
+			return;
+		SweepStep step = finishStep();
+		steps.add(step);
+		listener.onStep(step, stepIndex, multipliers.length);
+		if (stepIndex + 1 < multipliers.length) {
+			beginStep(stepIndex + 1, timeNanos);
+		} else {
+			requested = false;
+			running = false;
+			listener.onFinished(Collections.unmodifiableList(new ArrayList<>(steps)));
+		}
+	}
+
+	/**
+	 * Sets the multiplier of the given step and resets the measurement.
+	 *
+	 * @param index Index of the step.
+	 * @param nowNanos Current time.
+	 *
+	 * @return {@code true} if the multiplier could be set.
+	 */
+	private boolean beginStep(int index, long nowNanos) {
+		stepIndex = index;
+		try {
+			stepMultiplier = gpuControl.setMultiplier(multipliers[index]);
+		} catch (IOException | UnsupportedOperationException e) {
+			requested = false;
+			running = false;
+			listener.onError(e);
+			return false;
+		}
+		stepStartNanos = nowNanos;
+		measuring = false;
+		throttled = false;
+		samples = 0;
+		sumT = sumY = sumTT = sumTY = 0;
+		metricCount = 0;
+		sumFps = sumP99 = 0;
+		return true;
+	}
+
+	private void addTemperature(double t, float temperature) {
+		samples++;
+		sumT += t;
+		sumY += temperature;
+		sumTT += t * t;
+		sumTY += t * temperature;
+	}
+
+	private SweepStep finishStep() {
+		float meanTemperature = samples > 0 ? (float) (sumY / samples) : Float.NaN;
+		float slope = 0;
+		double denominator = samples * sumTT - sumT * sumT;
+		if (samples > 1 && denominator > 0)
+			slope = (float) ((samples * sumTY - sumT * sumY) / denominator) * SECONDS_PER_MINUTE;
+		float fps = metricCount > 0 ? (float) sumFps / metricCount : 0;
+		long p99 = metricCount > 0 ? sumP99 / metricCount : 0;
+		return new SweepStep(multipliers[stepIndex], stepMultiplier, throttled, samples, fps, p99,
+				meanTemperature, slope);
+	}
+
+	/**
+	 * Writes the given steps as a CSV table, with both the requested and the
+	 * applied multiplier of every step. The efficiency column is the frame
+	 * rate per degree above the temperature of the first step, so it is
+	 * empty for the first step and for any step not warmer than it.
+	 *
+	 * @param steps Steps to write.
+	 * @param out Destination of the table.
+	 *
+	 * @throws IOException If the table cannot be written.
+	 */
+	public static void writeCsv(List<SweepStep> steps, Appendable out) throws IOException {
+		out.append("requested_multiplier,multiplier,throttled,fps,p99_ms,temperature_c,"
+				+ "slope_c_per_min,fps_per_c\n");
+		float baseline = steps.isEmpty() ? 0 : steps.get(0).getTemperature();
+		for (SweepStep step : steps) {
+			float rise = step.getTemperature() - baseline;
+			out.append(String.format(Locale.US, "%d,%d,%b,%.1f,%.2f,%.2f,%.3f,%s\n",
+					step.getRequestedMultiplier(), step.getMultiplier(), step.isThrottled(),
+					step.getFps(), step.getP99() / 1e6f, step.getTemperature(),
+					step.getTemperatureSlope(),
+					rise > 0 ? String.format(Locale.US, "%.2f", step.getFps() / rise) : ""));
+		}
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.sweep;
+
+/**
+ * Result of one step of a {@link MultiplierSweep}.
+ */
+public final class SweepStep {
+
+	private final int requestedMultiplier;
+	private final int multiplier;
+	private final boolean throttled;
+	private final int samples;
+	private final float fps;
+	private final long p99;
+	private final float temperature;
+	private final float temperatureSlope;
+
+	SweepStep(int requestedMultiplier, int multiplier, boolean throttled, int samples, float fps,
+			long p99, float temperature, float temperatureSlope) {
+		this.requestedMultiplier = requestedMultiplier;
+		this.multiplier = multiplier;
+		this.throttled = throttled;
+		this.samples = samples;
+		this.fps = fps;
+		this.p99 = p99;
+		this.temperature = temperature;
+		this.temperatureSlope = temperatureSlope;
+	}
+
+	/**
+	 * Returns the multiplier the step asked for.
+	 *
+	 * @return The requested GPU multiplier.
+	 */
+	public int getRequestedMultiplier() {
+		return requestedMultiplier;
+	}
+
+	/**
+	 * Returns the multiplier applied during the step. It differs from the
+	 * requested one when the GPU control clamps it, for example below the
+	 * minimum multiplier.
+	 *
+	 * @return The applied GPU multiplier.
+	 */
+	public int getMultiplier() {
+		return multiplier;
+	}
+
+	/**
+	 * Returns whether the multiplier was lowered by the system during the
+	 * measurement, for example because the hot trip point was reached.
+	 *
+	 * @return {@code true} if the step was throttled.
+	 */
+	public boolean isThrottled() {
+		return throttled;
+	}
+
+	/**
+	 * Returns the amount of temperature samples measured.
+	 *
+	 * @return The amount of samples.
+	 */
+	public int getSamples() {
+		return samples;
+	}
+
+	/**
+	 * Returns the mean frame rate during the measurement.
+	 *
+	 * @return Frames per second.
+	 */
+	public float getFps() {
+		return fps;
+	}
+
+	/**
+	 * Returns the mean of the reported 99th percentile frame times.
+	 *
+	 * @return Frame time in nanoseconds.
+	 */
+	public long getP99() {
+		return p99;
+	}
+
+	/**
+	 * Returns the mean temperature during the measurement.
+	 *
+	 * @return Temperature in degrees Celsius.
+	 */
+	public float getTemperature() {
+		return temperature;
+	}
+
+	/**
+	 * Returns the least squares slope of the temperature during the
+	 * measurement.
+	 *
+	 * @return Slope in degrees Celsius per minute.
+	 */
+	public float getTemperatureSlope() {
+		return temperatureSlope;
+	}
+}
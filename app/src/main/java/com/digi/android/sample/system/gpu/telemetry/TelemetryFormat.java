@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.telemetry;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.zip.CRC32;
+
+/**
+ * Binary layout of the telemetry log.
+ *
+ * <p>The log is a directory of fixed-size segment files named
+ * {@code segment-NNNNNNNN.tlog}, numbered in write order. Every segment
+ * starts with a {@value #HEADER_SIZE}-byte header (magic, version, record
+ * size, creation time) followed by {@value #RECORD_SIZE}-byte records. All
+ * values are little-endian. Each record ends with the CRC-32 of its payload,
+ * written last, so a record torn by a crash or power loss fails the check
+ * and marks the end of the valid data of its segment. Never written space
+ * is zero-filled and fails the check as well.</p>
+ */
+final class TelemetryFormat {
+
+	// Constants.
+	static final int MAGIC = 0x54555047; // "GPUT"
+	// Version 2 added the scene and its load level to every record.
+	static final short VERSION = 2;
+
+	static final int HEADER_SIZE = 16;
+	static final int PAYLOAD_SIZE = 48;
+	static final int RECORD_SIZE = PAYLOAD_SIZE + 4;
+
+	private static final String PREFIX = "segment-";
+	private static final String SUFFIX = ".tlog";
+
+	private TelemetryFormat() {
+	}
+
+	/**
+	 * Returns the size in bytes of a segment holding the given amount of
+	 * records.
+	 */
+	static long segmentSize(int records) {
+		return HEADER_SIZE + (long) records * RECORD_SIZE;
+	}
+
+	/**
+	 * Writes a segment header at the start of the given buffer.
+	 */
+	static void writeHeader(ByteBuffer buffer, long createdMillis) {
+		buffer.putInt(0, MAGIC);
+		buffer.putShort(4, VERSION);
+		buffer.putShort(6, (short) RECORD_SIZE);
+		buffer.putLong(8, createdMillis);
+	}
+
+	/**
+	 * Returns whether the given buffer starts with a valid segment header.
+	 */
+	static boolean isValidHeader(ByteBuffer buffer) {
+		return buffer.limit() >= HEADER_SIZE
+				&& buffer.getInt(0) == MAGIC
+				&& buffer.getShort(4) == VERSION
+				&& buffer.getShort(6) == RECORD_SIZE;
+	}
+
+	/**
+	 * Returns whether the record at the given offset is complete and
+	 * uncorrupted.
+	 */
+	static boolean isValidRecord(ByteBuffer buffer, int offset, CRC32 crc, byte[] scratch) {
+		if (offset + RECORD_SIZE > buffer.limit())
+			return false;
+		for (int i = 0; i < PAYLOAD_SIZE; i++)
+			scratch[i] = buffer.get(offset + i);
+		crc.reset();
+		crc.update(scratch, 0, PAYLOAD_SIZE);
+		return (int) crc.getValue() == buffer.getInt(offset + PAYLOAD_SIZE);
+	}
+
+	/**
+	 * Returns the segment file with the given index.
+	 */
+	static File segmentFile(File directory, long index) {
+		return new File(directory, String.format(Locale.ROOT, "%s%08d%s", PREFIX, index, SUFFIX));
+	}
+
+	/**
+	 * Returns the index of the given segment file, or -1 if it is not one.
+	 */
+	static long segmentIndex(File file) {
+		String name = file.getName();
+		if (!name.startsWith(PREFIX) || !name.endsWith(SUFFIX))
+			return -1;
+		try {
+			return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Returns the segment files of the given directory, oldest first.
+	 */
+	static File[] listSegments(File directory) {
+		File[] files = directory.listFiles(new FileFilter() {
+			@Override
+			public boolean accept(File file) {
+				return file.isFile() && segmentIndex(file) >= 0;
+			}
+		});
+		if (files == null)
+			return new File[0];
+		Arrays.sort(files, new Comparator<File>() {
+			@Override
+			public int compare(File a, File b) {
+				return Long.compare(segmentIndex(a), segmentIndex(b));
+			}
+		});
+		return files;
+	}
+}
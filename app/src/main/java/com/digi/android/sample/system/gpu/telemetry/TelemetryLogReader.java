@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.telemetry;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.zip.CRC32;
+
+/**
+ * Replays the records of a telemetry log written by
+ * {@link TelemetryLogWriter}.
+ *
+ * <p>Segments are read oldest first. Reading a segment stops at its first
+ * invalid record, so data torn by a crash is skipped. Segments with an
+ * invalid header are skipped entirely.</p>
+ */
+public final class TelemetryLogReader {
+
+	/**
+	 * Receives replayed records.
+	 */
+	public interface Visitor {
+
+		/**
+		 * Called for every valid record, oldest first. The record instance
+		 * is reused between calls.
+		 *
+		 * @param record The record.
+		 */
+		void onRecord(TelemetryRecord record);
+	}
+
+	// Constants.
+	private static final String CSV_HEADER = "time_ms,temperature_c,multiplier,fps,"
+			+ "p50_us,p90_us,p99_us,max_us,jank_frames,scene,scene_level\n";
+
+	private TelemetryLogReader() {
+	}
+
+	/**
+	 * Replays all the valid records of the log in the given directory.
+	 *
+	 * @param directory Directory holding the log segments.
+	 * @param visitor Visitor receiving the records.
+	 *
+	 * @return The amount of records replayed.
+	 *
+	 * @throws IOException If a segment could not be read.
+	 */
+	public static long read(File directory, Visitor visitor) throws IOException {
+		CRC32 crc = new CRC32();
+		byte[] scratch = new byte[TelemetryFormat.PAYLOAD_SIZE];
+		TelemetryRecord record = new TelemetryRecord();
+		long count = 0;
+		for (File file : TelemetryFormat.listSegments(directory)) {
+			MappedByteBuffer segment;
+			try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+				segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			}
+			segment.order(ByteOrder.LITTLE_ENDIAN);
+			if (!TelemetryFormat.isValidHeader(segment))
+				continue;
+			int offset = TelemetryFormat.HEADER_SIZE;
+			while (TelemetryFormat.isValidRecord(segment, offset, crc, scratch)) {
+				record.readFrom(segment, offset);
+				visitor.onRecord(record);
+				count++;
+				offset += TelemetryFormat.RECORD_SIZE;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Exports all the valid records of the log in the given directory as
+	 * CSV, with a header line.
+	 *
+	 * @param directory Directory holding the log segments.
+	 * @param out Destination of the CSV text.
+	 *
+	 * @return The amount of records exported.
+	 *
+	 * @throws IOException If a segment could not be read or the output
+	 *                     could not be written.
+	 */
+	public static long exportCsv(File directory, final Appendable out) throws IOException {
+		out.append(CSV_HEADER);
+		final IOException[] error = new IOException[1];
+		long count = read(directory, new Visitor() {
+			@Override
+			public void onRecord(TelemetryRecord record) {
+				if (error[0] != null)
+					return;
+				try {
+					out.append(String.format(Locale.ROOT, "%d,%.2f,%d,%d,%d,%d,%d,%d,%d,%d,%d\n",
+							record.getTimeMillis(), record.getTemperature(), record.getMultiplier(),
+							record.getFps(), record.getP50Micros(), record.getP90Micros(),
+							record.getP99Micros(), record.getMaxMicros(), record.getJankFrames(),
+							record.getScene(), record.getSceneLevel()));
+				} catch (IOException e) {
+					error[0] = e;
+				}
+			}
+		});
+		if (error[0] != null)
+			throw error[0];
+		return count;
+	}
+}
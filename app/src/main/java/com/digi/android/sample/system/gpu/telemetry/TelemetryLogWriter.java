@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.telemetry;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Appends {@link TelemetryRecord}s to a segmented, memory-mapped log.
+ *
+ * <p>The current segment is mapped in full, so appending a record is a
+ * plain memory copy. When a segment is full the writer rolls over to a new
+ * one and deletes the oldest segments beyond the configured amount. On
+ * open, the writer resumes after the last valid record of the newest
+ * segment, overwriting any record torn by a crash.</p>
+ *
+ * <p>This class is not thread safe, and appending may block on page faults
+ * or file creation: use it from a background thread only.</p>
+ */
+public class TelemetryLogWriter implements Closeable {
+
+	// Constants.
+	private static final int FORCE_INTERVAL = 60;
+
+	// Variables.
+	private final File directory;
+	private final int recordsPerSegment;
+	private final int maxSegments;
+
+	private final CRC32 crc = new CRC32();
+	private final byte[] scratch = new byte[TelemetryFormat.PAYLOAD_SIZE];
+	private final ByteBuffer payload = ByteBuffer.wrap(scratch).order(ByteOrder.LITTLE_ENDIAN);
+
+	private long segmentIndex;
+	private MappedByteBuffer segment;
+	private int recordCount;
+	private int unforced;
+
+	/**
+	 * Opens the log in the given directory, creating it if needed.
+	 *
+	 * @param directory Directory holding the log segments.
+	 * @param recordsPerSegment Amount of records per segment file.
+	 * @param maxSegments Maximum amount of segment files kept.
+	 *
+	 * @throws IOException If the log could not be opened.
+	 */
+	public TelemetryLogWriter(File directory, int recordsPerSegment, int maxSegments) throws IOException {
+		if (recordsPerSegment < 1 || maxSegments < 1)
+			throw new IllegalArgumentException("Segment size and count must be positive");
+		if (!directory.isDirectory() && !directory.mkdirs())
+			throw new IOException("Could not create " + directory);
+		this.directory = directory;
+		this.recordsPerSegment = recordsPerSegment;
+		this.maxSegments = maxSegments;
+
+		File[] segments = TelemetryFormat.listSegments(directory);
+		if (segments.length == 0) {
+			openSegment(0, true);
+			return;
+		}
+
+		// Resume after the last valid record of the newest segment.
+		File last = segments[segments.length - 1];
+		long index = TelemetryFormat.segmentIndex(last);
+		if (last.length() != TelemetryFormat.segmentSize(recordsPerSegment)) {
+			openSegment(index + 1, true);
+			return;
+		}
+		openSegment(index, false);
+		if (!TelemetryFormat.isValidHeader(segment)) {
+			openSegment(index + 1, true);
+			return;
+		}
+		while (recordCount < recordsPerSegment
+				&& TelemetryFormat.isValidRecord(segment, recordOffset(recordCount), crc, scratch))
+			recordCount++;
+		if (recordCount == recordsPerSegment) {
+			openSegment(index + 1, true);
+			return;
+		}
+		// Clear whatever follows the last valid record, so records left after
+		// a torn one are not replayed once new ones are appended before them.
+		for (int i = recordOffset(recordCount); i < segment.limit(); i++)
+			segment.put(i, (byte) 0);
+	}
+
+	/**
+	 * Appends the given record.
+	 *
+	 * @param record Record to append.
+	 *
+	 * @throws IOException If a new segment could not be created.
+	 */
+	public void append(TelemetryRecord record) throws IOException {
+		if (segment == null)
+			throw new IOException("Log is closed");
+		if (recordCount == recordsPerSegment)
+			openSegment(segmentIndex + 1, true);
+
+		payload.clear();
+		record.writeTo(payload);
+		crc.reset();
+		crc.update(scratch, 0, TelemetryFormat.PAYLOAD_SIZE);
+
+		int offset = recordOffset(recordCount);
+		segment.position(offset);
+		segment.put(scratch, 0, TelemetryFormat.PAYLOAD_SIZE);
+		// The checksum goes last so a torn record is detected.
+		segment.putInt(offset + TelemetryFormat.PAYLOAD_SIZE, (int) crc.getValue());
+		recordCount++;
+
+		if (++unforced >= FORCE_INTERVAL) {
+			segment.force();
+			unforced = 0;
+		}
+	}
+
+	@Override
+	public void close() {
+		if (segment != null) {
+			segment.force();
+			segment = null;
+		}
+	}
+
+	/**
+	 * Maps the segment with the given index, creating it if requested, and
+	 * deletes segments beyond the configured amount.
+	 */
+	private void openSegment(long index, boolean create) throws IOException {
+		if (segment != null)
+			segment.force();
+		File file = TelemetryFormat.segmentFile(directory, index);
+		if (create && file.exists() && !file.delete())
+			throw new IOException("Could not replace " + file);
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			segment = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+					TelemetryFormat.segmentSize(recordsPerSegment));
+		}
+		segment.order(ByteOrder.LITTLE_ENDIAN);
+		segmentIndex = index;
+		recordCount = 0;
+		unforced = 0;
+		if (create) {
+			TelemetryFormat.writeHeader(segment, System.currentTimeMillis());
+			deleteOldSegments();
+		}
+	}
+
+	/**
+	 * Deletes the oldest segments beyond the configured amount.
+	 */
+	private void deleteOldSegments() {
+		File[] segments = TelemetryFormat.listSegments(directory);
+		for (int i = 0; i < segments.length - maxSegments; i++)
+			segments[i].delete();
+	}
+
+	private static int recordOffset(int record) {
+		return TelemetryFormat.HEADER_SIZE + record * TelemetryFormat.RECORD_SIZE;
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.telemetry;
+
+import com.digi.android.sample.system.gpu.metrics.MetricsChannel;
+import com.digi.android.sample.system.gpu.metrics.MetricsSnapshot;
+import com.digi.android.sample.system.gpu.sampling.SystemSampler;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Logs every system sample, together with the latest frame metrics, to a
+ * persistent {@link TelemetryLogWriter}.
+ *
+ * <p>Meant to be installed as the sample sink of a {@link SystemSampler},
+ * so all file access happens on the sampler thread. Once an I/O error
+ * occurs, logging stops and the error is kept.</p>
+ */
+public class TelemetryLogger implements SystemSampler.SampleSink {
+
+	// Constants.
+	private static final long NANOS_PER_MICRO = 1000;
+
+	// Variables.
+	private final File directory;
+	private final int recordsPerSegment;
+	private final int maxSegments;
+	private final MetricsChannel metricsChannel;
+
+	private final MetricsSnapshot metrics = new MetricsSnapshot();
+	private final TelemetryRecord record = new TelemetryRecord();
+
+	private TelemetryLogWriter writer;
+	private volatile IOException error;
+
+	/**
+	 * Creates a telemetry logger. The log is not opened until
+	 * {@link #open()} is called.
+	 *
+	 * @param directory Directory holding the log segments.
+	 * @param recordsPerSegment Amount of records per segment file.
+	 * @param maxSegments Maximum amount of segment files kept.
+	 * @param metricsChannel Channel to read frame metrics from.
+	 */
+	public TelemetryLogger(File directory, int recordsPerSegment, int maxSegments,
+			MetricsChannel metricsChannel) {
+		this.directory = directory;
+		this.recordsPerSegment = recordsPerSegment;
+		this.maxSegments = maxSegments;
+		this.metricsChannel = metricsChannel;
+	}
+
+	/**
+	 * Opens the log. Must be called from the sampler thread.
+	 */
+	public void open() {
+		try {
+			writer = new TelemetryLogWriter(directory, recordsPerSegment, maxSegments);
+		} catch (IOException e) {
+			error = e;
+		}
+	}
+
+	/**
+	 * Closes the log. Must be called from the sampler thread.
+	 */
+	public void close() {
+		if (writer != null) {
+			writer.close();
+			writer = null;
+		}
+	}
+
+	@Override
+	public void onSample(long timeNanos, float temperature, int multiplier) {
+		if (writer == null)
+			return;
+		metricsChannel.read(metrics);
+		record.set(System.currentTimeMillis(), temperature, multiplier, metrics.getFps(),
+				toMicros(metrics.getP50()), toMicros(metrics.getP90()), toMicros(metrics.getP99()),
+				toMicros(metrics.getMax()), (int) metrics.getJankFrames(), metrics.getScene(),
+				metrics.getSceneLevel());
+		try {
+			writer.append(record);
+		} catch (IOException e) {
+			error = e;
+			close();
+		}
+	}
+
+	/**
+	 * Returns the I/O error that stopped logging.
+	 *
+	 * @return The error, or {@code null} if logging is working.
+	 */
+	public IOException getError() {
+		return error;
+	}
+
+	private static int toMicros(long nanos) {
+		return (int) Math.min(Integer.MAX_VALUE, nanos / NANOS_PER_MICRO);
+	}
+}
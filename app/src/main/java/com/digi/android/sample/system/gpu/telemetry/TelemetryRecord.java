@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.telemetry;
+
+import java.nio.ByteBuffer;
+
+/**
+ * One telemetry sample: temperature, GPU multiplier, frame statistics and
+ * the scene they were measured with.
+ *
+ * <p>Frame times are stored in microseconds. Instances are meant to be
+ * allocated once and reused.</p>
+ */
+public final class TelemetryRecord {
+
+	// Variables.
+	private long timeMillis;
+	private float temperature;
+	private int multiplier;
+	private int fps;
+	private int p50Micros;
+	private int p90Micros;
+	private int p99Micros;
+	private int maxMicros;
+	private int jankFrames;
+	private int scene;
+	private int sceneLevel;
+
+	/**
+	 * Sets all the values of this record.
+	 *
+	 * @param timeMillis Wall clock time of the sample, in milliseconds since
+	 *                   the epoch.
+	 * @param temperature Temperature in degrees Celsius.
+	 * @param multiplier GPU multiplier, or 0 if unknown.
+	 * @param fps Frames per second.
+	 * @param p50Micros Median frame time in microseconds.
+	 * @param p90Micros 90th percentile frame time in microseconds.
+	 * @param p99Micros 99th percentile frame time in microseconds.
+	 * @param maxMicros Longest frame time in microseconds.
+	 * @param jankFrames Amount of janky frames.
+	 * @param scene Id of the rendered scene.
+	 * @param sceneLevel Load level of the scene, or -1 for custom parameters.
+	 */
+	public void set(long timeMillis, float temperature, int multiplier, int fps, int p50Micros,
+			int p90Micros, int p99Micros, int maxMicros, int jankFrames, int scene, int sceneLevel) {
+		this.timeMillis = timeMillis;
+		this.temperature = temperature;
+		this.multiplier = multiplier;
+		this.fps = fps;
+		this.p50Micros = p50Micros;
+		this.p90Micros = p90Micros;
+		this.p99Micros = p99Micros;
+		this.maxMicros = maxMicros;
+		this.jankFrames = jankFrames;
+		this.scene = scene;
+		this.sceneLevel = sceneLevel;
+	}
+
+	/**
+	 * Writes the payload of this record at the current position of the
+	 * given little-endian buffer.
+	 *
+	 * @param buffer Buffer to write to.
+	 */
+	void writeTo(ByteBuffer buffer) {
+		buffer.putLong(timeMillis);
+		buffer.putFloat(temperature);
+		buffer.putInt(multiplier);
+		buffer.putInt(fps);
+		buffer.putInt(p50Micros);
+		buffer.putInt(p90Micros);
+		buffer.putInt(p99Micros);
+		buffer.putInt(maxMicros);
+		buffer.putInt(jankFrames);
+		buffer.putInt(scene);
+		buffer.putInt(sceneLevel);
+	}
+
+	/**
+	 * Reads the payload of a record at the given offset of the given
+	 * little-endian buffer.
+	 *
+	 * @param buffer Buffer to read from.
+	 * @param offset Offset of the record.
+	 */
+	void readFrom(ByteBuffer buffer, int offset) {
+		timeMillis = buffer.getLong(offset);
+		temperature = buffer.getFloat(offset + 8);
+		multiplier = buffer.getInt(offset + 12);
+		fps = buffer.getInt(offset + 16);
+		p50Micros = buffer.getInt(offset + 20);
+		p90Micros = buffer.getInt(offset + 24);
+		p99Micros = buffer.getInt(offset + 28);
+		maxMicros = buffer.getInt(offset + 32);
+		jankFrames = buffer.getInt(offset + 36);
+		scene = buffer.getInt(offset + 40);
+		sceneLevel = buffer.getInt(offset + 44);
+	}
+
+	public long getTimeMillis() {
+		return timeMillis;
+	}
+
+	public float getTemperature() {
+		return temperature;
+	}
+
+	public int getMultiplier() {
+		return multiplier;
+	}
+
+	public int getFps() {
+		return fps;
+	}
+
+	public int getP50Micros() {
+		return p50Micros;
+	}
+
+	public int getP90Micros() {
+		return p90Micros;
+	}
+
+	public int getP99Micros() {
+		return p99Micros;
+	}
+
+	public int getMaxMicros() {
+		return maxMicros;
+	}
+
+	public int getJankFrames() {
+		return jankFrames;
+	}
+
+	public int getScene() {
+		return scene;
+	}
+
+	public int getSceneLevel() {
+		return sceneLevel;
+	}
+}
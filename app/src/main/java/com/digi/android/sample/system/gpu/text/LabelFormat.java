@@ -0,0 +1,348 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.text;
+
+import java.text.DecimalFormatSymbols;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Label text formatted from a template without allocating.
+ *
+ * <p>The template is parsed once. It supports the subset of
+ * {@link java.util.Formatter} syntax used by the string resources:
+ * {@code %d}, {@code %s}, {@code %f} and {@code %.Nf}, optionally with an
+ * explicit argument index such as {@code %2$d}, and {@code %%}. Arguments
+ * are set by their 1-based index and kept until replaced, and
+ * {@link #render()} formats them into a reused buffer. Digits and the
+ * decimal separator follow the given locale, as with
+ * {@link String#format(Locale, String, Object...)}.</p>
+ *
+ * <p>The rendered text is available through the {@link CharSequence}
+ * methods, so a label can be an argument of another one. Instances are not
+ * thread safe.</p>
+ */
+public final class LabelFormat implements CharSequence {
+
+	// Constants.
+	private static final char INT = 'd';
+	private static final char FLOAT = 'f';
+	private static final char TEXT = 's';
+
+	private static final int DEFAULT_PRECISION = 6;
+	private static final long[] POWERS_OF_TEN = { 1L, 10L, 100L, 1000L, 10000L,
+			100000L, 1000000L, 10000000L, 100000000L, 1000000000L };
+	private static final long EXACT_MIDPOINTS = 1L << 51;
+
+	// Variables.
+	private final char[] literals;
+	// Per segment: literal start and end, argument index (-1 for none),
+	// conversion and precision.
+	private final int[] literalStarts;
+	private final int[] literalEnds;
+	private final int[] argumentIndexes;
+	private final char[] conversions;
+	private final int[] precisions;
+	private final int segments;
+
+	private final long[] intArguments;
+	private final double[] floatArguments;
+	private final CharSequence[] textArguments;
+
+	private final char zeroDigit;
+	private final char decimalSeparator;
+
+	private char[] text = new char[32];
+	private int length;
+	private char[] scratch = new char[32];
+	private final char[] digits = new char[20];
+
+	/**
+	 * Creates a label format.
+	 *
+	 * @param template Template, for example {@code "%1$d FPS"}.
+	 * @param locale Locale numbers are formatted with.
+	 *
+	 * @throws IllegalArgumentException If the template uses unsupported
+	 *                                  syntax.
+	 */
+	public LabelFormat(String template, Locale locale) {
+		int count = 0;
+		for (int i = 0; i < template.length(); i++) {
+			if (template.charAt(i) == '%')
+				count++;
+		}
+		literals = new char[template.length()];
+		literalStarts = new int[count + 1];
+		literalEnds = new int[count + 1];
+		argumentIndexes = new int[count + 1];
+		conversions = new char[count + 1];
+		precisions = new int[count + 1];
+
+		int segment = 0;
+		int literalLength = 0;
+		int nextIndex = 1;
+		int maxIndex = 0;
+		int i = 0;
+		literalStarts[0] = 0;
+		while (i < template.length()) {
+			char c = template.charAt(i++);
+			if (c != '%') {
+				literals[literalLength++] = c;
+				continue;
+			}
+			if (i < template.length() && template.charAt(i) == '%') {
+				literals[literalLength++] = '%';
+				i++;
+				continue;
+			}
+			// Argument index, if followed by '$'.
+			int start = i;
+			int number = 0;
+			while (i < template.length() && Character.isDigit(template.charAt(i)))
+				number = number * 10 + template.charAt(i++) - '0';
+			int index;
+			if (i > start && i < template.length() && template.charAt(i) == '$') {
+				index = number;
+				i++;
+			} else {
+				if (i > start)
+					throw new IllegalArgumentException("Width is not supported: " + template);
+				index = nextIndex++;
+			}
+			int precision = -1;
+			if (i < template.length() && template.charAt(i) == '.') {
+				i++;
+				start = i;
+				precision = 0;
+				while (i < template.length() && Character.isDigit(template.charAt(i)))
+					precision = precision * 10 + template.charAt(i++) - '0';
+				if (i == start || precision >= POWERS_OF_TEN.length)
+					throw new IllegalArgumentException("Invalid precision: " + template);
+			}
+			if (i >= template.length())
+				throw new IllegalArgumentException("Missing conversion: " + template);
+			char conversion = template.charAt(i++);
+			if (conversion != INT && conversion != FLOAT && conversion != TEXT)
+				throw new IllegalArgumentException("Unsupported conversion %" + conversion
+						+ ": " + template);
+			if (precision >= 0 && conversion != FLOAT)
+				throw new IllegalArgumentException("Precision is only supported by %f: "
+						+ template);
+			if (index < 1)
+				throw new IllegalArgumentException("Invalid argument index: " + template);
+
+			literalEnds[segment] = literalLength;
+			argumentIndexes[segment] = index;
+			conversions[segment] = conversion;
+			precisions[segment] = precision < 0 ? DEFAULT_PRECISION : precision;
+			segment++;
+			literalStarts[segment] = literalLength;
+			maxIndex = Math.max(maxIndex, index);
+		}
+		literalEnds[segment] = literalLength;
+		argumentIndexes[segment] = -1;
+		segments = segment + 1;
+
+		intArguments = new long[maxIndex + 1];
+		floatArguments = new double[maxIndex + 1];
+		textArguments = new CharSequence[maxIndex + 1];
+		Arrays.fill(textArguments, "");
+
+		DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+		zeroDigit = symbols.getZeroDigit();
+		decimalSeparator = symbols.getDecimalSeparator();
+	}
+
+	/**
+	 * Sets an integer argument, used by {@code %d}.
+	 *
+	 * @param index 1-based argument index.
+	 * @param value Argument value.
+	 *
+	 * @return This label format.
+	 */
+	public LabelFormat setInt(int index, long value) {
+		intArguments[index] = value;
+		return this;
+	}
+
+	/**
+	 * Sets a floating point argument, used by {@code %f}.
+	 *
+	 * @param index 1-based argument index.
+	 * @param value Argument value.
+	 *
+	 * @return This label format.
+	 */
+	public LabelFormat setFloat(int index, double value) {
+		floatArguments[index] = value;
+		return this;
+	}
+
+	/**
+	 * Sets a text argument, used by {@code %s}. The text is read when the
+	 * label is rendered, not copied.
+	 *
+	 * @param index 1-based argument index.
+	 * @param value Argument value; {@code null} is rendered as "null".
+	 *
+	 * @return This label format.
+	 */
+	public LabelFormat setText(int index, CharSequence value) {
+		textArguments[index] = value == null ? "null" : value;
+		return this;
+	}
+
+	/**
+	 * Formats the template with the current arguments.
+	 *
+	 * @return {@code true} if the text differs from the one rendered before.
+	 */
+	public boolean render() {
+		int position = 0;
+		for (int s = 0; s < segments; s++) {
+			int literalLength = literalEnds[s] - literalStarts[s];
+			ensureScratch(position + literalLength);
+			System.arraycopy(literals, literalStarts[s], scratch, position, literalLength);
+			position += literalLength;
+
+			int index = argumentIndexes[s];
+			if (index < 0)
+				continue;
+			switch (conversions[s]) {
+				case INT:
+					position = appendInt(position, intArguments[index]);
+					break;
+				case FLOAT:
+					position = appendFloat(position, floatArguments[index], precisions[s]);
+					break;
+				default:
+					CharSequence value = textArguments[index];
+					int valueLength = value.length();
+					ensureScratch(position + valueLength);
+					for (int i = 0; i < valueLength; i++)
+						scratch[position++] = value.charAt(i);
+					break;
+			}
+		}
+
+		boolean changed = position != length;
+		for (int i = 0; !changed && i < position; i++)
+			changed = scratch[i] != text[i];
+		// The rendered text becomes the current one.
+		char[] previous = text;
+		text = scratch;
+		scratch = previous;
+		length = position;
+		return changed;
+	}
+
+	@Override
+	public int length() {
+		return length;
+	}
+
+	@Override
+	public char charAt(int index) {
+		if (index < 0 || index >= length)
+			throw new IndexOutOfBoundsException("Index " + index + ", length " + length);
+		return text[index];
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		return toString().subSequence(start, end);
+	}
+
+	@Override
+	public String toString() {
+		return new String(text, 0, length);
+	}
+
+	private int appendInt(int position, long value) {
+		boolean negative = value < 0;
+		int count = 0;
+		// Work with negative numbers, which also cover Long.MIN_VALUE.
+		long remaining = negative ? value : -value;
+		do {
+			digits[count++] = (char) (zeroDigit - (int) (remaining % 10));
+			remaining /= 10;
+		} while (remaining != 0);
+		ensureScratch(position + count + 1);
+		if (negative)
+			scratch[position++] = '-';
+		while (count > 0)
+			scratch[position++] = digits[--count];
+		return position;
+	}
+
+	private int appendFloat(int position, double value, int precision) {
+		if (Double.isNaN(value) || Double.isInfinite(value)) {
+			String special = Double.isNaN(value) ? "NaN" : value > 0 ? "Infinity" : "-Infinity";
+			ensureScratch(position + special.length());
+			special.getChars(0, special.length(), scratch, position);
+			return position + special.length();
+		}
+		long scale = POWERS_OF_TEN[precision];
+		double scaled = Math.abs(value) * scale;
+		if (scaled >= Long.MAX_VALUE) {
+			// Beyond what labels show; let the platform format it.
+			String formatted = String.format(Locale.ROOT, "%." + precision + "f", value);
+			ensureScratch(position + formatted.length());
+			formatted.getChars(0, formatted.length(), scratch, position);
+			return position + formatted.length();
+		}
+		long rounded = roundHalfUp(Math.abs(value), scaled, scale);
+		// Like String.format, values rounding to zero keep their sign.
+		if (value < 0 || 1 / value < 0) {
+			ensureScratch(position + 1);
+			scratch[position++] = '-';
+		}
+		position = appendInt(position, rounded / scale);
+		if (precision == 0)
+			return position;
+		ensureScratch(position + precision + 1);
+		scratch[position++] = decimalSeparator;
+		long fraction = rounded % scale;
+		for (int i = precision - 1; i >= 0; i--) {
+			scratch[position + i] = (char) (zeroDigit + (int) (fraction % 10));
+			fraction /= 10;
+		}
+		return position + precision;
+	}
+
+	// Rounds like Formatter: half up on the shortest decimal representation
+	// of the value. The scaled product can itself round to the wrong side of
+	// a midpoint, so the value is compared with the nearest midpoints,
+	// computed exactly while they fit in the double mantissa.
+	private static long roundHalfUp(double value, double scaled, long scale) {
+		long rounded = Math.round(scaled);
+		if (rounded >= EXACT_MIDPOINTS)
+			return rounded;
+		if (rounded > 0 && value < (2 * rounded - 1) / (2.0 * scale))
+			rounded--;
+		else if (value >= (2 * rounded + 1) / (2.0 * scale))
+			rounded++;
+		return rounded;
+	}
+
+	private void ensureScratch(int capacity) {
+		if (capacity > scratch.length)
+			scratch = Arrays.copyOf(scratch, Math.max(capacity, scratch.length * 2));
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.text;
+
+import android.widget.TextView;
+
+import java.util.Arrays;
+
+/**
+ * Shows label text in a {@link TextView} without allocating, and only
+ * when it changed.
+ *
+ * <p>The text is copied into a character array owned by the label, which
+ * the view displays directly, so {@link LabelFormat}s and other reused
+ * buffers can be shown and then formatted again. Must only be used from
+ * the UI thread.</p>
+ */
+public final class TextLabel {
+
+	/**
+	 * Receives the text to show; a {@link TextView} on the device.
+	 */
+	interface Display {
+
+		/**
+		 * Shows the given characters.
+		 *
+		 * @param text Array holding the characters.
+		 * @param start Index of the first character.
+		 * @param length Amount of characters.
+		 */
+		void setText(char[] text, int start, int length);
+	}
+
+	// Variables.
+	private final Display display;
+	private char[] chars = new char[32];
+	private int length = -1;
+
+	/**
+	 * Creates a label showing text in the given view.
+	 *
+	 * @param view The view to show the text in.
+	 */
+	public TextLabel(final TextView view) {
+		this(new Display() {
+			@Override
+			public void setText(char[] text, int start, int length) {
+				view.setText(text, start, length);
+			}
+		});
+	}
+
+	/**
+	 * Creates a label showing text on the given display.
+	 *
+	 * @param display The display to show the text on.
+	 */
+	TextLabel(Display display) {
+		this.display = display;
+	}
+
+	/**
+	 * Renders the given label format and shows it if it changed.
+	 *
+	 * @param format The label format to render.
+	 *
+	 * @return {@code true} if the view was updated.
+	 */
+	public boolean show(LabelFormat format) {
+		format.render();
+		return show((CharSequence) format);
+	}
+
+	/**
+	 * Shows the given text if it differs from the text shown.
+	 *
+	 * @param text The text to show.
+	 *
+	 * @return {@code true} if the view was updated.
+	 */
+	public boolean show(CharSequence text) {
+		int textLength = text.length();
+		if (textLength == length) {
+			int i = 0;
+			while (i < textLength && chars[i] == text.charAt(i))
+				i++;
+			if (i == textLength)
+				return false;
+		}
+		if (textLength > chars.length)
+			chars = Arrays.copyOf(chars, Math.max(textLength, chars.length * 2));
+		for (int i = 0; i < textLength; i++)
+			chars[i] = text.charAt(i);
+		length = textLength;
+		display.setText(chars, 0, textLength);
+		return true;
+	}
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.thermal;
+
+import com.digi.android.sample.system.gpu.control.GpuControl;
+import com.digi.android.sample.system.gpu.sampling.SystemSampler;
+
+import java.io.IOException;
+
+/**
+ * Closed-loop governor holding the temperature at a target by adjusting the
+ * GPU multiplier.
+ *
+ * <p>A proportional-integral controller turns the distance to the target
+ * into a multiplier, so the GPU runs as fast as the thermal budget allows.
+ * Errors within a dead band around the target are ignored, and the
+ * multiplier is changed at most once per minimum interval and by at most
+ * a maximum step, so the sysfs node is not thrashed. Whenever the measured
+ * multiplier differs from the one last applied (for example because the
+ * hot trip point was reached or it was changed by hand), the controller
+ * takes it as its new starting point.</p>
+ *
+ * <p>The governor is fed from the sampler thread as a
+ * {@link SystemSampler.SampleSink}, and does nothing while disabled.</p>
+ */
+public class ThermalGovernor implements SystemSampler.SampleSink {
+
+	// Constants.
+	/** Default proportional gain, in multiplier steps per degree. */
+	public static final float DEFAULT_KP = 2f;
+	/** Default integral gain, in multiplier steps per degree and second. */
+	public static final float DEFAULT_KI = 0.2f;
+	/** Default dead band around the target, in degrees. */
+	public static final float DEFAULT_DEADBAND = 0.5f;
+	/** Default maximum change of the multiplier per update. */
+	public static final int DEFAULT_MAX_STEP = 4;
+	/** Default minimum interval between multiplier changes. */
+	public static final long DEFAULT_MIN_INTERVAL_MILLIS = 2000;
+
+	private static final float NANOS_PER_SECOND = 1e9f;
+
+	// Variables.
+	private final GpuControl gpuControl;
+	private final int minMultiplier;
+	private final int maxMultiplier;
+
+	private volatile boolean enabled;
+	private volatile float targetTemperature;
+
+	private float kp = DEFAULT_KP;
+	private float ki = DEFAULT_KI;
+	private float deadband = DEFAULT_DEADBAND;
+	private int maxStep = DEFAULT_MAX_STEP;
+	private long minIntervalNanos = DEFAULT_MIN_INTERVAL_MILLIS * 1000000L;
+
+	// Only accessed from the sampler thread.
+	private boolean running;
+	private int current;
+	private float integral;
+	private long lastUpdateNanos;
+	private long lastChangeNanos;
+
+	/**
+	 * Creates a disabled thermal governor.
+	 *
+	 * @param gpuControl GPU control to adjust the multiplier with.
+	 * @param targetTemperature Temperature to hold, in degrees Celsius.
+	 * @param minMultiplier Lowest multiplier the governor may set.
+	 * @param maxMultiplier Highest multiplier the governor may set.
+	 */
+	public ThermalGovernor(GpuControl gpuControl, float targetTemperature, int minMultiplier,
+			int maxMultiplier) {
+		if (minMultiplier < 1 || maxMultiplier < minMultiplier)
+			throw new IllegalArgumentException("Invalid multiplier range");
+		this.gpuControl = gpuControl;
+		this.targetTemperature = targetTemperature;
+		this.minMultiplier = minMultiplier;
+		this.maxMultiplier = maxMultiplier;
+	}
+
+	/**
+	 * Enables or disables the governor.
+	 *
+	 * @param enabled {@code true} to let the governor drive the multiplier.
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Returns whether the governor drives the multiplier.
+	 *
+	 * @return {@code true} if the governor is enabled, {@code false}
+	 *         otherwise.
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Sets the temperature to hold.
+	 *
+	 * @param targetTemperature Target temperature in degrees Celsius.
+	 */
+	public void setTargetTemperature(float targetTemperature) {
+		this.targetTemperature = targetTemperature;
+	}
+
+	/**
+	 * Returns the temperature to hold.
+	 *
+	 * @return Target temperature in degrees Celsius.
+	 */
+	public float getTargetTemperature() {
+		return targetTemperature;
+	}
+
+	/**
+	 * Sets the controller gains. Must be called before the governor is fed.
+	 *
+	 * @param kp Proportional gain, in multiplier steps per degree.
+	 * @param ki Integral gain, in multiplier steps per degree and second.
+	 */
+	public void setGains(float kp, float ki) {
+		this.kp = kp;
+		this.ki = ki;
+	}
+
+	/**
+	 * Sets the dead band around the target. Must be called before the
+	 * governor is fed.
+	 *
+	 * @param deadband Dead band in degrees.
+	 */
+	public void setDeadband(float deadband) {
+		this.deadband = deadband;
+	}
+
+	/**
+	 * Sets the rate limits. Must be called before the governor is fed.
+	 *
+	 * @param maxStep Maximum change of the multiplier per update.
+	 * @param minIntervalMillis Minimum interval between multiplier changes.
+	 */
+	public void setRateLimit(int maxStep, long minIntervalMillis) {
+		this.maxStep = maxStep;
+		this.minIntervalNanos = minIntervalMillis * 1000000L;
+	}
+
+	@Override
+	public void onSample(long timeNanos, float temperature, int multiplier) {
+		if (enabled)
+			update(timeNanos, temperature, multiplier);
+		else
+			running = false;
+	}
+
+	/**
+	 * Runs one controller step.
+	 *
+	 * @param nowNanos Monotonic time of the sample.
+	 * @param temperature Measured temperature in degrees Celsius.
+	 * @param measuredMultiplier Measured GPU multiplier, or 0 if unknown.
+	 *
+	 * @return The multiplier in effect after the step.
+	 */
+	int update(long nowNanos, float temperature, int measuredMultiplier) {
+		float error = targetTemperature - temperature;
+		if (Math.abs(error) <= deadband)
+			error = 0;
+		else
+			error -= Math.signum(error) * deadband;
+
+		if (!running || (measuredMultiplier > 0 && measuredMultiplier != current)) {
+			// Start from the multiplier in effect without a jump.
+			current = measuredMultiplier > 0 ? measuredMultiplier : current;
+			if (current == 0)
+				current = maxMultiplier;
+			integral = current - kp * error;
+			lastUpdateNanos = nowNanos;
+			if (!running)
+				lastChangeNanos = nowNanos - minIntervalNanos;
+			running = true;
+		}
+
+		float dt = (nowNanos - lastUpdateNanos) / NANOS_PER_SECOND;
+		lastUpdateNanos = nowNanos;
+		integral = clamp(integral + ki * error * dt, minMultiplier, maxMultiplier);
+		int desired = Math.round(clamp(kp * error + integral, minMultiplier, maxMultiplier));
+
+		if (desired == current || nowNanos - lastChangeNanos < minIntervalNanos)
+			return current;
+
+		int target = current + Math.max(-maxStep, Math.min(maxStep, desired - current));
+		try {
+			current = gpuControl.setMultiplier(target);
+			lastChangeNanos = nowNanos;
+		} catch (IOException | UnsupportedOperationException e) {
+			// Keep the previous multiplier and retry after the interval.
+			lastChangeNanos = nowNanos;
+		}
+		return current;
+	}
+
+	private static float clamp(float value, float min, float max) {
+		return Math.max(min, Math.min(max, value));
+	}
+}
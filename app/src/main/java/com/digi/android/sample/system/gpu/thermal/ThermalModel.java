@@ -0,0 +1,348 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.thermal;
+
+import com.digi.android.sample.system.gpu.metrics.MetricsChannel;
+import com.digi.android.sample.system.gpu.metrics.MetricsSnapshot;
+import com.digi.android.sample.system.gpu.sampling.SystemSampler;
+
+/**
+ * First-order (RC) thermal model of the module, fitted online, predicting
+ * where the temperature is heading.
+ *
+ * <p>Between two samples the temperature is modeled as</p>
+ *
+ * <pre>T[k] = a * T[k-1] + b * multiplier[k-1] + c * fps[k-1] + d</pre>
+ *
+ * <p>which is a thermal resistance and capacitance driven by a heat input
+ * that depends on the GPU multiplier and the work the GPU does, towards an
+ * ambient temperature: {@code a} is {@code exp(-interval / tau)} and the
+ * temperature settles at {@code (b * multiplier + c * fps + d) / (1 - a)}.
+ * The parameters are estimated with recursive least squares and a
+ * forgetting factor, so the model follows slow changes of the environment.
+ * Every sample costs a fixed amount of arithmetic on primitive state.</p>
+ *
+ * <p>With the inputs held at their latest values, the model predicts the
+ * temperature any time ahead and the time left until the hot trip point is
+ * reached. Predictions are only available once enough samples were fitted.
+ * The model is fed from the sampler thread as a
+ * {@link SystemSampler.SampleSink}; predictions may be read from any
+ * thread.</p>
+ */
+public class ThermalModel implements SystemSampler.SampleSink {
+
+	// Constants.
+	/** Samples needed before predictions are made. */
+	public static final int MIN_SAMPLES = 20;
+
+	/** Value returned when a time is not known or never reached. */
+	public static final float NEVER = -1f;
+
+	private static final int PARAMETERS = 4;
+	// Weight of the previous samples at each update; about 1000 samples of
+	// memory.
+	private static final double FORGETTING = 0.999;
+	private static final double INITIAL_COVARIANCE = 1000;
+	// Forgetting is suspended above this covariance, so constant inputs do
+	// not blow the estimate up.
+	private static final double MAX_COVARIANCE = 1e4;
+	// Inputs are scaled to the same order of magnitude as the temperature
+	// coefficient.
+	private static final double MULTIPLIER_SCALE = 1 / 64.0;
+	private static final double FPS_SCALE = 1 / 60.0;
+	// Samples further apart than this do not follow each other.
+	private static final long MAX_GAP_NANOS = 5000000000L;
+	private static final double NANOS_PER_SECOND = 1e9;
+	private static final double INTERVAL_SMOOTHING = 0.1;
+
+	// Variables.
+	private final MetricsChannel metricsChannel;
+	private final MetricsSnapshot metrics = new MetricsSnapshot();
+	private volatile float hotTemperature;
+
+	// Parameters {a, b, c, d}, their covariance (row major) and scratch
+	// vectors.
+	private final double[] theta = new double[PARAMETERS];
+	private final double[] covariance = new double[PARAMETERS * PARAMETERS];
+	private final double[] phi = new double[PARAMETERS];
+	private final double[] gain = new double[PARAMETERS];
+
+	private boolean hasPrevious;
+	private long previousNanos;
+	private double previousTemperature;
+	private double previousMultiplier;
+	private double previousFps;
+	private double intervalSeconds;
+	private int samples;
+
+	/**
+	 * Creates an empty thermal model.
+	 *
+	 * @param metricsChannel Channel to read the frame rate from, or
+	 *                       {@code null} to model the multiplier only.
+	 * @param hotTemperature Hot trip point in degrees Celsius, or
+	 *                       {@link Float#NaN} if unknown.
+	 */
+	public ThermalModel(MetricsChannel metricsChannel, float hotTemperature) {
+		this.metricsChannel = metricsChannel;
+		this.hotTemperature = hotTemperature;
+		reset();
+	}
+
+	/**
+	 * Discards everything learned.
+	 */
+	public synchronized void reset() {
+		// Start from "the temperature stays where it is".
+		theta[0] = 1;
+		theta[1] = theta[2] = theta[3] = 0;
+		for (int i = 0; i < covariance.length; i++)
+			covariance[i] = i % (PARAMETERS + 1) == 0 ? INITIAL_COVARIANCE : 0;
+		hasPrevious = false;
+		intervalSeconds = 0;
+		samples = 0;
+	}
+
+	/**
+	 * Sets the hot trip point predictions refer to.
+	 *
+	 * @param hotTemperature Hot trip point in degrees Celsius, or
+	 *                       {@link Float#NaN} if unknown.
+	 */
+	public void setHotTemperature(float hotTemperature) {
+		this.hotTemperature = hotTemperature;
+	}
+
+	@Override
+	public void onSample(long timeNanos, float temperature, int multiplier) {
+		int fps = 0;
+		if (metricsChannel != null && metricsChannel.read(metrics) != 0)
+			fps = metrics.getFps();
+		update(timeNanos, temperature, multiplier, fps);
+	}
+
+	/**
+	 * Fits the model to a new sample.
+	 *
+	 * @param nowNanos Monotonic time of the sample.
+	 * @param temperature Measured temperature in degrees Celsius.
+	 * @param multiplier GPU multiplier, or 0 if unknown.
+	 * @param fps Frames per second rendered.
+	 */
+	synchronized void update(long nowNanos, float temperature, int multiplier, int fps) {
+		if (multiplier <= 0) {
+			// Without the heat input the sample cannot be explained.
+			hasPrevious = false;
+			return;
+		}
+		long elapsed = nowNanos - previousNanos;
+		if (hasPrevious && elapsed > 0 && elapsed <= MAX_GAP_NANOS) {
+			double seconds = elapsed / NANOS_PER_SECOND;
+			intervalSeconds = intervalSeconds == 0 ? seconds
+					: intervalSeconds + INTERVAL_SMOOTHING * (seconds - intervalSeconds);
+			fit(temperature);
+			samples++;
+		}
+		hasPrevious = true;
+		previousNanos = nowNanos;
+		previousTemperature = temperature;
+		previousMultiplier = multiplier * MULTIPLIER_SCALE;
+		previousFps = fps * FPS_SCALE;
+	}
+
+	/**
+	 * Runs one recursive least squares step with the previous sample as
+	 * regressor and the given temperature as observation.
+	 */
+	private void fit(double temperature) {
+		phi[0] = previousTemperature;
+		phi[1] = previousMultiplier;
+		phi[2] = previousFps;
+		phi[3] = 1;
+
+		// gain = P * phi / (lambda + phi' * P * phi)
+		double denominator = 0;
+		double trace = 0;
+		for (int i = 0; i < PARAMETERS; i++) {
+			double sum = 0;
+			for (int j = 0; j < PARAMETERS; j++)
+				sum += covariance[i * PARAMETERS + j] * phi[j];
+			gain[i] = sum;
+			denominator += phi[i] * sum;
+			trace += covariance[i * PARAMETERS + i];
+		}
+		double lambda = trace > MAX_COVARIANCE ? 1 : FORGETTING;
+		denominator += lambda;
+		for (int i = 0; i < PARAMETERS; i++)
+			gain[i] /= denominator;
+
+		double error = temperature;
+		for (int i = 0; i < PARAMETERS; i++)
+			error -= theta[i] * phi[i];
+		for (int i = 0; i < PARAMETERS; i++)
+			theta[i] += gain[i] * error;
+
+		// P = (P - gain * phi' * P) / lambda, using that P is symmetric, so
+		// phi' * P is the unscaled gain.
+		for (int i = 0; i < PARAMETERS; i++) {
+			for (int j = i; j < PARAMETERS; j++) {
+				double value = (covariance[i * PARAMETERS + j]
+						- gain[i] * gain[j] * denominator) / lambda;
+				covariance[i * PARAMETERS + j] = value;
+				covariance[j * PARAMETERS + i] = value;
+			}
+		}
+		// Start over rather than predict from a diverged estimate.
+		for (int i = 0; i < PARAMETERS; i++) {
+			if (Double.isNaN(theta[i]) || Double.isInfinite(theta[i])) {
+				reset();
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Returns whether enough samples were fitted to make predictions.
+	 *
+	 * @return {@code true} if predictions are available.
+	 */
+	public synchronized boolean isReady() {
+		return samples >= MIN_SAMPLES;
+	}
+
+	/**
+	 * Predicts the temperature, assuming the multiplier and frame rate stay
+	 * at their latest values.
+	 *
+	 * @param seconds Time ahead of the latest sample, in seconds.
+	 *
+	 * @return The predicted temperature in degrees Celsius, or
+	 *         {@link Float#NaN} if the model is not ready.
+	 */
+	public synchronized float predict(float seconds) {
+		if (samples < MIN_SAMPLES)
+			return Float.NaN;
+		return (float) predictSteps(seconds / intervalSeconds);
+	}
+
+	/**
+	 * Predicts the temperature at regular times, for plotting. Allocates
+	 * nothing.
+	 *
+	 * @param temperatures Array receiving the predicted temperatures; the
+	 *                     first one is the latest sample.
+	 * @param count Amount of predictions.
+	 * @param stepSeconds Time between predictions, in seconds.
+	 *
+	 * @return {@code true} if the predictions were made, {@code false} if
+	 *         the model is not ready.
+	 */
+	public synchronized boolean predict(float[] temperatures, int count, float stepSeconds) {
+		if (samples < MIN_SAMPLES)
+			return false;
+		for (int i = 0; i < count; i++)
+			temperatures[i] = (float) predictSteps(i * stepSeconds / intervalSeconds);
+		return true;
+	}
+
+	/**
+	 * Returns the temperature the model settles at with the latest inputs.
+	 *
+	 * @return The steady-state temperature in degrees Celsius, or
+	 *         {@link Float#NaN} if the model is not ready or not stable.
+	 */
+	public synchronized float getSteadyStateTemperature() {
+		double a = coefficient();
+		if (samples < MIN_SAMPLES || a >= 1)
+			return Float.NaN;
+		return (float) (drive() / (1 - a));
+	}
+
+	/**
+	 * Estimates the time left until the hot trip point is reached, assuming
+	 * the multiplier and frame rate stay at their latest values.
+	 *
+	 * @return The time in seconds, 0 if the temperature is already at the
+	 *         hot trip point, or {@link #NEVER} if it is not expected to
+	 *         reach it or the model is not ready.
+	 */
+	public synchronized float getSecondsToHot() {
+		float hot = hotTemperature;
+		if (samples < MIN_SAMPLES || Float.isNaN(hot))
+			return NEVER;
+		double temperature = previousTemperature;
+		if (temperature >= hot)
+			return 0;
+		double a = coefficient();
+		double drive = drive();
+		double steps;
+		if (a >= 1) {
+			// No cooling: the temperature grows linearly.
+			double rise = drive - (1 - a) * temperature;
+			if (rise <= 0)
+				return NEVER;
+			steps = (hot - temperature) / rise;
+		} else {
+			double steady = drive / (1 - a);
+			if (steady <= hot || a <= 0)
+				return NEVER;
+			steps = Math.log((steady - hot) / (steady - temperature)) / Math.log(a);
+		}
+		return (float) (steps * intervalSeconds);
+	}
+
+	/**
+	 * Returns the fitted time constant of the module.
+	 *
+	 * @return The time constant in seconds, or {@link #NEVER} if the model
+	 *         is not ready or not stable.
+	 */
+	public synchronized float getTimeConstantSeconds() {
+		double a = coefficient();
+		if (samples < MIN_SAMPLES || a >= 1 || a <= 0)
+			return NEVER;
+		return (float) (-intervalSeconds / Math.log(a));
+	}
+
+	/**
+	 * Returns the temperature after the given amount of sample intervals,
+	 * from the latest sample.
+	 */
+	private double predictSteps(double steps) {
+		double a = coefficient();
+		double drive = drive();
+		double temperature = previousTemperature;
+		if (1 - a < 1e-9)
+			return temperature + steps * (drive - (1 - a) * temperature);
+		double decay = Math.pow(a, steps);
+		return decay * temperature + (1 - decay) * drive / (1 - a);
+	}
+
+	/**
+	 * Returns the temperature coefficient, limited to physical values.
+	 */
+	private double coefficient() {
+		return Math.max(0, Math.min(1, theta[0]));
+	}
+
+	/**
+	 * Returns the heat input of the latest sample, in degrees per interval.
+	 */
+	private double drive() {
+		return theta[1] * previousMultiplier + theta[2] * previousFps + theta[3];
+	}
+}
@@ -0,0 +1,44 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+/**
+ * Fragment ALU workload: a full screen quad whose fragment shader iterates
+ * transcendental math without touching memory.
+ */
+final class AluScene extends FullScreenScene {
+
+	static final String NAME = "alu";
+
+	// Shader loop iterations per fragment, by load level.
+	static final int[] ITERATIONS = { 8, 32, 64, 128, 256 };
+
+	AluScene(Gl gl, int loadLevel) {
+		super(gl, NAME, loadLevel);
+	}
+
+	@Override
+	String getFragmentShaderName() {
+		return "alu_fs";
+	}
+
+	@Override
+	String getDefines() {
+		return "#define ITERATIONS " + ITERATIONS[getLoadLevel()] + "\n";
+	}
+
+}
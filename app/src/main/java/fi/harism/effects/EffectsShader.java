@@ -16,59 +16,120 @@
 
 package fi.harism.effects;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
 import java.util.HashMap;
 
-import android.opengl.GLES20;
-import android.util.Log;
-
 /**
- * Helper class for handling shaders.
+ * Helper class for handling shaders. Active attributes and uniforms are
+ * introspected once after linking, so looking up handles never calls into GL
+ * and hot paths can hold {@link ShaderHandle} objects instead of names.
  */
 public final class EffectsShader {
 
+	private static final String ARRAY_SUFFIX = "[0]";
+
 	// Shader program handles.
 	private int mIdProgram = 0;
 	private int mIdShaderFragment = 0;
 	private int mIdShaderVertex = 0;
-	// HashMap for storing uniform/attribute handles.
-	private final HashMap<String, Integer> mShaderHandleMap = new HashMap<String, Integer>();
+	// GL calls of the context the program lives in.
+	private final Gl mGl;
+	private final int[] mParam = new int[1];
+	private final int[] mSize = new int[1];
+	private final int[] mType = new int[1];
+	// Locations of active attributes and uniforms of the linked program.
+	private final HashMap<String, Integer> mActiveAttribs = new HashMap<String, Integer>();
+	private final HashMap<String, Integer> mActiveUniforms = new HashMap<String, Integer>();
+	// Handles handed out, indexed by ShaderHandle.getIndex().
+	private final ArrayList<ShaderHandle> mHandles = new ArrayList<ShaderHandle>();
+	private final HashMap<String, ShaderHandle> mAttribHandles = new HashMap<String, ShaderHandle>();
+	private final HashMap<String, ShaderHandle> mUniformHandles = new HashMap<String, ShaderHandle>();
+	private int[] mLocations = new int[0];
+
+	/**
+	 * Creates a shader using given GL calls, for example
+	 * {@link Gles20Gl#INSTANCE}.
+	 * 
+	 * @param gl
+	 *            GL calls of the context the program is created in.
+	 */
+	public EffectsShader(Gl gl) {
+		mGl = gl;
+	}
 
 	/**
 	 * Deletes program and shaders associated with it.
 	 */
 	public void deleteProgram() {
-		GLES20.glDeleteShader(mIdShaderFragment);
-		GLES20.glDeleteShader(mIdShaderVertex);
-		GLES20.glDeleteProgram(mIdProgram);
+		mGl.glDeleteShader(mIdShaderFragment);
+		mGl.glDeleteShader(mIdShaderVertex);
+		mGl.glDeleteProgram(mIdProgram);
 		mIdProgram = mIdShaderVertex = mIdShaderFragment = 0;
 	}
 
+	/**
+	 * Returns the handle of an attribute. The same object is returned for the
+	 * same name and stays valid across {@link #setProgram(String, String)}.
+	 * 
+	 * @param name
+	 *            Name of the attribute.
+	 * @return attribute handle.
+	 */
+	public ShaderHandle getAttribute(String name) {
+		ShaderHandle handle = mAttribHandles.get(name);
+		if (handle == null) {
+			handle = addHandle(name, false);
+			mAttribHandles.put(name, handle);
+		}
+		return handle;
+	}
+
+	/**
+	 * Returns the handle of a uniform. The same object is returned for the
+	 * same name and stays valid across {@link #setProgram(String, String)}.
+	 * 
+	 * @param name
+	 *            Name of the uniform.
+	 * @return uniform handle.
+	 */
+	public ShaderHandle getUniform(String name) {
+		ShaderHandle handle = mUniformHandles.get(name);
+		if (handle == null) {
+			handle = addHandle(name, true);
+			mUniformHandles.put(name, handle);
+		}
+		return handle;
+	}
+
+	/**
+	 * Returns the location of a handle by its index.
+	 * 
+	 * @param index
+	 *            Index of the handle, see {@link ShaderHandle#getIndex()}.
+	 * @return location of the handle or -1 if it is not active.
+	 */
+	public int getLocation(int index) {
+		return mLocations[index];
+	}
+
 	/**
 	 * Get id for given handle name. This method checks for both attribute and
-	 * uniform handles.
+	 * uniform handles. Prefer {@link #getAttribute(String)} and
+	 * {@link #getUniform(String)} in code called every frame.
 	 * 
 	 * @param name
 	 *            Name of handle.
 	 * @return Id for given handle or -1 if none found.
 	 */
 	public int getHandle(String name) {
-		if (mShaderHandleMap.containsKey(name)) {
-			return mShaderHandleMap.get(name);
-		}
-		int handle = GLES20.glGetAttribLocation(mIdProgram, name);
-		if (handle == -1) {
-			handle = GLES20.glGetUniformLocation(mIdProgram, name);
-		}
-		if (handle == -1) {
-			// One should never leave log messages but am not going to follow
-			// this rule. This line comes handy if you see repeating 'not found'
-			// messages on LogCat - usually for typos otherwise annoying to
-			// spot from shader code.
-			Log.d("GlslShader", "Could not get attrib location for " + name);
-		} else {
-			mShaderHandleMap.put(name, handle);
+		Integer handle = mActiveAttribs.get(name);
+		if (handle == null) {
+			handle = mActiveUniforms.get(name);
 		}
-		return handle;
+		return handle != null ? handle : -1;
 	}
 
 	/**
@@ -97,15 +158,15 @@ public final class EffectsShader {
 	 * @return id for compiled shader
 	 */
 	private int loadShader(int shaderType, String source) throws Exception {
-		int shader = GLES20.glCreateShader(shaderType);
+		int shader = mGl.glCreateShader(shaderType);
 		if (shader != 0) {
-			GLES20.glShaderSource(shader, source);
-			GLES20.glCompileShader(shader);
+			mGl.glShaderSource(shader, source);
+			mGl.glCompileShader(shader);
 			int[] compiled = new int[1];
-			GLES20.glGetShaderiv(shader, GLES20.GL_COMPILE_STATUS, compiled, 0);
+			mGl.glGetShaderiv(shader, Gl.GL_COMPILE_STATUS, compiled, 0);
 			if (compiled[0] == 0) {
-				String error = GLES20.glGetShaderInfoLog(shader);
-				GLES20.glDeleteShader(shader);
+				String error = mGl.glGetShaderInfoLog(shader);
+				mGl.glDeleteShader(shader);
 				throw new Exception(error);
 			}
 		}
@@ -125,31 +186,199 @@ public final class EffectsShader {
 	 */
 	public void setProgram(String vertexSource, String fragmentSource)
 			throws Exception {
-		mIdShaderVertex = loadShader(GLES20.GL_VERTEX_SHADER, vertexSource);
-		mIdShaderFragment = loadShader(GLES20.GL_FRAGMENT_SHADER,
+		setProgram(vertexSource, fragmentSource, null);
+	}
+
+	/**
+	 * Same as {@link #setProgram(String, String)}, but restores the program
+	 * from given binary cache when possible. Program binaries require an
+	 * OpenGL ES 3.0 driver; otherwise, or if the driver rejects a cached
+	 * binary, the sources are compiled and the result is stored in the cache.
+	 * 
+	 * @param vertexSource
+	 *            String presentation for vertex shader
+	 * @param fragmentSource
+	 *            String presentation for fragment shader
+	 * @param cache
+	 *            Program binary cache, or null to always compile
+	 */
+	public void setProgram(String vertexSource, String fragmentSource,
+			ProgramBinaryCache cache) throws Exception {
+		String key = null;
+		if (cache != null && isProgramBinarySupported()) {
+			key = ProgramBinaryCache.createKey(vertexSource, fragmentSource,
+					mGl.glGetString(Gl.GL_RENDERER),
+					mGl.glGetString(Gl.GL_VERSION));
+			if (loadProgramBinary(cache, key)) {
+				return;
+			}
+		}
+		mIdShaderVertex = loadShader(Gl.GL_VERTEX_SHADER, vertexSource);
+		mIdShaderFragment = loadShader(Gl.GL_FRAGMENT_SHADER,
 				fragmentSource);
-		int program = GLES20.glCreateProgram();
+		int program = mGl.glCreateProgram();
 		if (program != 0) {
-			GLES20.glAttachShader(program, mIdShaderVertex);
-			GLES20.glAttachShader(program, mIdShaderFragment);
-			GLES20.glLinkProgram(program);
+			mGl.glAttachShader(program, mIdShaderVertex);
+			mGl.glAttachShader(program, mIdShaderFragment);
+			if (key != null) {
+				mGl.glProgramParameteri(program,
+						Gl.GL_PROGRAM_BINARY_RETRIEVABLE_HINT,
+						Gl.GL_TRUE);
+			}
+			mGl.glLinkProgram(program);
 			int[] linkStatus = new int[1];
-			GLES20.glGetProgramiv(program, GLES20.GL_LINK_STATUS, linkStatus, 0);
-			if (linkStatus[0] != GLES20.GL_TRUE) {
-				String error = GLES20.glGetProgramInfoLog(program);
+			mGl.glGetProgramiv(program, Gl.GL_LINK_STATUS, linkStatus, 0);
+			if (linkStatus[0] != Gl.GL_TRUE) {
+				String error = mGl.glGetProgramInfoLog(program);
 				deleteProgram();
 				throw new Exception(error);
 			}
 		}
 		mIdProgram = program;
-		mShaderHandleMap.clear();
+		resolveHandles(program);
+		if (key != null && program != 0) {
+			storeProgramBinary(cache, key, program);
+		}
+	}
+
+	/**
+	 * Returns true if the current context can save and restore program
+	 * binaries.
+	 */
+	private boolean isProgramBinarySupported() {
+		String version = mGl.glGetString(Gl.GL_VERSION);
+		if (version == null || !version.startsWith("OpenGL ES 3")) {
+			return false;
+		}
+		int[] formats = new int[1];
+		mGl.glGetIntegerv(Gl.GL_NUM_PROGRAM_BINARY_FORMATS, formats, 0);
+		return formats[0] > 0;
+	}
+
+	/**
+	 * Restores the program from the cache entry with given key.
+	 * 
+	 * @return true if the program was restored.
+	 */
+	private boolean loadProgramBinary(ProgramBinaryCache cache, String key) {
+		ProgramBinaryCache.Entry entry = cache.load(key);
+		if (entry == null) {
+			return false;
+		}
+		byte[] binary = entry.getBinary();
+		ByteBuffer buffer = ByteBuffer.allocateDirect(binary.length).order(
+				ByteOrder.nativeOrder());
+		buffer.put(binary).position(0);
+		int program = mGl.glCreateProgram();
+		if (program == 0) {
+			return false;
+		}
+		mGl.glProgramBinary(program, entry.getFormat(), buffer,
+				binary.length);
+		int[] linkStatus = new int[1];
+		mGl.glGetProgramiv(program, Gl.GL_LINK_STATUS, linkStatus, 0);
+		if (linkStatus[0] != Gl.GL_TRUE) {
+			// Driver updates invalidate binaries; compile from source again.
+			mGl.glDeleteProgram(program);
+			cache.remove(key);
+			return false;
+		}
+		mIdShaderVertex = mIdShaderFragment = 0;
+		mIdProgram = program;
+		resolveHandles(program);
+		return true;
+	}
+
+	/**
+	 * Saves the binary of given linked program into the cache.
+	 */
+	private void storeProgramBinary(ProgramBinaryCache cache,
+			String key, int program) {
+		int[] length = new int[1];
+		int[] format = new int[1];
+		mGl.glGetProgramiv(program, Gl.GL_PROGRAM_BINARY_LENGTH,
+				length, 0);
+		if (length[0] <= 0) {
+			return;
+		}
+		ByteBuffer buffer = ByteBuffer.allocateDirect(length[0]).order(
+				ByteOrder.nativeOrder());
+		mGl.glGetProgramBinary(program, length[0], length, 0, format, 0,
+				buffer);
+		byte[] binary = new byte[length[0]];
+		buffer.position(0);
+		buffer.get(binary);
+		try {
+			cache.store(key, format[0], binary);
+		} catch (IOException ex) {
+			mGl.log("Could not store program binary", ex);
+		}
+	}
+
+	/**
+	 * Introspects active attributes and uniforms of given program and updates
+	 * the locations of all handles handed out.
+	 * 
+	 * @param program
+	 *            Linked program id.
+	 */
+	void resolveHandles(int program) {
+		mActiveAttribs.clear();
+		mActiveUniforms.clear();
+		if (program != 0) {
+			mGl.glGetProgramiv(program, Gl.GL_ACTIVE_ATTRIBUTES, mParam, 0);
+			int count = mParam[0];
+			for (int i = 0; i < count; ++i) {
+				String name = mGl.glGetActiveAttrib(program, i, mSize, 0, mType,
+						0);
+				mActiveAttribs.put(name, mGl.glGetAttribLocation(program, name));
+			}
+			mGl.glGetProgramiv(program, Gl.GL_ACTIVE_UNIFORMS, mParam, 0);
+			count = mParam[0];
+			for (int i = 0; i < count; ++i) {
+				String name = mGl.glGetActiveUniform(program, i, mSize, 0,
+						mType, 0);
+				int location = mGl.glGetUniformLocation(program, name);
+				mActiveUniforms.put(name, location);
+				// Arrays are reported as "name[0]", accept plain name too.
+				if (name.endsWith(ARRAY_SUFFIX)) {
+					mActiveUniforms.put(name.substring(0, name.length()
+							- ARRAY_SUFFIX.length()), location);
+				}
+			}
+		}
+		for (int i = 0; i < mHandles.size(); ++i) {
+			resolve(mHandles.get(i));
+		}
+	}
+
+	private ShaderHandle addHandle(String name, boolean uniform) {
+		ShaderHandle handle = new ShaderHandle(mHandles.size(), name, uniform);
+		mHandles.add(handle);
+		int[] locations = new int[mHandles.size()];
+		System.arraycopy(mLocations, 0, locations, 0, mLocations.length);
+		mLocations = locations;
+		resolve(handle);
+		return handle;
+	}
+
+	private void resolve(ShaderHandle handle) {
+		Integer location = handle.isUniform() ? mActiveUniforms.get(handle
+				.getName()) : mActiveAttribs.get(handle.getName());
+		handle.mLocation = location != null ? location : -1;
+		mLocations[handle.getIndex()] = handle.mLocation;
+		if (location == null && mIdProgram != 0) {
+			// Logged once per link instead of every frame; missing handles
+			// are usually typos otherwise annoying to spot from shader code.
+			mGl.log("Could not get location for " + handle.getName(), null);
+		}
 	}
 
 	/**
 	 * Activates this shader program.
 	 */
 	public void useProgram() {
-		GLES20.glUseProgram(mIdProgram);
+		mGl.glUseProgram(mIdProgram);
 	}
 
 }
@@ -0,0 +1,66 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+/**
+ * Fill-rate workload: translucent full screen layers blended over each other.
+ * The fragment shader is trivial, so the cost is in pixel throughput and
+ * framebuffer bandwidth.
+ */
+final class FillRateScene extends FullScreenScene {
+
+	static final String NAME = "fill";
+
+	// Blended layers per frame, by load level.
+	static final int[] LAYERS = { 1, 4, 16, 32, 64 };
+
+	private final int mLayers;
+	private final ShaderHandle mUColor = mShader.getUniform("uColor");
+
+	FillRateScene(Gl gl, int loadLevel) {
+		super(gl, NAME, loadLevel);
+		mLayers = LAYERS[loadLevel];
+	}
+
+	@Override
+	String getFragmentShaderName() {
+		return "fill_fs";
+	}
+
+	@Override
+	String getDefines() {
+		return "";
+	}
+
+	@Override
+	int getPasses() {
+		return mLayers;
+	}
+
+	@Override
+	void onDrawSetup() {
+		mGl.glEnable(Gl.GL_BLEND);
+		mGl.glBlendFunc(Gl.GL_SRC_ALPHA, Gl.GL_ONE_MINUS_SRC_ALPHA);
+		mGl.glUniform4f(mUColor.getLocation(), 1f, .5f, 0f, .1f);
+	}
+
+	@Override
+	void onDrawFinish() {
+		mGl.glDisable(Gl.GL_BLEND);
+	}
+
+}
@@ -0,0 +1,41 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+/**
+ * Monotonic time source driving animation and frame metrics. Rendering code
+ * asks the clock instead of the system, so a {@link SimulatedClock} can
+ * replay a run frame by frame, faster than real time and with the same
+ * result every time.
+ */
+public interface FrameClock {
+
+	/** Clock backed by {@link System#nanoTime()}. */
+	FrameClock SYSTEM = new FrameClock() {
+		@Override
+		public long nanoTime() {
+			return System.nanoTime();
+		}
+	};
+
+	/**
+	 * Returns current time in nanoseconds. Only differences between values
+	 * are meaningful.
+	 */
+	long nanoTime();
+
+}
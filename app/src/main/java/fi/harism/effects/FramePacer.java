@@ -0,0 +1,158 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+/**
+ * Decides on which display refreshes (vsyncs) a frame is rendered, so
+ * frames are delivered at a target rate instead of as fast as the GPU
+ * allows. Every frame has a deadline one target period after the previous
+ * one; a frame is rendered on the vsync closest to its deadline. Deadlines
+ * advance by whole periods, so the average rate matches the target even
+ * when it is not a divisor of the display rate, and rounding never drifts.
+ * 
+ * A deadline is missed when its frame could not be rendered in time: the
+ * vsyncs around it were skipped, the previous frame was still being drawn
+ * when it was due, or it was drawn after the deadline of the next frame.
+ * 
+ * Vsync times are passed in, and the time a frame is drawn is read from a
+ * {@link FrameClock}, so pacing can be simulated. Methods may be called from
+ * different threads, typically vsyncs from the UI thread and drawn frames
+ * from the GL thread.
+ */
+public final class FramePacer {
+
+	private static final long NANOS_PER_SECOND = 1000000000L;
+
+	private final FrameClock mClock;
+	private int mTargetFps;
+	private long mPeriodNanos;
+	private boolean mStarted;
+	private long mLastVsync;
+	private long mVsyncNanos;
+	private long mNextDeadline;
+	private boolean mFramePending;
+	private long mFrameDeadline;
+	private long mMissedDeadlines;
+
+	/**
+	 * Creates a pacer that is disabled until a target rate is set.
+	 * 
+	 * @param clock
+	 *            Clock of the vsync times, read when frames are drawn.
+	 */
+	public FramePacer(FrameClock clock) {
+		mClock = clock;
+	}
+
+	/**
+	 * Sets the target frame rate and starts pacing over.
+	 * 
+	 * @param fps
+	 *            Frames per second, or 0 to render on every vsync.
+	 */
+	public synchronized void setTargetFps(int fps) {
+		if (fps < 0) {
+			throw new IllegalArgumentException("Target FPS cannot be negative");
+		}
+		mTargetFps = fps;
+		mPeriodNanos = fps == 0 ? 0 : NANOS_PER_SECOND / fps;
+		mStarted = false;
+		mVsyncNanos = 0;
+		mFramePending = false;
+		mMissedDeadlines = 0;
+	}
+
+	/**
+	 * Returns the target frame rate, or 0 if pacing is disabled.
+	 */
+	public synchronized int getTargetFps() {
+		return mTargetFps;
+	}
+
+	/**
+	 * Called on every vsync.
+	 * 
+	 * @param frameTimeNanos
+	 *            Time of the vsync.
+	 * @return true if a frame should be rendered.
+	 */
+	public synchronized boolean onVsync(long frameTimeNanos) {
+		if (mPeriodNanos == 0) {
+			return true;
+		}
+		if (!mStarted) {
+			mStarted = true;
+			mNextDeadline = frameTimeNanos;
+		} else {
+			// The shortest interval seen is the refresh period; longer ones
+			// are vsyncs the UI thread was too busy to see.
+			long interval = frameTimeNanos - mLastVsync;
+			if (interval > 0 && (mVsyncNanos == 0 || interval < mVsyncNanos)) {
+				mVsyncNanos = interval;
+			}
+		}
+		mLastVsync = frameTimeNanos;
+
+		// Wait for the vsync closest to the deadline.
+		if (frameTimeNanos + mVsyncNanos / 2 < mNextDeadline) {
+			return false;
+		}
+		// Deadlines that passed while no vsync arrived are lost; catch up
+		// instead of rendering a burst of frames.
+		long late = frameTimeNanos - mNextDeadline;
+		if (late >= mPeriodNanos) {
+			long skipped = late / mPeriodNanos;
+			mMissedDeadlines += skipped;
+			mNextDeadline += skipped * mPeriodNanos;
+		}
+		mNextDeadline += mPeriodNanos;
+
+		if (mFramePending) {
+			// The previous frame is still being drawn; this one merges with
+			// it.
+			++mMissedDeadlines;
+			return false;
+		}
+		mFramePending = true;
+		mFrameDeadline = mNextDeadline;
+		return true;
+	}
+
+	/**
+	 * Called when a frame has been drawn.
+	 */
+	public synchronized void onFrameDrawn() {
+		if (!mFramePending) {
+			return;
+		}
+		mFramePending = false;
+		if (mClock.nanoTime() > mFrameDeadline) {
+			++mMissedDeadlines;
+		}
+	}
+
+	/**
+	 * Returns the amount of deadlines missed since the previous call, and
+	 * starts counting from zero.
+	 */
+	public synchronized long takeMissedDeadlines() {
+		long missed = mMissedDeadlines;
+		mMissedDeadlines = 0;
+		return missed;
+	}
+
+}
@@ -0,0 +1,131 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Base of scenes drawing full screen quads with a fragment shader selected
+ * by subclasses. The load level is passed to the fragment shader source as a
+ * preprocessor definition, so loops have constant bounds.
+ */
+abstract class FullScreenScene implements Scene {
+
+	final Gl mGl;
+	private final String mName;
+	private final int mLoadLevel;
+	private final ByteBuffer mBufferVertices;
+	final EffectsShader mShader;
+	private final ShaderHandle mAPosition;
+	private final ShaderHandle mUTime;
+
+	/**
+	 * @param gl
+	 *            GL calls used for rendering.
+	 * @param name
+	 *            Scene name.
+	 * @param loadLevel
+	 *            Load level the scene was created for.
+	 */
+	FullScreenScene(Gl gl, String name, int loadLevel) {
+		mGl = gl;
+		mShader = new EffectsShader(gl);
+		mAPosition = mShader.getAttribute("aPosition");
+		mUTime = mShader.getUniform("uTime");
+		mName = name;
+		mLoadLevel = loadLevel;
+		final byte[] VERTICES = { -1, 1, -1, -1, 1, 1, 1, -1 };
+		mBufferVertices = ByteBuffer.allocateDirect(2 * 4);
+		mBufferVertices.put(VERTICES).position(0);
+	}
+
+	/**
+	 * Returns the source name of the fragment shader.
+	 */
+	abstract String getFragmentShaderName();
+
+	/**
+	 * Returns preprocessor definitions prepended to the fragment shader.
+	 */
+	abstract String getDefines();
+
+	/**
+	 * Returns how many times the quad is drawn per frame.
+	 */
+	int getPasses() {
+		return 1;
+	}
+
+	/**
+	 * Sets state needed for drawing. Called with the program in use.
+	 */
+	void onDrawSetup() {
+	}
+
+	/**
+	 * Restores state changed in {@link #onDrawSetup()}.
+	 */
+	void onDrawFinish() {
+	}
+
+	@Override
+	public String getName() {
+		return mName;
+	}
+
+	@Override
+	public int getLoadLevel() {
+		return mLoadLevel;
+	}
+
+	@Override
+	public void onSurfaceCreated(SceneContext context) throws Exception {
+		String vertexSource = context.loadShaderSource("fullscreen_vs");
+		String fragmentSource = getDefines()
+				+ context.loadShaderSource(getFragmentShaderName());
+		context.setProgram(mShader, vertexSource, fragmentSource);
+	}
+
+	@Override
+	public void onSurfaceChanged(int width, int height) {
+	}
+
+	@Override
+	public void onDrawFrame(long timeMillis) {
+		mShader.useProgram();
+		mGl.glUniform1f(mUTime.getLocation(),
+				(timeMillis % 1000000) / 1000f);
+		onDrawSetup();
+
+		int aPosition = mAPosition.getLocation();
+		mGl.glVertexAttribPointer(aPosition, 2, Gl.GL_BYTE, false, 0,
+				mBufferVertices);
+		mGl.glEnableVertexAttribArray(aPosition);
+		for (int i = getPasses(); i > 0; --i) {
+			mGl.glDrawArrays(Gl.GL_TRIANGLE_STRIP, 0, 4);
+		}
+		mGl.glDisableVertexAttribArray(aPosition);
+
+		onDrawFinish();
+	}
+
+	@Override
+	public void onRelease() {
+		mShader.deleteProgram();
+	}
+
+}
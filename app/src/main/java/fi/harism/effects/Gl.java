@@ -0,0 +1,213 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+import java.nio.Buffer;
+
+/**
+ * OpenGL ES calls used by the scenes and shaders. Methods have the same
+ * names, arguments and semantics as their counterparts in
+ * {@code android.opengl.GLES20} and {@code GLES30}, so code reads the same as
+ * with the static bindings, but the backend can be replaced: the device uses
+ * {@link Gles20Gl}, while {@link RecordingGl} lets scenes run on a plain JVM
+ * without a GPU.
+ */
+public interface Gl {
+
+	int GL_FALSE = 0;
+	int GL_TRUE = 1;
+	int GL_TRIANGLES = 0x0004;
+	int GL_TRIANGLE_STRIP = 0x0005;
+	int GL_SRC_ALPHA = 0x0302;
+	int GL_ONE_MINUS_SRC_ALPHA = 0x0303;
+	int GL_BLEND = 0x0BE2;
+	int GL_TEXTURE_2D = 0x0DE1;
+	int GL_BYTE = 0x1400;
+	int GL_UNSIGNED_BYTE = 0x1401;
+	int GL_UNSIGNED_SHORT = 0x1403;
+	int GL_FLOAT = 0x1406;
+	int GL_RGBA = 0x1908;
+	int GL_RENDERER = 0x1F01;
+	int GL_VERSION = 0x1F02;
+	int GL_EXTENSIONS = 0x1F03;
+	int GL_LINEAR = 0x2601;
+	int GL_TEXTURE_MAG_FILTER = 0x2800;
+	int GL_TEXTURE_MIN_FILTER = 0x2801;
+	int GL_TEXTURE_WRAP_S = 0x2802;
+	int GL_TEXTURE_WRAP_T = 0x2803;
+	int GL_REPEAT = 0x2901;
+	int GL_COLOR_BUFFER_BIT = 0x4000;
+	int GL_PROGRAM_BINARY_RETRIEVABLE_HINT = 0x8257;
+	int GL_PROGRAM_BINARY_LENGTH = 0x8741;
+	int GL_NUM_PROGRAM_BINARY_FORMATS = 0x87FE;
+	int GL_TEXTURE0 = 0x84C0;
+	int GL_ARRAY_BUFFER = 0x8892;
+	int GL_ELEMENT_ARRAY_BUFFER = 0x8893;
+	int GL_STREAM_DRAW = 0x88E0;
+	int GL_STATIC_DRAW = 0x88E4;
+	int GL_QUERY_RESULT = 0x8866;
+	int GL_QUERY_RESULT_AVAILABLE = 0x8867;
+	int GL_TIME_ELAPSED_EXT = 0x88BF;
+	int GL_FRAGMENT_SHADER = 0x8B30;
+	int GL_VERTEX_SHADER = 0x8B31;
+	int GL_COMPILE_STATUS = 0x8B81;
+	int GL_LINK_STATUS = 0x8B82;
+	int GL_ACTIVE_UNIFORMS = 0x8B86;
+	int GL_ACTIVE_ATTRIBUTES = 0x8B89;
+	int GL_SHADER_COMPILER = 0x8DFA;
+	int GL_GPU_DISJOINT_EXT = 0x8FBB;
+
+	// State.
+	void glBlendFunc(int sfactor, int dfactor);
+
+	void glClear(int mask);
+
+	void glClearColor(float red, float green, float blue, float alpha);
+
+	void glDisable(int cap);
+
+	void glEnable(int cap);
+
+	void glGetBooleanv(int pname, boolean[] params, int offset);
+
+	void glGetIntegerv(int pname, int[] params, int offset);
+
+	String glGetString(int name);
+
+	// Buffers.
+	void glBindBuffer(int target, int buffer);
+
+	void glBufferData(int target, int size, Buffer data, int usage);
+
+	void glDeleteBuffers(int n, int[] buffers, int offset);
+
+	void glGenBuffers(int n, int[] buffers, int offset);
+
+	// Textures.
+	void glActiveTexture(int texture);
+
+	void glBindTexture(int target, int texture);
+
+	void glDeleteTextures(int n, int[] textures, int offset);
+
+	void glGenTextures(int n, int[] textures, int offset);
+
+	void glTexImage2D(int target, int level, int internalformat, int width,
+			int height, int border, int format, int type, Buffer pixels);
+
+	void glTexParameteri(int target, int pname, int param);
+
+	// Shaders and programs.
+	void glAttachShader(int program, int shader);
+
+	void glCompileShader(int shader);
+
+	int glCreateProgram();
+
+	int glCreateShader(int type);
+
+	void glDeleteProgram(int program);
+
+	void glDeleteShader(int shader);
+
+	String glGetActiveAttrib(int program, int index, int[] size,
+			int sizeOffset, int[] type, int typeOffset);
+
+	String glGetActiveUniform(int program, int index, int[] size,
+			int sizeOffset, int[] type, int typeOffset);
+
+	int glGetAttribLocation(int program, String name);
+
+	String glGetProgramInfoLog(int program);
+
+	void glGetProgramiv(int program, int pname, int[] params, int offset);
+
+	String glGetShaderInfoLog(int shader);
+
+	void glGetShaderiv(int shader, int pname, int[] params, int offset);
+
+	int glGetUniformLocation(int program, String name);
+
+	void glLinkProgram(int program);
+
+	void glShaderSource(int shader, String string);
+
+	void glUseProgram(int program);
+
+	// Program binaries, OpenGL ES 3.0 only.
+	void glGetProgramBinary(int program, int bufSize, int[] length,
+			int lengthOffset, int[] binaryFormat, int binaryFormatOffset,
+			Buffer binary);
+
+	void glProgramBinary(int program, int binaryFormat, Buffer binary,
+			int length);
+
+	void glProgramParameteri(int program, int pname, int value);
+
+	// Queries, OpenGL ES 3.0 only; GL_TIME_ELAPSED_EXT needs
+	// GL_EXT_disjoint_timer_query.
+	void glBeginQuery(int target, int id);
+
+	void glDeleteQueries(int n, int[] ids, int offset);
+
+	void glEndQuery(int target);
+
+	void glGenQueries(int n, int[] ids, int offset);
+
+	void glGetQueryObjectuiv(int id, int pname, int[] params, int offset);
+
+	// Uniforms and attributes.
+	void glUniform1f(int location, float x);
+
+	void glUniform1i(int location, int x);
+
+	void glUniform4f(int location, float x, float y, float z, float w);
+
+	void glUniformMatrix4fv(int location, int count, boolean transpose,
+			float[] value, int offset);
+
+	void glDisableVertexAttribArray(int index);
+
+	void glEnableVertexAttribArray(int index);
+
+	void glVertexAttrib1f(int index, float x);
+
+	void glVertexAttrib3fv(int index, float[] values, int offset);
+
+	void glVertexAttribPointer(int index, int size, int type,
+			boolean normalized, int stride, Buffer ptr);
+
+	void glVertexAttribPointer(int index, int size, int type,
+			boolean normalized, int stride, int offset);
+
+	// Drawing.
+	void glDrawArrays(int mode, int first, int count);
+
+	void glDrawElements(int mode, int count, int type, int offset);
+
+	/**
+	 * Reports a diagnostic message, for example a shader handle missing from
+	 * a linked program.
+	 * 
+	 * @param message
+	 *            Message text.
+	 * @param tr
+	 *            Cause of a failure, or null for informational messages.
+	 */
+	void log(String message, Throwable tr);
+
+}
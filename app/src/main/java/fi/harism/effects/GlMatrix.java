@@ -0,0 +1,329 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+/**
+ * Plain Java versions of the {@code android.opengl.Matrix} methods the scenes
+ * use, giving the same results without the Android runtime. Matrices are
+ * column-major float[16] arrays, as expected by glUniformMatrix4fv.
+ */
+final class GlMatrix {
+
+	private GlMatrix() {
+	}
+
+	/**
+	 * Defines a projection matrix in terms of a field of view angle, an
+	 * aspect ratio, and z clip planes.
+	 * 
+	 * @param m
+	 *            Array receiving the matrix.
+	 * @param offset
+	 *            Index of the first element written.
+	 * @param fovy
+	 *            Field of view in y direction, in degrees.
+	 * @param aspect
+	 *            Width to height ratio of the viewport.
+	 * @param zNear
+	 *            Distance to the near clip plane.
+	 * @param zFar
+	 *            Distance to the far clip plane.
+	 */
+	static void perspectiveM(float[] m, int offset, float fovy, float aspect,
+			float zNear, float zFar) {
+		float f = 1.0f / (float) Math.tan(fovy * (Math.PI / 360.0));
+		float rangeReciprocal = 1.0f / (zNear - zFar);
+
+		m[offset + 0] = f / aspect;
+		m[offset + 1] = 0.0f;
+		m[offset + 2] = 0.0f;
+		m[offset + 3] = 0.0f;
+
+		m[offset + 4] = 0.0f;
+		m[offset + 5] = f;
+		m[offset + 6] = 0.0f;
+		m[offset + 7] = 0.0f;
+
+		m[offset + 8] = 0.0f;
+		m[offset + 9] = 0.0f;
+		m[offset + 10] = (zFar + zNear) * rangeReciprocal;
+		m[offset + 11] = -1.0f;
+
+		m[offset + 12] = 0.0f;
+		m[offset + 13] = 0.0f;
+		m[offset + 14] = 2.0f * zFar * zNear * rangeReciprocal;
+		m[offset + 15] = 0.0f;
+	}
+
+	/**
+	 * Defines a viewing transformation in terms of an eye point, a center of
+	 * view, and an up vector.
+	 * 
+	 * @param rm
+	 *            Array receiving the matrix.
+	 * @param rmOffset
+	 *            Index of the first element written.
+	 */
+	static void setLookAtM(float[] rm, int rmOffset, float eyeX, float eyeY,
+			float eyeZ, float centerX, float centerY, float centerZ,
+			float upX, float upY, float upZ) {
+		float fx = centerX - eyeX;
+		float fy = centerY - eyeY;
+		float fz = centerZ - eyeZ;
+
+		// Normalize f.
+		float rlf = 1.0f / length(fx, fy, fz);
+		fx *= rlf;
+		fy *= rlf;
+		fz *= rlf;
+
+		// Compute s = f x up and normalize it.
+		float sx = fy * upZ - fz * upY;
+		float sy = fz * upX - fx * upZ;
+		float sz = fx * upY - fy * upX;
+		float rls = 1.0f / length(sx, sy, sz);
+		sx *= rls;
+		sy *= rls;
+		sz *= rls;
+
+		// Compute u = s x f.
+		float ux = sy * fz - sz * fy;
+		float uy = sz * fx - sx * fz;
+		float uz = sx * fy - sy * fx;
+
+		rm[rmOffset + 0] = sx;
+		rm[rmOffset + 1] = ux;
+		rm[rmOffset + 2] = -fx;
+		rm[rmOffset + 3] = 0.0f;
+
+		rm[rmOffset + 4] = sy;
+		rm[rmOffset + 5] = uy;
+		rm[rmOffset + 6] = -fy;
+		rm[rmOffset + 7] = 0.0f;
+
+		rm[rmOffset + 8] = sz;
+		rm[rmOffset + 9] = uz;
+		rm[rmOffset + 10] = -fz;
+		rm[rmOffset + 11] = 0.0f;
+
+		// Translate by -eye.
+		for (int i = 0; i < 3; ++i) {
+			rm[rmOffset + 12 + i] = -(rm[rmOffset + i] * eyeX
+					+ rm[rmOffset + 4 + i] * eyeY + rm[rmOffset + 8 + i] * eyeZ);
+		}
+		rm[rmOffset + 15] = 1.0f;
+	}
+
+	/**
+	 * Sets given matrix to the identity matrix.
+	 * 
+	 * @param sm
+	 *            Array receiving the matrix.
+	 * @param smOffset
+	 *            Index of the first element written.
+	 */
+	static void setIdentityM(float[] sm, int smOffset) {
+		for (int i = 0; i < 16; ++i) {
+			sm[smOffset + i] = 0;
+		}
+		for (int i = 0; i < 16; i += 5) {
+			sm[smOffset + i] = 1.0f;
+		}
+	}
+
+	/**
+	 * Multiplies two 4x4 matrices together and stores the result in a third
+	 * one, result = lhs x rhs. The result must not overlap either input.
+	 * 
+	 * @param result
+	 *            Array receiving the product.
+	 * @param resultOffset
+	 *            Index of the first element written.
+	 * @param lhs
+	 *            Array holding the left-hand side matrix.
+	 * @param lhsOffset
+	 *            Index of the first element of lhs.
+	 * @param rhs
+	 *            Array holding the right-hand side matrix.
+	 * @param rhsOffset
+	 *            Index of the first element of rhs.
+	 */
+	static void multiplyMM(float[] result, int resultOffset, float[] lhs,
+			int lhsOffset, float[] rhs, int rhsOffset) {
+		for (int i = 0; i < 4; ++i) {
+			float rhs0 = rhs[rhsOffset + i * 4];
+			float rhs1 = rhs[rhsOffset + i * 4 + 1];
+			float rhs2 = rhs[rhsOffset + i * 4 + 2];
+			float rhs3 = rhs[rhsOffset + i * 4 + 3];
+			for (int j = 0; j < 4; ++j) {
+				result[resultOffset + i * 4 + j] = lhs[lhsOffset + j] * rhs0
+						+ lhs[lhsOffset + 4 + j] * rhs1
+						+ lhs[lhsOffset + 8 + j] * rhs2
+						+ lhs[lhsOffset + 12 + j] * rhs3;
+			}
+		}
+	}
+
+	/**
+	 * Multiplies a 4 element vector by a 4x4 matrix and stores the result in
+	 * a 4 element vector, resultVec = lhsMat x rhsVec. The result must not
+	 * overlap either input.
+	 * 
+	 * @param resultVec
+	 *            Array receiving the product.
+	 * @param resultVecOffset
+	 *            Index of the first element written.
+	 * @param lhsMat
+	 *            Array holding the matrix.
+	 * @param lhsMatOffset
+	 *            Index of the first element of the matrix.
+	 * @param rhsVec
+	 *            Array holding the vector.
+	 * @param rhsVecOffset
+	 *            Index of the first element of the vector.
+	 */
+	static void multiplyMV(float[] resultVec, int resultVecOffset,
+			float[] lhsMat, int lhsMatOffset, float[] rhsVec, int rhsVecOffset) {
+		float x = rhsVec[rhsVecOffset];
+		float y = rhsVec[rhsVecOffset + 1];
+		float z = rhsVec[rhsVecOffset + 2];
+		float w = rhsVec[rhsVecOffset + 3];
+		for (int j = 0; j < 4; ++j) {
+			resultVec[resultVecOffset + j] = lhsMat[lhsMatOffset + j] * x
+					+ lhsMat[lhsMatOffset + 4 + j] * y
+					+ lhsMat[lhsMatOffset + 8 + j] * z
+					+ lhsMat[lhsMatOffset + 12 + j] * w;
+		}
+	}
+
+	/**
+	 * Sets given matrix to a rotation by angle a (in degrees) around the axis
+	 * (x, y, z).
+	 * 
+	 * @param rm
+	 *            Array receiving the matrix.
+	 * @param rmOffset
+	 *            Index of the first element written.
+	 * @param a
+	 *            Angle to rotate in degrees.
+	 */
+	static void setRotateM(float[] rm, int rmOffset, float a, float x,
+			float y, float z) {
+		rm[rmOffset + 3] = 0;
+		rm[rmOffset + 7] = 0;
+		rm[rmOffset + 11] = 0;
+		rm[rmOffset + 12] = 0;
+		rm[rmOffset + 13] = 0;
+		rm[rmOffset + 14] = 0;
+		rm[rmOffset + 15] = 1;
+		a *= (float) (Math.PI / 180.0f);
+		float s = (float) Math.sin(a);
+		float c = (float) Math.cos(a);
+		if (1.0f == x && 0.0f == y && 0.0f == z) {
+			rm[rmOffset + 5] = c;
+			rm[rmOffset + 10] = c;
+			rm[rmOffset + 6] = s;
+			rm[rmOffset + 9] = -s;
+			rm[rmOffset + 1] = 0;
+			rm[rmOffset + 2] = 0;
+			rm[rmOffset + 4] = 0;
+			rm[rmOffset + 8] = 0;
+			rm[rmOffset + 0] = 1;
+		} else if (0.0f == x && 1.0f == y && 0.0f == z) {
+			rm[rmOffset + 0] = c;
+			rm[rmOffset + 10] = c;
+			rm[rmOffset + 8] = s;
+			rm[rmOffset + 2] = -s;
+			rm[rmOffset + 1] = 0;
+			rm[rmOffset + 4] = 0;
+			rm[rmOffset + 6] = 0;
+			rm[rmOffset + 9] = 0;
+			rm[rmOffset + 5] = 1;
+		} else if (0.0f == x && 0.0f == y && 1.0f == z) {
+			rm[rmOffset + 0] = c;
+			rm[rmOffset + 5] = c;
+			rm[rmOffset + 1] = s;
+			rm[rmOffset + 4] = -s;
+			rm[rmOffset + 2] = 0;
+			rm[rmOffset + 6] = 0;
+			rm[rmOffset + 8] = 0;
+			rm[rmOffset + 9] = 0;
+			rm[rmOffset + 10] = 1;
+		} else {
+			float len = length(x, y, z);
+			if (1.0f != len) {
+				float recipLen = 1.0f / len;
+				x *= recipLen;
+				y *= recipLen;
+				z *= recipLen;
+			}
+			float nc = 1.0f - c;
+			float xy = x * y;
+			float yz = y * z;
+			float zx = z * x;
+			float xs = x * s;
+			float ys = y * s;
+			float zs = z * s;
+			rm[rmOffset + 0] = x * x * nc + c;
+			rm[rmOffset + 4] = xy * nc - zs;
+			rm[rmOffset + 8] = zx * nc + ys;
+			rm[rmOffset + 1] = xy * nc + zs;
+			rm[rmOffset + 5] = y * y * nc + c;
+			rm[rmOffset + 9] = yz * nc - xs;
+			rm[rmOffset + 2] = zx * nc - ys;
+			rm[rmOffset + 6] = yz * nc + xs;
+			rm[rmOffset + 10] = z * z * nc + c;
+		}
+	}
+
+	/**
+	 * Translates given matrix in place by x, y and z, m = m x T.
+	 * 
+	 * @param m
+	 *            Array holding the matrix.
+	 * @param mOffset
+	 *            Index of the first element of the matrix.
+	 */
+	static void translateM(float[] m, int mOffset, float x, float y, float z) {
+		for (int i = 0; i < 4; ++i) {
+			int mi = mOffset + i;
+			m[12 + mi] += m[mi] * x + m[4 + mi] * y + m[8 + mi] * z;
+		}
+	}
+
+	/**
+	 * Scales given matrix in place by sx, sy and sz, m = m x S.
+	 * 
+	 * @param m
+	 *            Array holding the matrix.
+	 * @param mOffset
+	 *            Index of the first element of the matrix.
+	 */
+	static void scaleM(float[] m, int mOffset, float x, float y, float z) {
+		for (int i = 0; i < 4; ++i) {
+			int mi = mOffset + i;
+			m[mi] *= x;
+			m[4 + mi] *= y;
+			m[8 + mi] *= z;
+		}
+	}
+
+	private static float length(float x, float y, float z) {
+		return (float) Math.sqrt(x * x + y * y + z * z);
+	}
+
+}
@@ -0,0 +1,341 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+
+package fi.harism.effects;
+
+import java.nio.Buffer;
+
+import android.opengl.GLES20;
+import android.opengl.GLES30;
+import android.util.Log;
+
+/**
+ * {@link Gl} backed by {@link GLES20}, and {@link GLES30} for program
+ * binaries and queries. Must be used from the GL thread.
+ */
+public final class Gles20Gl implements Gl {
+
+	/** Shared instance; the bindings have no state. */
+	public static final Gles20Gl INSTANCE = new Gles20Gl();
+
+	private static final String TAG = "GlslShader";
+
+	private Gles20Gl() {
+	}
+
+	@Override
+	public void glBlendFunc(int sfactor, int dfactor) {
+		GLES20.glBlendFunc(sfactor, dfactor);
+	}
+
+	@Override
+	public void glClear(int mask) {
+		GLES20.glClear(mask);
+	}
+
+	@Override
+	public void glClearColor(float red, float green, float blue, float alpha) {
+		GLES20.glClearColor(red, green, blue, alpha);
+	}
+
+	@Override
+	public void glDisable(int cap) {
+		GLES20.glDisable(cap);
+	}
+
+	@Override
+	public void glEnable(int cap) {
+		GLES20.glEnable(cap);
+	}
+
+	@Override
+	public void glGetBooleanv(int pname, boolean[] params, int offset) {
+		GLES20.glGetBooleanv(pname, params, offset);
+	}
+
+	@Override
+	public void glGetIntegerv(int pname, int[] params, int offset) {
+		GLES20.glGetIntegerv(pname, params, offset);
+	}
+
+	@Override
+	public String glGetString(int name) {
+		return GLES20.glGetString(name);
+	}
+
+	@Override
+	public void glBindBuffer(int target, int buffer) {
+		GLES20.glBindBuffer(target, buffer);
+	}
+
+	@Override
+	public void glBufferData(int target, int size, Buffer data, int usage) {
+		GLES20.glBufferData(target, size, data, usage);
+	}
+
+	@Override
+	public void glDeleteBuffers(int n, int[] buffers, int offset) {
+		GLES20.glDeleteBuffers(n, buffers, offset);
+	}
+
+	@Override
+	public void glGenBuffers(int n, int[] buffers, int offset) {
+		GLES20.glGenBuffers(n, buffers, offset);
+	}
+
+	@Override
+	public void glActiveTexture(int texture) {
+		GLES20.glActiveTexture(texture);
+	}
+
+	@Override
+	public void glBindTexture(int target, int texture) {
+		GLES20.glBindTexture(target, texture);
+	}
+
+	@Override
+	public void glDeleteTextures(int n, int[] textures, int offset) {
+		GLES20.glDeleteTextures(n, textures, offset);
+	}
+
+	@Override
+	public void glGenTextures(int n, int[] textures, int offset) {
+		GLES20.glGenTextures(n, textures, offset);
+	}
+
+	@Override
+	public void glTexImage2D(int target, int level, int internalformat,
+			int width, int height, int border, int format, int type,
+			Buffer pixels) {
+		GLES20.glTexImage2D(target, level, internalformat, width, height,
+				border, format, type, pixels);
+	}
+
+	@Override
+	public void glTexParameteri(int target, int pname, int param) {
+		GLES20.glTexParameteri(target, pname, param);
+	}
+
+	@Override
+	public void glAttachShader(int program, int shader) {
+		GLES20.glAttachShader(program, shader);
+	}
+
+	@Override
+	public void glCompileShader(int shader) {
+		GLES20.glCompileShader(shader);
+	}
+
+	@Override
+	public int glCreateProgram() {
+		return GLES20.glCreateProgram();
+	}
+
+	@Override
+	public int glCreateShader(int type) {
+		return GLES20.glCreateShader(type);
+	}
+
+	@Override
+	public void glDeleteProgram(int program) {
+		GLES20.glDeleteProgram(program);
+	}
+
+	@Override
+	public void glDeleteShader(int shader) {
+		GLES20.glDeleteShader(shader);
+	}
+
+	@Override
+	public String glGetActiveAttrib(int program, int index, int[] size,
+			int sizeOffset, int[] type, int typeOffset) {
+		return GLES20.glGetActiveAttrib(program, index, size, sizeOffset, type,
+				typeOffset);
+	}
+
+	@Override
+	public String glGetActiveUniform(int program, int index, int[] size,
+			int sizeOffset, int[] type, int typeOffset) {
+		return GLES20.glGetActiveUniform(program, index, size, sizeOffset, type,
+				typeOffset);
+	}
+
+	@Override
+	public int glGetAttribLocation(int program, String name) {
+		return GLES20.glGetAttribLocation(program, name);
+	}
+
+	@Override
+	public String glGetProgramInfoLog(int program) {
+		return GLES20.glGetProgramInfoLog(program);
+	}
+
+	@Override
+	public void glGetProgramiv(int program, int pname, int[] params,
+			int offset) {
+		GLES20.glGetProgramiv(program, pname, params, offset);
+	}
+
+	@Override
+	public String glGetShaderInfoLog(int shader) {
+		return GLES20.glGetShaderInfoLog(shader);
+	}
+
+	@Override
+	public void glGetShaderiv(int shader, int pname, int[] params, int offset) {
+		GLES20.glGetShaderiv(shader, pname, params, offset);
+	}
+
+	@Override
+	public int glGetUniformLocation(int program, String name) {
+		return GLES20.glGetUniformLocation(program, name);
+	}
+
+	@Override
+	public void glLinkProgram(int program) {
+		GLES20.glLinkProgram(program);
+	}
+
+	@Override
+	public void glShaderSource(int shader, String string) {
+		GLES20.glShaderSource(shader, string);
+	}
+
+	@Override
+	public void glUseProgram(int program) {
+		GLES20.glUseProgram(program);
+	}
+
+	@Override
+	public void glGetProgramBinary(int program, int bufSize, int[] length,
+			int lengthOffset, int[] binaryFormat, int binaryFormatOffset,
+			Buffer binary) {
+		GLES30.glGetProgramBinary(program, bufSize, length, lengthOffset,
+				binaryFormat, binaryFormatOffset, binary);
+	}
+
+	@Override
+	public void glProgramBinary(int program, int binaryFormat, Buffer binary,
+			int length) {
+		GLES30.glProgramBinary(program, binaryFormat, binary, length);
+	}
+
+	@Override
+	public void glProgramParameteri(int program, int pname, int value) {
+		GLES30.glProgramParameteri(program, pname, value);
+	}
+
+	@Override
+	public void glBeginQuery(int target, int id) {
+		GLES30.glBeginQuery(target, id);
+	}
+
+	@Override
+	public void glDeleteQueries(int n, int[] ids, int offset) {
+		GLES30.glDeleteQueries(n, ids, offset);
+	}
+
+	@Override
+	public void glEndQuery(int target) {
+		GLES30.glEndQuery(target);
+	}
+
+	@Override
+	public void glGenQueries(int n, int[] ids, int offset) {
+		GLES30.glGenQueries(n, ids, offset);
+	}
+
+	@Override
+	public void glGetQueryObjectuiv(int id, int pname, int[] params, int offset) {
+		GLES30.glGetQueryObjectuiv(id, pname, params, offset);
+	}
+
+	@Override
+	public void glUniform1f(int location, float x) {
+		GLES20.glUniform1f(location, x);
+	}
+
+	@Override
+	public void glUniform1i(int location, int x) {
+		GLES20.glUniform1i(location, x);
+	}
+
+	@Override
+	public void glUniform4f(int location, float x, float y, float z, float w) {
+		GLES20.glUniform4f(location, x, y, z, w);
+	}
+
+	@Override
+	public void glUniformMatrix4fv(int location, int count, boolean transpose,
+			float[] value, int offset) {
+		GLES20.glUniformMatrix4fv(location, count, transpose, value, offset);
+	}
+
+	@Override
+	public void glDisableVertexAttribArray(int index) {
+		GLES20.glDisableVertexAttribArray(index);
+	}
+
+	@Override
+	public void glEnableVertexAttribArray(int index) {
+		GLES20.glEnableVertexAttribArray(index);
+	}
+
+	@Override
+	public void glVertexAttrib1f(int index, float x) {
+		GLES20.glVertexAttrib1f(index, x);
+	}
+
+	@Override
+	public void glVertexAttrib3fv(int index, float[] values, int offset) {
+		GLES20.glVertexAttrib3fv(index, values, offset);
+	}
+
+	@Override
+	public void glVertexAttribPointer(int index, int size, int type,
+			boolean normalized, int stride, Buffer ptr) {
+		GLES20.glVertexAttribPointer(index, size, type, normalized, stride,
+				ptr);
+	}
+
+	@Override
+	public void glVertexAttribPointer(int index, int size, int type,
+			boolean normalized, int stride, int offset) {
+		GLES20.glVertexAttribPointer(index, size, type, normalized, stride,
+				offset);
+	}
+
+	@Override
+	public void glDrawArrays(int mode, int first, int count) {
+		GLES20.glDrawArrays(mode, first, count);
+	}
+
+	@Override
+	public void glDrawElements(int mode, int count, int type, int offset) {
+		GLES20.glDrawElements(mode, count, type, offset);
+	}
+
+	@Override
+	public void log(String message, Throwable tr) {
+		if (tr != null) {
+			Log.w(TAG, message, tr);
+		} else {
+			Log.d(TAG, message);
+		}
+	}
+
+}
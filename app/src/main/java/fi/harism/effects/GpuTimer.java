@@ -0,0 +1,250 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+/**
+ * Measures how long the GPU spends on the draw calls of a frame, using
+ * GL_EXT_disjoint_timer_query. Each frame's draw calls are wrapped in a
+ * GL_TIME_ELAPSED_EXT query from a ring of query objects. Results are read
+ * back only once the GPU reports them available, typically a few frames
+ * later, so measuring never stalls the pipeline. If every query of the ring
+ * is still in flight, the frame is not measured. Results are discarded when
+ * the GPU reports a disjoint operation, such as a frequency change, during
+ * which times are meaningless.
+ * 
+ * Without the extension, or with an OpenGL ES 2.0 context, nothing is
+ * measured and {@link #takeAverageNanos()} reports 0. Must be used from the
+ * GL thread, except for {@link #setEnabled(boolean)}.
+ */
+public final class GpuTimer {
+
+	/** Default amount of queries in flight. */
+	public static final int DEFAULT_RING_SIZE = 4;
+
+	private static final String EXTENSION = "GL_EXT_disjoint_timer_query";
+
+	private final Gl mGl;
+	private final int[] mQueries;
+	private final int[] mParam = new int[1];
+	private volatile boolean mEnabled = true;
+	private boolean mSupported;
+	private boolean mActive;
+	private int mHead;
+	private int mPending;
+	private boolean mInQuery;
+
+	private long mTotalNanos;
+	private int mSamples;
+	private long mSkippedFrames;
+	private long mDiscardedSamples;
+
+	/**
+	 * Creates a timer with {@link #DEFAULT_RING_SIZE} queries.
+	 * 
+	 * @param gl
+	 *            GL calls of the context measured.
+	 */
+	public GpuTimer(Gl gl) {
+		this(gl, DEFAULT_RING_SIZE);
+	}
+
+	/**
+	 * Creates a timer.
+	 * 
+	 * @param gl
+	 *            GL calls of the context measured.
+	 * @param ringSize
+	 *            Amount of queries in flight, at least 1.
+	 */
+	public GpuTimer(Gl gl, int ringSize) {
+		if (ringSize < 1) {
+			throw new IllegalArgumentException("Ring size must be positive");
+		}
+		mGl = gl;
+		mQueries = new int[ringSize];
+	}
+
+	/**
+	 * Checks for the extension and creates the queries. Called from the GL
+	 * thread when a new context is created; queries of the previous context
+	 * are lost with it.
+	 * 
+	 * @return true if GPU time can be measured.
+	 */
+	public boolean onSurfaceCreated() {
+		mHead = mPending = 0;
+		mInQuery = false;
+		mTotalNanos = mSamples = 0;
+		mSupported = isSupported(mGl);
+		mActive = false;
+		if (mSupported) {
+			mGl.glGenQueries(mQueries.length, mQueries, 0);
+			// Reading the flag clears it.
+			mGl.glGetIntegerv(Gl.GL_GPU_DISJOINT_EXT, mParam, 0);
+		}
+		return mSupported;
+	}
+
+	/**
+	 * Checks if given context supports timer queries.
+	 * 
+	 * @param gl
+	 *            GL calls of the context.
+	 * @return true if GL_TIME_ELAPSED_EXT queries can be used.
+	 */
+	public static boolean isSupported(Gl gl) {
+		String version = gl.glGetString(Gl.GL_VERSION);
+		if (version == null || !version.startsWith("OpenGL ES 3")) {
+			return false;
+		}
+		String extensions = gl.glGetString(Gl.GL_EXTENSIONS);
+		if (extensions == null) {
+			return false;
+		}
+		// Match whole names, not prefixes of longer ones.
+		int index = extensions.indexOf(EXTENSION);
+		while (index >= 0) {
+			int end = index + EXTENSION.length();
+			if ((index == 0 || extensions.charAt(index - 1) == ' ')
+					&& (end == extensions.length() || extensions.charAt(end) == ' ')) {
+				return true;
+			}
+			index = extensions.indexOf(EXTENSION, end);
+		}
+		return false;
+	}
+
+	/**
+	 * Returns true if the context supports timer queries.
+	 */
+	public boolean isSupported() {
+		return mSupported;
+	}
+
+	/**
+	 * Enables or disables measuring. Takes effect at the next frame. May be
+	 * called from any thread.
+	 * 
+	 * @param enabled
+	 *            False to issue no queries.
+	 */
+	public void setEnabled(boolean enabled) {
+		mEnabled = enabled;
+	}
+
+	/**
+	 * Starts measuring a frame, collecting the results that became
+	 * available. Called before the draw calls.
+	 */
+	public void beginFrame() {
+		boolean active = mSupported && mEnabled;
+		if (active != mActive) {
+			// Results of queries issued before disabling are stale.
+			mActive = active;
+			mHead = mPending = 0;
+			mTotalNanos = mSamples = 0;
+		}
+		if (!mActive) {
+			return;
+		}
+		collect();
+		if (mPending == mQueries.length) {
+			++mSkippedFrames;
+			return;
+		}
+		mGl.glBeginQuery(Gl.GL_TIME_ELAPSED_EXT, mQueries[mHead]);
+		mInQuery = true;
+	}
+
+	/**
+	 * Stops measuring a frame. Called after the draw calls.
+	 */
+	public void endFrame() {
+		if (!mInQuery) {
+			return;
+		}
+		mGl.glEndQuery(Gl.GL_TIME_ELAPSED_EXT);
+		mInQuery = false;
+		mHead = (mHead + 1) % mQueries.length;
+		++mPending;
+	}
+
+	/**
+	 * Reads the results of the oldest queries, in order, until one is not
+	 * available yet.
+	 */
+	private void collect() {
+		long total = 0;
+		int samples = 0;
+		int[] param = mParam;
+		while (mPending > 0) {
+			int tail = mHead - mPending;
+			if (tail < 0) {
+				tail += mQueries.length;
+			}
+			int query = mQueries[tail];
+			mGl.glGetQueryObjectuiv(query, Gl.GL_QUERY_RESULT_AVAILABLE,
+					param, 0);
+			if (param[0] == Gl.GL_FALSE) {
+				break;
+			}
+			mGl.glGetQueryObjectuiv(query, Gl.GL_QUERY_RESULT, param, 0);
+			total += param[0] & 0xFFFFFFFFL;
+			++samples;
+			--mPending;
+		}
+		if (samples == 0) {
+			return;
+		}
+		mGl.glGetIntegerv(Gl.GL_GPU_DISJOINT_EXT, param, 0);
+		if (param[0] != Gl.GL_FALSE) {
+			mDiscardedSamples += samples;
+			return;
+		}
+		mTotalNanos += total;
+		mSamples += samples;
+	}
+
+	/**
+	 * Returns the average GPU time per measured frame since the previous
+	 * call, and starts averaging over.
+	 * 
+	 * @return nanoseconds per frame, or 0 if no frame was measured.
+	 */
+	public long takeAverageNanos() {
+		long average = mSamples == 0 ? 0 : mTotalNanos / mSamples;
+		mTotalNanos = mSamples = 0;
+		return average;
+	}
+
+	/**
+	 * Returns the amount of frames not measured because every query was in
+	 * flight.
+	 */
+	public long getSkippedFrames() {
+		return mSkippedFrames;
+	}
+
+	/**
+	 * Returns the amount of results discarded because of disjoint
+	 * operations.
+	 */
+	public long getDiscardedSamples() {
+		return mDiscardedSamples;
+	}
+
+}
@@ -0,0 +1,120 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+/**
+ * Runs a {@link SceneRenderer} without a surface, a GPU or Android, driven by
+ * a {@link SimulatedClock} that advances by a fixed vsync interval per step.
+ * Scene updates (camera path, pentagon rotations) and the metrics pipeline
+ * run exactly as on the device, so with the same seed and frame count every
+ * run publishes the same metrics. Shader sources are empty, which suits
+ * backends that do not compile them, such as {@link RecordingGl}. Every
+ * vsync renders a frame unless the renderer's {@link FramePacer} has a target
+ * rate, which is then paced exactly as on the device.
+ *
+ * <pre>
+ * RecordingGl gl = new RecordingGl();
+ * HeadlessSimulation sim = new HeadlessSimulation(gl, 1920, 1080, 16666667);
+ * sim.getRenderer().setScene(SceneRenderer.SCENE_PENTAGONS, 4);
+ * sim.run(60 * 60);
+ * </pre>
+ */
+public final class HeadlessSimulation {
+
+	private final SimulatedClock mClock = new SimulatedClock();
+	private final SceneRenderer mRenderer;
+	private final long mFrameNanos;
+
+	private final SceneContext mSceneContext = new SceneContext() {
+		@Override
+		public String loadShaderSource(String name) {
+			return "";
+		}
+
+		@Override
+		public void setProgram(EffectsShader shader, String vertexSource,
+				String fragmentSource) throws Exception {
+			shader.setProgram(vertexSource, fragmentSource);
+		}
+	};
+
+	private final SceneRenderer.ErrorListener mErrorListener = new SceneRenderer.ErrorListener() {
+		@Override
+		public void onError(String message) {
+			throw new IllegalStateException(message);
+		}
+	};
+
+	/**
+	 * Creates a simulation rendering the default pentagons.
+	 * 
+	 * @param gl
+	 *            GL calls scenes are rendered with.
+	 * @param width
+	 *            Simulated surface width in pixels.
+	 * @param height
+	 *            Simulated surface height in pixels.
+	 * @param frameNanos
+	 *            Simulated time between vsyncs in nanoseconds.
+	 */
+	public HeadlessSimulation(Gl gl, int width, int height, long frameNanos) {
+		if (frameNanos <= 0) {
+			throw new IllegalArgumentException("Vsync interval must be positive");
+		}
+		mFrameNanos = frameNanos;
+		mRenderer = new SceneRenderer(gl, mClock, mSceneContext,
+				mErrorListener);
+		if (!mRenderer.onSurfaceCreated()) {
+			throw new IllegalStateException("No shader compiler");
+		}
+		mRenderer.onSurfaceChanged(width, height);
+	}
+
+	/**
+	 * Returns the renderer, for selecting scenes and reading metrics.
+	 */
+	public SceneRenderer getRenderer() {
+		return mRenderer;
+	}
+
+	/**
+	 * Returns the simulated clock.
+	 */
+	public SimulatedClock getClock() {
+		return mClock;
+	}
+
+	/**
+	 * Advances the clock by given amount of vsyncs, rendering a frame on
+	 * those the frame pacer selects; without a target rate, on every one.
+	 * 
+	 * @param vsyncs
+	 *            Amount of vsyncs to simulate.
+	 * @throws IllegalStateException
+	 *             If a scene could not be set up.
+	 */
+	public void run(int vsyncs) {
+		FramePacer pacer = mRenderer.getFramePacer();
+		for (int i = 0; i < vsyncs; ++i) {
+			mClock.advance(mFrameNanos);
+			if (pacer.onVsync(mClock.nanoTime())) {
+				mRenderer.onDrawFrame();
+			}
+		}
+	}
+
+}
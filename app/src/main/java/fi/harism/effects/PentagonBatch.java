@@ -0,0 +1,166 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
+
+/**
+ * Packs per-pentagon state into one interleaved vertex buffer so every
+ * pentagon can be drawn with a single draw call. Each pentagon is expanded
+ * into four vertices laid out as corner (2 floats), center (3 floats), color
+ * (3 floats) and rotation in degrees (1 float).
+ */
+final class PentagonBatch {
+
+	static final int FLOATS_PER_VERTEX = 9;
+	static final int VERTICES_PER_PENTAGON = 4;
+	static final int INDICES_PER_PENTAGON = 6;
+	static final int STRIDE_BYTES = FLOATS_PER_VERTEX * 4;
+
+	// Attribute offsets inside one vertex, in floats.
+	static final int OFFSET_CORNER = 0;
+	static final int OFFSET_CENTER = 2;
+	static final int OFFSET_COLOR = 5;
+	static final int OFFSET_ROTATION = 8;
+
+	// Indices are unsigned shorts, which limits the vertex count.
+	static final int MAX_PENTAGONS = 65536 / VERTICES_PER_PENTAGON;
+
+	// Same corner order as the triangle strip used by the per-pentagon path.
+	private static final float[] CORNERS = { -1, 1, -1, -1, 1, 1, 1, -1 };
+
+	private final int mCapacity;
+	private final FloatBuffer mVertices;
+	private final ShortBuffer mIndices;
+	private final float[] mScratch = new float[VERTICES_PER_PENTAGON
+			* FLOATS_PER_VERTEX];
+	private int mCount;
+
+	/**
+	 * Creates a batch able to hold up to given amount of pentagons.
+	 *
+	 * @param capacity
+	 *            Maximum amount of pentagons.
+	 */
+	PentagonBatch(int capacity) {
+		if (capacity < 1 || capacity > MAX_PENTAGONS) {
+			throw new IllegalArgumentException("Capacity must be between 1 and "
+					+ MAX_PENTAGONS);
+		}
+		mCapacity = capacity;
+		mVertices = ByteBuffer
+				.allocateDirect(capacity * VERTICES_PER_PENTAGON * STRIDE_BYTES)
+				.order(ByteOrder.nativeOrder()).asFloatBuffer();
+		mIndices = ByteBuffer
+				.allocateDirect(capacity * INDICES_PER_PENTAGON * 2)
+				.order(ByteOrder.nativeOrder()).asShortBuffer();
+		for (int i = 0; i < capacity; ++i) {
+			short base = (short) (i * VERTICES_PER_PENTAGON);
+			mIndices.put(base).put((short) (base + 1)).put((short) (base + 2));
+			mIndices.put((short) (base + 2)).put((short) (base + 1))
+					.put((short) (base + 3));
+		}
+		mIndices.position(0);
+	}
+
+	/**
+	 * Discards packed pentagons and starts a new frame.
+	 */
+	void begin() {
+		mCount = 0;
+		mVertices.clear();
+	}
+
+	/**
+	 * Appends one pentagon to the batch.
+	 *
+	 * @param position
+	 *            Array holding the pentagon center.
+	 * @param positionOffset
+	 *            Offset of the center (x, y, z) inside position.
+	 * @param color
+	 *            Array holding the pentagon color.
+	 * @param colorOffset
+	 *            Offset of the color (r, g, b) inside color.
+	 * @param rotation
+	 *            Rotation around the view axis, in degrees.
+	 */
+	void put(float[] position, int positionOffset, float[] color,
+			int colorOffset, float rotation) {
+		if (mCount == mCapacity) {
+			throw new IllegalStateException("Batch is full");
+		}
+		float[] v = mScratch;
+		for (int i = 0; i < VERTICES_PER_PENTAGON; ++i) {
+			int o = i * FLOATS_PER_VERTEX;
+			v[o + OFFSET_CORNER] = CORNERS[i * 2];
+			v[o + OFFSET_CORNER + 1] = CORNERS[i * 2 + 1];
+			v[o + OFFSET_CENTER] = position[positionOffset];
+			v[o + OFFSET_CENTER + 1] = position[positionOffset + 1];
+			v[o + OFFSET_CENTER + 2] = position[positionOffset + 2];
+			v[o + OFFSET_COLOR] = color[colorOffset];
+			v[o + OFFSET_COLOR + 1] = color[colorOffset + 1];
+			v[o + OFFSET_COLOR + 2] = color[colorOffset + 2];
+			v[o + OFFSET_ROTATION] = rotation;
+		}
+		mVertices.put(v, 0, v.length);
+		++mCount;
+	}
+
+	/**
+	 * Returns the packed vertices, positioned at zero and limited to the
+	 * pentagons added since last {@link #begin()}.
+	 */
+	FloatBuffer getVertices() {
+		mVertices.position(0);
+		mVertices.limit(mCount * VERTICES_PER_PENTAGON * FLOATS_PER_VERTEX);
+		return mVertices;
+	}
+
+	/**
+	 * Returns the static index buffer covering the whole capacity.
+	 */
+	ShortBuffer getIndices() {
+		return mIndices;
+	}
+
+	/**
+	 * Returns the size of packed vertex data in bytes.
+	 */
+	int getVertexBytes() {
+		return mCount * VERTICES_PER_PENTAGON * STRIDE_BYTES;
+	}
+
+	/**
+	 * Returns the amount of indices needed to draw packed pentagons.
+	 */
+	int getIndexCount() {
+		return mCount * INDICES_PER_PENTAGON;
+	}
+
+	int getCapacity() {
+		return mCapacity;
+	}
+
+	int getCount() {
+		return mCount;
+	}
+
+}
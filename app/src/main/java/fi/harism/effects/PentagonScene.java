@@ -0,0 +1,446 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+import java.nio.ByteBuffer;
+import java.nio.ShortBuffer;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Alpha blended pentagons seen by a slowly moving camera. Mostly fill-rate
+ * bound; the amount of draw calls depends on whether batching is enabled.
+ * 
+ * Pentagon rotations are advanced once per frame, by default on the GL
+ * thread before drawing. With an update executor, each frame draws the
+ * rotations published last and asks the executor for the next ones, so the
+ * update overlaps with issuing draw calls. If an update is late the frame
+ * shows the previous rotations again rather than waiting for it.
+ * 
+ * With a transform pool, pentagon positions are transformed to clip space on
+ * the CPU by a {@link PentagonTransformer}, in parallel, and drawn with a
+ * single draw call and a pass-through vertex shader.
+ */
+final class PentagonScene implements Scene {
+
+	static final String NAME = "pentagons";
+
+	private final Gl mGl;
+	private PentagonBatch mBatch;
+	private volatile boolean mBatchedRendering;
+	private ByteBuffer mBufferVertices;
+	private int[] mBufferIds = new int[2];
+	private long mLastAnimTime;
+	private boolean mCameraReset;
+	private float[] mLookAtSource = new float[3];
+	private float[] mLookAtTarget = new float[3];
+	private float[] mMatrixProjection = new float[16];
+	private float[] mMatrixView = new float[16];
+	private final AtomicReference<PentagonState> mPendingState = new AtomicReference<PentagonState>();
+	private final Random mRandom = new Random();
+	private final EffectsShader mShaderPentagon;
+	private final ShaderHandle mAPosition;
+	private final ShaderHandle mACenter;
+	private final ShaderHandle mAColor;
+	private final ShaderHandle mARotation;
+	private final ShaderHandle mUProjectionM;
+	private final ShaderHandle mUViewM;
+	private final ShaderHandle mUSize;
+	private final EffectsShader mShaderTransformed;
+	private final ShaderHandle mTAClipPosition;
+	private final ShaderHandle mTAPosition;
+	private final ShaderHandle mTAColor;
+	private PentagonTransformer mTransformer;
+	private volatile ForkJoinPool mTransformPool;
+	private PentagonState mState;
+	private volatile int mLoadLevel;
+	private volatile Executor mUpdateExecutor;
+	// Held while a state is being updated, so only one thread updates it.
+	private final AtomicBoolean mUpdating = new AtomicBoolean();
+	private volatile PentagonState mUpdateState;
+	private final Runnable mUpdateTask = new Runnable() {
+		@Override
+		public void run() {
+			try {
+				mUpdateState.update();
+			} finally {
+				mUpdating.set(false);
+			}
+		}
+	};
+
+	/**
+	 * Creates the scene with given initial state.
+	 * 
+	 * @param gl
+	 *            GL calls used for rendering.
+	 * @param state
+	 *            Initial pentagon layout.
+	 * @param loadLevel
+	 *            Load level the state was created from, or -1.
+	 */
+	PentagonScene(Gl gl, PentagonState state, int loadLevel) {
+		mGl = gl;
+		mShaderPentagon = new EffectsShader(gl);
+		mAPosition = mShaderPentagon.getAttribute("aPosition");
+		mACenter = mShaderPentagon.getAttribute("aCenter");
+		mAColor = mShaderPentagon.getAttribute("aColor");
+		mARotation = mShaderPentagon.getAttribute("aRotation");
+		mUProjectionM = mShaderPentagon.getUniform("uProjectionM");
+		mUViewM = mShaderPentagon.getUniform("uViewM");
+		mUSize = mShaderPentagon.getUniform("uSize");
+		mShaderTransformed = new EffectsShader(gl);
+		mTAClipPosition = mShaderTransformed.getAttribute("aClipPosition");
+		mTAPosition = mShaderTransformed.getAttribute("aPosition");
+		mTAColor = mShaderTransformed.getAttribute("aColor");
+		setState(state);
+		mLoadLevel = loadLevel;
+		mBatch = new PentagonBatch(mState.mCount);
+
+		final byte[] VERTICES = { -1, 1, -1, -1, 1, 1, 1, -1 };
+		mBufferVertices = ByteBuffer.allocateDirect(2 * 4);
+		mBufferVertices.put(VERTICES).position(0);
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	public int getLoadLevel() {
+		return mLoadLevel;
+	}
+
+	/**
+	 * Replaces the pentagon layout at the start of the next frame.
+	 * 
+	 * @param state
+	 *            New layout, built on the calling thread.
+	 * @param loadLevel
+	 *            Load level the state was created from, or -1.
+	 */
+	void setPendingState(PentagonState state, int loadLevel) {
+		mLoadLevel = loadLevel;
+		mPendingState.set(state);
+	}
+
+	/**
+	 * Sets the executor pentagon rotations are updated on.
+	 * 
+	 * @param executor
+	 *            Executor running the updates, or null to update on the GL
+	 *            thread before drawing.
+	 */
+	void setUpdateExecutor(Executor executor) {
+		mUpdateExecutor = executor;
+	}
+
+	/**
+	 * Sets the pool pentagons are transformed on.
+	 * 
+	 * @param pool
+	 *            Pool transforming pentagons to clip space in parallel on the
+	 *            CPU, or null to transform them in the vertex shader.
+	 */
+	void setTransformPool(ForkJoinPool pool) {
+		mTransformPool = pool;
+	}
+
+	/**
+	 * Selects between drawing every pentagon with its own draw call or
+	 * packing all of them into one vertex buffer drawn with a single call.
+	 */
+	void setBatchedRendering(boolean batched) {
+		mBatchedRendering = batched;
+	}
+
+	@Override
+	public void onSurfaceCreated(SceneContext context) throws Exception {
+		// Buffer objects are lost together with the context.
+		mGl.glGenBuffers(2, mBufferIds, 0);
+		uploadIndices();
+
+		String vertexSource = context.loadShaderSource("pentagon_vs");
+		String fragmentSource = context.loadShaderSource("pentagon_fs");
+		context.setProgram(mShaderPentagon, vertexSource, fragmentSource);
+		context.setProgram(mShaderTransformed,
+				context.loadShaderSource("pentagon_transformed_vs"),
+				fragmentSource);
+	}
+
+	@Override
+	public void onSurfaceChanged(int width, int height) {
+		float aspect = (float) width / height;
+		GlMatrix.perspectiveM(mMatrixProjection, 0, 60f, aspect, .1f, 10f);
+	}
+
+	@Override
+	public void onDrawFrame(long time) {
+		PentagonState pending = mPendingState.getAndSet(null);
+		if (pending != null) {
+			setState(pending);
+		}
+		PentagonState state = mState;
+
+		mGl.glEnable(Gl.GL_BLEND);
+		mGl.glBlendFunc(Gl.GL_SRC_ALPHA, Gl.GL_ONE_MINUS_SRC_ALPHA);
+
+		// The camera path starts over on the first frame of a new layout, so
+		// it only depends on the seed and the time elapsed since, not on the
+		// clock origin.
+		if (mCameraReset || time - mLastAnimTime > 5000) {
+			for (int i = 0; i < 3; ++i) {
+				mLookAtSource[i] = mLookAtTarget[i];
+				mLookAtTarget[i] = mRandom.nextFloat() * 2 - 1;
+			}
+			mLastAnimTime = time;
+			mCameraReset = false;
+		}
+
+		float t = (time - mLastAnimTime) / 5000f;
+		t = t * t * (3 - 2 * t);
+		float eyeX = mLookAtSource[0] + (mLookAtTarget[0] - mLookAtSource[0])
+				* t;
+		float eyeY = mLookAtSource[1] + (mLookAtTarget[1] - mLookAtSource[1])
+				* t;
+		float eyeZ = mLookAtSource[2] + (mLookAtTarget[2] - mLookAtSource[2])
+				* t;
+
+		GlMatrix.setLookAtM(mMatrixView, 0, eyeX, eyeY, eyeZ, 0, 0, 0, 0, 1, 0);
+
+		float[] rotations = updateRotations(state);
+
+		ForkJoinPool pool = mTransformPool;
+		if (pool != null) {
+			drawTransformed(state, rotations, pool);
+		} else {
+			mShaderPentagon.useProgram();
+
+			mGl.glUniformMatrix4fv(mUProjectionM.getLocation(), 1, false,
+					mMatrixProjection, 0);
+			mGl.glUniformMatrix4fv(mUViewM.getLocation(), 1, false,
+					mMatrixView, 0);
+			mGl.glUniform1f(mUSize.getLocation(), state.mSize);
+
+			if (mBatchedRendering) {
+				drawBatched(state, rotations);
+			} else {
+				drawSeparately(state, rotations);
+			}
+		}
+
+		mGl.glDisable(Gl.GL_BLEND);
+	}
+
+	@Override
+	public void onRelease() {
+		mShaderPentagon.deleteProgram();
+		mShaderTransformed.deleteProgram();
+		mGl.glDeleteBuffers(2, mBufferIds, 0);
+	}
+
+	/**
+	 * Draws pentagons one by one, uploading per-pentagon attributes as
+	 * constant vertex attributes before each draw call.
+	 */
+	private void drawSeparately(PentagonState state, float[] rotations) {
+		int aPosition = mAPosition.getLocation();
+		int aCenter = mACenter.getLocation();
+		int aColor = mAColor.getLocation();
+		int aRotation = mARotation.getLocation();
+
+		mGl.glVertexAttribPointer(aPosition, 2, Gl.GL_BYTE, false, 0,
+				mBufferVertices);
+		mGl.glEnableVertexAttribArray(aPosition);
+
+		for (int layer = 0; layer < state.mLayers; ++layer) {
+			for (int i = 0; i < state.mCount; ++i) {
+				mGl.glVertexAttrib3fv(aCenter, state.mPositions, i * 3);
+				mGl.glVertexAttrib3fv(aColor, state.mColors, i * 3);
+				mGl.glVertexAttrib1f(aRotation, rotations[i]);
+				mGl.glDrawArrays(Gl.GL_TRIANGLE_STRIP, 0, 4);
+			}
+		}
+
+		mGl.glDisableVertexAttribArray(aPosition);
+	}
+
+	/**
+	 * Packs all pentagons into one interleaved vertex buffer and draws them
+	 * with a single draw call.
+	 */
+	private void drawBatched(PentagonState state, float[] rotations) {
+		ensureIndices(state.mCount);
+		mBatch.begin();
+		for (int i = 0; i < state.mCount; ++i) {
+			mBatch.put(state.mPositions, i * 3, state.mColors, i * 3,
+					rotations[i]);
+		}
+
+		mGl.glBindBuffer(Gl.GL_ARRAY_BUFFER, mBufferIds[0]);
+		mGl.glBufferData(Gl.GL_ARRAY_BUFFER, mBatch.getVertexBytes(),
+				mBatch.getVertices(), Gl.GL_STREAM_DRAW);
+
+		int stride = PentagonBatch.STRIDE_BYTES;
+		int aPosition = mAPosition.getLocation();
+		int aCenter = mACenter.getLocation();
+		int aColor = mAColor.getLocation();
+		int aRotation = mARotation.getLocation();
+		mGl.glVertexAttribPointer(aPosition, 2, Gl.GL_FLOAT, false,
+				stride, PentagonBatch.OFFSET_CORNER * 4);
+		mGl.glVertexAttribPointer(aCenter, 3, Gl.GL_FLOAT, false,
+				stride, PentagonBatch.OFFSET_CENTER * 4);
+		mGl.glVertexAttribPointer(aColor, 3, Gl.GL_FLOAT, false, stride,
+				PentagonBatch.OFFSET_COLOR * 4);
+		mGl.glVertexAttribPointer(aRotation, 1, Gl.GL_FLOAT, false,
+				stride, PentagonBatch.OFFSET_ROTATION * 4);
+		mGl.glEnableVertexAttribArray(aPosition);
+		mGl.glEnableVertexAttribArray(aCenter);
+		mGl.glEnableVertexAttribArray(aColor);
+		mGl.glEnableVertexAttribArray(aRotation);
+
+		mGl.glBindBuffer(Gl.GL_ELEMENT_ARRAY_BUFFER, mBufferIds[1]);
+		for (int layer = 0; layer < state.mLayers; ++layer) {
+			mGl.glDrawElements(Gl.GL_TRIANGLES, mBatch.getIndexCount(),
+					Gl.GL_UNSIGNED_SHORT, 0);
+		}
+
+		mGl.glDisableVertexAttribArray(aPosition);
+		mGl.glDisableVertexAttribArray(aCenter);
+		mGl.glDisableVertexAttribArray(aColor);
+		mGl.glDisableVertexAttribArray(aRotation);
+		mGl.glBindBuffer(Gl.GL_ELEMENT_ARRAY_BUFFER, 0);
+		mGl.glBindBuffer(Gl.GL_ARRAY_BUFFER, 0);
+	}
+
+	/**
+	 * Transforms all pentagons to clip space on the CPU and draws them with a
+	 * single draw call.
+	 */
+	private void drawTransformed(PentagonState state, float[] rotations,
+			ForkJoinPool pool) {
+		ensureIndices(state.mCount);
+		if (mTransformer == null || mTransformer.getCapacity() < state.mCount) {
+			mTransformer = new PentagonTransformer(state.mCount);
+		}
+		mTransformer.transform(pool, state, rotations, mMatrixView,
+				mMatrixProjection);
+
+		mShaderTransformed.useProgram();
+		mGl.glBindBuffer(Gl.GL_ARRAY_BUFFER, mBufferIds[0]);
+		mGl.glBufferData(Gl.GL_ARRAY_BUFFER, mTransformer.getVertexBytes(),
+				mTransformer.getVertices(), Gl.GL_STREAM_DRAW);
+
+		int stride = PentagonTransformer.STRIDE_BYTES;
+		int aClipPosition = mTAClipPosition.getLocation();
+		int aPosition = mTAPosition.getLocation();
+		int aColor = mTAColor.getLocation();
+		mGl.glVertexAttribPointer(aClipPosition, 4, Gl.GL_FLOAT, false,
+				stride, PentagonTransformer.OFFSET_CLIP * 4);
+		mGl.glVertexAttribPointer(aPosition, 2, Gl.GL_FLOAT, false, stride,
+				PentagonTransformer.OFFSET_CORNER * 4);
+		mGl.glVertexAttribPointer(aColor, 3, Gl.GL_FLOAT, false, stride,
+				PentagonTransformer.OFFSET_COLOR * 4);
+		mGl.glEnableVertexAttribArray(aClipPosition);
+		mGl.glEnableVertexAttribArray(aPosition);
+		mGl.glEnableVertexAttribArray(aColor);
+
+		mGl.glBindBuffer(Gl.GL_ELEMENT_ARRAY_BUFFER, mBufferIds[1]);
+		int indexCount = state.mCount * PentagonBatch.INDICES_PER_PENTAGON;
+		for (int layer = 0; layer < state.mLayers; ++layer) {
+			mGl.glDrawElements(Gl.GL_TRIANGLES, indexCount,
+					Gl.GL_UNSIGNED_SHORT, 0);
+		}
+
+		mGl.glDisableVertexAttribArray(aClipPosition);
+		mGl.glDisableVertexAttribArray(aPosition);
+		mGl.glDisableVertexAttribArray(aColor);
+		mGl.glBindBuffer(Gl.GL_ELEMENT_ARRAY_BUFFER, 0);
+		mGl.glBindBuffer(Gl.GL_ARRAY_BUFFER, 0);
+	}
+
+	/**
+	 * Makes sure the index buffer covers given amount of pentagons.
+	 */
+	private void ensureIndices(int count) {
+		if (mBatch.getCapacity() < count) {
+			mBatch = new PentagonBatch(count);
+			uploadIndices();
+		}
+	}
+
+	/**
+	 * Advances the rotations of given state and returns the ones to draw.
+	 * Updates on the GL thread draw the new rotations; updates on the
+	 * executor are drawn by the next frame.
+	 */
+	private float[] updateRotations(PentagonState state) {
+		Executor executor = mUpdateExecutor;
+		if (executor == null) {
+			// Skipped while an update started on an executor still runs.
+			if (mUpdating.compareAndSet(false, true)) {
+				try {
+					state.update();
+				} finally {
+					mUpdating.set(false);
+				}
+			}
+			return state.acquireRotations();
+		}
+		float[] rotations = state.acquireRotations();
+		if (mUpdating.compareAndSet(false, true)) {
+			mUpdateState = state;
+			try {
+				executor.execute(mUpdateTask);
+			} catch (RejectedExecutionException ex) {
+				mUpdateExecutor = null;
+				mUpdating.set(false);
+			}
+		}
+		return rotations;
+	}
+
+	/**
+	 * Makes given scene current and restarts the camera path from its seed.
+	 * Called from the GL thread, or from the constructor before it starts.
+	 */
+	private void setState(PentagonState state) {
+		mState = state;
+		mRandom.setSeed(state.mSeed);
+		mCameraReset = true;
+		for (int i = 0; i < 3; ++i) {
+			mLookAtSource[i] = mLookAtTarget[i] = 0;
+		}
+	}
+
+	/**
+	 * Uploads the static index buffer of current batch.
+	 */
+	private void uploadIndices() {
+		ShortBuffer indices = mBatch.getIndices();
+		mGl.glBindBuffer(Gl.GL_ELEMENT_ARRAY_BUFFER, mBufferIds[1]);
+		mGl.glBufferData(Gl.GL_ELEMENT_ARRAY_BUFFER,
+				indices.capacity() * 2, indices, Gl.GL_STATIC_DRAW);
+		mGl.glBindBuffer(Gl.GL_ELEMENT_ARRAY_BUFFER, 0);
+	}
+
+}
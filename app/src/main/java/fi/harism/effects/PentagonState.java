@@ -0,0 +1,111 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+import java.util.Random;
+
+/**
+ * Pentagon scene state kept in primitive arrays. Positions and colors hold
+ * three floats per pentagon, rotations and rotation speeds one. The same
+ * seed always produces the same scene.
+ * 
+ * Only the rotations change from frame to frame. They are advanced by one
+ * thread with {@link #update()} and read by the renderer with
+ * {@link #acquireRotations()} through a {@link TripleBuffer}, so the update
+ * may run on another thread than the renderer without locking. All other
+ * arrays are not modified after creation.
+ */
+final class PentagonState {
+
+	final int mCount;
+	final float mSize;
+	final int mLayers;
+	final long mSeed;
+	final float[] mPositions;
+	final float[] mColors;
+	final float[] mRotationSpeeds;
+	private final TripleBuffer<float[]> mRotations;
+	// Rotations published last; owned by the updating thread.
+	private float[] mLatestRotations;
+
+	private PentagonState(int count, float size, int layers, long seed) {
+		mCount = count;
+		mSize = size;
+		mLayers = layers;
+		mSeed = seed;
+		mPositions = new float[count * 3];
+		mColors = new float[count * 3];
+		mRotationSpeeds = new float[count];
+		mLatestRotations = new float[count];
+		mRotations = new TripleBuffer<float[]>(mLatestRotations,
+				new float[count], new float[count]);
+	}
+
+	/**
+	 * Creates a new randomly laid out scene.
+	 *
+	 * @param count
+	 *            Amount of pentagons.
+	 * @param size
+	 *            Pentagon size in view space units.
+	 * @param layers
+	 *            Amount of times the whole scene is drawn per frame.
+	 * @param seed
+	 *            Seed for the pseudo random layout.
+	 * @return new scene state.
+	 */
+	static PentagonState create(int count, float size, int layers, long seed) {
+		PentagonState state = new PentagonState(count, size, layers, seed);
+		Random random = new Random(seed);
+		for (int i = 0; i < count; ++i) {
+			for (int j = 0; j < 3; ++j) {
+				state.mPositions[i * 3 + j] = random.nextFloat() * 2 - 1;
+				state.mColors[i * 3 + j] = random.nextFloat() * 0.5f + 0.5f;
+			}
+			state.mLatestRotations[i] = random.nextFloat() * 360;
+			state.mRotationSpeeds[i] = random.nextFloat() + 1f;
+		}
+		return state;
+	}
+
+	/**
+	 * Advances pentagon rotations by one frame and publishes them to the
+	 * renderer. Must only be called from one thread at a time.
+	 */
+	void update() {
+		float[] previous = mLatestRotations;
+		float[] rotations = mRotations.getBack();
+		float[] speeds = mRotationSpeeds;
+		for (int i = 0; i < mCount; ++i) {
+			float rotation = previous[i] + speeds[i];
+			rotations[i] = rotation >= 360f ? rotation - 360f : rotation;
+		}
+		mRotations.publish();
+		mLatestRotations = rotations;
+	}
+
+	/**
+	 * Returns the rotations published last by {@link #update()}, in degrees.
+	 * The array is not modified until the next call. Must only be called
+	 * from the rendering thread.
+	 */
+	float[] acquireRotations() {
+		mRotations.acquire();
+		return mRotations.getFront();
+	}
+
+}
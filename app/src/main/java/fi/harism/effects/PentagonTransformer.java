@@ -0,0 +1,273 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Computes the clip space corners of every pentagon on the CPU, so they can
+ * be drawn with a pass-through vertex shader. Each pentagon gets its own
+ * model-view-projection matrix
+ * 
+ * <pre>
+ * MVP = projection * rotateZ(rotation) * translate(view * center) * scale(size)
+ * </pre>
+ * 
+ * which gives the same positions the pentagon vertex shader computes. Each
+ * pentagon is expanded into four vertices laid out as clip position (4
+ * floats), corner (2 floats) and color (3 floats), in the order of the
+ * {@link PentagonBatch} indices.
+ * 
+ * With a {@link ForkJoinPool}, pentagons are split into chunks transformed
+ * in parallel, each writing its own range of one preallocated vertex buffer.
+ * Chunk tasks and buffer views are created once, so transforming a frame
+ * allocates nothing.
+ */
+final class PentagonTransformer {
+
+	static final int FLOATS_PER_VERTEX = PentagonBatch.FLOATS_PER_VERTEX;
+	static final int STRIDE_BYTES = PentagonBatch.STRIDE_BYTES;
+
+	// Attribute offsets inside one vertex, in floats.
+	static final int OFFSET_CLIP = 0;
+	static final int OFFSET_CORNER = 4;
+	static final int OFFSET_COLOR = 6;
+
+	// Chunks per pool thread, so threads finishing early can take more.
+	private static final int CHUNKS_PER_THREAD = 4;
+	private static final int MAX_CHUNKS = 64;
+	// Smaller scenes are not worth handing to the pool.
+	private static final int MIN_PARALLEL_COUNT = 256;
+
+	private static final int FLOATS_PER_PENTAGON = PentagonBatch.VERTICES_PER_PENTAGON
+			* FLOATS_PER_VERTEX;
+	private static final float[] CORNERS = { -1, 1, -1, -1, 1, 1, 1, -1 };
+
+	private final int mCapacity;
+	private final FloatBuffer mVertices;
+	private final Chunk[] mChunks = new Chunk[MAX_CHUNKS];
+	private final Chunk mWholeScene;
+	private final Fork mFork = new Fork();
+
+	// Inputs of the frame being transformed, read by the chunks.
+	private PentagonState mState;
+	private float[] mRotations;
+	private final float[] mView = new float[16];
+	private final float[] mProjection = new float[16];
+	private int mCount;
+	private int mChunkCount;
+
+	/**
+	 * Range of pentagons transformed by one task. Each chunk writes through
+	 * its own view of the vertex buffer.
+	 */
+	@SuppressWarnings("serial")
+	private final class Chunk extends RecursiveAction {
+
+		private final FloatBuffer mOutput = mVertices.duplicate();
+		private final float[] mScratch = new float[FLOATS_PER_PENTAGON];
+		private final float[] mMvp = new float[12];
+		private int mFrom;
+		private int mTo;
+
+		@Override
+		protected void compute() {
+			transformRange(mFrom, mTo, mOutput, mScratch, mMvp);
+		}
+
+	}
+
+	/**
+	 * Runs the chunks of a frame on the pool.
+	 */
+	@SuppressWarnings("serial")
+	private final class Fork extends RecursiveAction {
+
+		@Override
+		protected void compute() {
+			for (int i = 1; i < mChunkCount; ++i) {
+				mChunks[i].fork();
+			}
+			mChunks[0].compute();
+			for (int i = mChunkCount - 1; i > 0; --i) {
+				mChunks[i].join();
+			}
+		}
+
+	}
+
+	/**
+	 * Creates a transformer able to hold up to given amount of pentagons.
+	 * 
+	 * @param capacity
+	 *            Maximum amount of pentagons.
+	 */
+	PentagonTransformer(int capacity) {
+		if (capacity < 1 || capacity > PentagonBatch.MAX_PENTAGONS) {
+			throw new IllegalArgumentException("Capacity must be between 1 and "
+					+ PentagonBatch.MAX_PENTAGONS);
+		}
+		mCapacity = capacity;
+		mVertices = ByteBuffer
+				.allocateDirect(capacity * FLOATS_PER_PENTAGON * 4)
+				.order(ByteOrder.nativeOrder()).asFloatBuffer();
+		for (int i = 0; i < MAX_CHUNKS; ++i) {
+			mChunks[i] = new Chunk();
+		}
+		mWholeScene = mChunks[0];
+	}
+
+	/**
+	 * Transforms all pentagons of given state.
+	 * 
+	 * @param pool
+	 *            Pool transforming chunks in parallel, or null to transform
+	 *            on the calling thread, as is done if it was shut down.
+	 * @param state
+	 *            Pentagon layout.
+	 * @param rotations
+	 *            Pentagon rotations in degrees.
+	 * @param view
+	 *            View matrix.
+	 * @param projection
+	 *            Projection matrix.
+	 */
+	void transform(ForkJoinPool pool, PentagonState state, float[] rotations,
+			float[] view, float[] projection) {
+		if (state.mCount > mCapacity) {
+			throw new IllegalArgumentException("Too many pentagons");
+		}
+		mState = state;
+		mRotations = rotations;
+		System.arraycopy(view, 0, mView, 0, 16);
+		System.arraycopy(projection, 0, mProjection, 0, 16);
+		mCount = state.mCount;
+
+		int chunks = 1;
+		if (pool != null && !pool.isShutdown() && mCount >= MIN_PARALLEL_COUNT) {
+			chunks = Math.min(MAX_CHUNKS, pool.getParallelism()
+					* CHUNKS_PER_THREAD);
+		}
+		if (chunks == 1) {
+			mWholeScene.mFrom = 0;
+			mWholeScene.mTo = mCount;
+			mWholeScene.compute();
+		} else {
+			for (int i = 0; i < chunks; ++i) {
+				Chunk chunk = mChunks[i];
+				chunk.mFrom = (int) ((long) mCount * i / chunks);
+				chunk.mTo = (int) ((long) mCount * (i + 1) / chunks);
+				chunk.reinitialize();
+			}
+			mChunkCount = chunks;
+			mFork.reinitialize();
+			pool.invoke(mFork);
+		}
+		mState = null;
+		mRotations = null;
+	}
+
+	/**
+	 * Returns the transformed vertices, positioned at zero and limited to
+	 * the pentagons of the last {@link #transform}.
+	 */
+	FloatBuffer getVertices() {
+		mVertices.position(0);
+		mVertices.limit(mCount * FLOATS_PER_PENTAGON);
+		return mVertices;
+	}
+
+	/**
+	 * Returns the size of the transformed vertex data in bytes.
+	 */
+	int getVertexBytes() {
+		return mCount * FLOATS_PER_PENTAGON * 4;
+	}
+
+	int getCapacity() {
+		return mCapacity;
+	}
+
+	int getCount() {
+		return mCount;
+	}
+
+	/**
+	 * Transforms pentagons from (inclusive) to (exclusive) into their range
+	 * of the vertex buffer.
+	 */
+	private void transformRange(int from, int to, FloatBuffer output,
+			float[] v, float[] mvp) {
+		float[] positions = mState.mPositions;
+		float[] colors = mState.mColors;
+		float[] rotations = mRotations;
+		float[] view = mView;
+		float[] p = mProjection;
+		float size = mState.mSize;
+
+		output.clear();
+		output.position(from * FLOATS_PER_PENTAGON);
+		for (int i = from; i < to; ++i) {
+			// Center in view space.
+			float x = positions[i * 3];
+			float y = positions[i * 3 + 1];
+			float z = positions[i * 3 + 2];
+			float vx = view[0] * x + view[4] * y + view[8] * z + view[12];
+			float vy = view[1] * x + view[5] * y + view[9] * z + view[13];
+			float vz = view[2] * x + view[6] * y + view[10] * z + view[14];
+
+			// Columns 0, 1 and 3 of rotateZ * translate * scale; corners
+			// have z = 0, so column 2 is never used.
+			double angle = Math.toRadians(rotations[i]);
+			float c = (float) Math.cos(angle);
+			float s = (float) Math.sin(angle);
+			float m00 = c * size;
+			float m01 = s * size;
+			float m30 = c * vx - s * vy;
+			float m31 = s * vx + c * vy;
+
+			// Same columns of projection * model.
+			for (int j = 0; j < 4; ++j) {
+				mvp[j] = p[j] * m00 + p[4 + j] * m01;
+				mvp[4 + j] = p[4 + j] * m00 - p[j] * m01;
+				mvp[8 + j] = p[j] * m30 + p[4 + j] * m31 + p[8 + j] * vz
+						+ p[12 + j];
+			}
+
+			for (int k = 0; k < PentagonBatch.VERTICES_PER_PENTAGON; ++k) {
+				int o = k * FLOATS_PER_VERTEX;
+				float cornerX = CORNERS[k * 2];
+				float cornerY = CORNERS[k * 2 + 1];
+				for (int j = 0; j < 4; ++j) {
+					v[o + OFFSET_CLIP + j] = mvp[j] * cornerX + mvp[4 + j]
+							* cornerY + mvp[8 + j];
+				}
+				v[o + OFFSET_CORNER] = cornerX;
+				v[o + OFFSET_CORNER + 1] = cornerY;
+				v[o + OFFSET_COLOR] = colors[i * 3];
+				v[o + OFFSET_COLOR + 1] = colors[i * 3 + 1];
+				v[o + OFFSET_COLOR + 2] = colors[i * 3 + 2];
+			}
+			output.put(v, 0, FLOATS_PER_PENTAGON);
+		}
+	}
+
+}
@@ -0,0 +1,265 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileFilter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.zip.CRC32;
+
+/**
+ * Persistent store of linked shader program binaries, so programs can be
+ * restored without compiling their sources again. Entries are keyed by a
+ * hash of the shader sources and the GL renderer and version, as binaries
+ * are only valid for the driver that produced them. The total size of the
+ * store is bounded by evicting the least recently used entries.
+ */
+public final class ProgramBinaryCache {
+
+	private static final String SUFFIX = ".bin";
+	private static final String TEMP_SUFFIX = ".tmp";
+	private static final int MAGIC = 0x50424331;
+	private static final int HEADER_SIZE = 16;
+
+	private final File mDirectory;
+	private final long mMaxBytes;
+
+	/**
+	 * Stored program binary.
+	 */
+	public static final class Entry {
+
+		private final int mFormat;
+		private final byte[] mBinary;
+
+		Entry(int format, byte[] binary) {
+			mFormat = format;
+			mBinary = binary;
+		}
+
+		/**
+		 * Returns the driver specific binary format.
+		 */
+		public int getFormat() {
+			return mFormat;
+		}
+
+		/**
+		 * Returns the program binary. The array is not copied and must not
+		 * be modified.
+		 */
+		public byte[] getBinary() {
+			return mBinary;
+		}
+
+	}
+
+	/**
+	 * Creates a cache stored in given directory.
+	 * 
+	 * @param directory
+	 *            Directory holding the entries, created when needed.
+	 * @param maxBytes
+	 *            Maximum total size of the entries in bytes.
+	 */
+	public ProgramBinaryCache(File directory, long maxBytes) {
+		mDirectory = directory;
+		mMaxBytes = maxBytes;
+	}
+
+	/**
+	 * Derives the key of a program.
+	 * 
+	 * @param vertexSource
+	 *            Vertex shader source.
+	 * @param fragmentSource
+	 *            Fragment shader source.
+	 * @param renderer
+	 *            GL_RENDERER string of the driver.
+	 * @param version
+	 *            GL_VERSION string of the driver.
+	 * @return hexadecimal key usable as a file name.
+	 */
+	public static String createKey(String vertexSource, String fragmentSource,
+			String renderer, String version) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+		// Lengths keep different splits of the same text from colliding.
+		for (String part : new String[] { vertexSource, fragmentSource,
+				renderer, version }) {
+			byte[] bytes = String.valueOf(part).getBytes(
+					StandardCharsets.UTF_8);
+			digest.update((byte) (bytes.length >>> 24));
+			digest.update((byte) (bytes.length >>> 16));
+			digest.update((byte) (bytes.length >>> 8));
+			digest.update((byte) bytes.length);
+			digest.update(bytes);
+		}
+		StringBuilder key = new StringBuilder();
+		for (byte b : digest.digest()) {
+			key.append(Character.forDigit((b >> 4) & 0xF, 16));
+			key.append(Character.forDigit(b & 0xF, 16));
+		}
+		return key.toString();
+	}
+
+	/**
+	 * Loads the entry with given key and marks it as recently used.
+	 * 
+	 * @param key
+	 *            Key from {@link #createKey(String, String, String, String)}.
+	 * @return stored entry or null if missing or corrupt.
+	 */
+	public Entry load(String key) {
+		File file = new File(mDirectory, key + SUFFIX);
+		if (!file.isFile()) {
+			return null;
+		}
+		try (DataInputStream in = new DataInputStream(new FileInputStream(
+				file))) {
+			int magic = in.readInt();
+			int format = in.readInt();
+			int length = in.readInt();
+			int crc = in.readInt();
+			if (magic != MAGIC || length < 0
+					|| length != file.length() - HEADER_SIZE) {
+				throw new IOException("Invalid header");
+			}
+			byte[] binary = new byte[length];
+			in.readFully(binary);
+			CRC32 crc32 = new CRC32();
+			crc32.update(binary);
+			if ((int) crc32.getValue() != crc) {
+				throw new IOException("Invalid checksum");
+			}
+			file.setLastModified(System.currentTimeMillis());
+			return new Entry(format, binary);
+		} catch (IOException ex) {
+			file.delete();
+			return null;
+		}
+	}
+
+	/**
+	 * Stores an entry, replacing any previous one with the same key, and
+	 * evicts least recently used entries beyond the size limit.
+	 * 
+	 * @param key
+	 *            Key from {@link #createKey(String, String, String, String)}.
+	 * @param format
+	 *            Driver specific binary format.
+	 * @param binary
+	 *            Program binary.
+	 * @throws IOException
+	 *             If the entry could not be written.
+	 */
+	public void store(String key, int format, byte[] binary)
+			throws IOException {
+		if (binary.length + HEADER_SIZE > mMaxBytes) {
+			return;
+		}
+		if (!mDirectory.isDirectory() && !mDirectory.mkdirs()) {
+			throw new IOException("Could not create " + mDirectory);
+		}
+		CRC32 crc32 = new CRC32();
+		crc32.update(binary);
+		File temp = new File(mDirectory, key + TEMP_SUFFIX);
+		try (DataOutputStream out = new DataOutputStream(new FileOutputStream(
+				temp))) {
+			out.writeInt(MAGIC);
+			out.writeInt(format);
+			out.writeInt(binary.length);
+			out.writeInt((int) crc32.getValue());
+			out.write(binary);
+		}
+		// Readers never see a partially written entry.
+		if (!temp.renameTo(new File(mDirectory, key + SUFFIX))) {
+			temp.delete();
+			throw new IOException("Could not store " + key);
+		}
+		evict();
+	}
+
+	/**
+	 * Removes the entry with given key, for example when the driver rejects
+	 * its binary.
+	 * 
+	 * @param key
+	 *            Key of the entry.
+	 */
+	public void remove(String key) {
+		new File(mDirectory, key + SUFFIX).delete();
+	}
+
+	/**
+	 * Returns the total size of stored entries in bytes.
+	 */
+	public long getSize() {
+		long size = 0;
+		for (File file : listEntries()) {
+			size += file.length();
+		}
+		return size;
+	}
+
+	private void evict() {
+		File[] files = listEntries();
+		long size = 0;
+		for (File file : files) {
+			size += file.length();
+		}
+		if (size <= mMaxBytes) {
+			return;
+		}
+		Arrays.sort(files, new Comparator<File>() {
+			@Override
+			public int compare(File a, File b) {
+				return Long.compare(a.lastModified(), b.lastModified());
+			}
+		});
+		for (int i = 0; i < files.length && size > mMaxBytes; ++i) {
+			long length = files[i].length();
+			if (files[i].delete()) {
+				size -= length;
+			}
+		}
+	}
+
+	private File[] listEntries() {
+		File[] files = mDirectory.listFiles(new FileFilter() {
+			@Override
+			public boolean accept(File file) {
+				return file.isFile() && file.getName().endsWith(SUFFIX);
+			}
+		});
+		return files != null ? files : new File[0];
+	}
+
+}
@@ -0,0 +1,532 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+import java.nio.Buffer;
+import java.util.Arrays;
+
+/**
+ * {@link Gl} that renders nothing and only counts what would be submitted to
+ * the GPU. Object ids are handed out sequentially and shaders always compile
+ * and link. Programs report the active attributes and uniforms set with
+ * {@link #setActiveAttributes(String...)} and
+ * {@link #setActiveUniforms(String...)}, none by default, located at their
+ * index; other handles resolve to -1. No program binary formats are
+ * reported, which keeps program binaries disabled, and no extensions unless
+ * set with {@link #setExtensions(String...)}. Timer queries report the time
+ * set with {@link #setQueryResult(long, int)} a given amount of frames,
+ * counted by {@code glClear} calls, after they ended, like a GPU running a
+ * few frames behind. Counting never allocates, so
+ * scenes can run headless at thousands of frames per second. Like a
+ * context, an instance must only be used from one thread.
+ */
+public final class RecordingGl implements Gl {
+
+	/** Renderer string reported by {@link #glGetString(int)}. */
+	public static final String RENDERER = "RecordingGl";
+	/** Version string reported by {@link #glGetString(int)}. */
+	public static final String VERSION = "OpenGL ES 3.0 " + RENDERER;
+
+	private long mCallCount;
+	private long mDrawCallCount;
+	private long mVertexCount;
+	private long mUploadedBytes;
+	private long mLogCount;
+	private int mNextId = 1;
+	private String[] mActiveAttributes = new String[0];
+	private String[] mActiveUniforms = new String[0];
+	private String mExtensions = "";
+	private long mQueryResult;
+	private int mQueryLatency;
+	private long[] mQueryEnds = new long[16];
+	private long mClearCount;
+	private int mActiveQuery;
+	private boolean mDisjoint;
+
+	/**
+	 * Sets the attributes every linked program reports as active.
+	 * 
+	 * @param names
+	 *            Attribute names, located at their index.
+	 */
+	public void setActiveAttributes(String... names) {
+		mActiveAttributes = names.clone();
+	}
+
+	/**
+	 * Sets the uniforms every linked program reports as active.
+	 * 
+	 * @param names
+	 *            Uniform names, located at their index.
+	 */
+	public void setActiveUniforms(String... names) {
+		mActiveUniforms = names.clone();
+	}
+
+	/**
+	 * Sets the extensions reported by {@link #glGetString(int)}, for example
+	 * "GL_EXT_disjoint_timer_query".
+	 * 
+	 * @param names
+	 *            Extension names.
+	 */
+	public void setExtensions(String... names) {
+		mExtensions = String.join(" ", names);
+	}
+
+	/**
+	 * Sets the result of timer queries.
+	 * 
+	 * @param elapsedNanos
+	 *            Elapsed time every query reports.
+	 * @param latency
+	 *            Amount of {@code glClear} calls after a query ended before
+	 *            its result is available.
+	 */
+	public void setQueryResult(long elapsedNanos, int latency) {
+		mQueryResult = elapsedNanos;
+		mQueryLatency = latency;
+	}
+
+	/**
+	 * Makes the next read of GL_GPU_DISJOINT_EXT report a disjoint operation,
+	 * which invalidates the timer queries in flight.
+	 */
+	public void signalDisjoint() {
+		mDisjoint = true;
+	}
+
+	/**
+	 * Returns the amount of GL calls made since the last {@link #reset()}.
+	 */
+	public long getCallCount() {
+		return mCallCount;
+	}
+
+	/**
+	 * Returns the amount of draw calls made since the last {@link #reset()}.
+	 */
+	public long getDrawCallCount() {
+		return mDrawCallCount;
+	}
+
+	/**
+	 * Returns the amount of vertices, or indices for indexed draws, submitted
+	 * since the last {@link #reset()}.
+	 */
+	public long getVertexCount() {
+		return mVertexCount;
+	}
+
+	/**
+	 * Returns the amount of buffer and texture bytes uploaded since the last
+	 * {@link #reset()}.
+	 */
+	public long getUploadedBytes() {
+		return mUploadedBytes;
+	}
+
+	/**
+	 * Returns the amount of diagnostic messages reported since the last
+	 * {@link #reset()}.
+	 */
+	public long getLogCount() {
+		return mLogCount;
+	}
+
+	/**
+	 * Clears all counters. Object ids keep increasing.
+	 */
+	public void reset() {
+		mCallCount = mDrawCallCount = mVertexCount = mUploadedBytes = mLogCount = 0;
+	}
+
+	@Override
+	public void glBlendFunc(int sfactor, int dfactor) {
+		++mCallCount;
+	}
+
+	@Override
+	public void glClear(int mask) {
+		++mCallCount;
+		++mClearCount;
+	}
+
+	@Override
+	public void glClearColor(float red, float green, float blue, float alpha) {
+		++mCallCount;
+	}
+
+	@Override
+	public void glDisable(int cap) {
+		++mCallCount;
+	}
+
+	@Override
+	public void glEnable(int cap) {
+		++mCallCount;
+	}
+
+	@Override
+	public void glGetBooleanv(int pname, boolean[] params, int offset) {
+		++mCallCount;
+		params[offset] = pname == GL_SHADER_COMPILER;
+	}
+
+	@Override
+	public void glGetIntegerv(int pname, int[] params, int offset) {
+		++mCallCount;
+		if (pname == GL_GPU_DISJOINT_EXT) {
+			params[offset] = mDisjoint ? GL_TRUE : GL_FALSE;
+			mDisjoint = false;
+		} else {
+			params[offset] = 0;
+		}
+	}
+
+	@Override
+	public String glGetString(int name) {
+		++mCallCount;
+		switch (name) {
+		case GL_RENDERER:
+			return RENDERER;
+		case GL_VERSION:
+			return VERSION;
+		case GL_EXTENSIONS:
+			return mExtensions;
+		default:
+			return null;
+		}
+	}
+
+	@Override
+	public void glBindBuffer(int target, int buffer) {
+		++mCallCount;
+	}
+
+	@Override
+	public void glBufferData(int target, int size, Buffer data, int usage) {
+		++mCallCount;
+		mUploadedBytes += size;
+	}
+
+	@Override
+	public void glDeleteBuffers(int n, int[] buffers, int offset) {
+		++mCallCount;
+	}
+
+	@Override
+	public void glGenBuffers(int n, int[] buffers, int offset) {
+		++mCallCount;
+		generate(n, buffers, offset);
+	}
+
+	@Override
+	public void glActiveTexture(int texture) {
+		++mCallCount;
+	}
+
+	@Override
+	public void glBindTexture(int target, int texture) {
+		++mCallCount;
+	}
+
+	@Override
+	public void glDeleteTextures(int n, int[] textures, int offset) {
+		++mCallCount;
+	}
+
+	@Override
+	public void glGenTextures(int n, int[] textures, int offset) {
+		++mCallCount;
+		generate(n, textures, offset);
+	}
+
+	@Override
+	public void glTexImage2D(int target, int level, int internalformat,
+			int width, int height, int border, int format, int type,
+			Buffer pixels) {
+		++mCallCount;
+		if (pixels != null) {
+			mUploadedBytes += (long) width * height * 4;
+		}
+	}
+
+	@Override
+	public void glTexParameteri(int target, int pname, int param) {
+		++mCallCount;
+	}
+
+	@Override
+	public void glAttachShader(int program, int shader) {
+		++mCallCount;
+	}
+
+	@Override
+	public void glCompileShader(int shader) {
+		++mCallCount;
+	}
+
+	@Override
+	public int glCreateProgram() {
+		++mCallCount;
+		return mNextId++;
+	}
+
+	@Override
+	public int glCreateShader(int type) {
+		++mCallCount;
+		return mNextId++;
+	}
+
+	@Override
+	public void glDeleteProgram(int program) {
+		++mCallCount;
+	}
+
+	@Override
+	public void glDeleteShader(int shader) {
+		++mCallCount;
+	}
+
+	@Override
+	public String glGetActiveAttrib(int program, int index, int[] size,
+			int sizeOffset, int[] type, int typeOffset) {
+		++mCallCount;
+		return mActiveAttributes[index];
+	}
+
+	@Override
+	public String glGetActiveUniform(int program, int index, int[] size,
+			int sizeOffset, int[] type, int typeOffset) {
+		++mCallCount;
+		return mActiveUniforms[index];
+	}
+
+	@Override
+	public int glGetAttribLocation(int program, String name) {
+		++mCallCount;
+		return indexOf(mActiveAttributes, name);
+	}
+
+	@Override
+	public String glGetProgramInfoLog(int program) {
+		++mCallCount;
+		return "";
+	}
+
+	@Override
+	public void glGetProgramiv(int program, int pname, int[] params, int offset) {
+		++mCallCount;
+		switch (pname) {
+		case GL_LINK_STATUS:
+			params[offset] = GL_TRUE;
+			break;
+		case GL_ACTIVE_ATTRIBUTES:
+			params[offset] = mActiveAttributes.length;
+			break;
+		case GL_ACTIVE_UNIFORMS:
+			params[offset] = mActiveUniforms.length;
+			break;
+		default:
+			params[offset] = 0;
+			break;
+		}
+	}
+
+	@Override
+	public String glGetShaderInfoLog(int shader) {
+		++mCallCount;
+		return "";
+	}
+
+	@Override
+	public void glGetShaderiv(int shader, int pname, int[] params, int offset) {
+		++mCallCount;
+		params[offset] = pname == GL_COMPILE_STATUS ? GL_TRUE : 0;
+	}
+
+	@Override
+	public int glGetUniformLocation(int program, String name) {
+		++mCallCount;
+		return indexOf(mActiveUniforms, name);
+	}
+
+	@Override
+	public void glLinkProgram(int program) {
+		++mCallCount;
+	}
+
+	@Override
+	public void glShaderSource(int shader, String string) {
+		++mCallCount;
+	}
+
+	@Override
+	public void glUseProgram(int program) {
+		++mCallCount;
+	}
+
+	@Override
+	public void glGetProgramBinary(int program, int bufSize, int[] length,
+			int lengthOffset, int[] binaryFormat, int binaryFormatOffset,
+			Buffer binary) {
+		throw new UnsupportedOperationException("Program binaries need "
+				+ "OpenGL ES 3.0");
+	}
+
+	@Override
+	public void glProgramBinary(int program, int binaryFormat, Buffer binary,
+			int length) {
+		throw new UnsupportedOperationException("Program binaries need "
+				+ "OpenGL ES 3.0");
+	}
+
+	@Override
+	public void glProgramParameteri(int program, int pname, int value) {
+		throw new UnsupportedOperationException("Program binaries need "
+				+ "OpenGL ES 3.0");
+	}
+
+	@Override
+	public void glBeginQuery(int target, int id) {
+		++mCallCount;
+		mActiveQuery = id;
+		mQueryEnds[id] = 0;
+	}
+
+	@Override
+	public void glDeleteQueries(int n, int[] ids, int offset) {
+		++mCallCount;
+	}
+
+	@Override
+	public void glEndQuery(int target) {
+		++mCallCount;
+		// Offset by one, so 0 means the query has not ended.
+		mQueryEnds[mActiveQuery] = mClearCount + 1;
+	}
+
+	@Override
+	public void glGenQueries(int n, int[] ids, int offset) {
+		++mCallCount;
+		generate(n, ids, offset);
+		if (mNextId > mQueryEnds.length) {
+			mQueryEnds = Arrays.copyOf(mQueryEnds, mNextId * 2);
+		}
+	}
+
+	@Override
+	public void glGetQueryObjectuiv(int id, int pname, int[] params, int offset) {
+		++mCallCount;
+		long end = mQueryEnds[id];
+		boolean available = end != 0 && mClearCount + 1 - end >= mQueryLatency;
+		if (pname == GL_QUERY_RESULT_AVAILABLE) {
+			params[offset] = available ? GL_TRUE : GL_FALSE;
+		} else if (pname == GL_QUERY_RESULT) {
+			params[offset] = (int) mQueryResult;
+		}
+	}
+
+	@Override
+	public void glUniform1f(int location, float x) {
+		++mCallCount;
+	}
+
+	@Override
+	public void glUniform1i(int location, int x) {
+		++mCallCount;
+	}
+
+	@Override
+	public void glUniform4f(int location, float x, float y, float z, float w) {
+		++mCallCount;
+	}
+
+	@Override
+	public void glUniformMatrix4fv(int location, int count, boolean transpose,
+			float[] value, int offset) {
+		++mCallCount;
+	}
+
+	@Override
+	public void glDisableVertexAttribArray(int index) {
+		++mCallCount;
+	}
+
+	@Override
+	public void glEnableVertexAttribArray(int index) {
+		++mCallCount;
+	}
+
+	@Override
+	public void glVertexAttrib1f(int index, float x) {
+		++mCallCount;
+	}
+
+	@Override
+	public void glVertexAttrib3fv(int index, float[] values, int offset) {
+		++mCallCount;
+	}
+
+	@Override
+	public void glVertexAttribPointer(int index, int size, int type,
+			boolean normalized, int stride, Buffer ptr) {
+		++mCallCount;
+	}
+
+	@Override
+	public void glVertexAttribPointer(int index, int size, int type,
+			boolean normalized, int stride, int offset) {
+		++mCallCount;
+	}
+
+	@Override
+	public void glDrawArrays(int mode, int first, int count) {
+		++mCallCount;
+		++mDrawCallCount;
+		mVertexCount += count;
+	}
+
+	@Override
+	public void glDrawElements(int mode, int count, int type, int offset) {
+		++mCallCount;
+		++mDrawCallCount;
+		mVertexCount += count;
+	}
+
+	@Override
+	public void log(String message, Throwable tr) {
+		++mLogCount;
+	}
+
+	private static int indexOf(String[] names, String name) {
+		for (int i = 0; i < names.length; ++i) {
+			if (names[i].equals(name)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private void generate(int n, int[] ids, int offset) {
+		for (int i = 0; i < n; ++i) {
+			ids[offset + i] = mNextId++;
+		}
+	}
+
+}
@@ -0,0 +1,73 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+/**
+ * GPU workload rendered by a {@link SceneRenderer}. All methods are called on
+ * the GL thread. A scene owns the GL objects it creates; they are lost with
+ * the context, or released with {@link #onRelease()} when another scene is
+ * selected.
+ */
+public interface Scene {
+
+	/**
+	 * Returns the name the scene is selected and reported with.
+	 */
+	String getName();
+
+	/**
+	 * Returns the load level the scene renders with, or -1 if it was
+	 * configured with custom parameters.
+	 */
+	int getLoadLevel();
+
+	/**
+	 * Creates the GL objects of the scene. Called whenever a new context is
+	 * created, and when the scene becomes current.
+	 * 
+	 * @param context
+	 *            Helpers for loading shader programs.
+	 * @throws Exception
+	 *             If a shader program could not be created.
+	 */
+	void onSurfaceCreated(SceneContext context) throws Exception;
+
+	/**
+	 * Called when the surface size changes, and when the scene becomes
+	 * current.
+	 * 
+	 * @param width
+	 *            Surface width in pixels.
+	 * @param height
+	 *            Surface height in pixels.
+	 */
+	void onSurfaceChanged(int width, int height);
+
+	/**
+	 * Renders one frame. The color buffer has already been cleared.
+	 * 
+	 * @param timeMillis
+	 *            Monotonic time of the frame in milliseconds.
+	 */
+	void onDrawFrame(long timeMillis);
+
+	/**
+	 * Deletes the GL objects of the scene while the context is still alive.
+	 */
+	void onRelease();
+
+}
@@ -0,0 +1,54 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+/**
+ * Services the host offers to its {@link Scene}s. On the device shader
+ * sources come from raw resources; a headless host can serve them from
+ * anywhere.
+ */
+public interface SceneContext {
+
+	/**
+	 * Loads the shader source with given name.
+	 * 
+	 * @param name
+	 *            Source name, the raw resource name on the device, for example
+	 *            "pentagon_vs".
+	 * @return source text.
+	 * @throws Exception
+	 *             If the source could not be read.
+	 */
+	String loadShaderSource(String name) throws Exception;
+
+	/**
+	 * Compiles and links given sources into shader, using the program binary
+	 * cache of the host.
+	 * 
+	 * @param shader
+	 *            Shader to set the program of.
+	 * @param vertexSource
+	 *            Vertex shader source.
+	 * @param fragmentSource
+	 *            Fragment shader source.
+	 * @throws Exception
+	 *             If compiling or linking fails.
+	 */
+	void setProgram(EffectsShader shader, String vertexSource,
+			String fragmentSource) throws Exception;
+
+}
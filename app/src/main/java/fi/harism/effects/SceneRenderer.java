@@ -0,0 +1,516 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+
+package fi.harism.effects;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.digi.android.sample.system.gpu.metrics.FrameTimeRecorder;
+import com.digi.android.sample.system.gpu.metrics.MetricsChannel;
+import com.digi.android.sample.system.gpu.metrics.MetricsSnapshot;
+
+/**
+ * Renders one of the built-in GPU workloads ({@link Scene}s) and publishes
+ * frame metrics. The renderer only talks to the GPU through {@link Gl} and
+ * only reads time from a {@link FrameClock}, so the same code runs inside
+ * {@link ViewPentagons} on the device and headless on a plain JVM, for
+ * example with {@link RecordingGl} and a {@link SimulatedClock}. Blended
+ * pentagons are rendered by default.
+ */
+public final class SceneRenderer {
+
+	/**
+	 * Receives errors that prevent a scene from rendering.
+	 */
+	public interface ErrorListener {
+
+		/**
+		 * Called from the GL thread when a scene could not be set up.
+		 * 
+		 * @param message
+		 *            Error description.
+		 */
+		void onError(String message);
+
+	}
+
+	// Names of the built-in scenes, indexed by scene id.
+	private static final String[] SCENE_NAMES = { PentagonScene.NAME,
+			FillRateScene.NAME, VertexScene.NAME, TextureScene.NAME,
+			AluScene.NAME };
+	/** Scene id of the blended pentagons. */
+	public static final int SCENE_PENTAGONS = 0;
+	/** Scene id of the fill-rate workload. */
+	public static final int SCENE_FILL = 1;
+	/** Scene id of the vertex throughput workload. */
+	public static final int SCENE_VERTEX = 2;
+	/** Scene id of the texture sampling workload. */
+	public static final int SCENE_TEXTURE = 3;
+	/** Scene id of the fragment ALU workload. */
+	public static final int SCENE_ALU = 4;
+
+	/** Default amount of pentagons. */
+	public static final int DEFAULT_PENTAGON_COUNT = 50;
+	/** Default pentagon size. */
+	public static final float DEFAULT_PENTAGON_SIZE = .2f;
+	/** Default amount of times the scene is drawn per frame. */
+	public static final int DEFAULT_OVERDRAW_LAYERS = 1;
+	/** Default seed used to lay out the scene. */
+	public static final long DEFAULT_SEED = 0x5EED;
+	/** Maximum amount of pentagons. */
+	public static final int MAX_PENTAGON_COUNT = PentagonBatch.MAX_PENTAGONS;
+	/** Maximum amount of times the scene can be drawn per frame. */
+	public static final int MAX_OVERDRAW_LAYERS = 64;
+
+	// Predefined workloads as {count, size * 100, layers}, lightest first.
+	private static final int[][] LOAD_LEVELS = {
+			{ 50, 20, 1 },
+			{ 500, 25, 2 },
+			{ 2000, 30, 4 },
+			{ 8000, 40, 8 },
+			{ MAX_PENTAGON_COUNT, 50, 16 } };
+
+	private final PentagonScene mPentagons;
+	private long mPentagonSeed = DEFAULT_SEED;
+	private final AtomicReference<Scene> mPendingScene = new AtomicReference<Scene>();
+	private volatile int mSceneId = SCENE_PENTAGONS;
+	private Scene mScene;
+	private int mCurrentSceneId = SCENE_PENTAGONS;
+	private boolean mSceneCreated;
+	private int mWidth;
+	private int mHeight;
+
+	private final Gl mGl;
+	private final FrameClock mClock;
+	private final SceneContext mSceneContext;
+	private final ErrorListener mErrorListener;
+	private boolean[] mShaderCompilerSupport = new boolean[1];
+
+	private final FrameTimeRecorder mFrameTimeRecorder = new FrameTimeRecorder();
+	private final MetricsChannel mMetricsChannel = new MetricsChannel();
+	private final MetricsSnapshot mMetricsSnapshot = new MetricsSnapshot();
+	private final FramePacer mFramePacer;
+	private final GpuTimer mGpuTimer;
+	private long mCpuNanos;
+	private int mCpuFrames;
+	private volatile int mGpuMultiplier;
+
+	/**
+	 * Creates a renderer showing the default pentagons.
+	 * 
+	 * @param gl
+	 *            GL calls of the context rendered to.
+	 * @param clock
+	 *            Time source for animation and frame metrics.
+	 * @param context
+	 *            Shader sources and program creation for the scenes.
+	 * @param errorListener
+	 *            Receives errors setting up a scene.
+	 */
+	public SceneRenderer(Gl gl, FrameClock clock, SceneContext context,
+			ErrorListener errorListener) {
+		mGl = gl;
+		mClock = clock;
+		mSceneContext = context;
+		mErrorListener = errorListener;
+		mFramePacer = new FramePacer(clock);
+		mGpuTimer = new GpuTimer(gl);
+		mPentagons = new PentagonScene(gl, PentagonState.create(
+				DEFAULT_PENTAGON_COUNT, DEFAULT_PENTAGON_SIZE,
+				DEFAULT_OVERDRAW_LAYERS, DEFAULT_SEED), 0);
+		mScene = mPentagons;
+	}
+
+	/**
+	 * Renders one frame. Called from the GL thread.
+	 */
+	public void onDrawFrame() {
+		boolean drawn = drawScene();
+		mFramePacer.onFrameDrawn();
+		if (drawn) {
+			logFps();
+		}
+	}
+
+	/**
+	 * Returns the pacer deciding on which vsyncs frames are rendered. Pacing
+	 * is disabled by default.
+	 */
+	public FramePacer getFramePacer() {
+		return mFramePacer;
+	}
+
+	/**
+	 * Returns the timer measuring GPU time per frame, enabled by default if
+	 * the context supports it.
+	 */
+	public GpuTimer getGpuTimer() {
+		return mGpuTimer;
+	}
+
+	/**
+	 * Clears the surface and draws the current scene, setting up a newly
+	 * selected one first. Returns false if there was no scene to draw.
+	 */
+	private boolean drawScene() {
+		mGl.glClearColor(1f, 1f, 1f, 1f);
+		mGl.glClear(Gl.GL_COLOR_BUFFER_BIT);
+
+		if (mShaderCompilerSupport[0] == false) {
+			return false;
+		}
+
+		Scene pending = mPendingScene.getAndSet(null);
+		if (pending != null && pending != mScene) {
+			if (mSceneCreated) {
+				mScene.onRelease();
+			}
+			mScene = pending;
+			mCurrentSceneId = findScene(pending.getName());
+			createScene();
+		}
+		if (!mSceneCreated) {
+			return false;
+		}
+
+		long start = mClock.nanoTime();
+		mGpuTimer.beginFrame();
+		mScene.onDrawFrame(start / 1000000);
+		mGpuTimer.endFrame();
+		mCpuNanos += mClock.nanoTime() - start;
+		++mCpuFrames;
+		return true;
+	}
+
+	/**
+	 * Selects the rendered scene. The new scene is set up by the GL thread at
+	 * the start of the next frame. The pentagons keep their batching and
+	 * seed settings.
+	 *
+	 * @param scene
+	 *            Scene id, between 0 and {@link #getSceneCount()} - 1.
+	 * @param level
+	 *            Load level, between 0 and {@link #getLoadLevelCount()} - 1.
+	 */
+	public void setScene(int scene, int level) {
+		if (scene < 0 || scene >= SCENE_NAMES.length) {
+			throw new IllegalArgumentException("Unknown scene " + scene);
+		}
+		if (level < 0 || level >= LOAD_LEVELS.length) {
+			throw new IllegalArgumentException("Load level must be between 0 and "
+					+ (LOAD_LEVELS.length - 1));
+		}
+		switch (scene) {
+		case SCENE_PENTAGONS:
+			setLoadLevel(level, mPentagonSeed);
+			break;
+		case SCENE_FILL:
+			selectScene(new FillRateScene(mGl, level), scene);
+			break;
+		case SCENE_VERTEX:
+			selectScene(new VertexScene(mGl, level), scene);
+			break;
+		case SCENE_TEXTURE:
+			selectScene(new TextureScene(mGl, level), scene);
+			break;
+		default:
+			selectScene(new AluScene(mGl, level), scene);
+			break;
+		}
+	}
+
+	/**
+	 * Selects between drawing every pentagon with its own draw call or
+	 * packing all of them into one vertex buffer drawn with a single call.
+	 *
+	 * @param batched
+	 *            True to draw all pentagons with a single draw call.
+	 */
+	public void setBatchedRendering(boolean batched) {
+		mPentagons.setBatchedRendering(batched);
+	}
+
+	/**
+	 * Sets the executor pentagon rotations are updated on, so the update
+	 * overlaps with issuing draw calls. Each frame then draws the rotations
+	 * computed while the previous frame was drawn.
+	 *
+	 * @param executor
+	 *            Executor running the updates, or null to update on the GL
+	 *            thread before drawing (default).
+	 */
+	public void setUpdateExecutor(Executor executor) {
+		mPentagons.setUpdateExecutor(executor);
+	}
+
+	/**
+	 * Sets the pool pentagons are transformed on. With a pool, the clip space
+	 * position of every pentagon is computed on the CPU, in parallel chunks,
+	 * and all pentagons are drawn with a single draw call whatever the
+	 * batching setting.
+	 *
+	 * @param pool
+	 *            Pool transforming pentagons, typically with one thread per
+	 *            core, or null to transform them in the vertex shader
+	 *            (default).
+	 */
+	public void setTransformPool(ForkJoinPool pool) {
+		mPentagons.setTransformPool(pool);
+	}
+
+	/**
+	 * Returns the id of the scene selected last.
+	 */
+	public int getScene() {
+		return mSceneId;
+	}
+
+	/**
+	 * Returns the amount of built-in scenes.
+	 */
+	public static int getSceneCount() {
+		return SCENE_NAMES.length;
+	}
+
+	/**
+	 * Returns the name of the scene with given id.
+	 *
+	 * @param scene
+	 *            Scene id.
+	 * @return scene name.
+	 */
+	public static String getSceneName(int scene) {
+		return SCENE_NAMES[scene];
+	}
+
+	/**
+	 * Returns the id of the scene with given name.
+	 *
+	 * @param name
+	 *            Scene name.
+	 * @return scene id or -1 if there is no such scene.
+	 */
+	public static int findScene(String name) {
+		for (int i = 0; i < SCENE_NAMES.length; ++i) {
+			if (SCENE_NAMES[i].equals(name)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Renders pentagons with given parameters. The new scene is built on the
+	 * calling thread and picked up by the GL thread at the start of the next frame,
+	 * so rendering is never paused. The layout is derived from
+	 * {@link #DEFAULT_SEED}.
+	 *
+	 * @param count
+	 *            Amount of pentagons, between 1 and
+	 *            {@link #MAX_PENTAGON_COUNT}.
+	 * @param size
+	 *            Pentagon size in view space units.
+	 * @param overdrawLayers
+	 *            Amount of times the whole scene is drawn per frame, between 1
+	 *            and {@link #MAX_OVERDRAW_LAYERS}.
+	 */
+	public void setWorkload(int count, float size, int overdrawLayers) {
+		setWorkload(count, size, overdrawLayers, DEFAULT_SEED);
+	}
+
+	/**
+	 * Replaces the rendered scene using given seed for the layout. Same
+	 * parameters always produce the same scene and camera path.
+	 *
+	 * @param count
+	 *            Amount of pentagons, between 1 and
+	 *            {@link #MAX_PENTAGON_COUNT}.
+	 * @param size
+	 *            Pentagon size in view space units.
+	 * @param overdrawLayers
+	 *            Amount of times the whole scene is drawn per frame, between 1
+	 *            and {@link #MAX_OVERDRAW_LAYERS}.
+	 * @param seed
+	 *            Seed for the pseudo random layout.
+	 */
+	public void setWorkload(int count, float size, int overdrawLayers, long seed) {
+		if (count < 1 || count > MAX_PENTAGON_COUNT) {
+			throw new IllegalArgumentException("Pentagon count must be between 1 and "
+					+ MAX_PENTAGON_COUNT);
+		}
+		if (!(size > 0)) {
+			throw new IllegalArgumentException("Pentagon size must be positive");
+		}
+		if (overdrawLayers < 1 || overdrawLayers > MAX_OVERDRAW_LAYERS) {
+			throw new IllegalArgumentException("Overdraw layers must be between 1 and "
+					+ MAX_OVERDRAW_LAYERS);
+		}
+		setPentagons(PentagonState.create(count, size, overdrawLayers, seed), -1);
+	}
+
+	/**
+	 * Replaces the rendered scene with one of the predefined workloads.
+	 *
+	 * @param level
+	 *            Load level, between 0 (default scene) and
+	 *            {@link #getLoadLevelCount()} - 1.
+	 */
+	public void setLoadLevel(int level) {
+		setLoadLevel(level, DEFAULT_SEED);
+	}
+
+	/**
+	 * Replaces the rendered scene with one of the predefined workloads, using
+	 * given seed for the layout.
+	 *
+	 * @param level
+	 *            Load level, between 0 (default scene) and
+	 *            {@link #getLoadLevelCount()} - 1.
+	 * @param seed
+	 *            Seed for the pseudo random layout.
+	 */
+	public void setLoadLevel(int level, long seed) {
+		if (level < 0 || level >= LOAD_LEVELS.length) {
+			throw new IllegalArgumentException("Load level must be between 0 and "
+					+ (LOAD_LEVELS.length - 1));
+		}
+		int[] workload = LOAD_LEVELS[level];
+		setPentagons(PentagonState.create(workload[0], workload[1] / 100f,
+				workload[2], seed), level);
+	}
+
+	/**
+	 * Returns the amount of predefined load levels, which is the same for all
+	 * scenes.
+	 */
+	public static int getLoadLevelCount() {
+		return LOAD_LEVELS.length;
+	}
+
+	/**
+	 * Makes given pentagons the rendered scene.
+	 */
+	private void setPentagons(PentagonState state, int level) {
+		mPentagonSeed = state.mSeed;
+		mPentagons.setPendingState(state, level);
+		selectScene(mPentagons, SCENE_PENTAGONS);
+	}
+
+	/**
+	 * Hands given scene to the GL thread.
+	 */
+	private void selectScene(Scene scene, int id) {
+		mSceneId = id;
+		mPendingScene.set(scene);
+	}
+
+	/**
+	 * Creates the GL objects of the current scene. Called from the GL thread.
+	 */
+	private void createScene() {
+		// Frames spent setting up the scene are not part of its workload.
+		mFrameTimeRecorder.reset();
+		mCpuNanos = mCpuFrames = 0;
+		mGpuTimer.takeAverageNanos();
+		try {
+			mScene.onSurfaceCreated(mSceneContext);
+			mScene.onSurfaceChanged(mWidth, mHeight);
+			mSceneCreated = true;
+		} catch (Exception ex) {
+			mSceneCreated = false;
+			mErrorListener.onError(ex.getMessage());
+		}
+	}
+
+	/**
+	 * Returns the channel frame metrics are published to once per second.
+	 */
+	public MetricsChannel getMetricsChannel() {
+		return mMetricsChannel;
+	}
+
+	/**
+	 * Sets the GPU multiplier published together with frame metrics.
+	 *
+	 * @param multiplier
+	 *            Current GPU multiplier, or 0 if unknown.
+	 */
+	public void setGpuMultiplier(int multiplier) {
+		mGpuMultiplier = multiplier;
+	}
+
+	private void logFps() {
+		long now = mClock.nanoTime();
+		FrameTimeRecorder recorder = mFrameTimeRecorder;
+		if (recorder.onFrame(now)) {
+			mMetricsSnapshot.setFrameStats(now, recorder.getFps(),
+					recorder.getP50(), recorder.getP90(), recorder.getP99(),
+					recorder.getMax(), recorder.getJankFrames());
+			mMetricsSnapshot.setMultiplier(mGpuMultiplier);
+			mMetricsSnapshot.setScene(mCurrentSceneId, mScene.getLoadLevel());
+			mMetricsSnapshot.setPacing(mFramePacer.getTargetFps(),
+					mFramePacer.takeMissedDeadlines());
+			mMetricsSnapshot.setFrameCost(mCpuNanos / mCpuFrames,
+					mGpuTimer.takeAverageNanos());
+			mCpuNanos = mCpuFrames = 0;
+			mMetricsChannel.publish(mMetricsSnapshot);
+		}
+	}
+
+	/**
+	 * Called from the GL thread when the surface size changes.
+	 * 
+	 * @param width
+	 *            Surface width in pixels.
+	 * @param height
+	 *            Surface height in pixels.
+	 */
+	public void onSurfaceChanged(int width, int height) {
+		mWidth = width;
+		mHeight = height;
+		if (mSceneCreated) {
+			mScene.onSurfaceChanged(width, height);
+		}
+	}
+
+	/**
+	 * Called from the GL thread when a new context is created, which loses
+	 * all GL objects of the previous one.
+	 * 
+	 * @return false if the context has no shader compiler, in which case
+	 *         nothing is rendered.
+	 */
+	public boolean onSurfaceCreated() {
+		// Time spent without a surface is not a frame.
+		mFrameTimeRecorder.reset();
+		mSceneCreated = false;
+
+		// Check if shader compiler is supported.
+		mGl.glGetBooleanv(Gl.GL_SHADER_COMPILER, mShaderCompilerSupport, 0);
+		if (!mShaderCompilerSupport[0]) {
+			return false;
+		}
+
+		// GL objects are lost together with the context.
+		mGpuTimer.onSurfaceCreated();
+		createScene();
+		return true;
+	}
+
+}
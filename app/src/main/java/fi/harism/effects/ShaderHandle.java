@@ -0,0 +1,72 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+/**
+ * Attribute or uniform of an {@link EffectsShader}. Handles are created once
+ * and keep their location up to date whenever the program is relinked, so
+ * reading the location is a plain field access. A handle whose name is not
+ * active in the program has location -1.
+ */
+public final class ShaderHandle {
+
+	private final int mIndex;
+	private final String mName;
+	private final boolean mUniform;
+	int mLocation = -1;
+
+	ShaderHandle(int index, String name, boolean uniform) {
+		mIndex = index;
+		mName = name;
+		mUniform = uniform;
+	}
+
+	/**
+	 * Returns the index of this handle within its shader, usable with
+	 * {@link EffectsShader#getLocation(int)}.
+	 */
+	public int getIndex() {
+		return mIndex;
+	}
+
+	/**
+	 * Returns the location of this handle in the current program, or -1 if
+	 * it is not active.
+	 */
+	public int getLocation() {
+		return mLocation;
+	}
+
+	public String getName() {
+		return mName;
+	}
+
+	/**
+	 * Returns true for uniforms, false for attributes.
+	 */
+	public boolean isUniform() {
+		return mUniform;
+	}
+
+	/**
+	 * Returns true if the handle is active in the current program.
+	 */
+	public boolean isActive() {
+		return mLocation != -1;
+	}
+
+}
@@ -0,0 +1,45 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+/**
+ * {@link FrameClock} that only moves when told to. Time starts at zero; the
+ * clock is advanced from one thread and can be read from any.
+ */
+public final class SimulatedClock implements FrameClock {
+
+	private volatile long mNanoTime;
+
+	@Override
+	public long nanoTime() {
+		return mNanoTime;
+	}
+
+	/**
+	 * Moves the clock forward.
+	 * 
+	 * @param nanos
+	 *            Amount of nanoseconds to advance, not negative.
+	 */
+	public void advance(long nanos) {
+		if (nanos < 0) {
+			throw new IllegalArgumentException("Time cannot go backwards");
+		}
+		mNanoTime += nanos;
+	}
+
+}
@@ -0,0 +1,120 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Memoizes decoded sources by resource id, so recreating a GL surface does
+ * not read and decode the same shader sources again. Memory is bounded by the
+ * total amount of characters kept; least recently used sources are dropped
+ * first. Thread safe.
+ */
+public final class SourceCache {
+
+	/**
+	 * Loads a source missing from the cache.
+	 */
+	public interface Loader {
+
+		/**
+		 * Loads the source with given id.
+		 * 
+		 * @param id
+		 *            Resource id.
+		 * @return decoded source.
+		 * @throws IOException
+		 *             If the source could not be read.
+		 */
+		String load(int id) throws IOException;
+
+	}
+
+	private final int mMaxChars;
+	private final LinkedHashMap<Integer, String> mSources = new LinkedHashMap<Integer, String>(
+			16, .75f, true);
+	private int mChars;
+
+	/**
+	 * Creates a cache holding up to given amount of characters.
+	 * 
+	 * @param maxChars
+	 *            Maximum total length of cached sources.
+	 */
+	public SourceCache(int maxChars) {
+		mMaxChars = maxChars;
+	}
+
+	/**
+	 * Returns the source with given id, loading it if not cached. Sources
+	 * longer than the cache are returned without being kept.
+	 * 
+	 * @param id
+	 *            Resource id.
+	 * @param loader
+	 *            Loader used on a miss.
+	 * @return decoded source.
+	 * @throws IOException
+	 *             If the source had to be loaded and could not be read.
+	 */
+	public String get(int id, Loader loader) throws IOException {
+		synchronized (this) {
+			String source = mSources.get(id);
+			if (source != null) {
+				return source;
+			}
+		}
+		// Loaded outside the lock; a concurrent miss only costs a read.
+		String source = loader.load(id);
+		synchronized (this) {
+			if (source.length() <= mMaxChars
+					&& mSources.put(id, source) == null) {
+				mChars += source.length();
+				trim();
+			}
+		}
+		return source;
+	}
+
+	/**
+	 * Drops all cached sources.
+	 */
+	public synchronized void clear() {
+		mSources.clear();
+		mChars = 0;
+	}
+
+	/**
+	 * Returns the total length of cached sources.
+	 */
+	public synchronized int getChars() {
+		return mChars;
+	}
+
+	private void trim() {
+		Iterator<Map.Entry<Integer, String>> it = mSources.entrySet()
+				.iterator();
+		while (mChars > mMaxChars && it.hasNext()) {
+			mChars -= it.next().getValue().length();
+			it.remove();
+		}
+	}
+
+}
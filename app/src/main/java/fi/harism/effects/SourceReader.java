@@ -0,0 +1,103 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reads UTF-8 text such as shader sources in one pass, without intermediate
+ * copies. File regions are read with a single presized positional read, or
+ * memory mapped when large.
+ */
+public final class SourceReader {
+
+	// Regions from this size on are mapped instead of read.
+	static final long MAP_THRESHOLD = 64 * 1024;
+	// Buffer size used for streams of unknown length.
+	private static final int DEFAULT_BUFFER_SIZE = 4096;
+
+	private SourceReader() {
+	}
+
+	/**
+	 * Reads a region of a file channel as UTF-8 text. The position of the
+	 * channel is not changed.
+	 * 
+	 * @param channel
+	 *            Channel to read from.
+	 * @param offset
+	 *            Start of the region in bytes.
+	 * @param length
+	 *            Length of the region in bytes.
+	 * @return decoded text.
+	 * @throws IOException
+	 *             If reading fails or the region ends early.
+	 */
+	public static String read(FileChannel channel, long offset, long length)
+			throws IOException {
+		if (length > Integer.MAX_VALUE) {
+			throw new IOException("Region too large: " + length);
+		}
+		if (length >= MAP_THRESHOLD) {
+			MappedByteBuffer mapped = channel.map(
+					FileChannel.MapMode.READ_ONLY, offset, length);
+			return StandardCharsets.UTF_8.decode(mapped).toString();
+		}
+		byte[] bytes = new byte[(int) length];
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, offset + buffer.position()) < 0) {
+				throw new IOException("Unexpected end of region");
+			}
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Reads a stream to its end as UTF-8 text. The stream is not closed.
+	 * 
+	 * @param in
+	 *            Stream to read from.
+	 * @param lengthHint
+	 *            Expected length in bytes, or a negative value if unknown.
+	 * @return decoded text.
+	 * @throws IOException
+	 *             If reading fails.
+	 */
+	public static String read(InputStream in, int lengthHint)
+			throws IOException {
+		// One extra byte detects the end without growing the buffer.
+		byte[] bytes = new byte[lengthHint >= 0 ? lengthHint + 1
+				: DEFAULT_BUFFER_SIZE];
+		int length = 0;
+		int read;
+		while ((read = in.read(bytes, length, bytes.length - length)) != -1) {
+			length += read;
+			if (length == bytes.length) {
+				bytes = Arrays.copyOf(bytes, bytes.length * 2);
+			}
+		}
+		return new String(bytes, 0, length, StandardCharsets.UTF_8);
+	}
+
+}
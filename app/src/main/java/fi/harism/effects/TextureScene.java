@@ -0,0 +1,104 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Texture sampling workload: a full screen quad taking several samples per
+ * fragment from a large texture, with taps spread far apart so most of them
+ * miss the texture cache and hit memory bandwidth.
+ */
+final class TextureScene extends FullScreenScene {
+
+	static final String NAME = "texture";
+
+	// Texture samples per fragment, by load level.
+	static final int[] TAPS = { 1, 2, 4, 8, 16 };
+
+	private static final int TEXTURE_SIZE = 1024;
+
+	private final int[] mTextureIds = new int[1];
+	private final ShaderHandle mSTexture = mShader.getUniform("sTexture");
+
+	TextureScene(Gl gl, int loadLevel) {
+		super(gl, NAME, loadLevel);
+	}
+
+	@Override
+	String getFragmentShaderName() {
+		return "texture_fs";
+	}
+
+	@Override
+	String getDefines() {
+		return "#define TAPS " + TAPS[getLoadLevel()] + "\n";
+	}
+
+	@Override
+	public void onSurfaceCreated(SceneContext context) throws Exception {
+		super.onSurfaceCreated(context);
+
+		// Noise compresses poorly and defeats any texture compression.
+		ByteBuffer pixels = ByteBuffer
+				.allocateDirect(TEXTURE_SIZE * TEXTURE_SIZE * 4)
+				.order(ByteOrder.nativeOrder());
+		int hash = 0x9E3779B9;
+		while (pixels.hasRemaining()) {
+			hash ^= hash << 13;
+			hash ^= hash >>> 17;
+			hash ^= hash << 5;
+			pixels.putInt(hash | 0xFF000000);
+		}
+		pixels.position(0);
+
+		mGl.glGenTextures(1, mTextureIds, 0);
+		mGl.glBindTexture(Gl.GL_TEXTURE_2D, mTextureIds[0]);
+		mGl.glTexParameteri(Gl.GL_TEXTURE_2D,
+				Gl.GL_TEXTURE_MIN_FILTER, Gl.GL_LINEAR);
+		mGl.glTexParameteri(Gl.GL_TEXTURE_2D,
+				Gl.GL_TEXTURE_MAG_FILTER, Gl.GL_LINEAR);
+		mGl.glTexParameteri(Gl.GL_TEXTURE_2D,
+				Gl.GL_TEXTURE_WRAP_S, Gl.GL_REPEAT);
+		mGl.glTexParameteri(Gl.GL_TEXTURE_2D,
+				Gl.GL_TEXTURE_WRAP_T, Gl.GL_REPEAT);
+		mGl.glTexImage2D(Gl.GL_TEXTURE_2D, 0, Gl.GL_RGBA,
+				TEXTURE_SIZE, TEXTURE_SIZE, 0, Gl.GL_RGBA,
+				Gl.GL_UNSIGNED_BYTE, pixels);
+		mGl.glBindTexture(Gl.GL_TEXTURE_2D, 0);
+	}
+
+	@Override
+	void onDrawSetup() {
+		mGl.glActiveTexture(Gl.GL_TEXTURE0);
+		mGl.glBindTexture(Gl.GL_TEXTURE_2D, mTextureIds[0]);
+		mGl.glUniform1i(mSTexture.getLocation(), 0);
+	}
+
+	@Override
+	void onDrawFinish() {
+		mGl.glBindTexture(Gl.GL_TEXTURE_2D, 0);
+	}
+
+	@Override
+	public void onRelease() {
+		super.onRelease();
+		mGl.glDeleteTextures(1, mTextureIds, 0);
+	}
+
+}
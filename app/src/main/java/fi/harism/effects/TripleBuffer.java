@@ -0,0 +1,100 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free triple buffer handing frames of state from one producer thread
+ * to one consumer thread. The producer fills the back slot and publishes
+ * it; the consumer takes the latest published slot as its front. Neither
+ * side ever waits for the other: the producer always has a free slot to
+ * write, and the consumer keeps its front slot, untouched by the producer,
+ * until it takes a newer one. Frames published while the consumer did not
+ * look are dropped, only the latest one is kept.
+ * 
+ * Both sides exchange slots through one atomic index, so everything the
+ * producer wrote before publishing is visible to the consumer taking the
+ * slot.
+ */
+final class TripleBuffer<T> {
+
+	// Set in the shared index when the middle slot holds a frame the
+	// consumer has not taken yet.
+	private static final int FRESH = 4;
+	private static final int INDEX_MASK = 3;
+
+	private final Object[] mSlots;
+	private final AtomicInteger mMiddle = new AtomicInteger(1);
+	// Owned by the producer.
+	private int mBack = 2;
+	// Owned by the consumer.
+	private int mFront = 0;
+
+	/**
+	 * Creates a triple buffer over given slots.
+	 * 
+	 * @param front
+	 *            Slot the consumer starts with.
+	 * @param middle
+	 *            Second slot.
+	 * @param back
+	 *            Slot the producer fills first.
+	 */
+	TripleBuffer(T front, T middle, T back) {
+		mSlots = new Object[] { front, middle, back };
+	}
+
+	/**
+	 * Returns the slot to fill with the next frame. Producer only.
+	 */
+	@SuppressWarnings("unchecked")
+	T getBack() {
+		return (T) mSlots[mBack];
+	}
+
+	/**
+	 * Publishes the back slot and takes another one to fill. Producer only.
+	 */
+	void publish() {
+		mBack = mMiddle.getAndSet(mBack | FRESH) & INDEX_MASK;
+	}
+
+	/**
+	 * Takes the latest published frame as the front slot, if there is a new
+	 * one. Consumer only.
+	 * 
+	 * @return true if the front slot changed.
+	 */
+	boolean acquire() {
+		if ((mMiddle.get() & FRESH) == 0) {
+			return false;
+		}
+		mFront = mMiddle.getAndSet(mFront) & INDEX_MASK;
+		return true;
+	}
+
+	/**
+	 * Returns the slot taken last by {@link #acquire()}, or the first slot
+	 * before anything was published. Consumer only.
+	 */
+	@SuppressWarnings("unchecked")
+	T getFront() {
+		return (T) mSlots[mFront];
+	}
+
+}
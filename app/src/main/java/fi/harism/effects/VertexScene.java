@@ -0,0 +1,143 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
+
+/**
+ * Vertex throughput workload: a dense grid of tiny triangles kept in static
+ * buffers and displaced by a vertex shader doing some per-vertex math. The
+ * triangles are too small to cost much fill rate.
+ */
+final class VertexScene implements Scene {
+
+	static final String NAME = "vertex";
+
+	// Grid size in vertices per side and draws per frame, by load level.
+	static final int[][] LEVELS = {
+			{ 64, 1 },
+			{ 128, 1 },
+			{ 256, 1 },
+			{ 256, 4 },
+			{ 256, 16 } };
+
+	private final Gl mGl;
+	private final int mLoadLevel;
+	private final int mGridSize;
+	private final int mDraws;
+	private final int[] mBufferIds = new int[2];
+	private final EffectsShader mShader;
+	private final ShaderHandle mAPosition;
+	private final ShaderHandle mUTime;
+
+	VertexScene(Gl gl, int loadLevel) {
+		mGl = gl;
+		mShader = new EffectsShader(gl);
+		mAPosition = mShader.getAttribute("aPosition");
+		mUTime = mShader.getUniform("uTime");
+		mLoadLevel = loadLevel;
+		mGridSize = LEVELS[loadLevel][0];
+		mDraws = LEVELS[loadLevel][1];
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	public int getLoadLevel() {
+		return mLoadLevel;
+	}
+
+	@Override
+	public void onSurfaceCreated(SceneContext context) throws Exception {
+		context.setProgram(mShader, context.loadShaderSource("vertex_vs"),
+				context.loadShaderSource("vertex_fs"));
+
+		int n = mGridSize;
+		FloatBuffer vertices = ByteBuffer.allocateDirect(n * n * 2 * 4)
+				.order(ByteOrder.nativeOrder()).asFloatBuffer();
+		for (int y = 0; y < n; ++y) {
+			for (int x = 0; x < n; ++x) {
+				vertices.put(x * 2f / (n - 1) - 1f).put(y * 2f / (n - 1) - 1f);
+			}
+		}
+		vertices.position(0);
+		ShortBuffer indices = ByteBuffer
+				.allocateDirect(getIndexCount() * 2)
+				.order(ByteOrder.nativeOrder()).asShortBuffer();
+		for (int y = 0; y < n - 1; ++y) {
+			for (int x = 0; x < n - 1; ++x) {
+				short i = (short) (y * n + x);
+				indices.put(i).put((short) (i + n)).put((short) (i + 1));
+				indices.put((short) (i + 1)).put((short) (i + n))
+						.put((short) (i + n + 1));
+			}
+		}
+		indices.position(0);
+
+		mGl.glGenBuffers(2, mBufferIds, 0);
+		mGl.glBindBuffer(Gl.GL_ARRAY_BUFFER, mBufferIds[0]);
+		mGl.glBufferData(Gl.GL_ARRAY_BUFFER, vertices.capacity() * 4,
+				vertices, Gl.GL_STATIC_DRAW);
+		mGl.glBindBuffer(Gl.GL_ELEMENT_ARRAY_BUFFER, mBufferIds[1]);
+		mGl.glBufferData(Gl.GL_ELEMENT_ARRAY_BUFFER, indices.capacity() * 2,
+				indices, Gl.GL_STATIC_DRAW);
+		mGl.glBindBuffer(Gl.GL_ELEMENT_ARRAY_BUFFER, 0);
+		mGl.glBindBuffer(Gl.GL_ARRAY_BUFFER, 0);
+	}
+
+	@Override
+	public void onSurfaceChanged(int width, int height) {
+	}
+
+	@Override
+	public void onDrawFrame(long timeMillis) {
+		mShader.useProgram();
+		mGl.glUniform1f(mUTime.getLocation(),
+				(timeMillis % 1000000) / 1000f);
+
+		int aPosition = mAPosition.getLocation();
+		mGl.glBindBuffer(Gl.GL_ARRAY_BUFFER, mBufferIds[0]);
+		mGl.glVertexAttribPointer(aPosition, 2, Gl.GL_FLOAT, false, 0,
+				0);
+		mGl.glEnableVertexAttribArray(aPosition);
+		mGl.glBindBuffer(Gl.GL_ELEMENT_ARRAY_BUFFER, mBufferIds[1]);
+		for (int i = 0; i < mDraws; ++i) {
+			mGl.glDrawElements(Gl.GL_TRIANGLES, getIndexCount(),
+					Gl.GL_UNSIGNED_SHORT, 0);
+		}
+		mGl.glDisableVertexAttribArray(aPosition);
+		mGl.glBindBuffer(Gl.GL_ELEMENT_ARRAY_BUFFER, 0);
+		mGl.glBindBuffer(Gl.GL_ARRAY_BUFFER, 0);
+	}
+
+	@Override
+	public void onRelease() {
+		mShader.deleteProgram();
+		mGl.glDeleteBuffers(2, mBufferIds, 0);
+	}
+
+	private int getIndexCount() {
+		return (mGridSize - 1) * (mGridSize - 1) * 6;
+	}
+
+}
@@ -16,31 +16,76 @@
 
 package fi.harism.effects;
 
-import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 
 import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.content.res.Resources;
 import android.opengl.GLSurfaceView;
 import android.widget.Toast;
 
 abstract class ViewBase extends GLSurfaceView implements GLSurfaceView.Renderer {
 
+	// Decoded raw sources shared by all views, bounded in characters.
+	private static final SourceCache sSourceCache = new SourceCache(
+			256 * 1024);
+
+	private final SourceCache.Loader mRawLoader = new SourceCache.Loader() {
+		@Override
+		public String load(int rawId) throws IOException {
+			return readRawString(getContext().getResources(), rawId);
+		}
+	};
+
 	public ViewBase(Context context) {
 		super(context);
 	}
 
 	/**
-	 * Loads String from raw resources with given id.
+	 * Loads UTF-8 String from raw resources with given id. Decoded strings
+	 * are memoized, so reloading after surface recreation is free.
 	 */
 	protected String loadRawString(int rawId) throws Exception {
-		InputStream is = getContext().getResources().openRawResource(rawId);
-		ByteArrayOutputStream baos = new ByteArrayOutputStream();
-		byte[] buf = new byte[1024];
-		int len;
-		while ((len = is.read(buf)) != -1) {
-			baos.write(buf, 0, len);
+		return sSourceCache.get(rawId, mRawLoader);
+	}
+
+	/**
+	 * Loads UTF-8 String from raw resources with given name, for example
+	 * "pentagon_vs".
+	 */
+	protected String loadRawString(String name) throws Exception {
+		Context context = getContext();
+		int rawId = context.getResources().getIdentifier(name, "raw",
+				context.getPackageName());
+		if (rawId == 0) {
+			throw new Exception("Raw resource not found: " + name);
+		}
+		return loadRawString(rawId);
+	}
+
+	/**
+	 * Reads raw resource with given id. Uncompressed resources are read
+	 * directly from the APK file region, compressed ones from a stream.
+	 */
+	private static String readRawString(Resources res, int rawId)
+			throws IOException {
+		AssetFileDescriptor afd = null;
+		try {
+			afd = res.openRawResourceFd(rawId);
+		} catch (Resources.NotFoundException ex) {
+			// Compressed resources have no file descriptor.
+		}
+		if (afd != null) {
+			try (FileInputStream in = afd.createInputStream()) {
+				return SourceReader.read(in.getChannel(),
+						afd.getStartOffset(), afd.getLength());
+			}
+		}
+		try (InputStream in = res.openRawResource(rawId)) {
+			return SourceReader.read(in, in.available());
 		}
-		return baos.toString();
 	}
 
 	/**
@@ -17,46 +17,116 @@
 
 package fi.harism.effects;
 
-import java.nio.ByteBuffer;
+import java.io.File;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.microedition.khronos.egl.EGLConfig;
 import javax.microedition.khronos.opengles.GL10;
 
 import android.content.Context;
-import android.content.Intent;
-import android.opengl.GLES20;
-import android.opengl.Matrix;
-import android.os.SystemClock;
+import android.view.Choreographer;
+import android.view.SurfaceHolder;
 
-import com.digi.android.sample.system.gpu.GPUSampleApp;
 import com.digi.android.sample.system.gpu.R;
-
+import com.digi.android.sample.system.gpu.events.EventBus;
+import com.digi.android.sample.system.gpu.metrics.MetricsChannel;
+
+/**
+ * OpenGL view rendering one of the built-in GPU workloads ({@link Scene}s)
+ * and publishing frame metrics. Rendering is done by a {@link SceneRenderer}
+ * using {@link Gles20Gl} and the system clock; this view adds the surface,
+ * raw resources and the program binary cache. Blended pentagons are rendered
+ * by default, continuously; with a target frame rate, frames are requested
+ * from {@link Choreographer} vsync callbacks instead, as the
+ * {@link FramePacer} selects. Surface, pause and shader compile events can
+ * be posted to an {@link EventBus}.
+ */
 public class ViewPentagons extends ViewBase {
 
-	private ByteBuffer mBufferVertices;
-	private long mLastAnimTime;
-	private float[] mLookAtSource = new float[3];
-	private float[] mLookAtTarget = new float[3];
-	private float[] mMatrixModel = new float[16];
-	private float[] mMatrixProjection = new float[16];
-	private float[] mMatrixView = new float[16];
-	private Pentagon[] mPentagonArray = new Pentagon[50];
-	private boolean[] mShaderCompilerSupport = new boolean[1];
-	private EffectsShader mShaderPentagon = new EffectsShader();
+	/** Scene id of the blended pentagons. */
+	public static final int SCENE_PENTAGONS = SceneRenderer.SCENE_PENTAGONS;
+	/** Scene id of the fill-rate workload. */
+	public static final int SCENE_FILL = SceneRenderer.SCENE_FILL;
+	/** Scene id of the vertex throughput workload. */
+	public static final int SCENE_VERTEX = SceneRenderer.SCENE_VERTEX;
+	/** Scene id of the texture sampling workload. */
+	public static final int SCENE_TEXTURE = SceneRenderer.SCENE_TEXTURE;
+	/** Scene id of the fragment ALU workload. */
+	public static final int SCENE_ALU = SceneRenderer.SCENE_ALU;
+
+	/** Default amount of pentagons. */
+	public static final int DEFAULT_PENTAGON_COUNT = SceneRenderer.DEFAULT_PENTAGON_COUNT;
+	/** Default pentagon size. */
+	public static final float DEFAULT_PENTAGON_SIZE = SceneRenderer.DEFAULT_PENTAGON_SIZE;
+	/** Default amount of times the scene is drawn per frame. */
+	public static final int DEFAULT_OVERDRAW_LAYERS = SceneRenderer.DEFAULT_OVERDRAW_LAYERS;
+	/** Default seed used to lay out the scene. */
+	public static final long DEFAULT_SEED = SceneRenderer.DEFAULT_SEED;
+	/** Maximum amount of pentagons. */
+	public static final int MAX_PENTAGON_COUNT = SceneRenderer.MAX_PENTAGON_COUNT;
+	/** Maximum amount of times the scene can be drawn per frame. */
+	public static final int MAX_OVERDRAW_LAYERS = SceneRenderer.MAX_OVERDRAW_LAYERS;
+
+	// Program binaries kept in the application cache directory.
+	private static final String PROGRAM_CACHE_DIR = "programs";
+	private static final long PROGRAM_CACHE_BYTES = 1024 * 1024;
+
+	private final ProgramBinaryCache mProgramCache;
+	private final SceneRenderer mRenderer;
+
+	private boolean mPacing;
+	private volatile EventBus mEventBus;
+
+	private final Choreographer.FrameCallback mFrameCallback = new Choreographer.FrameCallback() {
+		@Override
+		public void doFrame(long frameTimeNanos) {
+			if (!mPacing) {
+				return;
+			}
+			// Vsync times share the System.nanoTime() time base the renderer
+			// measures frames with.
+			if (mRenderer.getFramePacer().onVsync(frameTimeNanos)) {
+				requestRender();
+			}
+			Choreographer.getInstance().postFrameCallback(this);
+		}
+	};
 
-	private long startTime = System.nanoTime();
-	private int frames = 0;
+	private final SceneContext mSceneContext = new SceneContext() {
+		@Override
+		public String loadShaderSource(String name) throws Exception {
+			return loadRawString(name);
+		}
 
-	public ViewPentagons(Context context) {
-		super(context);
+		@Override
+		public void setProgram(EffectsShader shader, String vertexSource,
+				String fragmentSource) throws Exception {
+			long start = System.nanoTime();
+			shader.setProgram(vertexSource, fragmentSource, mProgramCache);
+			EventBus eventBus = mEventBus;
+			if (eventBus != null) {
+				long now = System.nanoTime();
+				eventBus.post(now, EventBus.SHADER_COMPILED,
+						(int) Math.min(Integer.MAX_VALUE, (now - start) / 1000));
+			}
+		}
+	};
 
-		for (int i = 0; i < mPentagonArray.length; ++i) {
-			mPentagonArray[i] = new Pentagon();
+	private final SceneRenderer.ErrorListener mErrorListener = new SceneRenderer.ErrorListener() {
+		@Override
+		public void onError(String message) {
+			showError(message);
 		}
+	};
 
-		final byte[] VERTICES = { -1, 1, -1, -1, 1, 1, 1, -1 };
-		mBufferVertices = ByteBuffer.allocateDirect(2 * 4);
-		mBufferVertices.put(VERTICES).position(0);
+	public ViewPentagons(Context context) {
+		super(context);
+
+		mProgramCache = new ProgramBinaryCache(new File(context.getCacheDir(),
+				PROGRAM_CACHE_DIR), PROGRAM_CACHE_BYTES);
+		mRenderer = new SceneRenderer(Gles20Gl.INSTANCE, FrameClock.SYSTEM,
+				mSceneContext, mErrorListener);
 
 		setEGLContextClientVersion(2);
 		setRenderer(this);
@@ -65,119 +135,284 @@ public class ViewPentagons extends ViewBase {
 
 	@Override
 	public void onDrawFrame(GL10 unused) {
-		GLES20.glClearColor(1f, 1f, 1f, 1f);
-		GLES20.glClear(GLES20.GL_COLOR_BUFFER_BIT);
-
-		if (mShaderCompilerSupport[0] == false) {
-			return;
-		}
+		mRenderer.onDrawFrame();
+	}
 
-		GLES20.glEnable(GLES20.GL_BLEND);
-		GLES20.glBlendFunc(GLES20.GL_SRC_ALPHA, GLES20.GL_ONE_MINUS_SRC_ALPHA);
+	@Override
+	public void onPause() {
+		Choreographer.getInstance().removeFrameCallback(mFrameCallback);
+		super.onPause();
+		postEvent(EventBus.PAUSED);
+	}
 
-		long time = SystemClock.uptimeMillis();
-		if (time - mLastAnimTime > 5000) {
-			for (int i = 0; i < 3; ++i) {
-				mLookAtSource[i] = mLookAtTarget[i];
-				mLookAtTarget[i] = (float) (Math.random() * 2 - 1);
-			}
-			mLastAnimTime = time;
+	@Override
+	public void onResume() {
+		postEvent(EventBus.RESUMED);
+		super.onResume();
+		if (mPacing) {
+			// Start over, so the time spent paused is not counted as missed
+			// deadlines.
+			mRenderer.getFramePacer().setTargetFps(getTargetFps());
+			Choreographer.getInstance().postFrameCallback(mFrameCallback);
 		}
+	}
 
-		float t = (time - mLastAnimTime) / 5000f;
-		t = t * t * (3 - 2 * t);
-		float eyeX = mLookAtSource[0] + (mLookAtTarget[0] - mLookAtSource[0])
-				* t;
-		float eyeY = mLookAtSource[1] + (mLookAtTarget[1] - mLookAtSource[1])
-				* t;
-		float eyeZ = mLookAtSource[2] + (mLookAtTarget[2] - mLookAtSource[2])
-				* t;
-
-		Matrix.setLookAtM(mMatrixView, 0, eyeX, eyeY, eyeZ, 0, 0, 0, 0, 1, 0);
-
-		mShaderPentagon.useProgram();
-
-		GLES20.glUniformMatrix4fv(mShaderPentagon.getHandle("uProjectionM"), 1,
-				false, mMatrixProjection, 0);
-		GLES20.glUniformMatrix4fv(mShaderPentagon.getHandle("uViewM"), 1,
-				false, mMatrixView, 0);
-		GLES20.glUniform1f(mShaderPentagon.getHandle("uSize"), .2f);
-
-		GLES20.glVertexAttribPointer(mShaderPentagon.getHandle("aPosition"), 2,
-				GLES20.GL_BYTE, false, 0, mBufferVertices);
-		GLES20.glEnableVertexAttribArray(mShaderPentagon.getHandle("aPosition"));
-
-		for (Pentagon pentagon : mPentagonArray) {
-			pentagon.mRotation += pentagon.mRotationSpeed;
-			Matrix.setRotateM(mMatrixModel, 0, pentagon.mRotation, 0, 0, 1);
-			GLES20.glUniformMatrix4fv(mShaderPentagon.getHandle("uModelM"), 1,
-					false, mMatrixModel, 0);
-			GLES20.glUniform3fv(mShaderPentagon.getHandle("uPosition"), 1,
-					pentagon.mPosition, 0);
-			GLES20.glUniform3fv(mShaderPentagon.getHandle("uColor"), 1,
-					pentagon.mColor, 0);
-			GLES20.glDrawArrays(GLES20.GL_TRIANGLE_STRIP, 0, 4);
+	/**
+	 * Renders frames at given rate instead of as fast as possible. Frames are
+	 * rendered on the display refresh closest to their deadline; deadlines
+	 * that could not be met are counted in the published frame metrics. Must
+	 * be called from the UI thread.
+	 *
+	 * @param fps
+	 *            Target frames per second, or 0 to render continuously.
+	 */
+	public void setTargetFps(int fps) {
+		mRenderer.getFramePacer().setTargetFps(fps);
+		Choreographer choreographer = Choreographer.getInstance();
+		choreographer.removeFrameCallback(mFrameCallback);
+		mPacing = fps > 0;
+		if (mPacing) {
+			setRenderMode(RENDERMODE_WHEN_DIRTY);
+			choreographer.postFrameCallback(mFrameCallback);
+		} else {
+			setRenderMode(RENDERMODE_CONTINUOUSLY);
 		}
+	}
 
-		GLES20.glDisable(GLES20.GL_BLEND);
+	/**
+	 * Returns the target frame rate, or 0 if frames are rendered
+	 * continuously.
+	 */
+	public int getTargetFps() {
+		return mRenderer.getFramePacer().getTargetFps();
+	}
 
-		logFps();
+	/**
+	 * Selects the rendered scene. The new scene is set up by the GL thread at
+	 * the start of the next frame. The pentagons keep their batching and
+	 * seed settings.
+	 *
+	 * @param scene
+	 *            Scene id, between 0 and {@link #getSceneCount()} - 1.
+	 * @param level
+	 *            Load level, between 0 and {@link #getLoadLevelCount()} - 1.
+	 */
+	public void setScene(int scene, int level) {
+		mRenderer.setScene(scene, level);
 	}
 
-	private void logFps() {
-		frames++;
-		if (System.nanoTime() - startTime >= 1000000000) {
-			Intent intent = new Intent(GPUSampleApp.INTENT_FPS);
-			intent.putExtra(GPUSampleApp.INTENT_FPS, frames);
-			getContext().sendBroadcast(intent);
+	/**
+	 * Selects between drawing every pentagon with its own draw call or
+	 * packing all of them into one vertex buffer drawn with a single call.
+	 *
+	 * @param batched
+	 *            True to draw all pentagons with a single draw call.
+	 */
+	public void setBatchedRendering(boolean batched) {
+		mRenderer.setBatchedRendering(batched);
+	}
 
-			frames = 0;
-			startTime = System.nanoTime();
-		}
+	/**
+	 * Sets the executor pentagon rotations are updated on, instead of the GL
+	 * thread. The update then overlaps with issuing draw calls.
+	 *
+	 * @param executor
+	 *            Executor running the updates, or null to update on the GL
+	 *            thread.
+	 */
+	public void setUpdateExecutor(Executor executor) {
+		mRenderer.setUpdateExecutor(executor);
+	}
+
+	/**
+	 * Sets the pool pentagons are transformed on, in parallel on the CPU
+	 * instead of in the vertex shader.
+	 *
+	 * @param pool
+	 *            Pool transforming pentagons, or null to transform them in
+	 *            the vertex shader.
+	 */
+	public void setTransformPool(ForkJoinPool pool) {
+		mRenderer.setTransformPool(pool);
+	}
+
+	/**
+	 * Sets the event bus the surface, pause and resume, and shader compile
+	 * events are posted to. Shader compile events have the time spent
+	 * compiling or restoring the program as value, in microseconds.
+	 *
+	 * @param eventBus
+	 *            Event bus to post to, or null to post no events.
+	 */
+	public void setEventBus(EventBus eventBus) {
+		mEventBus = eventBus;
+	}
+
+	/**
+	 * Returns the id of the scene selected last.
+	 */
+	public int getScene() {
+		return mRenderer.getScene();
+	}
+
+	/**
+	 * Returns the amount of built-in scenes.
+	 */
+	public static int getSceneCount() {
+		return SceneRenderer.getSceneCount();
+	}
+
+	/**
+	 * Returns the name of the scene with given id.
+	 *
+	 * @param scene
+	 *            Scene id.
+	 * @return scene name.
+	 */
+	public static String getSceneName(int scene) {
+		return SceneRenderer.getSceneName(scene);
+	}
+
+	/**
+	 * Returns the id of the scene with given name.
+	 *
+	 * @param name
+	 *            Scene name.
+	 * @return scene id or -1 if there is no such scene.
+	 */
+	public static int findScene(String name) {
+		return SceneRenderer.findScene(name);
+	}
+
+	/**
+	 * Renders pentagons with given parameters. The new scene is built on the
+	 * calling thread and picked up by the GL thread at the start of the next frame,
+	 * so rendering is never paused. The layout is derived from
+	 * {@link #DEFAULT_SEED}.
+	 *
+	 * @param count
+	 *            Amount of pentagons, between 1 and
+	 *            {@link #MAX_PENTAGON_COUNT}.
+	 * @param size
+	 *            Pentagon size in view space units.
+	 * @param overdrawLayers
+	 *            Amount of times the whole scene is drawn per frame, between 1
+	 *            and {@link #MAX_OVERDRAW_LAYERS}.
+	 */
+	public void setWorkload(int count, float size, int overdrawLayers) {
+		mRenderer.setWorkload(count, size, overdrawLayers);
+	}
+
+	/**
+	 * Replaces the rendered scene using given seed for the layout. Same
+	 * parameters always produce the same scene and camera path.
+	 *
+	 * @param count
+	 *            Amount of pentagons, between 1 and
+	 *            {@link #MAX_PENTAGON_COUNT}.
+	 * @param size
+	 *            Pentagon size in view space units.
+	 * @param overdrawLayers
+	 *            Amount of times the whole scene is drawn per frame, between 1
+	 *            and {@link #MAX_OVERDRAW_LAYERS}.
+	 * @param seed
+	 *            Seed for the pseudo random layout.
+	 */
+	public void setWorkload(int count, float size, int overdrawLayers, long seed) {
+		mRenderer.setWorkload(count, size, overdrawLayers, seed);
+	}
+
+	/**
+	 * Replaces the rendered scene with one of the predefined workloads.
+	 *
+	 * @param level
+	 *            Load level, between 0 (default scene) and
+	 *            {@link #getLoadLevelCount()} - 1.
+	 */
+	public void setLoadLevel(int level) {
+		mRenderer.setLoadLevel(level);
+	}
+
+	/**
+	 * Replaces the rendered scene with one of the predefined workloads, using
+	 * given seed for the layout.
+	 *
+	 * @param level
+	 *            Load level, between 0 (default scene) and
+	 *            {@link #getLoadLevelCount()} - 1.
+	 * @param seed
+	 *            Seed for the pseudo random layout.
+	 */
+	public void setLoadLevel(int level, long seed) {
+		mRenderer.setLoadLevel(level, seed);
+	}
+
+	/**
+	 * Returns the amount of predefined load levels, which is the same for all
+	 * scenes.
+	 */
+	public static int getLoadLevelCount() {
+		return SceneRenderer.getLoadLevelCount();
+	}
+
+	/**
+	 * Returns the channel frame metrics are published to once per second.
+	 */
+	public MetricsChannel getMetricsChannel() {
+		return mRenderer.getMetricsChannel();
+	}
+
+	/**
+	 * Enables or disables measuring GPU time per frame with timer queries.
+	 * Enabled by default; has no effect if the context does not support
+	 * GL_EXT_disjoint_timer_query.
+	 *
+	 * @param enabled
+	 *            False to issue no timer queries.
+	 */
+	public void setGpuTiming(boolean enabled) {
+		mRenderer.getGpuTimer().setEnabled(enabled);
+	}
+
+	/**
+	 * Sets the GPU multiplier published together with frame metrics.
+	 *
+	 * @param multiplier
+	 *            Current GPU multiplier, or 0 if unknown.
+	 */
+	public void setGpuMultiplier(int multiplier) {
+		mRenderer.setGpuMultiplier(multiplier);
 	}
 
 	@Override
 	public void onSurfaceChanged(GL10 unused, int width, int height) {
-		float aspect = (float) width / height;
-		Matrix.perspectiveM(mMatrixProjection, 0, 60f, aspect, .1f, 10f);
+		mRenderer.onSurfaceChanged(width, height);
 	}
 
 	@Override
 	public void onSurfaceCreated(GL10 unused, EGLConfig config) {
-		// Check if shader compiler is supported.
-		GLES20.glGetBooleanv(GLES20.GL_SHADER_COMPILER, mShaderCompilerSupport,
-				0);
-
-		// If not, show user an error message and return immediately.
-		if (!mShaderCompilerSupport[0]) {
+		postEvent(EventBus.SURFACE_CREATED);
+		// If there is no shader compiler, show user an error message.
+		if (!mRenderer.onSurfaceCreated()) {
 			String msg = getContext().getString(R.string.error_shader_compiler);
 			showError(msg);
-			return;
-		}
-
-		try {
-			String vertexSource = loadRawString(R.raw.pentagon_vs);
-			String fragmentSource = loadRawString(R.raw.pentagon_fs);
-			mShaderPentagon.setProgram(vertexSource, fragmentSource);
-		} catch (Exception ex) {
-			showError(ex.getMessage());
 		}
 	}
 
-	private class Pentagon {
-		public float[] mColor = new float[3];
-		public float[] mPosition = new float[3];
-		public float mRotation, mRotationSpeed;
+	@Override
+	public void surfaceDestroyed(SurfaceHolder holder) {
+		postEvent(EventBus.SURFACE_DESTROYED);
+		super.surfaceDestroyed(holder);
+	}
 
-		public Pentagon() {
-			for (int i = 0; i < 3; ++i) {
-				mPosition[i] = (float) (Math.random() * 2 - 1);
-				mColor[i] = (float) (Math.random() * 0.5 + 0.5);
-			}
-			mRotation = (float) (Math.random() * 360);
-			mRotationSpeed = (float) (Math.random() * 1.0 + 1.0);
+	/**
+	 * Posts an event happening now, if there is an event bus.
+	 */
+	private void postEvent(int type) {
+		EventBus eventBus = mEventBus;
+		if (eventBus != null) {
+			eventBus.post(type, 0);
 		}
-
 	}
 
 }
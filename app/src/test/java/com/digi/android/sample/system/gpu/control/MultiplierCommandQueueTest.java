@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.control;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+public class MultiplierCommandQueueTest {
+
+	private static final long DWELL_MILLIS = 250;
+	private static final long MILLIS = 1_000_000L;
+
+	private final FakeGpuControl gpuControl = new FakeGpuControl();
+	private final ManualScheduler executor = new ManualScheduler();
+	private final QueueExecutor uiExecutor = new QueueExecutor();
+	private final RecordingListener listener = new RecordingListener();
+	private final MultiplierCommandQueue queue = new MultiplierCommandQueue(gpuControl,
+			executor, uiExecutor, listener, DWELL_MILLIS);
+
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void requestsAreCoalesced() {
+		for (int multiplier = 1; multiplier <= 40; multiplier++)
+			queue.submit(multiplier);
+		// Only the first submit schedules a run.
+		assertEquals(1, executor.tasks.size());
+		queue.drain(0);
+		uiExecutor.runAll();
+		assertEquals(1, gpuControl.writes.size());
+		assertEquals(40, gpuControl.multiplier);
+		assertEquals("40>40", listener.events.get(0));
+		assertFalse(queue.isPending());
+	}
+
+	@Test
+	public void pendingUntilOutcomeIsDelivered() {
+		queue.submit(32);
+		assertTrue(queue.isPending());
+		queue.drain(0);
+		// Written, but the listener has not been told yet.
+		assertEquals(32, gpuControl.multiplier);
+		assertTrue(queue.isPending());
+		uiExecutor.runAll();
+		assertFalse(queue.isPending());
+		assertEquals(1, listener.events.size());
+	}
+
+	@Test
+	public void listenerSeesNothingPendingForLatestRequest() {
+		listener.queue = queue;
+		queue.submit(32);
+		queue.drain(0);
+		uiExecutor.runAll();
+		assertEquals(Boolean.FALSE, listener.pendingOnApplied);
+	}
+
+	@Test
+	public void requestAfterDrainStaysPending() {
+		queue.submit(32);
+		queue.drain(0);
+		queue.submit(48);
+		uiExecutor.runAll();
+		assertTrue(queue.isPending());
+		assertEquals(2, executor.tasks.size());
+	}
+
+	@Test
+	public void dwellTimeDelaysNextWrite() {
+		queue.submit(32);
+		queue.drain(0);
+		queue.submit(48);
+		queue.drain(100 * MILLIS);
+		assertEquals(1, gpuControl.writes.size());
+		assertEquals(150 * MILLIS, executor.lastDelayNanos);
+		queue.drain(DWELL_MILLIS * MILLIS);
+		assertEquals(48, gpuControl.multiplier);
+	}
+
+	@Test
+	public void rejectedMultiplierFallsBackToMinimum() {
+		gpuControl.maxAccepted = 16;
+		queue.submit(32);
+		queue.drain(0);
+		uiExecutor.runAll();
+		assertEquals("32>1", listener.events.get(0));
+	}
+
+	@Test
+	public void failureIsReported() {
+		gpuControl.failure = new IOException("Read failure");
+		queue.submit(32);
+		queue.drain(0);
+		uiExecutor.runAll();
+		assertEquals("32!", listener.events.get(0));
+		assertFalse(queue.isPending());
+	}
+
+	@Test
+	public void cancelDropsRequest() {
+		queue.submit(32);
+		queue.cancel();
+		assertFalse(queue.isPending());
+		queue.drain(0);
+		uiExecutor.runAll();
+		assertTrue(gpuControl.writes.isEmpty());
+		assertTrue(listener.events.isEmpty());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void nonPositiveMultiplierIsRejected() {
+		queue.submit(0);
+	}
+
+	private static final class FakeGpuControl implements GpuControl {
+
+		final List<Integer> writes = new ArrayList<>();
+		int multiplier = 64;
+		int maxAccepted = Integer.MAX_VALUE;
+		IOException failure;
+
+		@Override
+		public int getMultiplier() throws IOException {
+			if (failure != null)
+				throw failure;
+			return multiplier;
+		}
+
+		@Override
+		public int setMultiplier(int multiplier) {
+			writes.add(multiplier);
+			if (multiplier <= maxAccepted)
+				this.multiplier = multiplier;
+			return this.multiplier;
+		}
+
+		@Override
+		public int getMinMultiplier() {
+			return 1;
+		}
+	}
+
+	/**
+	 * Records tasks instead of running them, so the test drives the queue.
+	 */
+	private static final class ManualScheduler extends ScheduledThreadPoolExecutor {
+
+		final List<Runnable> tasks = new ArrayList<>();
+		long lastDelayNanos;
+
+		ManualScheduler() {
+			super(1);
+		}
+
+		@Override
+		public void execute(Runnable task) {
+			tasks.add(task);
+		}
+
+		@Override
+		public ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit) {
+			tasks.add(task);
+			lastDelayNanos = unit.toNanos(delay);
+			return null;
+		}
+	}
+
+	private static final class QueueExecutor implements Executor {
+
+		private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+
+		@Override
+		public void execute(Runnable task) {
+			tasks.add(task);
+		}
+
+		void runAll() {
+			while (!tasks.isEmpty())
+				tasks.poll().run();
+		}
+	}
+
+	private static final class RecordingListener implements MultiplierCommandQueue.Listener {
+
+		final List<String> events = new ArrayList<>();
+		MultiplierCommandQueue queue;
+		Boolean pendingOnApplied;
+
+		@Override
+		public void onMultiplierApplied(int requested, int applied) {
+			events.add(requested + ">" + applied);
+			if (queue != null)
+				pendingOnApplied = queue.isPending();
+		}
+
+		@Override
+		public void onMultiplierError(int requested) {
+			events.add(requested + "!");
+		}
+	}
+}
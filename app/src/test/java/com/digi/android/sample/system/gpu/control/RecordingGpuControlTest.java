@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+package com.digi.android.sample.system.gpu.control;
+
+import static org.junit.Assert.assertEquals;
+
+import com.digi.android.sample.system.gpu.events.EventBus;
+
+import org.junit.Test;
+
+import java.io.IOException;
+
+public class RecordingGpuControlTest {
+
+	@Test
+	public void changesArePosted() throws IOException {
+		EventBus bus = new EventBus(16);
+		FakeGpuControl gpu = new FakeGpuControl();
+		RecordingGpuControl control = new RecordingGpuControl(gpu, bus);
+
+		assertEquals(16, control.getMultiplier());
+		// Reading the same multiplier again confirms nothing new.
+		assertEquals(16, control.getMultiplier());
+		assertEquals(32, control.setMultiplier(32));
+		// The write was confirmed when it returned.
+		assertEquals(" confirmed=16 set=32 confirmed=32", events(bus));
+		assertEquals(32, control.getMultiplier());
+		assertEquals(1, control.getMinMultiplier());
+		assertEquals(" confirmed=16 set=32 confirmed=32", events(bus));
+	}
+
+	@Test
+	public void writesAreConfirmedWithTheAppliedMultiplier() throws IOException {
+		EventBus bus = new EventBus(16);
+		FakeGpuControl gpu = new FakeGpuControl();
+		RecordingGpuControl control = new RecordingGpuControl(gpu, bus);
+		assertEquals(64, control.setMultiplier(100));
+		assertEquals(64, control.setMultiplier(80));
+		assertEquals(" set=100 confirmed=64 set=80", events(bus));
+	}
+
+	@Test
+	public void systemChangesAreConfirmed() throws IOException {
+		EventBus bus = new EventBus(16);
+		FakeGpuControl gpu = new FakeGpuControl();
+		RecordingGpuControl control = new RecordingGpuControl(gpu, bus);
+		control.getMultiplier();
+		// Throttled without going through the control.
+		gpu.multiplier = 1;
+		control.getMultiplier();
+		assertEquals(2, bus.getWritten());
+	}
+
+	private static String events(EventBus bus) {
+		final StringBuilder events = new StringBuilder();
+		bus.read(0, new EventBus.Visitor() {
+			@Override
+			public void onEvent(long sequence, long timeNanos, int type, int value) {
+				events.append(type == EventBus.MULTIPLIER_SET ? " set=" : " confirmed=")
+						.append(value);
+			}
+		});
+		return events.toString();
+	}
+
+	private static final class FakeGpuControl implements GpuControl {
+
+		int multiplier = 16;
+
+		@Override
+		public int getMultiplier() {
+			return multiplier;
+		}
+
+		@Override
+		public int setMultiplier(int multiplier) {
+			this.multiplier = Math.min(multiplier, 64);
+			return this.multiplier;
+		}
+
+		@Override
+		public int getMinMultiplier() {
+			return 1;
+		}
+	}
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+package com.digi.android.sample.system.gpu.events;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class EventBusTest {
+
+	@Test
+	public void capacityIsRoundedUpToPowerOfTwo() {
+		assertEquals(8, new EventBus(5).getCapacity());
+		assertEquals(8, new EventBus(8).getCapacity());
+	}
+
+	@Test
+	public void eventsAreReadInOrder() {
+		EventBus bus = new EventBus(8);
+		bus.post(10, EventBus.MULTIPLIER_SET, 32);
+		bus.post(20, EventBus.MULTIPLIER_CONFIRMED, 32);
+		RecordingVisitor visitor = new RecordingVisitor();
+		assertEquals(2, bus.read(0, visitor));
+		assertEquals("0@10:1=32", visitor.events.get(0));
+		assertEquals("1@20:2=32", visitor.events.get(1));
+		// Nothing new since.
+		assertEquals(2, bus.read(2, visitor));
+		assertEquals(2, visitor.events.size());
+	}
+
+	@Test
+	public void overwrittenEventsAreSkipped() {
+		EventBus bus = new EventBus(5);
+		for (int i = 0; i < 20; i++)
+			bus.post(i, EventBus.RESUMED, i);
+		assertEquals(20, bus.getWritten());
+		assertEquals(12, bus.getOldest());
+		RecordingVisitor visitor = new RecordingVisitor();
+		assertEquals(20, bus.read(3, visitor));
+		assertEquals(8, visitor.events.size());
+		assertEquals("12@12:6=12", visitor.events.get(0));
+		assertEquals("19@19:6=19", visitor.events.get(7));
+	}
+
+	@Test
+	public void concurrentPostsAreAllCounted() throws InterruptedException {
+		final EventBus bus = new EventBus(1 << 16);
+		Thread[] threads = new Thread[4];
+		for (int t = 0; t < threads.length; t++) {
+			final int value = t;
+			threads[t] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for (int i = 0; i < 10000; i++)
+						bus.post(i, EventBus.SHADER_COMPILED, value);
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads)
+			thread.join();
+		assertEquals(40000, bus.getWritten());
+	}
+
+	private static final class RecordingVisitor implements EventBus.Visitor {
+
+		final List<String> events = new ArrayList<>();
+
+		@Override
+		public void onEvent(long sequence, long timeNanos, int type, int value) {
+			events.add(sequence + "@" + timeNanos + ":" + type + "=" + value);
+		}
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+package com.digi.android.sample.system.gpu.events;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+public class StepResponseAnalyzerTest {
+
+	private static final long SECOND = 1_000_000_000L;
+
+	private final StepResponseAnalyzer analyzer = new StepResponseAnalyzer(3 * SECOND,
+			10 * SECOND, 0.1f, 1f);
+	private final StepResponse response = new StepResponse();
+
+	@Test
+	public void laggedStepWithOvershoot() {
+		// 30 to 60 FPS through a damped oscillation, with noise, sampled at
+		// 1 Hz.
+		SignalTrace trace = new SignalTrace(256);
+		Random random = new Random(1);
+		long step = 20 * SECOND + 300_000_000L;
+		for (int i = 0; i < 40; i++) {
+			long time = i * SECOND;
+			double value = 30;
+			if (time > step) {
+				double seconds = (time - step) / 1e9;
+				value = 60 - 30 * Math.exp(-seconds / 1.5) * Math.cos(seconds * 1.2);
+			}
+			trace.add(time, (float) (value + random.nextGaussian() * 0.3));
+		}
+		assertTrue(analyzer.analyze(trace, step, Long.MAX_VALUE, response));
+		assertTrue(response.isValid());
+		assertEquals(step, response.getStepNanos());
+		assertEquals(30, response.getBefore(), 0.5);
+		assertEquals(60, response.getAfter(), 0.7);
+		assertTrue(response.getSettlingNanos() > 0);
+		assertTrue(response.getSettlingNanos() < 6 * SECOND);
+		assertEquals(0.156, response.getOvershoot(), 0.05);
+	}
+
+	@Test
+	public void cleanStepDown() {
+		SignalTrace trace = new SignalTrace(64);
+		for (int i = 0; i < 40; i++)
+			trace.add(i * SECOND, i > 10 ? 40 : 60);
+		assertTrue(analyzer.analyze(trace, 10 * SECOND, Long.MAX_VALUE, response));
+		assertEquals(-20, response.getDelta(), 0);
+		assertEquals(0, response.getOvershoot(), 0);
+		assertEquals(SECOND, response.getSettlingNanos());
+	}
+
+	@Test
+	public void incompleteWindowIsAnalyzedLater() {
+		SignalTrace trace = new SignalTrace(64);
+		for (int i = 0; i < 15; i++)
+			trace.add(i * SECOND, 50);
+		assertFalse(analyzer.analyze(trace, 10 * SECOND, Long.MAX_VALUE, response));
+		assertFalse(response.isValid());
+		for (int i = 15; i < 25; i++)
+			trace.add(i * SECOND, 50);
+		assertTrue(analyzer.analyze(trace, 10 * SECOND, Long.MAX_VALUE, response));
+	}
+
+	@Test
+	public void driftNeverSettles() {
+		SignalTrace trace = new SignalTrace(64);
+		for (int i = 0; i < 40; i++)
+			trace.add(i * SECOND, i > 10 ? 40 + (i - 10) * 2 : 40);
+		assertTrue(analyzer.analyze(trace, 10 * SECOND, Long.MAX_VALUE, response));
+		assertEquals(StepResponse.NOT_SETTLED, response.getSettlingNanos());
+	}
+
+	@Test
+	public void missingBaselineGivesNoResponse() {
+		SignalTrace trace = new SignalTrace(64);
+		for (int i = 10; i < 40; i++)
+			trace.add(i * SECOND, 1);
+		assertTrue(analyzer.analyze(trace, 5 * SECOND, Long.MAX_VALUE, response));
+		assertFalse(response.isValid());
+	}
+}
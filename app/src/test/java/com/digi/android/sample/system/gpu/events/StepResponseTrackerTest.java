@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+package com.digi.android.sample.system.gpu.events;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class StepResponseTrackerTest {
+
+	private static final long SECOND = 1_000_000_000L;
+
+	private final StepResponseAnalyzer fpsAnalyzer = new StepResponseAnalyzer(3 * SECOND,
+			10 * SECOND, 0.1f, 1f);
+	private final StepResponseAnalyzer temperatureAnalyzer = new StepResponseAnalyzer(5 * SECOND,
+			60 * SECOND, 0.1f, 0.5f);
+
+	@Test
+	public void recordedTraceWithPause() {
+		// Confirmed 16 at 0 s, 64 at 20.3 s, paused from 27 s to 30 s, 32 at
+		// 50 s. Repeated confirmations and other events are not transitions.
+		EventBus bus = new EventBus(64);
+		StepResponseTracker tracker = new StepResponseTracker(bus, 256, 4, fpsAnalyzer,
+				temperatureAnalyzer);
+		long step = 20 * SECOND + 300_000_000L;
+		bus.post(0, EventBus.MULTIPLIER_CONFIRMED, 16);
+		bus.post(100, EventBus.SHADER_COMPILED, 1234);
+		bus.post(step, EventBus.MULTIPLIER_SET, 64);
+		bus.post(step, EventBus.MULTIPLIER_CONFIRMED, 64);
+		bus.post(step + 100_000_000L, EventBus.MULTIPLIER_CONFIRMED, 64);
+		bus.post(27 * SECOND, EventBus.PAUSED, 0);
+		bus.post(30 * SECOND, EventBus.RESUMED, 0);
+		bus.post(50 * SECOND, EventBus.MULTIPLIER_CONFIRMED, 32);
+
+		boolean changed = false;
+		for (int i = 0; i < 130; i++) {
+			long time = i * SECOND;
+			if (i < 27 || i >= 30)
+				tracker.addFps(time, time > 50 * SECOND ? 45 : time > step ? 60 : 30);
+			float temperature;
+			if (time < step)
+				temperature = 50;
+			else if (time < 50 * SECOND)
+				temperature = (float) (50 + 10 * (1 - Math.exp(-(time - step) / 1e9 / 8)));
+			else
+				temperature = 58;
+			tracker.addTemperature(time, temperature);
+			changed |= tracker.update();
+		}
+		assertTrue(changed);
+		assertEquals(2, tracker.getTransitions());
+		assertEquals(0, tracker.getOldest());
+		assertEquals(step, tracker.getStepNanos(0));
+		assertEquals(16, tracker.getFromMultiplier(0));
+		assertEquals(64, tracker.getToMultiplier(0));
+		assertEquals(64, tracker.getFromMultiplier(1));
+		assertEquals(32, tracker.getToMultiplier(1));
+
+		// The pause cuts the first window: long enough for the frame rate,
+		// too short for the temperature.
+		assertTrue(tracker.isFpsMeasured(0));
+		StepResponse fps = tracker.getFpsResponse(0);
+		assertTrue(fps.isValid());
+		assertEquals(30, fps.getBefore(), 0);
+		assertEquals(60, fps.getAfter(), 0);
+		assertFalse(tracker.getTemperatureResponse(0).isValid());
+
+		assertTrue(tracker.getFpsResponse(1).isValid());
+		assertEquals(45, tracker.getFpsResponse(1).getAfter(), 0);
+		assertTrue(tracker.getTemperatureResponse(1).isValid());
+	}
+
+	@Test
+	public void dragKeepsOnlyTheFinalStep() {
+		// Confirmations every 250 ms from 16 to 64, then held.
+		EventBus bus = new EventBus(64);
+		StepResponseTracker tracker = new StepResponseTracker(bus, 256, 16, fpsAnalyzer,
+				temperatureAnalyzer);
+		bus.post(0, EventBus.MULTIPLIER_CONFIRMED, 16);
+		for (int k = 1; k <= 4; k++)
+			bus.post(10 * SECOND + k * 250_000_000L, EventBus.MULTIPLIER_CONFIRMED, 16 + k * 12);
+		for (int i = 0; i < 30; i++) {
+			tracker.addFps(i * SECOND, i > 11 ? 60 : 30);
+			tracker.addTemperature(i * SECOND, 50);
+			tracker.update();
+		}
+		assertEquals(4, tracker.getTransitions());
+		for (long i = 0; i < 3; i++)
+			assertFalse(tracker.getFpsResponse(i).isValid());
+		assertTrue(tracker.getFpsResponse(3).isValid());
+	}
+
+	@Test
+	public void ringKeepsLatestTransitions() {
+		EventBus bus = new EventBus(64);
+		StepResponseTracker tracker = new StepResponseTracker(bus, 16, 3, fpsAnalyzer,
+				temperatureAnalyzer);
+		for (int i = 0; i < 10; i++)
+			bus.post(i * SECOND, EventBus.MULTIPLIER_CONFIRMED, i % 2 == 0 ? 16 : 32);
+		tracker.update();
+		assertEquals(9, tracker.getTransitions());
+		// Capacity is rounded up to 4.
+		assertEquals(5, tracker.getOldest());
+		// The first confirmation is not a transition, so transition 8 is the
+		// tenth event.
+		assertEquals(9 * SECOND, tracker.getStepNanos(8));
+		assertEquals(16, tracker.getFromMultiplier(8));
+		assertEquals(32, tracker.getToMultiplier(8));
+	}
+
+	@Test
+	public void eventsBeforeConstructionAreIgnored() {
+		EventBus bus = new EventBus(64);
+		bus.post(0, EventBus.MULTIPLIER_CONFIRMED, 16);
+		bus.post(SECOND, EventBus.MULTIPLIER_CONFIRMED, 32);
+		StepResponseTracker tracker = new StepResponseTracker(bus, 16, 4, fpsAnalyzer,
+				temperatureAnalyzer);
+		bus.post(2 * SECOND, EventBus.MULTIPLIER_CONFIRMED, 48);
+		assertFalse(tracker.update());
+		assertEquals(0, tracker.getTransitions());
+	}
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.export;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+public class MetricsExportServerTest {
+
+	private static final int TIMEOUT_MILLIS = 5000;
+
+	private final FixedSource source = new FixedSource();
+	private MetricsExportServer server;
+
+	@Before
+	public void setUp() throws IOException {
+		server = new MetricsExportServer(source, 0);
+		server.start();
+	}
+
+	@After
+	public void tearDown() {
+		server.stop();
+	}
+
+	@Test
+	public void metricsAreUnavailableWithoutSnapshot() throws IOException {
+		String response = get("GET /metrics HTTP/1.1");
+		assertTrue(response, response.startsWith("HTTP/1.1 503 "));
+	}
+
+	@Test
+	public void metricsServeLatestSnapshot() throws IOException {
+		source.snapshot = snapshot(7, 51.5f);
+		String response = get("GET /metrics?format=text HTTP/1.1");
+		assertTrue(response, response.startsWith("HTTP/1.1 200 OK\r\n"));
+		assertTrue(response.contains("Content-Type: text/plain; version=0.0.4"));
+		String body = new String(source.snapshot.getPrometheus(), StandardCharsets.UTF_8);
+		assertTrue(response.contains("Content-Length: " + body.length() + "\r\n"));
+		assertTrue(response.endsWith("\r\n\r\n" + body));
+		assertTrue(body.contains("gpu_sample_temperature_celsius 51.5\n"));
+	}
+
+	@Test
+	public void invalidRequestsAreRejected() throws IOException {
+		source.snapshot = snapshot(1, 40);
+		assertTrue(get("GET /missing HTTP/1.1").startsWith("HTTP/1.1 404 "));
+		assertTrue(get("POST /metrics HTTP/1.1").startsWith("HTTP/1.1 405 "));
+		assertTrue(get("GET /metrics").startsWith("HTTP/1.1 400 "));
+	}
+
+	@Test
+	public void streamDeliversEverySnapshotOnce() throws IOException {
+		source.snapshot = snapshot(1, 40);
+		try (Socket socket = connect("GET /stream HTTP/1.1")) {
+			BufferedReader reader = reader(socket);
+			assertEquals("HTTP/1.1 200 OK", reader.readLine());
+			skipHeaders(reader);
+			assertEquals(json(source.snapshot), reader.readLine());
+			source.snapshot = snapshot(2, 41);
+			assertEquals(json(source.snapshot), reader.readLine());
+			// An older snapshot is not sent again.
+			source.snapshot = snapshot(1, 40);
+			source.snapshot = snapshot(3, 42);
+			assertEquals(json(source.snapshot), reader.readLine());
+		}
+	}
+
+	@Test
+	public void eventsAreServerSentEvents() throws IOException {
+		source.snapshot = snapshot(5, 45);
+		try (Socket socket = connect("GET /events HTTP/1.1")) {
+			BufferedReader reader = reader(socket);
+			assertEquals("HTTP/1.1 200 OK", reader.readLine());
+			assertEquals("Content-Type: text/event-stream", reader.readLine());
+			skipHeaders(reader);
+			assertEquals("id: 5", reader.readLine());
+			assertEquals("data: " + json(source.snapshot), reader.readLine());
+			assertEquals("", reader.readLine());
+		}
+	}
+
+	@Test
+	public void stopClosesStreamsAndPort() throws IOException {
+		source.snapshot = snapshot(1, 40);
+		assertTrue(server.getPort() > 0);
+		try (Socket socket = connect("GET /stream HTTP/1.1")) {
+			BufferedReader reader = reader(socket);
+			skipHeaders(reader);
+			reader.readLine();
+			server.stop();
+			assertNull(reader.readLine());
+		}
+		assertEquals(-1, server.getPort());
+		assertNull(server.getError());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidPortIsRejected() {
+		new MetricsExportServer(source, 65536);
+	}
+
+	private static ExportSnapshot snapshot(long sequence, float temperature) {
+		return ExportSnapshot.encode(sequence, 1000 * sequence, temperature, 32, null);
+	}
+
+	private static String json(ExportSnapshot snapshot) {
+		String line = new String(snapshot.getJson(), StandardCharsets.UTF_8);
+		return line.substring(0, line.length() - 1);
+	}
+
+	private Socket connect(String requestLine) throws IOException {
+		Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+		socket.setSoTimeout(TIMEOUT_MILLIS);
+		OutputStream out = socket.getOutputStream();
+		out.write((requestLine + "\r\nHost: localhost\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+		out.flush();
+		return socket;
+	}
+
+	private String get(String requestLine) throws IOException {
+		try (Socket socket = connect(requestLine)) {
+			StringBuilder response = new StringBuilder();
+			BufferedReader reader = reader(socket);
+			char[] buffer = new char[1024];
+			int count;
+			while ((count = reader.read(buffer)) >= 0)
+				response.append(buffer, 0, count);
+			return response.toString();
+		}
+	}
+
+	private static BufferedReader reader(Socket socket) throws IOException {
+		return new BufferedReader(new InputStreamReader(socket.getInputStream(),
+				StandardCharsets.UTF_8));
+	}
+
+	private static void skipHeaders(BufferedReader reader) throws IOException {
+		String line;
+		do {
+			line = reader.readLine();
+		} while (line != null && !line.isEmpty());
+	}
+
+	private static final class FixedSource implements MetricsExportServer.Source {
+
+		volatile ExportSnapshot snapshot;
+
+		@Override
+		public ExportSnapshot getSnapshot() {
+			return snapshot;
+		}
+	}
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+public class FrameTimeHistogramTest {
+
+	@Test
+	public void smallValuesHaveTheirOwnBucket() {
+		for (int value = 0; value < 2 * FrameTimeHistogram.SUB_BUCKET_COUNT; value++) {
+			int index = FrameTimeHistogram.bucketIndex(value);
+			assertEquals(value, index);
+			assertEquals(value, FrameTimeHistogram.lowestEquivalentValue(index));
+			assertEquals(value, FrameTimeHistogram.highestEquivalentValue(index));
+		}
+	}
+
+	@Test
+	public void bucketsAreContiguous() {
+		for (int i = 1; i < FrameTimeHistogram.BUCKET_COUNT; i++)
+			assertEquals(FrameTimeHistogram.highestEquivalentValue(i - 1) + 1,
+					FrameTimeHistogram.lowestEquivalentValue(i));
+		assertEquals(FrameTimeHistogram.MAX_VALUE,
+				FrameTimeHistogram.highestEquivalentValue(FrameTimeHistogram.BUCKET_COUNT - 1));
+	}
+
+	@Test
+	public void bucketBoundariesMapToTheirBucket() {
+		for (int i = 0; i < FrameTimeHistogram.BUCKET_COUNT; i++) {
+			assertEquals(i, FrameTimeHistogram.bucketIndex(FrameTimeHistogram.lowestEquivalentValue(i)));
+			assertEquals(i, FrameTimeHistogram.bucketIndex(FrameTimeHistogram.highestEquivalentValue(i)));
+		}
+	}
+
+	@Test
+	public void relativeErrorStaysBelowOneSubBucket() {
+		Random random = new Random(42);
+		for (int n = 0; n < 100_000; n++) {
+			long value = random.nextLong() & FrameTimeHistogram.MAX_VALUE;
+			int index = FrameTimeHistogram.bucketIndex(value);
+			long low = FrameTimeHistogram.lowestEquivalentValue(index);
+			long high = FrameTimeHistogram.highestEquivalentValue(index);
+			assertTrue(low <= value && value <= high);
+			assertTrue((high - low) * FrameTimeHistogram.SUB_BUCKET_COUNT <= Math.max(low, 1));
+		}
+	}
+
+	@Test
+	public void emptyHistogramReportsZero() {
+		FrameTimeHistogram histogram = new FrameTimeHistogram();
+		assertEquals(0, histogram.getTotalCount());
+		assertEquals(0, histogram.getMin());
+		assertEquals(0, histogram.getMax());
+		assertEquals(0, histogram.getMean());
+		assertEquals(0, histogram.getValueAtPercentile(50));
+		assertEquals(0, histogram.getCountAbove(0));
+	}
+
+	@Test
+	public void exactPercentilesForSmallValues() {
+		FrameTimeHistogram histogram = new FrameTimeHistogram();
+		for (int value = 1; value <= 60; value++)
+			histogram.record(value);
+		assertEquals(60, histogram.getTotalCount());
+		assertEquals(1, histogram.getMin());
+		assertEquals(60, histogram.getMax());
+		assertEquals(30, histogram.getMean());
+		assertEquals(1, histogram.getValueAtPercentile(0));
+		assertEquals(30, histogram.getValueAtPercentile(50));
+		assertEquals(54, histogram.getValueAtPercentile(90));
+		assertEquals(60, histogram.getValueAtPercentile(100));
+		assertEquals(10, histogram.getCountAbove(50));
+	}
+
+	@Test
+	public void percentilesOfFrameTimesStayWithinBucketError() {
+		FrameTimeHistogram histogram = new FrameTimeHistogram();
+		// 98 frames at 60 FPS and two 50 ms hitches.
+		for (int i = 0; i < 98; i++)
+			histogram.record(16_666_667L);
+		histogram.record(50_000_000L);
+		histogram.record(50_000_000L);
+
+		assertWithinBucket(16_666_667L, histogram.getValueAtPercentile(50));
+		assertWithinBucket(16_666_667L, histogram.getValueAtPercentile(98));
+		assertWithinBucket(50_000_000L, histogram.getValueAtPercentile(99));
+		assertEquals(50_000_000L, histogram.getValueAtPercentile(100));
+		assertEquals(2, histogram.getCountAbove(2 * 16_666_667L));
+	}
+
+	@Test
+	public void outOfRangeValuesAreClamped() {
+		FrameTimeHistogram histogram = new FrameTimeHistogram();
+		histogram.record(-5);
+		histogram.record(Long.MAX_VALUE);
+		assertEquals(0, histogram.getMin());
+		assertEquals(FrameTimeHistogram.MAX_VALUE, histogram.getMax());
+		assertEquals(FrameTimeHistogram.MAX_VALUE, histogram.getValueAtPercentile(100));
+	}
+
+	@Test
+	public void resetClearsEverything() {
+		FrameTimeHistogram histogram = new FrameTimeHistogram();
+		histogram.record(1000);
+		histogram.reset();
+		assertEquals(0, histogram.getTotalCount());
+		assertEquals(0, histogram.getMax());
+		assertEquals(0, histogram.getValueAtPercentile(99));
+		histogram.record(7);
+		assertEquals(7, histogram.getMin());
+	}
+
+	private static void assertWithinBucket(long expected, long actual) {
+		int index = FrameTimeHistogram.bucketIndex(expected);
+		assertTrue(actual >= FrameTimeHistogram.lowestEquivalentValue(index));
+		assertTrue(actual <= FrameTimeHistogram.highestEquivalentValue(index));
+	}
+}
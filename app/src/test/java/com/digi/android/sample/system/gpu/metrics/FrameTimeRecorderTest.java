@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class FrameTimeRecorderTest {
+
+	private static final long FRAME_NANOS = 20_000_000L;
+
+	@Test
+	public void publishesOncePerInterval() {
+		FrameTimeRecorder recorder = new FrameTimeRecorder();
+		long now = 0;
+		assertFalse(recorder.onFrame(now));
+		for (int i = 1; i < 50; i++) {
+			now += FRAME_NANOS;
+			assertFalse(recorder.onFrame(now));
+		}
+		now += FRAME_NANOS;
+		assertTrue(recorder.onFrame(now));
+		assertEquals(50, recorder.getFps());
+		assertEquals(0, recorder.getJankFrames());
+	}
+
+	@Test
+	public void countsHitchesAsJank() {
+		FrameTimeRecorder recorder = new FrameTimeRecorder();
+		long now = 0;
+		recorder.onFrame(now);
+		boolean published = false;
+		for (int i = 0; !published; i++) {
+			now += i % 10 == 9 ? 3 * FRAME_NANOS : FRAME_NANOS;
+			published = recorder.onFrame(now);
+		}
+		assertTrue(recorder.getJankFrames() > 0);
+		assertEquals(3 * FRAME_NANOS, recorder.getMax());
+		// Percentiles report the top of the bucket holding the frame time.
+		assertEquals(FrameTimeHistogram.highestEquivalentValue(
+				FrameTimeHistogram.bucketIndex(FRAME_NANOS)), recorder.getP50());
+	}
+
+	@Test
+	public void resetSkipsThePause() {
+		FrameTimeRecorder recorder = new FrameTimeRecorder(5 * FRAME_NANOS);
+		recorder.onFrame(0);
+		recorder.onFrame(FRAME_NANOS);
+		recorder.reset();
+		long now = 60_000_000_000L;
+		assertFalse(recorder.onFrame(now));
+		for (int i = 0; i < 5; i++) {
+			now += FRAME_NANOS;
+			recorder.onFrame(now);
+		}
+		assertEquals(FRAME_NANOS, recorder.getMax());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNonPositiveInterval() {
+		new FrameTimeRecorder(0);
+	}
+}
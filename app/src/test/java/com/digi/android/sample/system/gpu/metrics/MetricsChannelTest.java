@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class MetricsChannelTest {
+
+	private static final int PUBLISHES = 200_000;
+	private static final int READERS = 3;
+
+	@Test
+	public void readBeforePublishReturnsZero() {
+		MetricsChannel channel = new MetricsChannel();
+		MetricsSnapshot snapshot = new MetricsSnapshot();
+		assertEquals(0, channel.read(snapshot));
+		assertEquals(0, snapshot.getFps());
+	}
+
+	@Test
+	public void readReturnsLatestSnapshot() {
+		MetricsChannel channel = new MetricsChannel();
+		MetricsSnapshot published = new MetricsSnapshot();
+		fill(published, 1);
+		channel.publish(published);
+		fill(published, 2);
+		channel.publish(published);
+
+		MetricsSnapshot read = new MetricsSnapshot();
+		assertEquals(4, channel.read(read));
+		assertConsistent(read);
+		assertEquals(2, read.getTimestampNanos());
+	}
+
+	@Test
+	public void concurrentReadersNeverSeeTornSnapshots() throws InterruptedException {
+		final MetricsChannel channel = new MetricsChannel();
+		final AtomicBoolean done = new AtomicBoolean();
+		final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+		Thread[] readers = new Thread[READERS];
+		for (int r = 0; r < READERS; r++) {
+			readers[r] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					MetricsSnapshot snapshot = new MetricsSnapshot();
+					long lastSequence = 0;
+					long lastValue = 0;
+					try {
+						while (!done.get()) {
+							long sequence = channel.read(snapshot);
+							assertEquals("Odd sequence returned", 0, sequence & 1);
+							assertTrue("Sequence went backwards", sequence >= lastSequence);
+							if (sequence == 0)
+								continue;
+							assertConsistent(snapshot);
+							assertTrue("Snapshot went backwards", snapshot.getTimestampNanos() >= lastValue);
+							assertEquals(sequence / 2, snapshot.getTimestampNanos());
+							lastSequence = sequence;
+							lastValue = snapshot.getTimestampNanos();
+						}
+					} catch (Throwable t) {
+						failure.compareAndSet(null, t);
+					}
+				}
+			});
+			readers[r].start();
+		}
+
+		MetricsSnapshot snapshot = new MetricsSnapshot();
+		for (int i = 1; i <= PUBLISHES && failure.get() == null; i++) {
+			fill(snapshot, i);
+			channel.publish(snapshot);
+		}
+		done.set(true);
+		for (Thread reader : readers)
+			reader.join();
+
+		assertNull(String.valueOf(failure.get()), failure.get());
+		assertEquals(2L * PUBLISHES, channel.getSequence());
+	}
+
+	/**
+	 * Sets every value of the snapshot from the same number, so that a mix
+	 * of two publications is detected.
+	 */
+	private static void fill(MetricsSnapshot snapshot, long value) {
+		snapshot.setFrameStats(value, (int) value, value + 1, value + 2, value + 3, value + 4, value + 5);
+		snapshot.setMultiplier((int) value + 6);
+		snapshot.setScene((int) value + 7, (int) value + 8);
+		snapshot.setPacing((int) value + 9, value + 10);
+		snapshot.setFrameCost(value + 11, value + 12);
+	}
+
+	private static void assertConsistent(MetricsSnapshot snapshot) {
+		long value = snapshot.getTimestampNanos();
+		assertEquals(value, snapshot.getFps());
+		assertEquals(value + 1, snapshot.getP50());
+		assertEquals(value + 2, snapshot.getP90());
+		assertEquals(value + 3, snapshot.getP99());
+		assertEquals(value + 4, snapshot.getMax());
+		assertEquals(value + 5, snapshot.getJankFrames());
+		assertEquals(value + 6, snapshot.getMultiplier());
+		assertEquals(value + 7, snapshot.getScene());
+		assertEquals(value + 8, snapshot.getSceneLevel());
+		assertEquals(value + 9, snapshot.getTargetFps());
+		assertEquals(value + 10, snapshot.getMissedDeadlines());
+		assertEquals(value + 11, snapshot.getCpuNanos());
+		assertEquals(value + 12, snapshot.getGpuNanos());
+	}
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.plot;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class DecimatorTest {
+
+	@Test
+	public void shortSeriesAreCopied() {
+		float[] xs = { 0, 1, 2, 3 };
+		float[] ys = { 5, 6, 7, 8 };
+		float[] outX = new float[10];
+		float[] outY = new float[10];
+		assertEquals(4, Decimator.lttb(xs, ys, 4, 10, outX, outY));
+		for (int i = 0; i < 4; i++) {
+			assertEquals(xs[i], outX[i], 0);
+			assertEquals(ys[i], outY[i], 0);
+		}
+	}
+
+	@Test
+	public void keepsEndpointsAndThreshold() {
+		int count = 1000;
+		float[] xs = new float[count];
+		float[] ys = new float[count];
+		for (int i = 0; i < count; i++) {
+			xs[i] = i;
+			ys[i] = (float) Math.sin(i / 25.0);
+		}
+		float[] outX = new float[50];
+		float[] outY = new float[50];
+		assertEquals(50, Decimator.lttb(xs, ys, count, 50, outX, outY));
+		assertEquals(0, outX[0], 0);
+		assertEquals(count - 1, outX[49], 0);
+		for (int i = 1; i < 50; i++)
+			assertTrue(outX[i] > outX[i - 1]);
+	}
+
+	@Test
+	public void keepsIsolatedPeaks() {
+		int count = 100;
+		float[] xs = new float[count];
+		float[] ys = new float[count];
+		for (int i = 0; i < count; i++)
+			xs[i] = i;
+		ys[37] = 80;
+		ys[71] = -20;
+		float[] outX = new float[10];
+		float[] outY = new float[10];
+		int points = Decimator.lttb(xs, ys, count, 10, outX, outY);
+		assertTrue(contains(outX, outY, points, 37, 80));
+		assertTrue(contains(outX, outY, points, 71, -20));
+	}
+
+	@Test
+	public void threeBucketsKeepTheMostSignificantPoint() {
+		float[] xs = { 0, 1, 2, 3, 4 };
+		float[] ys = { 0, 1, 9, 1, 0 };
+		float[] outX = new float[3];
+		float[] outY = new float[3];
+		assertEquals(3, Decimator.lttb(xs, ys, 5, 3, outX, outY));
+		assertArrayEquals(new float[] { 0, 2, 4 }, outX, 0);
+		assertArrayEquals(new float[] { 0, 9, 0 }, outY, 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsThresholdBelowThree() {
+		Decimator.lttb(new float[5], new float[5], 5, 2, new float[2], new float[2]);
+	}
+
+	private static boolean contains(float[] xs, float[] ys, int count, float x, float y) {
+		for (int i = 0; i < count; i++) {
+			if (xs[i] == x && ys[i] == y)
+				return true;
+		}
+		return false;
+	}
+}
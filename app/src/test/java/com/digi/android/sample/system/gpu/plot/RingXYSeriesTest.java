@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.plot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import com.androidplot.xy.OrderedXYSeries;
+
+import org.junit.Test;
+
+public class RingXYSeriesTest {
+
+	@Test
+	public void appendsUntilFull() {
+		RingXYSeries series = new RingXYSeries("Temperature", 4);
+		series.append(1);
+		series.append(2);
+		assertEquals(2, series.size());
+		assertEquals(4, series.getCapacity());
+		assertValues(series, 1, 2);
+	}
+
+	@Test
+	public void wrapsAroundEvictingTheOldest() {
+		RingXYSeries series = new RingXYSeries("Temperature", 4);
+		for (int i = 1; i <= 10; i++) {
+			series.append(i);
+			assertEquals(Math.min(i, 4), series.size());
+		}
+		assertValues(series, 7, 8, 9, 10);
+		for (int i = 0; i < series.size(); i++)
+			assertEquals(i, series.getX(i));
+	}
+
+	@Test
+	public void singleValueCapacity() {
+		RingXYSeries series = new RingXYSeries("Temperature", 1);
+		series.append(1);
+		series.append(2);
+		assertValues(series, 2);
+	}
+
+	@Test
+	public void clearStartsOver() {
+		RingXYSeries series = new RingXYSeries("Temperature", 3);
+		for (int i = 1; i <= 5; i++)
+			series.append(i);
+		series.clear();
+		assertEquals(0, series.size());
+		series.append(6);
+		series.append(7);
+		assertValues(series, 6, 7);
+	}
+
+	@Test
+	public void rejectsIndicesOutsideTheValues() {
+		RingXYSeries series = new RingXYSeries("Temperature", 4);
+		series.append(1);
+		assertOutOfBounds(series, -1);
+		assertOutOfBounds(series, 1);
+	}
+
+	@Test
+	public void describesItselfToThePlot() {
+		RingXYSeries series = new RingXYSeries("Temperature", 2);
+		assertEquals("Temperature", series.getTitle());
+		assertEquals(OrderedXYSeries.XOrder.ASCENDING, series.getXOrder());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsEmptyCapacity() {
+		new RingXYSeries("Temperature", 0);
+	}
+
+	private static void assertValues(RingXYSeries series, float... expected) {
+		assertEquals(expected.length, series.size());
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i], series.getFloat(i), 0);
+			assertEquals(expected[i], series.getY(i).floatValue(), 0);
+		}
+	}
+
+	private static void assertOutOfBounds(RingXYSeries series, int index) {
+		try {
+			series.getFloat(index);
+			fail("Index " + index + " accepted");
+		} catch (IndexOutOfBoundsException e) {
+			// Expected.
+		}
+	}
+}
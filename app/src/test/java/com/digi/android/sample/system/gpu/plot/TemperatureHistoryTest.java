@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.plot;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class TemperatureHistoryTest {
+
+	private static final int MAX_POINTS = 4000;
+
+	private final float[] outX = new float[MAX_POINTS];
+	private final float[] outY = new float[MAX_POINTS];
+
+	@Test
+	public void emptyRangesRenderNothing() {
+		TemperatureHistory history = filled(100);
+		assertEquals(0, history.query(50, 50, MAX_POINTS, outX, outY));
+		assertEquals(0, history.query(100, 200, MAX_POINTS, outX, outY));
+		assertEquals(0, new TemperatureHistory().query(0, 10, MAX_POINTS, outX, outY));
+	}
+
+	@Test
+	public void recentRangesUseRawSamples() {
+		TemperatureHistory history = filled(5000);
+		long from = 5000 - TemperatureHistory.RAW_CAPACITY;
+		int points = history.query(from + 100, 5000, MAX_POINTS, outX, outY);
+		assertEquals(TemperatureHistory.RAW_CAPACITY - 100, points);
+		for (int i = 0; i < points; i++) {
+			assertEquals(from + 100 + i, outX[i], 0);
+			assertEquals(from + 100 + i, outY[i], 0);
+		}
+	}
+
+	@Test
+	public void rangesBeyondRawUseTenSampleBuckets() {
+		TemperatureHistory history = filled(10_000);
+		assertBuckets(history, history.query(0, 10_000, MAX_POINTS, outX, outY), 0, 10);
+	}
+
+	@Test
+	public void rangesBeyondTenSampleBucketsUseMinuteBuckets() {
+		// The 10 sample tier only covers the last 21600 samples.
+		TemperatureHistory history = filled(30_000);
+		assertBuckets(history, history.query(0, 30_000, MAX_POINTS, outX, outY), 0, 60);
+	}
+
+	@Test
+	public void finestCoveringTierIsChosen() {
+		// 10 sample buckets start at 78400, minute buckets at 13560.
+		TemperatureHistory history = filled(100_000);
+		assertBuckets(history, history.query(20_000, 100_000, MAX_POINTS, outX, outY), 333, 60);
+		assertBuckets(history, history.query(0, 100_000, MAX_POINTS, outX, outY), 0, 600);
+	}
+
+	@Test
+	public void oldestFollowsTheCoarsestTier() {
+		TemperatureHistory history = filled(700_000);
+		assertEquals(700_000, history.getCount());
+		assertEquals((700_000 / 600 - 1008) * 600, history.getOldest());
+		assertBuckets(history, history.query(0, 700_000, MAX_POINTS, outX, outY),
+				history.getOldest() / 600, 600);
+	}
+
+	@Test
+	public void peaksSurviveAggregationAndDecimation() {
+		TemperatureHistory history = new TemperatureHistory();
+		for (int i = 0; i < 50_000; i++)
+			history.append(i == 1234 ? 95 : 40);
+		int points = history.query(0, 50_000, 100, outX, outY);
+		assertEquals(100, points);
+		float max = 0;
+		for (int i = 0; i < points; i++)
+			max = Math.max(max, outY[i]);
+		assertEquals(95, max, 0);
+	}
+
+	/**
+	 * Appends samples whose value is their index.
+	 */
+	private static TemperatureHistory filled(int count) {
+		TemperatureHistory history = new TemperatureHistory();
+		for (int i = 0; i < count; i++)
+			history.append(i);
+		return history;
+	}
+
+	/**
+	 * Checks points are minimum and maximum pairs of consecutive buckets of
+	 * the given size, from the given bucket to the one holding the last
+	 * sample of the history.
+	 */
+	private void assertBuckets(TemperatureHistory history, int points, long firstBucket,
+			int factor) {
+		long last = history.getCount() - 1;
+		assertEquals(0, points % 2);
+		assertEquals(last / factor - firstBucket + 1, points / 2);
+		for (int i = 0; i < points / 2; i++) {
+			long bucket = firstBucket + i;
+			assertEquals(bucket * factor + factor / 2f, outX[2 * i], 0);
+			assertEquals(bucket * factor + factor / 2f, outX[2 * i + 1], 0);
+			assertEquals(bucket * factor, outY[2 * i], 0);
+			assertEquals(Math.min(bucket * factor + factor - 1, last), outY[2 * i + 1], 0);
+		}
+	}
+}
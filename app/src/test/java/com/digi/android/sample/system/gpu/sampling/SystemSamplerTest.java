@@ -0,0 +1,293 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.sampling;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.digi.android.sample.system.gpu.control.GpuControl;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class SystemSamplerTest {
+
+	private static final long MILLIS = 1_000_000L;
+
+	private final FakeGpuControl gpuControl = new FakeGpuControl();
+	private final QueueExecutor uiExecutor = new QueueExecutor();
+	private final RecordingListener listener = new RecordingListener();
+	private ScheduledExecutorService scheduler;
+
+	@Before
+	public void setUp() {
+		scheduler = Executors.newSingleThreadScheduledExecutor();
+	}
+
+	@After
+	public void tearDown() {
+		scheduler.shutdownNow();
+	}
+
+	@Test
+	public void nothingIsPublishedWithoutTemperature() {
+		SystemSampler sampler = newSampler(0);
+		sampler.tick(0);
+		sampler.tick(10 * MILLIS);
+		assertEquals(0, uiExecutor.size());
+		assertEquals(0, sampler.getRing().getWritten());
+	}
+
+	@Test
+	public void tickSamplesAndPublishes() {
+		SystemSampler sampler = newSampler(0);
+		gpuControl.multiplier = 32;
+		sampler.offerTemperature(45.4f);
+		sampler.tick(5 * MILLIS);
+
+		assertEquals(1, uiExecutor.size());
+		uiExecutor.runAll();
+		assertEquals(1, listener.snapshots);
+		assertEquals(45.4f, listener.temperature, 0);
+		assertEquals(32, listener.multiplier);
+		assertEquals("45 C", listener.temperatureText);
+		assertEquals("x32", listener.multiplierText);
+		assertEquals(0, listener.firstSequence);
+		assertEquals(1, listener.endSequence);
+
+		SampleRing ring = sampler.getRing();
+		assertEquals(5 * MILLIS, ring.getTime(0));
+		assertEquals(45.4f, ring.getTemperature(0), 0);
+		assertEquals(32, ring.getMultiplier(0));
+	}
+
+	@Test
+	public void busyUiCoalescesSamples() {
+		SystemSampler sampler = newSampler(0);
+		sampler.offerTemperature(40);
+		sampler.tick(0);
+		sampler.offerTemperature(41);
+		sampler.tick(10 * MILLIS);
+		sampler.offerTemperature(42);
+		sampler.tick(20 * MILLIS);
+		assertEquals(1, uiExecutor.size());
+
+		uiExecutor.runAll();
+		assertEquals(1, listener.endSequence);
+		sampler.tick(30 * MILLIS);
+		uiExecutor.runAll();
+		assertEquals(2, listener.snapshots);
+		assertEquals(1, listener.firstSequence);
+		assertEquals(3, listener.endSequence);
+		assertEquals(42, listener.temperature, 0);
+	}
+
+	@Test
+	public void readingsBetweenTicksAreCoalesced() {
+		SystemSampler sampler = newSampler(0);
+		sampler.offerTemperature(40);
+		sampler.offerTemperature(41);
+		sampler.tick(0);
+		assertEquals(1, sampler.getRing().getWritten());
+		assertEquals(41, sampler.getRing().getTemperature(0), 0);
+	}
+
+	@Test
+	public void minimumPublishIntervalIsHonoured() {
+		SystemSampler sampler = newSampler(100);
+		sampler.offerTemperature(40);
+		sampler.tick(0);
+		uiExecutor.runAll();
+		sampler.offerTemperature(41);
+		sampler.tick(50 * MILLIS);
+		assertEquals(0, uiExecutor.size());
+		sampler.tick(100 * MILLIS);
+		uiExecutor.runAll();
+		assertEquals(2, listener.snapshots);
+		assertEquals(2, listener.endSequence);
+	}
+
+	@Test
+	public void multiplierChangeIsPublishedWithoutNewTemperature() {
+		SystemSampler sampler = newSampler(0);
+		gpuControl.multiplier = 64;
+		sampler.offerTemperature(40);
+		sampler.tick(0);
+		uiExecutor.runAll();
+		sampler.tick(10 * MILLIS);
+		assertEquals(0, uiExecutor.size());
+
+		gpuControl.multiplier = 16;
+		sampler.tick(20 * MILLIS);
+		uiExecutor.runAll();
+		assertEquals(2, listener.snapshots);
+		assertEquals(16, listener.multiplier);
+		assertEquals("x16", listener.multiplierText);
+	}
+
+	@Test
+	public void unreadableMultiplierIsReportedAsUnknown() {
+		SystemSampler sampler = newSampler(0);
+		gpuControl.failure = new IOException("No GPU manager");
+		sampler.offerTemperature(40);
+		sampler.tick(0);
+		uiExecutor.runAll();
+		assertEquals(0, listener.multiplier);
+		assertNull(listener.multiplierText);
+	}
+
+	@Test
+	public void failingSinkDoesNotStopTheOthers() {
+		SystemSampler sampler = newSampler(0);
+		CountingSink before = new CountingSink();
+		CountingSink after = new CountingSink();
+		sampler.addSampleSink(before);
+		sampler.addSampleSink(new FailingSink());
+		sampler.addSampleSink(after);
+
+		sampler.offerTemperature(40);
+		sampler.tick(0);
+		sampler.offerTemperature(41);
+		sampler.tick(10 * MILLIS);
+		assertEquals(2, before.samples);
+		assertEquals(2, after.samples);
+		assertEquals(1, uiExecutor.size());
+	}
+
+	@Test
+	public void failingSinkDoesNotCancelTheSchedule() throws InterruptedException {
+		final CountDownLatch latch = new CountDownLatch(3);
+		SystemSampler sampler = new SystemSampler(gpuControl, scheduler, uiExecutor, listener,
+				5, 0, 16, "%1$.0f C", "x%1$d");
+		sampler.addSampleSink(new FailingSink());
+		sampler.addSampleSink(new SystemSampler.SampleSink() {
+			@Override
+			public void onSample(long timeNanos, float temperature, int multiplier) {
+				latch.countDown();
+			}
+		});
+		sampler.start();
+		try {
+			for (int i = 0; i < 50 && latch.getCount() > 0; i++) {
+				sampler.offerTemperature(40 + i);
+				Thread.sleep(10);
+			}
+			assertTrue(latch.await(1, TimeUnit.SECONDS));
+		} finally {
+			sampler.stop();
+		}
+	}
+
+	private SystemSampler newSampler(long minPublishIntervalMillis) {
+		return new SystemSampler(gpuControl, scheduler, uiExecutor, listener, 10,
+				minPublishIntervalMillis, 16, "%1$.0f C", "x%1$d");
+	}
+
+	private static final class FakeGpuControl implements GpuControl {
+
+		volatile int multiplier = 64;
+		volatile IOException failure;
+
+		@Override
+		public int getMultiplier() throws IOException {
+			if (failure != null)
+				throw failure;
+			return multiplier;
+		}
+
+		@Override
+		public int setMultiplier(int multiplier) {
+			this.multiplier = multiplier;
+			return multiplier;
+		}
+
+		@Override
+		public int getMinMultiplier() {
+			return 1;
+		}
+	}
+
+	private static final class QueueExecutor implements Executor {
+
+		private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+
+		@Override
+		public synchronized void execute(Runnable task) {
+			tasks.add(task);
+		}
+
+		synchronized int size() {
+			return tasks.size();
+		}
+
+		synchronized void runAll() {
+			while (!tasks.isEmpty())
+				tasks.poll().run();
+		}
+	}
+
+	private static final class RecordingListener implements SystemSampler.Listener {
+
+		int snapshots;
+		float temperature;
+		int multiplier;
+		String temperatureText;
+		String multiplierText;
+		long firstSequence;
+		long endSequence;
+
+		@Override
+		public void onSnapshot(SystemSnapshot snapshot) {
+			snapshots++;
+			temperature = snapshot.getTemperature();
+			multiplier = snapshot.getMultiplier();
+			temperatureText = snapshot.getTemperatureText().toString();
+			CharSequence text = snapshot.getMultiplierText();
+			multiplierText = text == null ? null : text.toString();
+			firstSequence = snapshot.getFirstSequence();
+			endSequence = snapshot.getEndSequence();
+		}
+	}
+
+	private static final class CountingSink implements SystemSampler.SampleSink {
+
+		int samples;
+
+		@Override
+		public void onSample(long timeNanos, float temperature, int multiplier) {
+			samples++;
+		}
+	}
+
+	private static final class FailingSink implements SystemSampler.SampleSink {
+
+		@Override
+		public void onSample(long timeNanos, float temperature, int multiplier) {
+			throw new IllegalStateException("Sink failure");
+		}
+	}
+}
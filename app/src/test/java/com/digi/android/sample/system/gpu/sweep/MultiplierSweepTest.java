@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.sweep;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.digi.android.sample.system.gpu.control.GpuControl;
+import com.digi.android.sample.system.gpu.metrics.MetricsChannel;
+import com.digi.android.sample.system.gpu.metrics.MetricsSnapshot;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class MultiplierSweepTest {
+
+	private static final long SECOND = 1_000_000_000L;
+
+	private final FakeGpuControl control = new FakeGpuControl();
+	private final MetricsChannel channel = new MetricsChannel();
+	private final MetricsSnapshot metrics = new MetricsSnapshot();
+	private final RecordingListener listener = new RecordingListener();
+
+	@Test
+	public void measuresEveryStep() {
+		MultiplierSweep sweep = new MultiplierSweep(control, channel, new int[] { 1, 32, 64 }, 2, 3,
+				listener);
+		assertFalse(sweep.isRunning());
+		run(sweep, 0, 5);
+		assertNull(listener.finished);
+		assertEquals(0, control.writes);
+
+		sweep.start();
+		assertTrue(sweep.isRunning());
+		run(sweep, 5, 30);
+		assertFalse(sweep.isRunning());
+		assertNull(listener.error);
+		assertNotNull(listener.finished);
+		assertEquals(listener.steps, listener.finished);
+		assertEquals(3, listener.finished.size());
+
+		// The GPU control clamps 1 to its minimum multiplier.
+		assertStep(listener.finished.get(0), 1, 8);
+		assertStep(listener.finished.get(1), 32, 32);
+		assertStep(listener.finished.get(2), 64, 64);
+		assertEquals(Arrays.asList(1, 32, 64), control.requested);
+	}
+
+	@Test
+	public void marksThrottledSteps() {
+		MultiplierSweep sweep = new MultiplierSweep(control, channel, new int[] { 64 }, 0, 4,
+				listener);
+		sweep.start();
+		long now = 0;
+		sweep.onSample(now, 50, control.multiplier);
+		// The hot trip point lowers the multiplier during the measurement.
+		control.multiplier = 16;
+		for (int i = 1; i <= 4; i++)
+			sweep.onSample(now += SECOND, 50, control.multiplier);
+		assertEquals(1, listener.finished.size());
+		SweepStep step = listener.finished.get(0);
+		assertTrue(step.isThrottled());
+		assertEquals(64, step.getMultiplier());
+	}
+
+	@Test
+	public void cancelStopsTheSweep() {
+		MultiplierSweep sweep = new MultiplierSweep(control, channel, new int[] { 16, 32 }, 1, 1,
+				listener);
+		sweep.start();
+		run(sweep, 0, 1);
+		sweep.cancel();
+		run(sweep, 1, 10);
+		assertNull(listener.finished);
+		assertEquals(Arrays.asList(16), control.requested);
+	}
+
+	@Test
+	public void restartBetweenSamplesStartsOver() {
+		MultiplierSweep sweep = new MultiplierSweep(control, channel, new int[] { 16, 32 }, 1, 3,
+				listener);
+		sweep.start();
+		run(sweep, 0, 6);
+		assertEquals(1, listener.steps.size());
+		// Cancelled and started again before the sampler notices.
+		sweep.cancel();
+		sweep.start();
+		listener.steps.clear();
+		run(sweep, 6, 20);
+		assertNotNull(listener.finished);
+		assertEquals(2, listener.finished.size());
+		assertStep(listener.finished.get(0), 16, 16);
+		assertStep(listener.finished.get(1), 32, 32);
+		assertEquals(Arrays.asList(16, 32, 16, 32), control.requested);
+	}
+
+	@Test
+	public void failingControlAbortsTheSweep() {
+		control.failure = new IOException("Read-only");
+		MultiplierSweep sweep = new MultiplierSweep(control, channel, new int[] { 16, 32 }, 1, 1,
+				listener);
+		sweep.start();
+		run(sweep, 0, 5);
+		assertFalse(sweep.isRunning());
+		assertTrue(listener.error instanceof IOException);
+		assertNull(listener.finished);
+	}
+
+	@Test
+	public void writesBothMultipliersAndEfficiency() throws IOException {
+		List<SweepStep> steps = Arrays.asList(
+				new SweepStep(1, 8, false, 30, 12.5f, 80_000_000L, 45, 0.1f),
+				new SweepStep(32, 32, false, 30, 40, 25_000_000L, 50, 0.5f),
+				new SweepStep(64, 48, true, 30, 55, 18_000_000L, 44, -0.25f));
+		StringBuilder csv = new StringBuilder();
+		MultiplierSweep.writeCsv(steps, csv);
+		assertEquals("requested_multiplier,multiplier,throttled,fps,p99_ms,temperature_c,"
+				+ "slope_c_per_min,fps_per_c\n"
+				+ "1,8,false,12.5,80.00,45.00,0.100,\n"
+				+ "32,32,false,40.0,25.00,50.00,0.500,8.00\n"
+				+ "64,48,true,55.0,18.00,44.00,-0.250,\n", csv.toString());
+	}
+
+	@Test
+	public void writesHeaderOnlyWithoutSteps() throws IOException {
+		StringBuilder csv = new StringBuilder();
+		MultiplierSweep.writeCsv(new ArrayList<SweepStep>(), csv);
+		assertEquals(1, csv.toString().split("\n").length);
+	}
+
+	/**
+	 * Feeds one sample per second. The temperature and frame rate follow
+	 * the applied multiplier and a new frame snapshot is published before
+	 * every sample.
+	 */
+	private void run(MultiplierSweep sweep, int fromSecond, int toSecond) {
+		for (int second = fromSecond; second < toSecond; second++) {
+			int multiplier = control.multiplier;
+			metrics.setFrameStats(second * SECOND, multiplier, 0, 0, multiplier * 1000L, 0, 0);
+			channel.publish(metrics);
+			sweep.onSample(second * SECOND, 40 + multiplier / 4f, multiplier);
+		}
+	}
+
+	private static void assertStep(SweepStep step, int requested, int applied) {
+		assertEquals(requested, step.getRequestedMultiplier());
+		assertEquals(applied, step.getMultiplier());
+		assertFalse(step.isThrottled());
+		assertEquals(4, step.getSamples());
+		assertEquals(applied, step.getFps(), 0);
+		assertEquals(applied * 1000L, step.getP99());
+		assertEquals(40 + applied / 4f, step.getTemperature(), 1e-4f);
+		assertEquals(0, step.getTemperatureSlope(), 1e-4f);
+	}
+
+	private static final class FakeGpuControl implements GpuControl {
+
+		final List<Integer> requested = new ArrayList<>();
+		int multiplier = 64;
+		int writes;
+		IOException failure;
+
+		@Override
+		public int getMultiplier() {
+			return multiplier;
+		}
+
+		@Override
+		public int setMultiplier(int multiplier) throws IOException {
+			writes++;
+			if (failure != null)
+				throw failure;
+			requested.add(multiplier);
+			this.multiplier = Math.max(8, Math.min(64, multiplier));
+			return this.multiplier;
+		}
+
+		@Override
+		public int getMinMultiplier() {
+			return 8;
+		}
+	}
+
+	private static final class RecordingListener implements MultiplierSweep.Listener {
+
+		final List<SweepStep> steps = new ArrayList<>();
+		List<SweepStep> finished;
+		Exception error;
+
+		@Override
+		public void onStep(SweepStep step, int index, int total) {
+			assertEquals(steps.size(), index);
+			steps.add(step);
+		}
+
+		@Override
+		public void onFinished(List<SweepStep> steps) {
+			finished = steps;
+		}
+
+		@Override
+		public void onError(Exception e) {
+			error = e;
+		}
+	}
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.telemetry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TelemetryLogTest {
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	private File directory;
+
+	@Before
+	public void setUp() {
+		directory = new File(folder.getRoot(), "telemetry");
+	}
+
+	@Test
+	public void recordsRoundTrip() throws IOException {
+		write(10, 2, 0, 5);
+		List<long[]> records = readAll();
+		assertEquals(5, records.size());
+		for (int i = 0; i < 5; i++)
+			assertRecord(i, records.get(i));
+	}
+
+	@Test
+	public void emptyDirectoryHasNoRecords() throws IOException {
+		assertEquals(0, TelemetryLogReader.read(folder.getRoot(), new Collector()));
+	}
+
+	@Test
+	public void segmentsRollOverAndOldestAreDeleted() throws IOException {
+		write(4, 3, 0, 20);
+		File[] segments = TelemetryFormat.listSegments(directory);
+		assertEquals(3, segments.length);
+		assertEquals(2, TelemetryFormat.segmentIndex(segments[0]));
+		assertEquals(4, TelemetryFormat.segmentIndex(segments[2]));
+		for (File segment : segments)
+			assertEquals(TelemetryFormat.segmentSize(4), segment.length());
+
+		List<long[]> records = readAll();
+		assertEquals(12, records.size());
+		for (int i = 0; i < records.size(); i++)
+			assertRecord(8 + i, records.get(i));
+	}
+
+	@Test
+	public void reopenedLogResumesAfterLastRecord() throws IOException {
+		write(4, 8, 0, 6);
+		write(4, 8, 6, 5);
+		List<long[]> records = readAll();
+		assertEquals(11, records.size());
+		for (int i = 0; i < records.size(); i++)
+			assertRecord(i, records.get(i));
+	}
+
+	@Test
+	public void corruptedRecordEndsItsSegment() throws IOException {
+		write(10, 2, 0, 6);
+		File segment = TelemetryFormat.listSegments(directory)[0];
+		try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+			long offset = recordOffset(3) + 10;
+			file.seek(offset);
+			int value = file.read();
+			file.seek(offset);
+			file.write(value ^ 0xff);
+		}
+		assertEquals(3, readAll().size());
+
+		// The writer overwrites the corrupted record and drops those after it.
+		write(10, 2, 100, 1);
+		List<long[]> records = readAll();
+		assertEquals(4, records.size());
+		assertRecord(2, records.get(2));
+		assertRecord(100, records.get(3));
+	}
+
+	@Test
+	public void truncatedSegmentKeepsItsCompleteRecords() throws IOException {
+		write(10, 4, 0, 6);
+		File segment = TelemetryFormat.listSegments(directory)[0];
+		try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+			file.setLength(recordOffset(2) + TelemetryFormat.RECORD_SIZE / 2);
+		}
+		assertEquals(2, readAll().size());
+
+		// A truncated segment cannot be mapped again, so writing continues
+		// in a new one.
+		write(10, 4, 100, 1);
+		File[] segments = TelemetryFormat.listSegments(directory);
+		assertEquals(2, segments.length);
+		List<long[]> records = readAll();
+		assertEquals(3, records.size());
+		assertRecord(1, records.get(1));
+		assertRecord(100, records.get(2));
+	}
+
+	@Test
+	public void segmentsWithInvalidHeaderAreSkipped() throws IOException {
+		write(2, 4, 0, 6);
+		File first = TelemetryFormat.listSegments(directory)[0];
+		try (RandomAccessFile file = new RandomAccessFile(first, "rw")) {
+			file.writeInt(0);
+		}
+		List<long[]> records = readAll();
+		assertEquals(4, records.size());
+		assertRecord(2, records.get(0));
+	}
+
+	@Test
+	public void exportsCsv() throws IOException {
+		write(10, 2, 0, 2);
+		StringBuilder csv = new StringBuilder();
+		assertEquals(2, TelemetryLogReader.exportCsv(directory, csv));
+		String[] lines = csv.toString().split("\n");
+		assertEquals(3, lines.length);
+		assertTrue(lines[0].startsWith("time_ms,temperature_c,multiplier,fps,"));
+		assertEquals("1001,40.50,2,60,1000,2000,3000,4000,1,3,5", lines[2]);
+	}
+
+	private void write(int recordsPerSegment, int maxSegments, int first, int count)
+			throws IOException {
+		TelemetryRecord record = new TelemetryRecord();
+		try (TelemetryLogWriter writer = new TelemetryLogWriter(directory, recordsPerSegment,
+				maxSegments)) {
+			for (int i = first; i < first + count; i++) {
+				record.set(1000 + i, 40 + i / 2f, i + 1, 60, 1000, 2000, 3000, 4000, i, 3, 5);
+				writer.append(record);
+			}
+		}
+	}
+
+	private List<long[]> readAll() throws IOException {
+		Collector collector = new Collector();
+		long count = TelemetryLogReader.read(directory, collector);
+		assertEquals(count, collector.records.size());
+		return collector.records;
+	}
+
+	private static void assertRecord(int i, long[] record) {
+		assertEquals(1000 + i, record[0]);
+		assertEquals(Float.floatToIntBits(40 + i / 2f), record[1]);
+		assertEquals(i + 1, record[2]);
+		assertEquals(i, record[3]);
+	}
+
+	private static long recordOffset(int record) {
+		return TelemetryFormat.HEADER_SIZE + (long) record * TelemetryFormat.RECORD_SIZE;
+	}
+
+	private static final class Collector implements TelemetryLogReader.Visitor {
+
+		final List<long[]> records = new ArrayList<>();
+
+		@Override
+		public void onRecord(TelemetryRecord record) {
+			assertEquals(60, record.getFps());
+			assertEquals(1000, record.getP50Micros());
+			assertEquals(2000, record.getP90Micros());
+			assertEquals(3000, record.getP99Micros());
+			assertEquals(4000, record.getMaxMicros());
+			assertEquals(3, record.getScene());
+			assertEquals(5, record.getSceneLevel());
+			records.add(new long[] { record.getTimeMillis(),
+					Float.floatToIntBits(record.getTemperature()), record.getMultiplier(),
+					record.getJankFrames() });
+		}
+	}
+}
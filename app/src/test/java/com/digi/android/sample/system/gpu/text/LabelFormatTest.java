@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.text;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import java.util.Locale;
+
+public class LabelFormatTest {
+
+	private static final Locale[] LOCALES = { Locale.US, Locale.GERMANY,
+			Locale.forLanguageTag("ar-EG"), Locale.forLanguageTag("hi-IN-u-nu-deva") };
+
+	@Test
+	public void integersMatchStringFormat() {
+		long[] values = { 0, 1, -1, 9, 10, 42, -1234567, Integer.MAX_VALUE,
+				Long.MAX_VALUE, Long.MIN_VALUE };
+		for (Locale locale : LOCALES) {
+			LabelFormat format = new LabelFormat("x%1$d", locale);
+			for (long value : values) {
+				format.setInt(1, value).render();
+				assertEquals(String.format(locale, "x%1$d", value), format.toString());
+			}
+		}
+	}
+
+	@Test
+	public void floatsMatchStringFormat() {
+		for (Locale locale : LOCALES) {
+			for (int precision = 0; precision <= 3; precision++) {
+				String template = "%1$." + precision + "f C";
+				LabelFormat format = new LabelFormat(template, locale);
+				for (int i = -2000; i <= 2000; i++) {
+					double value = i * 0.0731;
+					format.setFloat(1, value).render();
+					assertEquals(String.format(locale, template, value), format.toString());
+				}
+			}
+		}
+	}
+
+	@Test
+	public void midpointsRoundLikeStringFormat() {
+		// Decimal midpoints are rarely exact doubles, and scaling them can
+		// round to either side.
+		for (int precision = 0; precision <= 3; precision++) {
+			String template = "%." + precision + "f";
+			LabelFormat format = new LabelFormat(template, Locale.US);
+			for (int i = -20000; i <= 20000; i++) {
+				double value = i / 2000.0 + 0.0005;
+				format.setFloat(1, value).render();
+				assertEquals(String.format(Locale.US, template, value), format.toString());
+			}
+		}
+	}
+
+	@Test
+	public void specialFloatsMatchStringFormat() {
+		double[] values = { -0.0, -0.001, Double.NaN, Double.POSITIVE_INFINITY,
+				Double.NEGATIVE_INFINITY, 1e300 };
+		LabelFormat format = new LabelFormat("%.1f", Locale.US);
+		for (double value : values) {
+			format.setFloat(1, value).render();
+			assertEquals(String.format(Locale.US, "%.1f", value), format.toString());
+		}
+	}
+
+	@Test
+	public void defaultPrecisionMatchesStringFormat() {
+		LabelFormat format = new LabelFormat("%f", Locale.US);
+		format.setFloat(1, Math.PI).render();
+		assertEquals(String.format(Locale.US, "%f", Math.PI), format.toString());
+	}
+
+	@Test
+	public void argumentsCanBeReorderedAndNested() {
+		LabelFormat inner = new LabelFormat("%d%%", Locale.US);
+		inner.setInt(1, 75).render();
+		LabelFormat outer = new LabelFormat("%2$s at %1$.1f C", Locale.US);
+		outer.setFloat(1, 48.25).setText(2, inner).render();
+		assertEquals(String.format(Locale.US, "%2$s at %1$.1f C", 48.25, "75%"),
+				outer.toString());
+		outer.setText(2, null).render();
+		assertEquals("null at 48.3 C", outer.toString());
+	}
+
+	@Test
+	public void renderReportsChanges() {
+		LabelFormat format = new LabelFormat("%d FPS", Locale.US);
+		assertTrue(format.setInt(1, 60).render());
+		assertFalse(format.setInt(1, 60).render());
+		assertTrue(format.setInt(1, 59).render());
+		assertEquals(6, format.length());
+		assertEquals('5', format.charAt(0));
+		assertEquals("FPS", format.subSequence(3, 6).toString());
+	}
+
+	@Test
+	public void unsupportedSyntaxIsRejected() {
+		String[] templates = { "%5d", "%x", "%.2d", "%", "%.f", "%0$d", "%.10f" };
+		for (String template : templates) {
+			try {
+				new LabelFormat(template, Locale.US);
+				fail(template);
+			} catch (IllegalArgumentException e) {
+				// Expected.
+			}
+		}
+	}
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.text;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+public class TextLabelTest {
+
+	private static final int WARM_UP = 20000;
+	private static final int ITERATIONS = 10000;
+
+	private final RecordingDisplay display = new RecordingDisplay();
+	private final TextLabel label = new TextLabel(display);
+
+	@Test
+	public void showsOnlyChangedText() {
+		assertTrue(label.show("42 FPS"));
+		assertFalse(label.show(new StringBuilder("42 FPS")));
+		assertEquals(1, display.updates);
+		assertTrue(label.show("43 FPS"));
+		assertEquals("43 FPS", display.text);
+		assertTrue(label.show(""));
+		assertEquals("", display.text);
+		assertEquals(3, display.updates);
+	}
+
+	@Test
+	public void growsForLongText() {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 100; i++)
+			text.append((char) ('a' + i % 26));
+		assertTrue(label.show(text));
+		assertEquals(text.toString(), display.text);
+	}
+
+	@Test
+	public void showsRenderedFormats() {
+		LabelFormat format = new LabelFormat("%1$d FPS, %2$.1f C", Locale.US);
+		format.setInt(1, 60).setFloat(2, 45.25);
+		assertTrue(label.show(format));
+		assertEquals("60 FPS, 45.3 C", display.text);
+		assertFalse(label.show(format));
+		assertEquals(1, display.updates);
+	}
+
+	@Test
+	public void renderAndShowDoNotAllocate() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+		assumeTrue(threads.isThreadAllocatedMemorySupported()
+				&& threads.isThreadAllocatedMemoryEnabled());
+		long thread = Thread.currentThread().getId();
+
+		LabelFormat format = new LabelFormat("%1$d FPS, p99 %2$.1f ms, %3$s", Locale.US);
+		LabelFormat multiplier = new LabelFormat("x%1$d", Locale.US);
+		format.setText(3, multiplier);
+		// Warm up, also growing the buffers to their final size.
+		display.copy = false;
+		update(format, multiplier, WARM_UP);
+
+		// Reading the counter may itself allocate; measure that first.
+		long start = threads.getThreadAllocatedBytes(thread);
+		long overhead = threads.getThreadAllocatedBytes(thread) - start;
+		start = threads.getThreadAllocatedBytes(thread);
+		update(format, multiplier, ITERATIONS);
+		long allocated = threads.getThreadAllocatedBytes(thread) - start - overhead;
+		assertEquals(0, allocated);
+		assertEquals(WARM_UP + ITERATIONS, display.updates);
+	}
+
+	private void update(LabelFormat format, LabelFormat multiplier, int count) {
+		for (int i = 0; i < count; i++) {
+			multiplier.setInt(1, i % 64);
+			multiplier.render();
+			format.setInt(1, i).setFloat(2, i * 0.37);
+			assertTrue(format.render());
+			label.show((CharSequence) format);
+		}
+	}
+
+	private static final class RecordingDisplay implements TextLabel.Display {
+
+		boolean copy = true;
+		String text;
+		int updates;
+
+		@Override
+		public void setText(char[] text, int start, int length) {
+			if (copy)
+				this.text = new String(text, start, length);
+			updates++;
+		}
+	}
+}
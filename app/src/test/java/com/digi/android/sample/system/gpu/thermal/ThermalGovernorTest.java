@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.thermal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.digi.android.sample.system.gpu.control.GpuControl;
+
+import org.junit.Test;
+
+import java.io.IOException;
+
+public class ThermalGovernorTest {
+
+	private static final long SECOND = 1_000_000_000L;
+
+	@Test
+	public void holdsTheTargetOnASimulatedPlant() {
+		FakeGpuControl control = new FakeGpuControl(64);
+		ThermalGovernor governor = new ThermalGovernor(control, 55, 1, 64);
+		governor.setEnabled(true);
+		Plant plant = new Plant(30);
+
+		int changes = 0;
+		int previous = control.multiplier;
+		long lastChange = Long.MIN_VALUE / 2;
+		for (int second = 0; second < 1800; second++) {
+			long now = second * SECOND;
+			governor.onSample(now, plant.temperature, control.multiplier);
+			if (control.multiplier != previous) {
+				assertTrue(Math.abs(control.multiplier - previous) <= ThermalGovernor.DEFAULT_MAX_STEP);
+				assertTrue(now - lastChange >= ThermalGovernor.DEFAULT_MIN_INTERVAL_MILLIS * 1_000_000L);
+				lastChange = now;
+				previous = control.multiplier;
+				changes++;
+			}
+			plant.step(control.multiplier);
+			assertTrue(plant.temperature < 60);
+			if (second >= 1200)
+				assertEquals(55, plant.temperature, 1);
+		}
+		// Settles close to the multiplier holding 55 degrees, about 42.
+		assertEquals(42, control.multiplier, 2);
+		assertTrue(changes > 0);
+	}
+
+	@Test
+	public void coolPlantRunsAtFullSpeed() {
+		FakeGpuControl control = new FakeGpuControl(32);
+		ThermalGovernor governor = new ThermalGovernor(control, 80, 1, 64);
+		governor.setEnabled(true);
+		Plant plant = new Plant(30);
+		for (int second = 0; second < 600; second++) {
+			governor.onSample(second * SECOND, plant.temperature, control.multiplier);
+			plant.step(control.multiplier);
+		}
+		assertEquals(64, control.multiplier);
+	}
+
+	@Test
+	public void disabledGovernorLeavesTheMultiplier() {
+		FakeGpuControl control = new FakeGpuControl(64);
+		ThermalGovernor governor = new ThermalGovernor(control, 40, 1, 64);
+		assertFalse(governor.isEnabled());
+		for (int second = 0; second < 60; second++)
+			governor.onSample(second * SECOND, 70, control.multiplier);
+		assertEquals(0, control.writes);
+		assertEquals(64, control.multiplier);
+	}
+
+	@Test
+	public void externalChangesBecomeTheStartingPoint() {
+		FakeGpuControl control = new FakeGpuControl(64);
+		ThermalGovernor governor = new ThermalGovernor(control, 50, 1, 64);
+		governor.setEnabled(true);
+		governor.setGains(2, 0);
+		assertEquals(64, governor.update(0, 50, 64));
+		// The trip point limited the GPU: continue from there without a jump.
+		control.multiplier = 8;
+		assertEquals(8, governor.update(3 * SECOND, 50, 8));
+		assertEquals(8, governor.update(6 * SECOND, 50, 8));
+	}
+
+	@Test
+	public void deadbandIgnoresSmallErrors() {
+		FakeGpuControl control = new FakeGpuControl(40);
+		ThermalGovernor governor = new ThermalGovernor(control, 50, 1, 64);
+		governor.setEnabled(true);
+		for (int second = 0; second < 60; second++)
+			governor.onSample(second * SECOND, 50.4f, control.multiplier);
+		assertEquals(0, control.writes);
+
+		governor.setTargetTemperature(45);
+		assertEquals(45, governor.getTargetTemperature(), 0);
+		for (int second = 60; second < 120; second++)
+			governor.onSample(second * SECOND, 50.4f, control.multiplier);
+		assertTrue(control.multiplier < 40);
+	}
+
+	@Test
+	public void failedWritesKeepTheMultiplier() {
+		FakeGpuControl control = new FakeGpuControl(64);
+		control.failure = new IOException("Read-only");
+		ThermalGovernor governor = new ThermalGovernor(control, 40, 1, 64);
+		governor.setEnabled(true);
+		assertEquals(64, governor.update(0, 70, 64));
+		assertEquals(1, control.writes);
+		// Not retried before the minimum interval.
+		assertEquals(64, governor.update(SECOND, 70, 64));
+		assertEquals(1, control.writes);
+		assertEquals(64, governor.update(3 * SECOND, 70, 64));
+		assertEquals(2, control.writes);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsInvalidRange() {
+		new ThermalGovernor(new FakeGpuControl(64), 50, 10, 5);
+	}
+
+	/**
+	 * First-order thermal plant: the temperature relaxes towards the
+	 * ambient plus a rise proportional to the multiplier, with a one
+	 * minute time constant.
+	 */
+	private static final class Plant {
+
+		private static final float AMBIENT = 30;
+		private static final float RISE_PER_STEP = 0.6f;
+		private static final double DECAY = Math.exp(-1 / 60.0);
+
+		float temperature;
+
+		Plant(float temperature) {
+			this.temperature = temperature;
+		}
+
+		void step(int multiplier) {
+			float steady = AMBIENT + RISE_PER_STEP * multiplier;
+			temperature = (float) (steady + (temperature - steady) * DECAY);
+		}
+	}
+
+	private static final class FakeGpuControl implements GpuControl {
+
+		int multiplier;
+		int writes;
+		IOException failure;
+
+		FakeGpuControl(int multiplier) {
+			this.multiplier = multiplier;
+		}
+
+		@Override
+		public int getMultiplier() {
+			return multiplier;
+		}
+
+		@Override
+		public int setMultiplier(int multiplier) throws IOException {
+			writes++;
+			if (failure != null)
+				throw failure;
+			this.multiplier = Math.max(1, Math.min(64, multiplier));
+			return this.multiplier;
+		}
+
+		@Override
+		public int getMinMultiplier() {
+			return 1;
+		}
+	}
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.thermal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class ThermalModelTest {
+
+	private static final long SECOND = 1_000_000_000L;
+	private static final float HOT = 70;
+
+	private final ThermalModel model = new ThermalModel(null, HOT);
+	private RcPlant plant;
+	private long now;
+	private float sampled;
+
+	@Before
+	public void setUp() {
+		plant = new RcPlant(30, 60);
+	}
+
+	@Test
+	public void notReadyBeforeEnoughSamples() {
+		feed(ThermalModel.MIN_SAMPLES, 64, 60);
+		assertFalse(model.isReady());
+		assertTrue(Float.isNaN(model.predict(10)));
+		assertTrue(Float.isNaN(model.getSteadyStateTemperature()));
+		assertEquals(ThermalModel.NEVER, model.getSecondsToHot(), 0);
+		assertEquals(ThermalModel.NEVER, model.getTimeConstantSeconds(), 0);
+		// The first sample has no predecessor to be fitted against.
+		feed(1, 64, 60);
+		assertTrue(model.isReady());
+	}
+
+	@Test
+	public void fitsTimeConstantAndSteadyState() {
+		excite(600);
+		feed(1, 48, 50);
+		assertEquals(plant.tau, model.getTimeConstantSeconds(), 1);
+		assertEquals(plant.steadyState(48, 50), model.getSteadyStateTemperature(), 0.2);
+	}
+
+	@Test
+	public void predictionFollowsThePlant() {
+		excite(600);
+		feed(1, 64, 60);
+		float[] predicted = new float[5];
+		assertTrue(model.predict(predicted, predicted.length, 30));
+		assertEquals(sampled, predicted[0], 1e-3);
+		for (int i = 1; i < predicted.length; i++) {
+			feed(30, 64, 60);
+			assertEquals(sampled, predicted[i], 0.2);
+		}
+	}
+
+	@Test
+	public void secondsToHotMatchesTheCrossing() {
+		excite(600);
+		// Cool down, then heat towards a steady state above the trip point.
+		feed(300, 1, 10);
+		assertTrue(plant.steadyState(64, 60) > HOT);
+		feed(1, 64, 60);
+		float expected = ThermalModel.NEVER;
+		// Predictions start at the latest sample, one step behind the plant.
+		RcPlant copy = new RcPlant(plant);
+		copy.temperature = sampled;
+		for (int second = 1; second < 3600 && expected < 0; second++) {
+			copy.step(64, 60);
+			if (copy.temperature >= HOT)
+				expected = second;
+		}
+		assertEquals(expected, model.getSecondsToHot(), 1);
+	}
+
+	@Test
+	public void coolSteadyStateNeverGetsHot() {
+		excite(600);
+		feed(1, 8, 60);
+		assertTrue(plant.steadyState(8, 60) < HOT);
+		assertEquals(ThermalModel.NEVER, model.getSecondsToHot(), 0);
+		model.setHotTemperature(Float.NaN);
+		assertEquals(ThermalModel.NEVER, model.getSecondsToHot(), 0);
+	}
+
+	@Test
+	public void unknownMultiplierAndGapsAreNotFitted() {
+		feed(ThermalModel.MIN_SAMPLES, 64, 60);
+		model.update(now, plant.temperature, 0, 60);
+		now += SECOND;
+		feed(1, 64, 60);
+		assertFalse(model.isReady());
+		now += 10 * SECOND;
+		feed(1, 64, 60);
+		assertFalse(model.isReady());
+	}
+
+	@Test
+	public void resetDiscardsTheFit() {
+		excite(100);
+		assertTrue(model.isReady());
+		model.reset();
+		assertFalse(model.isReady());
+	}
+
+	/**
+	 * Feeds samples with inputs changing at random, so every parameter can
+	 * be identified.
+	 */
+	private void excite(int seconds) {
+		Random random = new Random(42);
+		int multiplier = 64;
+		int fps = 60;
+		for (int second = 0; second < seconds; second++) {
+			if (second % 20 == 0) {
+				multiplier = 1 + random.nextInt(64);
+				fps = 10 + random.nextInt(51);
+			}
+			feed(1, multiplier, fps);
+		}
+	}
+
+	/**
+	 * Samples the plant once per second with the given inputs, stepping it
+	 * after each sample.
+	 */
+	private void feed(int seconds, int multiplier, int fps) {
+		for (int second = 0; second < seconds; second++) {
+			sampled = plant.temperature;
+			model.update(now, sampled, multiplier, fps);
+			plant.step(multiplier, fps);
+			now += SECOND;
+		}
+	}
+
+	/**
+	 * Exact first-order plant sampled every second: the temperature decays
+	 * towards ambient plus a heat input from the multiplier and frame rate.
+	 */
+	private static final class RcPlant {
+
+		final float ambient;
+		final float tau;
+		float temperature;
+
+		RcPlant(float ambient, float tau) {
+			this.ambient = ambient;
+			this.tau = tau;
+			this.temperature = ambient;
+		}
+
+		RcPlant(RcPlant other) {
+			this.ambient = other.ambient;
+			this.tau = other.tau;
+			this.temperature = other.temperature;
+		}
+
+		float steadyState(int multiplier, int fps) {
+			return ambient + 0.6f * multiplier + 0.1f * fps;
+		}
+
+		void step(int multiplier, int fps) {
+			double a = Math.exp(-1 / tau);
+			temperature = (float) (a * temperature + (1 - a) * steadyState(multiplier, fps));
+		}
+	}
+}
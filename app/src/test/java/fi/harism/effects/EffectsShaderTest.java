@@ -0,0 +1,131 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class EffectsShaderTest {
+
+	@Test
+	public void handlesResolveToActiveLocations() throws Exception {
+		RecordingGl gl = new RecordingGl();
+		gl.setActiveAttributes("aPosition", "aColor");
+		gl.setActiveUniforms("uMVP", "uColors[0]");
+		EffectsShader shader = new EffectsShader(gl);
+		shader.setProgram("vs", "fs");
+
+		ShaderHandle color = shader.getAttribute("aColor");
+		assertSame(color, shader.getAttribute("aColor"));
+		assertFalse(color.isUniform());
+		assertTrue(color.isActive());
+		assertEquals(1, color.getLocation());
+		assertEquals(1, shader.getLocation(color.getIndex()));
+
+		ShaderHandle mvp = shader.getUniform("uMVP");
+		assertTrue(mvp.isUniform());
+		assertEquals(0, mvp.getLocation());
+		// Arrays can be looked up with or without their "[0]" suffix.
+		assertEquals(1, shader.getUniform("uColors").getLocation());
+		assertEquals(1, shader.getUniform("uColors[0]").getLocation());
+		assertEquals(0, gl.getLogCount());
+	}
+
+	@Test
+	public void lookupsDoNotCallGl() throws Exception {
+		RecordingGl gl = new RecordingGl();
+		gl.setActiveAttributes("aPosition");
+		EffectsShader shader = new EffectsShader(gl);
+		shader.setProgram("vs", "fs");
+		ShaderHandle position = shader.getAttribute("aPosition");
+		gl.reset();
+		for (int i = 0; i < 100; ++i) {
+			shader.getAttribute("aPosition");
+			shader.getLocation(position.getIndex());
+			shader.getHandle("aPosition");
+		}
+		assertEquals(0, gl.getCallCount());
+	}
+
+	@Test
+	public void handlesFollowRelinks() throws Exception {
+		RecordingGl gl = new RecordingGl();
+		EffectsShader shader = new EffectsShader(gl);
+		// Handles may be created before the program exists.
+		ShaderHandle normal = shader.getAttribute("aNormal");
+		assertEquals(-1, normal.getLocation());
+		assertEquals(0, gl.getLogCount());
+
+		gl.setActiveAttributes("aPosition", "aNormal");
+		shader.setProgram("vs", "fs");
+		assertEquals(1, normal.getLocation());
+
+		gl.setActiveAttributes("aNormal");
+		shader.setProgram("vs", "fs");
+		assertSame(normal, shader.getAttribute("aNormal"));
+		assertEquals(0, normal.getLocation());
+		assertEquals(0, shader.getLocation(normal.getIndex()));
+	}
+
+	@Test
+	public void missingHandlesAreLoggedOncePerLink() throws Exception {
+		RecordingGl gl = new RecordingGl();
+		gl.setActiveUniforms("uMVP");
+		EffectsShader shader = new EffectsShader(gl);
+		shader.setProgram("vs", "fs");
+
+		ShaderHandle typo = shader.getUniform("uMPV");
+		assertFalse(typo.isActive());
+		assertEquals(-1, typo.getLocation());
+		assertEquals(1, gl.getLogCount());
+		shader.getUniform("uMPV");
+		assertEquals(1, gl.getLogCount());
+
+		shader.setProgram("vs", "fs");
+		assertEquals(2, gl.getLogCount());
+	}
+
+	@Test
+	public void getHandlesSearchesAttributesAndUniforms() throws Exception {
+		RecordingGl gl = new RecordingGl();
+		gl.setActiveAttributes("aPosition", "aColor");
+		gl.setActiveUniforms("uMVP");
+		EffectsShader shader = new EffectsShader(gl);
+		shader.setProgram("vs", "fs");
+		assertArrayEquals(new int[] { 1, 0, -1 },
+				shader.getHandles("aColor", "uMVP", "uMissing"));
+	}
+
+	@Test
+	public void deleteProgramClearsTheProgram() throws Exception {
+		RecordingGl gl = new RecordingGl();
+		EffectsShader shader = new EffectsShader(gl);
+		shader.setProgram("vs", "fs");
+		gl.reset();
+		shader.deleteProgram();
+		assertEquals(3, gl.getCallCount());
+		// Handles created without a program are not reported as typos.
+		shader.getUniform("uMVP");
+		assertEquals(0, gl.getLogCount());
+	}
+
+}
@@ -0,0 +1,136 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+public class FramePacerTest {
+
+	private static final long VSYNC_NANOS = 1000000000L / 60;
+
+	private final SimulatedClock mClock = new SimulatedClock();
+	private final FramePacer mPacer = new FramePacer(mClock);
+	private long mMissed;
+
+	@Test
+	public void disabledPacerRendersEveryVsync() {
+		assertEquals(0, mPacer.getTargetFps());
+		assertEquals(60, run(60, 0));
+		assertEquals(0, mMissed);
+	}
+
+	@Test
+	public void pacesToRateThatIsNotDivisorOfDisplayRate() {
+		mPacer.setTargetFps(24);
+		assertEquals(24, mPacer.getTargetFps());
+		assertEquals(24, run(60, VSYNC_NANOS / 2));
+		assertEquals(0, mMissed);
+	}
+
+	@Test
+	public void averageRateDoesNotDrift() {
+		mPacer.setTargetFps(24);
+		assertEquals(24 * 20, run(60 * 20, VSYNC_NANOS / 2));
+		assertEquals(0, mMissed);
+	}
+
+	@Test
+	public void slowDrawingMissesDeadlines() {
+		mPacer.setTargetFps(30);
+		// Every frame takes longer than a period to draw, so it is late and
+		// the next one is dropped.
+		assertEquals(15, run(60, VSYNC_NANOS * 5 / 2));
+		assertEquals(30, mMissed);
+	}
+
+	@Test
+	public void skippedVsyncsAreCaughtUpWithoutBurst() {
+		mPacer.setTargetFps(30);
+		assertEquals(3, run(6, 0));
+		assertEquals(0, mMissed);
+
+		// Vsyncs stop for 29 refreshes, losing 14 deadlines. The deadline
+		// at 6 vsyncs is only late, not lost, and is rendered on the first
+		// vsync after the gap.
+		int frames = 0;
+		for (int i = 35; i < 45; ++i) {
+			long vsync = i * VSYNC_NANOS;
+			advanceTo(vsync);
+			if (mPacer.onVsync(vsync)) {
+				mPacer.onFrameDrawn();
+				++frames;
+			}
+		}
+		assertEquals(6, frames);
+		assertEquals(14, mPacer.takeMissedDeadlines());
+	}
+
+	@Test
+	public void takeMissedDeadlinesResetsCount() {
+		mPacer.setTargetFps(30);
+		run(60, VSYNC_NANOS * 5 / 2);
+		assertEquals(0, mPacer.takeMissedDeadlines());
+	}
+
+	@Test
+	public void negativeTargetIsRejected() {
+		try {
+			mPacer.setTargetFps(-1);
+			fail();
+		} catch (IllegalArgumentException ex) {
+			// Expected.
+		}
+	}
+
+	/**
+	 * Runs given amount of vsyncs at 60 Hz, drawing each rendered frame for
+	 * given time. Missed deadlines are stored in mMissed.
+	 * 
+	 * @return Amount of frames rendered.
+	 */
+	private int run(int vsyncs, long drawNanos) {
+		int frames = 0;
+		long drawnAt = -1;
+		for (int i = 0; i < vsyncs; ++i) {
+			long vsync = i * VSYNC_NANOS;
+			if (drawnAt >= 0 && drawnAt <= vsync) {
+				advanceTo(drawnAt);
+				mPacer.onFrameDrawn();
+				drawnAt = -1;
+			}
+			advanceTo(vsync);
+			if (mPacer.onVsync(vsync)) {
+				++frames;
+				drawnAt = vsync + drawNanos;
+			}
+		}
+		if (drawnAt >= 0) {
+			advanceTo(drawnAt);
+			mPacer.onFrameDrawn();
+		}
+		mMissed = mPacer.takeMissedDeadlines();
+		return frames;
+	}
+
+	private void advanceTo(long nanos) {
+		mClock.advance(nanos - mClock.nanoTime());
+	}
+
+}
@@ -0,0 +1,69 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import org.junit.Test;
+
+public class GlMatrixTest {
+
+	private static final float TOLERANCE = 1e-6f;
+
+	@Test
+	public void perspectiveMatchesFrustum() {
+		float[] m = new float[16];
+		GlMatrix.perspectiveM(m, 0, 90f, 2f, 1f, 3f);
+		// f = 1 / tan(45), near - far = -2.
+		assertArrayEquals(new float[] { .5f, 0, 0, 0, 0, 1, 0, 0, 0, 0, -2, -1,
+				0, 0, -3, 0 }, m, TOLERANCE);
+	}
+
+	@Test
+	public void lookAtMovesEyeToOrigin() {
+		float[] m = new float[16];
+		GlMatrix.setLookAtM(m, 0, 0, 0, 3, 0, 0, 0, 0, 1, 0);
+		assertArrayEquals(new float[] { 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0, 0,
+				0, -3, 1 }, m, TOLERANCE);
+	}
+
+	@Test
+	public void rotateTranslateScaleCompose() {
+		float[] m = new float[16];
+		GlMatrix.setRotateM(m, 0, 90, 0, 0, 1);
+		GlMatrix.translateM(m, 0, 1, 2, 3);
+		GlMatrix.scaleM(m, 0, 2, 2, 1);
+		float[] v = new float[4];
+		GlMatrix.multiplyMV(v, 0, m, 0, new float[] { 1, 0, 0, 1 }, 0);
+		// Scaled to (2, 0, 0), translated to (3, 2, 3), rotated to (-2, 3, 3).
+		assertArrayEquals(new float[] { -2, 3, 3, 1 }, v, TOLERANCE);
+	}
+
+	@Test
+	public void identityIsNeutral() {
+		float[] identity = new float[16];
+		GlMatrix.setIdentityM(identity, 0);
+		float[] m = new float[16];
+		GlMatrix.setRotateM(m, 0, 30, 1, 1, 0);
+		float[] result = new float[16];
+		GlMatrix.multiplyMM(result, 0, identity, 0, m, 0);
+		assertArrayEquals(m, result, TOLERANCE);
+		GlMatrix.multiplyMM(result, 0, m, 0, identity, 0);
+		assertArrayEquals(m, result, TOLERANCE);
+	}
+
+}
@@ -0,0 +1,129 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class GpuTimerTest {
+
+	private static final String EXTENSION = "GL_EXT_disjoint_timer_query";
+	private static final long ELAPSED_NANOS = 5000000;
+
+	private RecordingGl mGl;
+	private GpuTimer mTimer;
+
+	@Before
+	public void setUp() {
+		mGl = new RecordingGl();
+		mGl.setExtensions("GL_OES_depth24", EXTENSION);
+		mGl.setQueryResult(ELAPSED_NANOS, 2);
+		mTimer = new GpuTimer(mGl);
+	}
+
+	@Test
+	public void measuresFramesOnceResultsAreAvailable() {
+		assertTrue(mTimer.onSurfaceCreated());
+		frames(2);
+		// Results lag two frames behind.
+		assertEquals(0, mTimer.takeAverageNanos());
+		frames(10);
+		assertEquals(ELAPSED_NANOS, mTimer.takeAverageNanos());
+		assertEquals(0, mTimer.takeAverageNanos());
+		assertEquals(0, mTimer.getSkippedFrames());
+		assertEquals(0, mTimer.getDiscardedSamples());
+	}
+
+	@Test
+	public void disjointOperationDiscardsResults() {
+		mTimer.onSurfaceCreated();
+		frames(4);
+		mTimer.takeAverageNanos();
+		mGl.signalDisjoint();
+		frames(1);
+		assertEquals(0, mTimer.takeAverageNanos());
+		assertEquals(1, mTimer.getDiscardedSamples());
+		frames(1);
+		assertEquals(ELAPSED_NANOS, mTimer.takeAverageNanos());
+	}
+
+	@Test
+	public void fullRingSkipsFrames() {
+		mGl.setQueryResult(ELAPSED_NANOS, GpuTimer.DEFAULT_RING_SIZE);
+		mTimer.onSurfaceCreated();
+		frames(20);
+		assertTrue(mTimer.getSkippedFrames() > 0);
+		assertEquals(ELAPSED_NANOS, mTimer.takeAverageNanos());
+	}
+
+	@Test
+	public void noExtensionMeasuresNothing() {
+		mGl.setExtensions("GL_OES_depth24");
+		assertFalse(mTimer.onSurfaceCreated());
+		assertFalse(mTimer.isSupported());
+		mGl.reset();
+		frames(10);
+		assertEquals(0, mTimer.takeAverageNanos());
+		// Only the clear and draw calls of each frame, no queries.
+		assertEquals(20, mGl.getCallCount());
+	}
+
+	@Test
+	public void extensionNameMustMatchWhole() {
+		mGl.setExtensions(EXTENSION + "2", "X" + EXTENSION);
+		assertFalse(GpuTimer.isSupported(mGl));
+		mGl.setExtensions(EXTENSION + "2", EXTENSION);
+		assertTrue(GpuTimer.isSupported(mGl));
+	}
+
+	@Test
+	public void disablingDropsQueriesInFlight() {
+		mTimer.onSurfaceCreated();
+		frames(1);
+		mTimer.setEnabled(false);
+		frames(10);
+		assertEquals(0, mTimer.takeAverageNanos());
+		mTimer.setEnabled(true);
+		frames(10);
+		assertEquals(ELAPSED_NANOS, mTimer.takeAverageNanos());
+	}
+
+	@Test
+	public void ringSizeMustBePositive() {
+		try {
+			new GpuTimer(mGl, 0);
+			fail();
+		} catch (IllegalArgumentException ex) {
+			// Expected.
+		}
+	}
+
+	private void frames(int count) {
+		for (int i = 0; i < count; ++i) {
+			mTimer.beginFrame();
+			mGl.glClear(Gl.GL_COLOR_BUFFER_BIT);
+			mGl.glDrawArrays(Gl.GL_TRIANGLES, 0, 3);
+			mTimer.endFrame();
+		}
+	}
+
+}
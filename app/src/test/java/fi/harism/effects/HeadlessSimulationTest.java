@@ -0,0 +1,139 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.digi.android.sample.system.gpu.metrics.MetricsChannel;
+import com.digi.android.sample.system.gpu.metrics.MetricsSnapshot;
+
+import org.junit.Test;
+
+public class HeadlessSimulationTest {
+
+	private static final long VSYNC_NANOS = 16666667L;
+	// Values kept per published snapshot by runAndCollect().
+	private static final int FIELDS = 7;
+
+	@Test
+	public void clockAdvancesOneVsyncPerStep() {
+		HeadlessSimulation sim = new HeadlessSimulation(new RecordingGl(), 640,
+				480, VSYNC_NANOS);
+		sim.run(120);
+		assertEquals(120 * VSYNC_NANOS, sim.getClock().nanoTime());
+	}
+
+	@Test
+	public void rendersEveryVsyncWithoutPacing() {
+		HeadlessSimulation sim = new HeadlessSimulation(new RecordingGl(), 640,
+				480, VSYNC_NANOS);
+		long[] metrics = runAndCollect(sim, 5 * 60);
+		assertTrue(metrics.length >= 4);
+		for (int i = 0; i < metrics.length; i += FIELDS) {
+			assertEquals(60, metrics[i]);
+			assertEquals(0, metrics[i + 5]);
+		}
+	}
+
+	@Test
+	public void pacedSimulationHitsTheTargetRate() {
+		HeadlessSimulation sim = new HeadlessSimulation(new RecordingGl(), 640,
+				480, VSYNC_NANOS);
+		sim.getRenderer().getFramePacer().setTargetFps(24);
+		long[] metrics = runAndCollect(sim, 10 * 60);
+		assertTrue(metrics.length >= 8 * FIELDS);
+		for (int i = FIELDS; i < metrics.length; i += FIELDS) {
+			assertEquals(24, metrics[i], 1);
+			// A simulated frame never misses its deadline.
+			assertEquals(0, metrics[i + 6]);
+		}
+	}
+
+	@Test
+	public void sameSettingsPublishTheSameMetrics() {
+		long[][] runs = new long[2][];
+		long[] drawCalls = new long[2];
+		for (int run = 0; run < 2; ++run) {
+			RecordingGl gl = new RecordingGl();
+			HeadlessSimulation sim = new HeadlessSimulation(gl, 1920, 1080,
+					VSYNC_NANOS);
+			sim.getRenderer().setScene(SceneRenderer.SCENE_PENTAGONS, 2);
+			runs[run] = runAndCollect(sim, 3 * 60);
+			drawCalls[run] = gl.getDrawCallCount();
+		}
+		assertTrue(runs[0].length > 0);
+		assertArrayEquals(runs[0], runs[1]);
+		assertEquals(drawCalls[0], drawCalls[1]);
+	}
+
+	@Test
+	public void heavierLevelsSubmitMoreWork() {
+		long previous = 0;
+		for (int level = 0; level < SceneRenderer.getLoadLevelCount(); ++level) {
+			RecordingGl gl = new RecordingGl();
+			HeadlessSimulation sim = new HeadlessSimulation(gl, 640, 480,
+					VSYNC_NANOS);
+			sim.getRenderer().setScene(SceneRenderer.SCENE_PENTAGONS, level);
+			sim.run(1);
+			gl.reset();
+			sim.run(10);
+			assertTrue(gl.getVertexCount() > previous);
+			previous = gl.getVertexCount();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNonPositiveVsyncInterval() {
+		new HeadlessSimulation(new RecordingGl(), 640, 480, 0);
+	}
+
+	/**
+	 * Runs the simulation one vsync at a time and returns the frame rate,
+	 * percentiles, jank frames and missed deadlines of every snapshot
+	 * published.
+	 */
+	private static long[] runAndCollect(HeadlessSimulation sim, int vsyncs) {
+		MetricsChannel channel = sim.getRenderer().getMetricsChannel();
+		MetricsSnapshot snapshot = new MetricsSnapshot();
+		List<Long> values = new ArrayList<Long>();
+		long sequence = channel.getSequence();
+		for (int i = 0; i < vsyncs; ++i) {
+			sim.run(1);
+			if (channel.getSequence() != sequence) {
+				sequence = channel.read(snapshot);
+				values.add((long) snapshot.getFps());
+				values.add(snapshot.getP50());
+				values.add(snapshot.getP90());
+				values.add(snapshot.getP99());
+				values.add(snapshot.getMax());
+				values.add(snapshot.getJankFrames());
+				values.add(snapshot.getMissedDeadlines());
+			}
+		}
+		long[] result = new long[values.size()];
+		for (int i = 0; i < result.length; ++i) {
+			result[i] = values.get(i);
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,118 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
+
+import org.junit.Test;
+
+public class PentagonBatchTest {
+
+	@Test
+	public void packsEveryVertexOfEveryPentagon() {
+		PentagonBatch batch = new PentagonBatch(4);
+		float[] positions = { 1, 2, 3, 4, 5, 6 };
+		float[] colors = { .1f, .2f, .3f, .4f, .5f, .6f };
+		batch.begin();
+		batch.put(positions, 0, colors, 0, 10);
+		batch.put(positions, 3, colors, 3, 20);
+
+		assertEquals(2, batch.getCount());
+		assertEquals(2 * PentagonBatch.VERTICES_PER_PENTAGON
+				* PentagonBatch.STRIDE_BYTES, batch.getVertexBytes());
+		assertEquals(2 * PentagonBatch.INDICES_PER_PENTAGON,
+				batch.getIndexCount());
+
+		FloatBuffer vertices = batch.getVertices();
+		assertEquals(0, vertices.position());
+		assertEquals(2 * PentagonBatch.VERTICES_PER_PENTAGON
+				* PentagonBatch.FLOATS_PER_VERTEX, vertices.limit());
+		float[] corners = { -1, 1, -1, -1, 1, 1, 1, -1 };
+		for (int p = 0; p < 2; ++p) {
+			for (int k = 0; k < PentagonBatch.VERTICES_PER_PENTAGON; ++k) {
+				int o = (p * PentagonBatch.VERTICES_PER_PENTAGON + k)
+						* PentagonBatch.FLOATS_PER_VERTEX;
+				assertEquals(corners[k * 2],
+						vertices.get(o + PentagonBatch.OFFSET_CORNER), 0);
+				assertEquals(corners[k * 2 + 1],
+						vertices.get(o + PentagonBatch.OFFSET_CORNER + 1), 0);
+				for (int j = 0; j < 3; ++j) {
+					assertEquals(positions[p * 3 + j],
+							vertices.get(o + PentagonBatch.OFFSET_CENTER + j), 0);
+					assertEquals(colors[p * 3 + j],
+							vertices.get(o + PentagonBatch.OFFSET_COLOR + j), 0);
+				}
+				assertEquals(10 * (p + 1),
+						vertices.get(o + PentagonBatch.OFFSET_ROTATION), 0);
+			}
+		}
+	}
+
+	@Test
+	public void indicesFormTwoTrianglesPerPentagon() {
+		PentagonBatch batch = new PentagonBatch(3);
+		ShortBuffer indices = batch.getIndices();
+		assertEquals(3 * PentagonBatch.INDICES_PER_PENTAGON, indices.remaining());
+		short[] expected = { 0, 1, 2, 2, 1, 3 };
+		for (int p = 0; p < 3; ++p) {
+			for (int i = 0; i < expected.length; ++i) {
+				assertEquals(p * PentagonBatch.VERTICES_PER_PENTAGON + expected[i],
+						indices.get(p * PentagonBatch.INDICES_PER_PENTAGON + i));
+			}
+		}
+	}
+
+	@Test
+	public void beginStartsANewFrame() {
+		PentagonBatch batch = new PentagonBatch(1);
+		float[] first = { 1, 2, 3 };
+		float[] second = { 4, 5, 6 };
+		batch.begin();
+		batch.put(first, 0, first, 0, 0);
+		batch.getVertices();
+		batch.begin();
+		assertEquals(0, batch.getCount());
+		batch.put(second, 0, second, 0, 0);
+		assertEquals(1, batch.getCount());
+		assertEquals(second[0],
+				batch.getVertices().get(PentagonBatch.OFFSET_CENTER), 0);
+	}
+
+	@Test
+	public void rejectsPentagonsBeyondCapacity() {
+		PentagonBatch batch = new PentagonBatch(1);
+		float[] values = { 1, 2, 3 };
+		batch.begin();
+		batch.put(values, 0, values, 0, 0);
+		try {
+			batch.put(values, 0, values, 0, 0);
+			fail("Batch accepted more pentagons than its capacity");
+		} catch (IllegalStateException e) {
+			// Expected.
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsCapacityAboveShortIndices() {
+		new PentagonBatch(PentagonBatch.MAX_PENTAGONS + 1);
+	}
+
+}
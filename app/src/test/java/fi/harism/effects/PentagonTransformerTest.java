@@ -0,0 +1,172 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.nio.FloatBuffer;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PentagonTransformerTest {
+
+	// Largest difference allowed from the composed matrices, in clip space.
+	private static final float TOLERANCE = 1e-4f;
+	private static final int COUNT = 2000;
+
+	private final float[] mView = new float[16];
+	private final float[] mProjection = new float[16];
+	private PentagonState mState;
+	private float[] mRotations;
+	private ForkJoinPool mPool;
+
+	@Before
+	public void setUp() {
+		mState = PentagonState.create(COUNT, .3f, 1, SceneRenderer.DEFAULT_SEED);
+		mState.update();
+		mRotations = mState.acquireRotations();
+		GlMatrix.setLookAtM(mView, 0, .3f, -.5f, .8f, 0, 0, 0, 0, 1, 0);
+		GlMatrix.perspectiveM(mProjection, 0, 60f, 16f / 9f, .1f, 10f);
+		mPool = new ForkJoinPool(4);
+	}
+
+	@After
+	public void tearDown() {
+		mPool.shutdown();
+	}
+
+	@Test
+	public void matchesComposedMatricesOnCallingThread() {
+		PentagonTransformer transformer = new PentagonTransformer(COUNT);
+		transformer.transform(null, mState, mRotations, mView, mProjection);
+		verify(transformer);
+	}
+
+	@Test
+	public void matchesComposedMatricesOnPool() {
+		PentagonTransformer transformer = new PentagonTransformer(COUNT);
+		transformer.transform(mPool, mState, mRotations, mView, mProjection);
+		verify(transformer);
+	}
+
+	@Test
+	public void poolGivesSameVerticesAsCallingThread() {
+		PentagonTransformer sequential = new PentagonTransformer(COUNT);
+		sequential.transform(null, mState, mRotations, mView, mProjection);
+		PentagonTransformer parallel = new PentagonTransformer(COUNT);
+		parallel.transform(mPool, mState, mRotations, mView, mProjection);
+		assertArrayEquals(toArray(sequential.getVertices()),
+				toArray(parallel.getVertices()), 0);
+	}
+
+	@Test
+	public void shutDownPoolTransformsOnCallingThread() {
+		mPool.shutdown();
+		PentagonTransformer transformer = new PentagonTransformer(COUNT);
+		transformer.transform(mPool, mState, mRotations, mView, mProjection);
+		verify(transformer);
+	}
+
+	@Test
+	public void layoutFollowsBatchIndices() {
+		PentagonTransformer transformer = new PentagonTransformer(COUNT);
+		transformer.transform(null, mState, mRotations, mView, mProjection);
+		assertEquals(COUNT, transformer.getCount());
+		assertEquals(COUNT * PentagonBatch.VERTICES_PER_PENTAGON
+				* PentagonTransformer.STRIDE_BYTES, transformer.getVertexBytes());
+		FloatBuffer vertices = transformer.getVertices();
+		assertEquals(0, vertices.position());
+		assertEquals(COUNT * PentagonBatch.VERTICES_PER_PENTAGON
+				* PentagonTransformer.FLOATS_PER_VERTEX, vertices.limit());
+		int i = COUNT - 1;
+		int o = (i * PentagonBatch.VERTICES_PER_PENTAGON + 3)
+				* PentagonTransformer.FLOATS_PER_VERTEX;
+		assertEquals(1, vertices.get(o + PentagonTransformer.OFFSET_CORNER), 0);
+		assertEquals(-1, vertices.get(o + PentagonTransformer.OFFSET_CORNER + 1), 0);
+		for (int j = 0; j < 3; ++j) {
+			assertEquals(mState.mColors[i * 3 + j],
+					vertices.get(o + PentagonTransformer.OFFSET_COLOR + j), 0);
+		}
+	}
+
+	@Test
+	public void capacityIsEnforced() {
+		try {
+			new PentagonTransformer(0);
+			fail();
+		} catch (IllegalArgumentException ex) {
+			// Expected.
+		}
+		try {
+			new PentagonTransformer(COUNT - 1).transform(null, mState,
+					mRotations, mView, mProjection);
+			fail();
+		} catch (IllegalArgumentException ex) {
+			// Expected.
+		}
+	}
+
+	/**
+	 * Recomputes every corner as projection * rotateZ * translate(view *
+	 * center) * scale * corner, as the pentagon vertex shader does.
+	 */
+	private void verify(PentagonTransformer transformer) {
+		FloatBuffer vertices = transformer.getVertices();
+		float[] center = new float[4];
+		float[] viewCenter = new float[4];
+		float[] model = new float[16];
+		float[] mvp = new float[16];
+		float[] corner = new float[4];
+		float[] clip = new float[4];
+		for (int i = 0; i < COUNT; ++i) {
+			System.arraycopy(mState.mPositions, i * 3, center, 0, 3);
+			center[3] = 1;
+			GlMatrix.multiplyMV(viewCenter, 0, mView, 0, center, 0);
+			GlMatrix.setRotateM(model, 0, mRotations[i], 0, 0, 1);
+			GlMatrix.translateM(model, 0, viewCenter[0], viewCenter[1],
+					viewCenter[2]);
+			GlMatrix.scaleM(model, 0, mState.mSize, mState.mSize, 1);
+			GlMatrix.multiplyMM(mvp, 0, mProjection, 0, model, 0);
+			for (int k = 0; k < PentagonBatch.VERTICES_PER_PENTAGON; ++k) {
+				int o = (i * PentagonBatch.VERTICES_PER_PENTAGON + k)
+						* PentagonTransformer.FLOATS_PER_VERTEX;
+				corner[0] = vertices.get(o + PentagonTransformer.OFFSET_CORNER);
+				corner[1] = vertices.get(o + PentagonTransformer.OFFSET_CORNER + 1);
+				corner[2] = 0;
+				corner[3] = 1;
+				GlMatrix.multiplyMV(clip, 0, mvp, 0, corner, 0);
+				for (int j = 0; j < 4; ++j) {
+					assertEquals("Pentagon " + i + " corner " + k, clip[j],
+							vertices.get(o + PentagonTransformer.OFFSET_CLIP + j),
+							TOLERANCE);
+				}
+			}
+		}
+	}
+
+	private static float[] toArray(FloatBuffer buffer) {
+		float[] array = new float[buffer.remaining()];
+		buffer.duplicate().get(array);
+		return array;
+	}
+
+}
@@ -0,0 +1,167 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ProgramBinaryCacheTest {
+
+	private static final int HEADER_SIZE = 16;
+	private static final int BINARY_SIZE = 100;
+	private static final int ENTRY_SIZE = HEADER_SIZE + BINARY_SIZE;
+
+	@Rule
+	public final TemporaryFolder mFolder = new TemporaryFolder();
+
+	@Test
+	public void storedEntriesLoadBack() throws IOException {
+		ProgramBinaryCache cache = new ProgramBinaryCache(directory(), 4096);
+		byte[] binary = binary(7);
+		cache.store("a", 0x8741, binary);
+		assertEquals(ENTRY_SIZE, cache.getSize());
+
+		ProgramBinaryCache.Entry entry = new ProgramBinaryCache(directory(),
+				4096).load("a");
+		assertNotNull(entry);
+		assertEquals(0x8741, entry.getFormat());
+		assertArrayEquals(binary, entry.getBinary());
+		assertNull(cache.load("b"));
+	}
+
+	@Test
+	public void storeReplacesEntries() throws IOException {
+		ProgramBinaryCache cache = new ProgramBinaryCache(directory(), 4096);
+		cache.store("a", 1, binary(1));
+		cache.store("a", 2, binary(2));
+		assertEquals(ENTRY_SIZE, cache.getSize());
+		assertEquals(2, cache.load("a").getFormat());
+		assertArrayEquals(binary(2), cache.load("a").getBinary());
+	}
+
+	@Test
+	public void corruptedBinaryIsRejectedAndDeleted() throws IOException {
+		ProgramBinaryCache cache = new ProgramBinaryCache(directory(), 4096);
+		cache.store("a", 1, binary(1));
+		File file = new File(directory(), "a.bin");
+		try (RandomAccessFile out = new RandomAccessFile(file, "rw")) {
+			out.seek(HEADER_SIZE + 42);
+			out.write(0xFF);
+		}
+		assertNull(cache.load("a"));
+		assertFalse(file.exists());
+	}
+
+	@Test
+	public void truncatedEntryIsRejected() throws IOException {
+		ProgramBinaryCache cache = new ProgramBinaryCache(directory(), 4096);
+		cache.store("a", 1, binary(1));
+		File file = new File(directory(), "a.bin");
+		try (RandomAccessFile out = new RandomAccessFile(file, "rw")) {
+			out.setLength(ENTRY_SIZE - 1);
+		}
+		assertNull(cache.load("a"));
+		assertFalse(file.exists());
+	}
+
+	@Test
+	public void leastRecentlyUsedEntriesAreEvicted() throws IOException {
+		ProgramBinaryCache cache = new ProgramBinaryCache(directory(),
+				3 * ENTRY_SIZE);
+		cache.store("a", 1, binary(1));
+		cache.store("b", 1, binary(2));
+		cache.store("c", 1, binary(3));
+		// Modification times have a coarse resolution; age entries by hand.
+		age("a", 3000);
+		age("b", 2000);
+		age("c", 1000);
+		assertNotNull(cache.load("a"));
+
+		cache.store("d", 1, binary(4));
+		assertEquals(3 * ENTRY_SIZE, cache.getSize());
+		assertNotNull(cache.load("a"));
+		assertNull(cache.load("b"));
+		assertNotNull(cache.load("c"));
+		assertNotNull(cache.load("d"));
+	}
+
+	@Test
+	public void entriesLargerThanTheCacheAreNotStored() throws IOException {
+		ProgramBinaryCache cache = new ProgramBinaryCache(directory(),
+				ENTRY_SIZE - 1);
+		cache.store("a", 1, binary(1));
+		assertEquals(0, cache.getSize());
+		assertNull(cache.load("a"));
+	}
+
+	@Test
+	public void removeDeletesEntries() throws IOException {
+		ProgramBinaryCache cache = new ProgramBinaryCache(directory(), 4096);
+		cache.store("a", 1, binary(1));
+		cache.remove("a");
+		assertNull(cache.load("a"));
+		assertEquals(0, cache.getSize());
+	}
+
+	@Test
+	public void keysDependOnEveryPart() {
+		String key = ProgramBinaryCache.createKey("vs", "fs", "GPU", "3.0");
+		assertEquals(64, key.length());
+		assertTrue(key.matches("[0-9a-f]+"));
+		assertEquals(key, ProgramBinaryCache.createKey("vs", "fs", "GPU", "3.0"));
+		assertNotEquals(key, ProgramBinaryCache.createKey("vs", "fs", "GPU", "3.1"));
+		assertNotEquals(key, ProgramBinaryCache.createKey("vs", "fs", "GPU2", "3.0"));
+		// Moving text between the sources changes the key.
+		assertNotEquals(ProgramBinaryCache.createKey("ab", "c", "GPU", "3.0"),
+				ProgramBinaryCache.createKey("a", "bc", "GPU", "3.0"));
+	}
+
+	private File directory() {
+		return new File(mFolder.getRoot(), "programs");
+	}
+
+	/**
+	 * Sets the last use of an entry to the given amount of seconds ago.
+	 */
+	private void age(String key, int seconds) {
+		File file = new File(directory(), key + ".bin");
+		assertTrue(file.setLastModified(System.currentTimeMillis() - seconds
+				* 1000L));
+	}
+
+	private static byte[] binary(int seed) {
+		byte[] binary = new byte[BINARY_SIZE];
+		for (int i = 0; i < binary.length; ++i) {
+			binary[i] = (byte) (seed * 31 + i);
+		}
+		return binary;
+	}
+
+}
@@ -0,0 +1,126 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+public class RecordingGlTest {
+
+	@Test
+	public void countsCallsDrawsAndVertices() {
+		RecordingGl gl = new RecordingGl();
+		gl.glClear(Gl.GL_COLOR_BUFFER_BIT);
+		gl.glDrawArrays(Gl.GL_TRIANGLES, 0, 30);
+		gl.glDrawElements(Gl.GL_TRIANGLES, 12, Gl.GL_UNSIGNED_SHORT, 0);
+		assertEquals(3, gl.getCallCount());
+		assertEquals(2, gl.getDrawCallCount());
+		assertEquals(42, gl.getVertexCount());
+	}
+
+	@Test
+	public void countsUploadedBytes() {
+		RecordingGl gl = new RecordingGl();
+		gl.glBufferData(Gl.GL_ARRAY_BUFFER, 1000, null, Gl.GL_STATIC_DRAW);
+		gl.glTexImage2D(Gl.GL_TEXTURE_2D, 0, Gl.GL_RGBA, 16, 8, 0, Gl.GL_RGBA,
+				Gl.GL_UNSIGNED_BYTE, ByteBuffer.allocate(16 * 8 * 4));
+		// Allocating storage without pixels uploads nothing.
+		gl.glTexImage2D(Gl.GL_TEXTURE_2D, 0, Gl.GL_RGBA, 16, 8, 0, Gl.GL_RGBA,
+				Gl.GL_UNSIGNED_BYTE, null);
+		assertEquals(1000 + 16 * 8 * 4, gl.getUploadedBytes());
+	}
+
+	@Test
+	public void resetClearsCountersButNotIds() {
+		RecordingGl gl = new RecordingGl();
+		int[] ids = new int[2];
+		gl.glGenBuffers(2, ids, 0);
+		assertEquals(1, ids[0]);
+		assertEquals(2, ids[1]);
+		gl.glDrawArrays(Gl.GL_TRIANGLES, 0, 3);
+		gl.log("message", null);
+		gl.reset();
+		assertEquals(0, gl.getCallCount());
+		assertEquals(0, gl.getDrawCallCount());
+		assertEquals(0, gl.getVertexCount());
+		assertEquals(0, gl.getUploadedBytes());
+		assertEquals(0, gl.getLogCount());
+		assertEquals(3, gl.glCreateProgram());
+	}
+
+	@Test
+	public void programsReportConfiguredActiveNames() {
+		RecordingGl gl = new RecordingGl();
+		gl.setActiveAttributes("aPosition", "aColor");
+		gl.setActiveUniforms("uMVP");
+		int program = gl.glCreateProgram();
+		int[] param = new int[1];
+		int[] size = new int[1];
+		int[] type = new int[1];
+
+		gl.glGetProgramiv(program, Gl.GL_LINK_STATUS, param, 0);
+		assertEquals(Gl.GL_TRUE, param[0]);
+		gl.glGetProgramiv(program, Gl.GL_ACTIVE_ATTRIBUTES, param, 0);
+		assertEquals(2, param[0]);
+		assertEquals("aColor", gl.glGetActiveAttrib(program, 1, size, 0, type, 0));
+		assertEquals(1, gl.glGetAttribLocation(program, "aColor"));
+		assertEquals(-1, gl.glGetAttribLocation(program, "aNormal"));
+
+		gl.glGetProgramiv(program, Gl.GL_ACTIVE_UNIFORMS, param, 0);
+		assertEquals(1, param[0]);
+		assertEquals("uMVP", gl.glGetActiveUniform(program, 0, size, 0, type, 0));
+		assertEquals(0, gl.glGetUniformLocation(program, "uMVP"));
+		assertEquals(-1, gl.glGetUniformLocation(program, "aPosition"));
+	}
+
+	@Test
+	public void shadersAlwaysCompile() {
+		RecordingGl gl = new RecordingGl();
+		int[] param = new int[1];
+		gl.glGetShaderiv(gl.glCreateShader(Gl.GL_VERTEX_SHADER),
+				Gl.GL_COMPILE_STATUS, param, 0);
+		assertEquals(Gl.GL_TRUE, param[0]);
+		boolean[] compiler = new boolean[1];
+		gl.glGetBooleanv(Gl.GL_SHADER_COMPILER, compiler, 0);
+		assertTrue(compiler[0]);
+	}
+
+	@Test
+	public void programBinariesStayDisabled() {
+		RecordingGl gl = new RecordingGl();
+		int[] formats = { -1 };
+		gl.glGetIntegerv(Gl.GL_NUM_PROGRAM_BINARY_FORMATS, formats, 0);
+		assertEquals(0, formats[0]);
+		assertEquals(RecordingGl.RENDERER, gl.glGetString(Gl.GL_RENDERER));
+		assertEquals(RecordingGl.VERSION, gl.glGetString(Gl.GL_VERSION));
+	}
+
+	@Test
+	public void extensionsAreReportedWhenSet() {
+		RecordingGl gl = new RecordingGl();
+		assertEquals("", gl.glGetString(Gl.GL_EXTENSIONS));
+		gl.setExtensions("GL_EXT_a", "GL_EXT_b");
+		assertEquals("GL_EXT_a GL_EXT_b", gl.glGetString(Gl.GL_EXTENSIONS));
+		assertFalse(gl.glGetString(Gl.GL_EXTENSIONS).contains("timer"));
+	}
+
+}
@@ -0,0 +1,170 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.digi.android.sample.system.gpu.metrics.MetricsSnapshot;
+
+import org.junit.Test;
+
+public class SceneRendererTest {
+
+	private static final long FRAME_NANOS = 16666667L;
+
+	private final RecordingGl mGl = new RecordingGl();
+	private final SimulatedClock mClock = new SimulatedClock();
+	private final List<String> mErrors = new ArrayList<String>();
+	private boolean mFailPrograms;
+
+	private final SceneContext mContext = new SceneContext() {
+		@Override
+		public String loadShaderSource(String name) {
+			return "";
+		}
+
+		@Override
+		public void setProgram(EffectsShader shader, String vertexSource,
+				String fragmentSource) throws Exception {
+			if (mFailPrograms) {
+				throw new Exception("Broken program");
+			}
+			shader.setProgram(vertexSource, fragmentSource);
+		}
+	};
+
+	private final SceneRenderer.ErrorListener mErrorListener = new SceneRenderer.ErrorListener() {
+		@Override
+		public void onError(String message) {
+			mErrors.add(message);
+		}
+	};
+
+	@Test
+	public void rendersPentagonsByDefault() {
+		SceneRenderer renderer = createRenderer();
+		assertEquals(SceneRenderer.SCENE_PENTAGONS, renderer.getScene());
+		mGl.reset();
+		renderFrames(renderer, 1);
+		assertTrue(mGl.getDrawCallCount() > 0);
+		assertTrue(mErrors.isEmpty());
+	}
+
+	@Test
+	public void everySceneDraws() {
+		SceneRenderer renderer = createRenderer();
+		for (int scene = 0; scene < SceneRenderer.getSceneCount(); ++scene) {
+			renderer.setScene(scene, 0);
+			assertEquals(scene, renderer.getScene());
+			renderFrames(renderer, 1);
+			mGl.reset();
+			renderFrames(renderer, 1);
+			assertTrue(SceneRenderer.getSceneName(scene),
+					mGl.getDrawCallCount() > 0);
+		}
+		assertTrue(mErrors.isEmpty());
+	}
+
+	@Test
+	public void switchedSceneIsReportedWithItsMetrics() {
+		SceneRenderer renderer = createRenderer();
+		renderFrames(renderer, 10);
+		renderer.setScene(SceneRenderer.SCENE_TEXTURE, 2);
+		MetricsSnapshot metrics = new MetricsSnapshot();
+		long sequence = renderer.getMetricsChannel().read(metrics);
+		renderFrames(renderer, 62);
+		assertTrue(renderer.getMetricsChannel().read(metrics) != sequence);
+		assertEquals(SceneRenderer.SCENE_TEXTURE, metrics.getScene());
+		assertEquals(2, metrics.getSceneLevel());
+		assertEquals(60, metrics.getFps());
+
+		renderer.setWorkload(10, .1f, 1);
+		sequence = renderer.getMetricsChannel().read(metrics);
+		renderFrames(renderer, 62);
+		assertTrue(renderer.getMetricsChannel().read(metrics) != sequence);
+		assertEquals(SceneRenderer.SCENE_PENTAGONS, metrics.getScene());
+		assertEquals(-1, metrics.getSceneLevel());
+	}
+
+	@Test
+	public void sceneNamesRoundTrip() {
+		for (int scene = 0; scene < SceneRenderer.getSceneCount(); ++scene) {
+			assertEquals(scene,
+					SceneRenderer.findScene(SceneRenderer.getSceneName(scene)));
+		}
+		assertEquals(-1, SceneRenderer.findScene("unknown"));
+	}
+
+	@Test
+	public void setupErrorsAreReportedAndNothingIsDrawn() {
+		SceneRenderer renderer = createRenderer();
+		mFailPrograms = true;
+		renderer.setScene(SceneRenderer.SCENE_ALU, 1);
+		mGl.reset();
+		renderFrames(renderer, 3);
+		assertEquals(1, mErrors.size());
+		assertEquals("Broken program", mErrors.get(0));
+		assertEquals(0, mGl.getDrawCallCount());
+
+		// A working scene can be selected again.
+		mFailPrograms = false;
+		renderer.setScene(SceneRenderer.SCENE_FILL, 0);
+		renderFrames(renderer, 1);
+		assertTrue(mGl.getDrawCallCount() > 0);
+	}
+
+	@Test
+	public void invalidSelectionsAreRejected() {
+		SceneRenderer renderer = createRenderer();
+		assertRejected(renderer, SceneRenderer.getSceneCount(), 0);
+		assertRejected(renderer, -1, 0);
+		assertRejected(renderer, SceneRenderer.SCENE_FILL,
+				SceneRenderer.getLoadLevelCount());
+		assertEquals(SceneRenderer.SCENE_PENTAGONS, renderer.getScene());
+	}
+
+	private SceneRenderer createRenderer() {
+		SceneRenderer renderer = new SceneRenderer(mGl, mClock, mContext,
+				mErrorListener);
+		assertTrue(renderer.onSurfaceCreated());
+		renderer.onSurfaceChanged(1280, 720);
+		return renderer;
+	}
+
+	private void renderFrames(SceneRenderer renderer, int frames) {
+		for (int i = 0; i < frames; ++i) {
+			mClock.advance(FRAME_NANOS);
+			renderer.onDrawFrame();
+		}
+	}
+
+	private static void assertRejected(SceneRenderer renderer, int scene,
+			int level) {
+		try {
+			renderer.setScene(scene, level);
+			fail("Scene " + scene + " level " + level + " accepted");
+		} catch (IllegalArgumentException ex) {
+			// Expected.
+		}
+	}
+
+}
@@ -0,0 +1,111 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+public class SourceCacheTest {
+
+	@Test
+	public void hitsDoNotLoadAgain() throws IOException {
+		SourceCache cache = new SourceCache(100);
+		CountingLoader loader = new CountingLoader();
+		String source = cache.get(1, loader);
+		assertEquals("source-1", source);
+		assertSame(source, cache.get(1, loader));
+		assertEquals(1, loader.mLoads);
+		assertEquals(source.length(), cache.getChars());
+	}
+
+	@Test
+	public void leastRecentlyUsedSourcesAreDropped() throws IOException {
+		// Room for two sources of eight characters.
+		SourceCache cache = new SourceCache(16);
+		CountingLoader loader = new CountingLoader();
+		cache.get(1, loader);
+		cache.get(2, loader);
+		cache.get(1, loader);
+		cache.get(3, loader);
+		assertEquals(3, loader.mLoads);
+		assertEquals(16, cache.getChars());
+
+		cache.get(1, loader);
+		cache.get(3, loader);
+		assertEquals(3, loader.mLoads);
+		cache.get(2, loader);
+		assertEquals(4, loader.mLoads);
+	}
+
+	@Test
+	public void sourcesLargerThanTheCacheAreNotKept() throws IOException {
+		SourceCache cache = new SourceCache(4);
+		CountingLoader loader = new CountingLoader();
+		assertEquals("source-1", cache.get(1, loader));
+		cache.get(1, loader);
+		assertEquals(2, loader.mLoads);
+		assertEquals(0, cache.getChars());
+	}
+
+	@Test
+	public void clearDropsEverything() throws IOException {
+		SourceCache cache = new SourceCache(100);
+		CountingLoader loader = new CountingLoader();
+		cache.get(1, loader);
+		cache.clear();
+		assertEquals(0, cache.getChars());
+		cache.get(1, loader);
+		assertEquals(2, loader.mLoads);
+	}
+
+	@Test
+	public void loadFailuresAreNotCached() throws IOException {
+		SourceCache cache = new SourceCache(100);
+		try {
+			cache.get(1, new SourceCache.Loader() {
+				@Override
+				public String load(int id) throws IOException {
+					throw new IOException("Missing resource");
+				}
+			});
+			fail("Load failure not reported");
+		} catch (IOException ex) {
+			// Expected.
+		}
+		CountingLoader loader = new CountingLoader();
+		assertEquals("source-1", cache.get(1, loader));
+		assertEquals(1, loader.mLoads);
+	}
+
+	private static final class CountingLoader implements SourceCache.Loader {
+
+		private int mLoads;
+
+		@Override
+		public String load(int id) {
+			++mLoads;
+			return "source-" + id;
+		}
+
+	}
+
+}
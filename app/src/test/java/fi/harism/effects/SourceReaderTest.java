@@ -0,0 +1,123 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SourceReaderTest {
+
+	private static final String SOURCE = "precision mediump float;\n"
+			+ "// Ümlauts and ∑ survive decoding.\n"
+			+ "void main() { gl_FragColor = vec4(1.0); }\n";
+
+	@Rule
+	public final TemporaryFolder mFolder = new TemporaryFolder();
+
+	@Test
+	public void readsStreamsOfKnownLength() throws IOException {
+		byte[] bytes = SOURCE.getBytes(StandardCharsets.UTF_8);
+		assertEquals(SOURCE, SourceReader.read(new ByteArrayInputStream(bytes),
+				bytes.length));
+	}
+
+	@Test
+	public void readsStreamsOfWrongOrUnknownLength() throws IOException {
+		byte[] bytes = SOURCE.getBytes(StandardCharsets.UTF_8);
+		assertEquals(SOURCE, SourceReader.read(new ByteArrayInputStream(bytes),
+				-1));
+		assertEquals(SOURCE, SourceReader.read(new ByteArrayInputStream(bytes),
+				3));
+		assertEquals("", SourceReader.read(new ByteArrayInputStream(
+				new byte[0]), 0));
+	}
+
+	@Test
+	public void readsShortReadsToTheEnd() throws IOException {
+		byte[] bytes = SOURCE.getBytes(StandardCharsets.UTF_8);
+		InputStream in = new FilterInputStream(new ByteArrayInputStream(bytes)) {
+			@Override
+			public int read(byte[] b, int off, int len) throws IOException {
+				return super.read(b, off, Math.min(len, 5));
+			}
+		};
+		assertEquals(SOURCE, SourceReader.read(in, bytes.length));
+	}
+
+	@Test
+	public void readsFileRegions() throws IOException {
+		byte[] bytes = SOURCE.getBytes(StandardCharsets.UTF_8);
+		File file = write(bytes);
+		try (FileChannel channel = FileChannel.open(file.toPath(),
+				StandardOpenOption.READ)) {
+			assertEquals(SOURCE, SourceReader.read(channel, 0, bytes.length));
+			assertEquals("precision", SourceReader.read(channel, 0, 9));
+			assertEquals("mediump", SourceReader.read(channel, 10, 7));
+			// Positional reads leave the channel where it was.
+			assertEquals(0, channel.position());
+		}
+	}
+
+	@Test
+	public void mapsLargeRegions() throws IOException {
+		StringBuilder text = new StringBuilder();
+		while (text.length() < SourceReader.MAP_THRESHOLD) {
+			text.append(SOURCE);
+		}
+		byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+		File file = write(bytes);
+		try (FileChannel channel = FileChannel.open(file.toPath(),
+				StandardOpenOption.READ)) {
+			assertEquals(text.toString(),
+					SourceReader.read(channel, 0, bytes.length));
+		}
+	}
+
+	@Test
+	public void regionsPastTheEndFail() throws IOException {
+		byte[] bytes = SOURCE.getBytes(StandardCharsets.UTF_8);
+		File file = write(bytes);
+		try (FileChannel channel = FileChannel.open(file.toPath(),
+				StandardOpenOption.READ)) {
+			SourceReader.read(channel, 10, bytes.length);
+			fail("Region past the end of the file read");
+		} catch (IOException ex) {
+			// Expected.
+		}
+	}
+
+	private File write(byte[] bytes) throws IOException {
+		File file = mFolder.newFile();
+		Files.write(file.toPath(), bytes);
+		return file;
+	}
+
+}
@@ -0,0 +1,124 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class TripleBufferTest {
+
+	private final int[] mFirst = new int[1];
+	private final int[] mSecond = new int[1];
+	private final int[] mThird = new int[1];
+	private final TripleBuffer<int[]> mBuffer = new TripleBuffer<int[]>(
+			mFirst, mSecond, mThird);
+
+	@Test
+	public void startsWithGivenSlots() {
+		assertSame(mFirst, mBuffer.getFront());
+		assertSame(mThird, mBuffer.getBack());
+		assertFalse(mBuffer.acquire());
+		assertSame(mFirst, mBuffer.getFront());
+	}
+
+	@Test
+	public void acquireTakesPublishedSlot() {
+		mBuffer.getBack()[0] = 1;
+		mBuffer.publish();
+		assertSame(mSecond, mBuffer.getBack());
+		assertTrue(mBuffer.acquire());
+		assertEquals(1, mBuffer.getFront()[0]);
+		// Nothing new was published since.
+		assertFalse(mBuffer.acquire());
+		assertEquals(1, mBuffer.getFront()[0]);
+	}
+
+	@Test
+	public void onlyLatestFrameIsKept() {
+		for (int i = 1; i <= 5; ++i) {
+			mBuffer.getBack()[0] = i;
+			mBuffer.publish();
+		}
+		assertTrue(mBuffer.acquire());
+		assertEquals(5, mBuffer.getFront()[0]);
+		assertFalse(mBuffer.acquire());
+	}
+
+	@Test
+	public void producerNeverWritesFrontSlot() {
+		for (int i = 1; i <= 20; ++i) {
+			assertNotSame(mBuffer.getFront(), mBuffer.getBack());
+			mBuffer.getBack()[0] = i;
+			mBuffer.publish();
+			if (i % 3 == 0) {
+				assertTrue(mBuffer.acquire());
+				assertEquals(i, mBuffer.getFront()[0]);
+			}
+		}
+	}
+
+	@Test
+	public void framesCrossThreadsIntact() throws InterruptedException {
+		final int frames = 200000;
+		final int size = 64;
+		final TripleBuffer<int[]> buffer = new TripleBuffer<int[]>(
+				new int[size], new int[size], new int[size]);
+		Thread producer = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				for (int frame = 1; frame <= frames; ++frame) {
+					int[] back = buffer.getBack();
+					for (int i = 0; i < size; ++i) {
+						back[i] = frame;
+					}
+					buffer.publish();
+				}
+			}
+		});
+		producer.start();
+
+		// Checked on this thread, which is the consumer.
+		String failure = null;
+		int last = 0;
+		while (last < frames && failure == null) {
+			if (!buffer.acquire()) {
+				continue;
+			}
+			int[] front = buffer.getFront();
+			int frame = front[0];
+			if (frame <= last) {
+				failure = "Frame " + frame + " after " + last;
+			}
+			for (int i = 1; i < size; ++i) {
+				if (front[i] != frame) {
+					failure = "Torn frame " + frame + " at " + i;
+				}
+			}
+			last = frame;
+		}
+		producer.join();
+		assertNull(failure, failure);
+		assertEquals(frames, last);
+	}
+
+}
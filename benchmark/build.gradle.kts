@@ -0,0 +1,60 @@
+// JMH benchmarks of the per-frame CPU path. The Android-free app sources are
+// compiled for the JVM, so the benchmarks measure the same code as the app.
+//
+// Run all benchmarks with allocation profiling:
+//     ./gradlew :benchmark:jmh
+// Results are written to benchmark/build/results/jmh/results.json.
+plugins {
+    `java-library`
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+// Sources are UTF-8, as in the Android build, whatever the platform default.
+tasks.withType<JavaCompile>().configureEach {
+    options.encoding = "UTF-8"
+}
+
+sourceSets {
+    main {
+        java {
+            setSrcDirs(listOf("../app/src/main/java"))
+            include(
+                "fi/harism/effects/**",
+                "com/digi/android/sample/system/gpu/metrics/**",
+                "com/digi/android/sample/system/gpu/plot/Decimator.java",
+                "com/digi/android/sample/system/gpu/plot/RingXYSeries.java",
+                "com/digi/android/sample/system/gpu/plot/TemperatureHistory.java",
+                "com/digi/android/sample/system/gpu/text/LabelFormat.java"
+            )
+            // Classes bound to the Android runtime.
+            exclude(
+                "fi/harism/effects/Gles20Gl.java",
+                "fi/harism/effects/ViewBase.java",
+                "fi/harism/effects/ViewPentagons.java"
+            )
+        }
+    }
+}
+
+dependencies {
+    // The plot series only implement plain Java interfaces of androidplot.
+    implementation(files(zipTree("../androidplot-core-1.5.7/androidplot-core-1.5.7.aar")
+        .matching { include("classes.jar") }))
+}
+
+jmh {
+    jmhVersion = libs.versions.jmh
+    fork = 1
+    warmupIterations = 3
+    warmup = "2s"
+    iterations = 5
+    timeOnIteration = "2s"
+    // Reports gc.alloc.rate.norm, the bytes allocated per operation.
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+}
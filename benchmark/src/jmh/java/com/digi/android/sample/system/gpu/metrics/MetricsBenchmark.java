@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Frame metrics recording as done by the renderer once per frame, and the
+ * channel the metrics are handed over with.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MetricsBenchmark {
+
+	// Constants.
+	private static final long FRAME_NANOS = 16_666_667L;
+
+	// Variables.
+	private final FrameTimeRecorder recorder = new FrameTimeRecorder();
+	private final MetricsChannel channel = new MetricsChannel();
+	private final MetricsSnapshot snapshot = new MetricsSnapshot();
+	private final MetricsSnapshot readSnapshot = new MetricsSnapshot();
+
+	private long now;
+
+	/**
+	 * Records one frame, publishing the statistics once per second.
+	 */
+	@Benchmark
+	public boolean recordFrame() {
+		// Every 7th frame is late, so the histogram sees some spread.
+		now += (now / FRAME_NANOS) % 7 == 0 ? 2 * FRAME_NANOS : FRAME_NANOS;
+		if (!recorder.onFrame(now))
+			return false;
+		snapshot.setFrameStats(now, recorder.getFps(), recorder.getP50(),
+				recorder.getP90(), recorder.getP99(), recorder.getMax(),
+				recorder.getJankFrames());
+		channel.publish(snapshot);
+		return true;
+	}
+
+	@Benchmark
+	public void publish() {
+		snapshot.setMultiplier((int) ++now & 63);
+		channel.publish(snapshot);
+	}
+
+	@Benchmark
+	public long read() {
+		return channel.read(readSnapshot);
+	}
+}
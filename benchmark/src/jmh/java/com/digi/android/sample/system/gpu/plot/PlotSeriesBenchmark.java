@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.plot;
+
+import com.androidplot.xy.SimpleXYSeries;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Appending samples to the plot series and the temperature history.
+ *
+ * <p>{@link #simpleAppend()} is the baseline: the androidplot series the
+ * temperature plot used before {@link RingXYSeries}, updated the same way,
+ * at the same capacity.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PlotSeriesBenchmark {
+
+	// Constants.
+	private static final int CAPACITY = 60;
+
+	// Variables.
+	private final RingXYSeries series = new RingXYSeries("Temperature", CAPACITY);
+	private final SimpleXYSeries simpleSeries = new SimpleXYSeries("Temperature");
+	private final TemperatureHistory history = new TemperatureHistory();
+
+	private float value;
+
+	@Setup
+	public void setUp() {
+		simpleSeries.useImplicitXVals();
+	}
+
+	@Benchmark
+	public SimpleXYSeries simpleAppend() {
+		if (simpleSeries.size() == CAPACITY)
+			simpleSeries.removeFirst();
+		simpleSeries.addLast(null, value = value > 90 ? 40 : value + .1f);
+		return simpleSeries;
+	}
+
+	@Benchmark
+	public RingXYSeries ringAppend() {
+		series.append(value = value > 90 ? 40 : value + .1f);
+		return series;
+	}
+
+	@Benchmark
+	public TemperatureHistory historyAppend() {
+		history.append(value = value > 90 ? 40 : value + .1f);
+		return history;
+	}
+}
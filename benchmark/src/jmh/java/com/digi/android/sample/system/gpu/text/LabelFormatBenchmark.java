@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026, Digi International Inc. <support@digi.com>
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR
+ * ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF
+ * OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.digi.android.sample.system.gpu.text;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Formatting the frame statistics label, with the reused label formats of
+ * the activity and with {@link String#format(Locale, String, Object...)}.
+ * The label formats are expected to allocate nothing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LabelFormatBenchmark {
+
+	// Constants, as in the string resources.
+	private static final String FRAME_STATS = "%1$d FPS · %7$s\np50 %2$.1f · p90 %3$.1f · "
+			+ "p99 %4$.1f · max %5$.1f ms\n%6$d janky frames";
+	private static final String SCENE_LEVEL = "%1$s, level %2$d";
+	private static final String TEMPERATURE = "Current temperature: %1$.1f°C";
+
+	// Variables.
+	private final LabelFormat scene = new LabelFormat(SCENE_LEVEL, Locale.US);
+	private final LabelFormat frameStats = new LabelFormat(FRAME_STATS, Locale.US);
+	private final LabelFormat temperature = new LabelFormat(TEMPERATURE, Locale.US);
+
+	private int frame;
+
+	@Benchmark
+	public LabelFormat frameStats() {
+		int i = frame++ & 63;
+		scene.setText(1, "pentagons").setInt(2, i & 3).render();
+		frameStats.setInt(1, 30 + i)
+				.setFloat(2, 16.6 + i * .01)
+				.setFloat(3, 17.2 + i * .01)
+				.setFloat(4, 21.9 + i * .02)
+				.setFloat(5, 33.4 + i * .03)
+				.setInt(6, i >> 3)
+				.setText(7, scene)
+				.render();
+		return frameStats;
+	}
+
+	@Benchmark
+	public String frameStatsStringFormat() {
+		int i = frame++ & 63;
+		String sceneText = String.format(Locale.US, SCENE_LEVEL, "pentagons", i & 3);
+		return String.format(Locale.US, FRAME_STATS, 30 + i, 16.6 + i * .01, 17.2 + i * .01,
+				21.9 + i * .02, 33.4 + i * .03, i >> 3, sceneText);
+	}
+
+	@Benchmark
+	public LabelFormat temperature() {
+		temperature.setFloat(1, 40 + (frame++ & 511) * .1f).render();
+		return temperature;
+	}
+}
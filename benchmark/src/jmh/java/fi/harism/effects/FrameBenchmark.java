@@ -0,0 +1,72 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * CPU cost of one whole pentagon frame: camera path, rotation update,
+ * batching, uniform and draw submission and frame metrics, rendered through
+ * {@link RecordingGl} so the GPU driver is left out. The score is the time
+ * per frame; the gc profiler's gc.alloc.rate.norm is the bytes allocated
+ * per frame, which should stay at zero.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FrameBenchmark {
+
+	// 60 frames per second, so metrics are published every 60 frames.
+	private static final long FRAME_NANOS = 16666667;
+
+	@Param({ "0", "2", "4" })
+	public int mLoadLevel;
+
+	@Param({ "false", "true" })
+	public boolean mBatched;
+
+	private HeadlessSimulation mSimulation;
+
+	@Setup
+	public void setup() {
+		RecordingGl gl = new RecordingGl();
+		// Handles resolve as on the device, so the same calls are made.
+		gl.setActiveAttributes("aPosition", "aCenter", "aColor", "aRotation");
+		gl.setActiveUniforms("uViewM", "uProjectionM", "uSize");
+		mSimulation = new HeadlessSimulation(gl, 1920, 1080, FRAME_NANOS);
+		SceneRenderer renderer = mSimulation.getRenderer();
+		renderer.setBatchedRendering(mBatched);
+		renderer.setLoadLevel(mLoadLevel);
+		// Switch to the new scene outside of the measurement.
+		mSimulation.run(1);
+	}
+
+	@Benchmark
+	public void frame() {
+		mSimulation.run(1);
+	}
+
+}
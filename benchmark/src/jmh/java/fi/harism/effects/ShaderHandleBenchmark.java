@@ -0,0 +1,75 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Shader handle lookups, by name through the legacy
+ * {@link EffectsShader#getHandle(String)} and through cached
+ * {@link ShaderHandle}s.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ShaderHandleBenchmark {
+
+	private EffectsShader mShader;
+	private ShaderHandle mHandle;
+	// Not constant, so lookups are not folded.
+	private String mName = "uProjectionM";
+	private String mMissingName = "uMissing";
+
+	@Setup
+	public void setup() throws Exception {
+		RecordingGl gl = new RecordingGl();
+		gl.setActiveAttributes("aPosition", "aCenter", "aColor", "aRotation");
+		gl.setActiveUniforms("uViewM", "uProjectionM", "uSize");
+		mShader = new EffectsShader(gl);
+		mHandle = mShader.getUniform("uProjectionM");
+		mShader.setProgram("", "");
+	}
+
+	@Benchmark
+	public int getHandle() {
+		return mShader.getHandle(mName);
+	}
+
+	@Benchmark
+	public int getHandleMissing() {
+		return mShader.getHandle(mMissingName);
+	}
+
+	@Benchmark
+	public int handleLocation() {
+		return mHandle.getLocation();
+	}
+
+	@Benchmark
+	public int locationByIndex() {
+		return mShader.getLocation(mHandle.getIndex());
+	}
+
+}
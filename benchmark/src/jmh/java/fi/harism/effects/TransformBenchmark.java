@@ -0,0 +1,79 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * CPU-side pentagon transforms of one frame with 1 to N pool threads; 0
+ * threads transforms on the calling thread without a pool. The transformed
+ * vertices are checked against {@link GlMatrix} by PentagonTransformerTest.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TransformBenchmark {
+
+	@Param({ "2000", "16000" })
+	public int mCount;
+
+	@Param({ "0", "1", "2", "4", "8" })
+	public int mThreads;
+
+	private PentagonState mState;
+	private float[] mRotations;
+	private final float[] mView = new float[16];
+	private final float[] mProjection = new float[16];
+	private ForkJoinPool mPool;
+	private PentagonTransformer mTransformer;
+
+	@Setup
+	public void setup() {
+		mState = PentagonState.create(mCount, .3f, 1, SceneRenderer.DEFAULT_SEED);
+		mState.update();
+		mRotations = mState.acquireRotations();
+		GlMatrix.setLookAtM(mView, 0, .3f, -.5f, .8f, 0, 0, 0, 0, 1, 0);
+		GlMatrix.perspectiveM(mProjection, 0, 60f, 16f / 9f, .1f, 10f);
+		mPool = mThreads > 0 ? new ForkJoinPool(mThreads) : null;
+		mTransformer = new PentagonTransformer(mCount);
+	}
+
+	@TearDown
+	public void tearDown() {
+		if (mPool != null) {
+			mPool.shutdown();
+		}
+	}
+
+	@Benchmark
+	public PentagonTransformer transform() {
+		mTransformer.transform(mPool, mState, mRotations, mView, mProjection);
+		return mTransformer;
+	}
+
+}
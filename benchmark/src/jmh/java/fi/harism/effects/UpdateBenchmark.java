@@ -0,0 +1,82 @@
+/*
+   Copyright 2026 Digi International Inc.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package fi.harism.effects;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Per-frame scene update steps on their own: pentagon rotations and the
+ * camera matrices.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UpdateBenchmark {
+
+	/**
+	 * Pentagon layout of the size given by {@link #mCount}.
+	 */
+	@State(Scope.Thread)
+	public static class Pentagons {
+
+		@Param({ "50", "2000", "16000" })
+		public int mCount;
+
+		PentagonState mState;
+
+		@Setup
+		public void setup() {
+			mState = PentagonState.create(mCount, .3f, 1,
+					SceneRenderer.DEFAULT_SEED);
+		}
+
+	}
+
+	private final float[] mMatrix = new float[16];
+	private float mEye;
+
+	@Benchmark
+	public PentagonState rotate(Pentagons pentagons) {
+		pentagons.mState.update();
+		return pentagons.mState;
+	}
+
+	@Benchmark
+	public float[] lookAt() {
+		// Move the eye so the computation cannot be hoisted.
+		mEye = mEye > 1f ? -1f : mEye + .001f;
+		GlMatrix.setLookAtM(mMatrix, 0, mEye, .5f, -mEye, 0, 0, 0, 0, 1, 0);
+		return mMatrix;
+	}
+
+	@Benchmark
+	public float[] perspective() {
+		mEye = mEye > 1f ? -1f : mEye + .001f;
+		GlMatrix.perspectiveM(mMatrix, 0, 60f, 1.5f + mEye, .1f, 10f);
+		return mMatrix;
+	}
+
+}
@@ -21,5 +21,6 @@ dependencyResolutionManagement {
 
 rootProject.name = "SystemGPUSample"
 include(":app")
+include(":benchmark")
 include(":figlib-1.0.7")
 include(":androidplot-core-1.5.7")